@@ -1,30 +1,40 @@
 package com.ticketly.mseventseatingprojection.config;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.ticketly.mseventseatingprojection.consumer.DebeziumEventConsumer;
 import com.ticketly.mseventseatingprojection.dto.SeatStatusChangeEventDto;
 import com.ticketly.mseventseatingprojection.exception.NonRetryableProjectionException;
 import com.ticketly.mseventseatingprojection.service.EventProjectionClient;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.util.backoff.ExponentialBackOff;
 import org.apache.kafka.common.errors.SerializationException;
+import reactor.kafka.receiver.ReceiverOptions;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.lang.IllegalArgumentException;
 
@@ -83,13 +93,36 @@ public class KafkaConsumerConfig {
     // =========================================================================
     @Bean
     public ConsumerFactory<String, String> debeziumConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(debeziumConsumerProps());
+    }
+
+    /**
+     * Receiver options for the reactive ingestion mode. Uses the same consumer group as the
+     * listener container so switching modes resumes from the committed offsets.
+     * Out-of-order acknowledgements from parallel lanes are held back until they are contiguous.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "projection.ingestion.mode", havingValue = "reactive", matchIfMissing = true)
+    public ReceiverOptions<String, String> debeziumReceiverOptions(
+            @Value("${projection.ingestion.max-deferred-commits:1024}") int maxDeferredCommits,
+            @Value("${projection.ingestion.commit-interval:1s}") Duration commitInterval
+    ) {
+        Map<String, Object> props = debeziumConsumerProps();
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return ReceiverOptions.<String, String>create(props)
+                .commitInterval(commitInterval)
+                .maxDeferredCommits(maxDeferredCommits)
+                .subscription(DebeziumEventConsumer.DEBEZIUM_TOPICS);
+    }
+
+    private Map<String, Object> debeziumConsumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, defaultGroupId + "-debezium");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        return new DefaultKafkaConsumerFactory<>(props);
+        return props;
     }
 
     @Bean
@@ -109,6 +142,14 @@ public class KafkaConsumerConfig {
     // ============================================================================
     @Bean
     public ConsumerFactory<String, Object> defaultConsumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(
+                defaultConsumerProps(),
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>())
+        );
+    }
+
+    private Map<String, Object> defaultConsumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, defaultGroupId);
@@ -116,12 +157,7 @@ public class KafkaConsumerConfig {
         props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, SeatStatusChangeEventDto.class.getName());
         props.put(ErrorHandlingDeserializer.KEY_DESERIALIZER_CLASS, StringDeserializer.class.getName());
         props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class.getName());
-
-        return new DefaultKafkaConsumerFactory<>(
-                props,
-                new StringDeserializer(),
-                new ErrorHandlingDeserializer<>(new JsonDeserializer<>())
-        );
+        return props;
     }
 
     @Bean
@@ -136,4 +172,56 @@ public class KafkaConsumerConfig {
         factory.setCommonErrorHandler(errorHandler); // ✅ Apply the handler
         return factory;
     }
-}
\ No newline at end of file
+
+    // ============================================================================
+    // == FACTORY FOR BATCHED SEAT STATUS CONSUMPTION (JSON Deserializer)
+    // ============================================================================
+
+    /**
+     * Batch listener factory for seat status events. Each poll waits up to the batch window
+     * for data to accumulate, so a rush of lock/unlock events is delivered (and written) together.
+     * The whole batch is acknowledged by the listener once its writes are durable.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> seatStatusBatchListenerContainerFactory(
+            DefaultErrorHandler errorHandler,
+            @Value("${projection.seat-status.max-poll-records:500}") int maxPollRecords,
+            @Value("${projection.seat-status.batch-window:50ms}") Duration batchWindow
+    ) {
+        Map<String, Object> props = defaultConsumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, (int) batchWindow.toMillis());
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 64 * 1024);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new JsonDeserializer<>())
+        ));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+
+    /**
+     * Dead-letter publisher for seat status events the batch listener cannot apply, sent to
+     * {@code ticketly.seats.status.DLT} like the error handler's. The String template cannot write their values,
+     * so events that failed deserialization are published with their original bytes and incomplete ones as JSON.
+     * @param template The KafkaTemplate whose producer settings are reused.
+     * @return A DeadLetterPublishingRecoverer choosing the serializer by value type.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DeadLetterPublishingRecoverer seatStatusDeadLetterRecoverer(KafkaTemplate<String, String> template) {
+        var producerFactory = (ProducerFactory<String, Object>) (ProducerFactory<?, ?>) template.getProducerFactory();
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(byte[].class, new KafkaTemplate<>(producerFactory,
+                Map.<String, Object>of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class)));
+        templates.put(SeatStatusChangeEventDto.class, new KafkaTemplate<>(producerFactory,
+                Map.<String, Object>of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class)));
+        return new DeadLetterPublishingRecoverer(templates);
+    }
+}
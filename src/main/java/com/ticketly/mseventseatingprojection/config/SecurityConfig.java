@@ -28,6 +28,7 @@ public class SecurityConfig {
                                 "/v1/categories/**",
                                 "/v1/sessions/**",
                                 "/v1/sse/**",
+                                "/v1/ws/**",
                                 "/oauth2/**",
                                 "/health",
                                 "/actuator/**"
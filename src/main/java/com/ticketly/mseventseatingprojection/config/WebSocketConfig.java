@@ -0,0 +1,21 @@
+package com.ticketly.mseventseatingprojection.config;
+
+import com.ticketly.mseventseatingprojection.controller.SeatStatusWebSocketHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Maps the WebSocket endpoints. They are matched ahead of the annotated controllers.
+ */
+@Configuration
+public class WebSocketConfig {
+
+    @Bean
+    public HandlerMapping webSocketHandlerMapping(SeatStatusWebSocketHandler seatStatusWebSocketHandler) {
+        return new SimpleUrlHandlerMapping(Map.of("/v1/ws/seat-status", seatStatusWebSocketHandler), -1);
+    }
+}
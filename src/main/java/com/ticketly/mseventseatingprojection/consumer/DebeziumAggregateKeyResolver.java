@@ -0,0 +1,150 @@
+package com.ticketly.mseventseatingprojection.consumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.read.SessionStatusInfo;
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the read-model aggregate a Debezium change record belongs to.
+ * <p>
+ * Records that resolve to the same key are projected strictly in offset order, while records for
+ * different aggregates may be projected concurrently. Event-scoped tables resolve to the owning
+ * event id so that, for example, a tier change never overtakes the event approval it depends on.
+ * <p>
+ * Seating map and discount join rows only carry their session or discount id. The event owning it is
+ * remembered from the session and discount rows seen so far and otherwise looked up in the read model
+ * by {@link #resolveWithLookup}, so these rows share their event's lane as well.
+ */
+@Component
+@Slf4j
+public class DebeziumAggregateKeyResolver {
+
+    private static final String SESSION_PREFIX = "session:";
+    private static final String DISCOUNT_PREFIX = "discount:";
+
+    private final ObjectMapper objectMapper;
+    private final EventRepository eventRepository;
+    private final EventReadRepositoryCustom eventReadRepositoryCustom;
+    private final int maxOwners;
+
+    // Event id by "session:<id>" and "discount:<id>"; a session or discount never moves to another event.
+    private final Map<String, String> owningEvents = new ConcurrentHashMap<>();
+
+    public DebeziumAggregateKeyResolver(ObjectMapper objectMapper,
+                                        EventRepository eventRepository,
+                                        EventReadRepositoryCustom eventReadRepositoryCustom,
+                                        @Value("${projection.ingestion.max-owners:100000}") int maxOwners) {
+        this.objectMapper = objectMapper;
+        this.eventRepository = eventRepository;
+        this.eventReadRepositoryCustom = eventReadRepositoryCustom;
+        this.maxOwners = maxOwners;
+    }
+
+    /**
+     * @param record The Debezium change record.
+     * @return A stable ordering key for the record, never {@code null}.
+     */
+    public String resolve(ConsumerRecord<String, String> record) {
+        return resolve(DebeziumChange.parse(record, objectMapper));
+    }
+
+    /**
+     * Resolves the key without I/O: seating map and discount join rows whose event has not been seen yet
+     * resolve to their session or discount.
+     *
+     * @param change The Debezium change record, with its envelope already parsed.
+     * @return A stable ordering key for the record, never {@code null}.
+     */
+    public String resolve(DebeziumChange change) {
+        ConsumerRecord<String, String> record = change.record();
+        String topic = record.topic();
+        JsonNode message = change.message();
+
+        // Unparseable records still need a lane; the projection itself will surface the error.
+        if (message != null) {
+            JsonNode row = message.path("after").isObject() ? message.path("after") : message.path("before");
+            String table = change.table();
+            String key = switch (table) {
+                case "events" -> text(row, "id");
+                case "event_sessions" -> remember(prefixed(SESSION_PREFIX, text(row, "id")), text(row, "event_id"));
+                case "discounts" -> remember(prefixed(DISCOUNT_PREFIX, text(row, "id")), text(row, "event_id"));
+                case "tiers", "event_cover_photos" -> text(row, "event_id");
+                case "session_seating_maps" -> owningEvent(prefixed(SESSION_PREFIX, text(row, "event_session_id")));
+                case "discount_tiers", "discount_sessions" -> owningEvent(prefixed(DISCOUNT_PREFIX, text(row, "discount_id")));
+                case "organizations", "categories" -> prefixed(table + ":", text(row, "id"));
+                default -> null;
+            };
+            if (key != null) {
+                return key;
+            }
+        } else if (change.parseError() != null) {
+            log.debug("Could not resolve aggregate key for record on topic {}: {}", topic, change.parseError().getOriginalMessage());
+        }
+
+        // Fall back to Kafka's own ordering guarantee: the record key, or failing that the partition.
+        return record.key() != null ? topic + ":" + record.key() : topic + "#" + record.partition();
+    }
+
+    /**
+     * Like {@link #resolve(DebeziumChange)}, but looks up the event of a session or discount not seen yet.
+     * If the read model does not have it either, the record keeps its session or discount key: its
+     * projection finds nothing to update then, so it cannot overtake anything of its event.
+     *
+     * @param change The Debezium change record, with its envelope already parsed.
+     * @return Mono emitting a stable ordering key for the record.
+     */
+    public Mono<String> resolveWithLookup(DebeziumChange change) {
+        String key = resolve(change);
+        Mono<String> eventId;
+        if (key.startsWith(SESSION_PREFIX)) {
+            eventId = eventReadRepositoryCustom.findSessionStatusById(key.substring(SESSION_PREFIX.length()))
+                    .map(SessionStatusInfo::getId);
+        } else if (key.startsWith(DISCOUNT_PREFIX)) {
+            eventId = eventRepository.findEventIdByDiscountId(key.substring(DISCOUNT_PREFIX.length()))
+                    .map(EventDocument::getId);
+        } else {
+            return Mono.just(key);
+        }
+        return eventId
+                .map(id -> remember(key, id))
+                .defaultIfEmpty(key)
+                .onErrorResume(error -> {
+                    log.warn("Could not look up the event of {}; keeping it on its own lane", key, error);
+                    return Mono.just(key);
+                });
+    }
+
+    private String remember(String ownedKey, String eventId) {
+        if (ownedKey != null && eventId != null) {
+            if (owningEvents.size() >= maxOwners && !owningEvents.containsKey(ownedKey)) {
+                owningEvents.keySet().stream().findAny().ifPresent(owningEvents::remove);
+            }
+            owningEvents.put(ownedKey, eventId);
+        }
+        return eventId;
+    }
+
+    private String owningEvent(String ownedKey) {
+        return ownedKey == null ? null : owningEvents.getOrDefault(ownedKey, ownedKey);
+    }
+
+    private static String text(JsonNode row, String field) {
+        JsonNode node = row.path(field);
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    private static String prefixed(String prefix, String value) {
+        return value == null ? null : prefix + value;
+    }
+}
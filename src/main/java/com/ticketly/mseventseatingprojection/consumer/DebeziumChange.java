@@ -0,0 +1,45 @@
+package com.ticketly.mseventseatingprojection.consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * A Debezium change record with its envelope parsed once, so resolving its aggregate key and projecting
+ * it read the same tree.
+ *
+ * @param record     The change record.
+ * @param message    The envelope's {@code payload} node, or null for a tombstone or an unparseable record.
+ * @param parseError Why the record could not be parsed, or null.
+ */
+public record DebeziumChange(
+        ConsumerRecord<String, String> record,
+        JsonNode message,
+        JsonProcessingException parseError
+) {
+
+    public static DebeziumChange parse(ConsumerRecord<String, String> record, ObjectMapper objectMapper) {
+        String payload = record.value();
+        if (payload == null || payload.isBlank()) {
+            return new DebeziumChange(record, null, null);
+        }
+        try {
+            return new DebeziumChange(record, objectMapper.readTree(payload).path("payload"), null);
+        } catch (JsonProcessingException e) {
+            return new DebeziumChange(record, null, e);
+        }
+    }
+
+    public boolean isTombstone() {
+        return message == null && parseError == null;
+    }
+
+    /**
+     * @return The table the change belongs to, the last segment of the record's topic.
+     */
+    public String table() {
+        String topic = record.topic();
+        return topic.substring(topic.lastIndexOf('.') + 1);
+    }
+}
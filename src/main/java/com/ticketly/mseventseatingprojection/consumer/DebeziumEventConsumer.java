@@ -8,6 +8,7 @@ import com.ticketly.mseventseatingprojection.exception.NonRetryableProjectionExc
 import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
 import com.ticketly.mseventseatingprojection.repository.EventRepository;
 import com.ticketly.mseventseatingprojection.service.EventProjectionClient;
+import com.ticketly.mseventseatingprojection.service.ProjectionCoalescer;
 import com.ticketly.mseventseatingprojection.service.ProjectorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,8 +21,10 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static com.ticketly.mseventseatingprojection.config.CacheConfig.SESSION_COUNT_CACHE;
 import static com.ticketly.mseventseatingprojection.config.CacheConfig.TRENDING_EVENTS_CACHE;
@@ -36,56 +39,103 @@ public class DebeziumEventConsumer {
     private final ObjectMapper objectMapper;
     private final EventReadRepositoryCustom eventReadRepositoryCustom;
     private final CacheManager cacheManager;
+    private final ProjectionCoalescer projectionCoalescer;
+
+    public static final String EVENTS_TOPIC = "dbz.ticketly.public.events";
+    public static final String SESSIONS_TOPIC = "dbz.ticketly.public.event_sessions";
+    public static final String SEATING_MAPS_TOPIC = "dbz.ticketly.public.session_seating_maps";
+    public static final String ORGANIZATIONS_TOPIC = "dbz.ticketly.public.organizations";
+    public static final String CATEGORIES_TOPIC = "dbz.ticketly.public.categories";
+    public static final String COVER_PHOTOS_TOPIC = "dbz.ticketly.public.event_cover_photos";
+    public static final String DISCOUNTS_TOPIC = "dbz.ticketly.public.discounts";
+    public static final String DISCOUNT_TIERS_TOPIC = "dbz.ticketly.public.discount_tiers";
+    public static final String DISCOUNT_SESSIONS_TOPIC = "dbz.ticketly.public.discount_sessions";
+    public static final String TIERS_TOPIC = "dbz.ticketly.public.tiers";
 
+    /**
+     * All CDC topics projected by this consumer. Shared with the reactive ingestion mode.
+     */
+    public static final List<String> DEBEZIUM_TOPICS = List.of(
+            EVENTS_TOPIC, SESSIONS_TOPIC, SEATING_MAPS_TOPIC, ORGANIZATIONS_TOPIC, CATEGORIES_TOPIC,
+            COVER_PHOTOS_TOPIC, DISCOUNTS_TOPIC, DISCOUNT_TIERS_TOPIC, DISCOUNT_SESSIONS_TOPIC, TIERS_TOPIC
+    );
+
+    /**
+     * Blocking listener used when {@code projection.ingestion.mode} is {@code listener}.
+     * In {@code reactive} mode (the default) the container is not started and {@link ReactiveDebeziumIngestion}
+     * drives {@link #process(ConsumerRecord)} instead.
+     * <p>
+     * Each record is projected inline before it is acknowledged, so {@link ProjectionCoalescer} does not
+     * collapse anything in this mode.
+     */
     @KafkaListener(topics = {
-            "dbz.ticketly.public.events",
-            "dbz.ticketly.public.event_sessions",
-            "dbz.ticketly.public.session_seating_maps",
-            "dbz.ticketly.public.organizations",
-            "dbz.ticketly.public.categories",
-            "dbz.ticketly.public.event_cover_photos",
-            "dbz.ticketly.public.discounts",
-            "dbz.ticketly.public.discount_tiers",
-            "dbz.ticketly.public.discount_sessions",
-            "dbz.ticketly.public.tiers"
-    }, containerFactory = "debeziumListenerContainerFactory")
+            EVENTS_TOPIC,
+            SESSIONS_TOPIC,
+            SEATING_MAPS_TOPIC,
+            ORGANIZATIONS_TOPIC,
+            CATEGORIES_TOPIC,
+            COVER_PHOTOS_TOPIC,
+            DISCOUNTS_TOPIC,
+            DISCOUNT_TIERS_TOPIC,
+            DISCOUNT_SESSIONS_TOPIC,
+            TIERS_TOPIC
+    }, containerFactory = "debeziumListenerContainerFactory",
+            autoStartup = "#{'${projection.ingestion.mode:reactive}' != 'reactive'}")
     public void onDebeziumEvent(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
-        String topic = record.topic();
-        String payload = record.value();
+        process(record).block();
 
-        if (payload == null || payload.isBlank()) {
+        log.info("Processing completed successfully for message on topic: {}", record.topic());
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Builds the reactive projection chain for a single CDC record without subscribing to it.
+     *
+     * @param record The Debezium change record.
+     * @return Mono that completes once the change has been projected into the read model.
+     */
+    public Mono<Void> process(ConsumerRecord<String, String> record) {
+        return process(DebeziumChange.parse(record, objectMapper));
+    }
+
+    /**
+     * Builds the reactive projection chain for a single CDC record whose envelope is already parsed.
+     *
+     * @param change The parsed Debezium change record.
+     * @return Mono that completes once the change has been projected into the read model.
+     */
+    public Mono<Void> process(DebeziumChange change) {
+        String topic = change.record().topic();
+
+        if (change.isTombstone()) {
             log.debug("Received tombstone record on topic {}. Ignoring.", topic);
-            acknowledgment.acknowledge();
-            return;
+            return Mono.empty();
+        }
+        if (change.parseError() != null) {
+            return Mono.error(new NonRetryableProjectionException(
+                    "Failed to parse " + change.table() + " change payload", change.parseError()));
         }
 
-        // 1. Build the appropriate reactive processing chain.
-        Mono<Void> processingMono = switch (topic.substring(topic.lastIndexOf('.') + 1)) {
-            case "events" -> processEventChange(payload);
-            case "event_sessions" -> processSessionChange(payload);
-            case "session_seating_maps" -> processSeatingMapChange(payload);
-            case "organizations" -> processOrganizationChange(payload);
-            case "categories" -> processCategoryChange(payload);
-            case "event_cover_photos" -> processCoverPhotoChange(payload);
-            case "discounts" -> processDiscountMetadataChange(payload);
-            case "discount_tiers", "discount_sessions" -> processDiscountRelationshipChange(payload);
-            case "tiers" -> processTierChange(payload);
+        JsonNode message = change.message();
+        return switch (change.table()) {
+            case "events" -> processEventChange(message);
+            case "event_sessions" -> processSessionChange(message);
+            case "session_seating_maps" -> processSeatingMapChange(message);
+            case "organizations" -> processOrganizationChange(message);
+            case "categories" -> processCategoryChange(message);
+            case "event_cover_photos" -> processCoverPhotoChange(message);
+            case "discounts" -> processDiscountMetadataChange(message);
+            case "discount_tiers", "discount_sessions" -> processDiscountRelationshipChange(message);
+            case "tiers" -> processTierChange(message);
             default -> {
                 log.warn("Unhandled topic: {}", topic);
                 yield Mono.empty();
             }
         };
-
-
-        processingMono.block();
-
-        log.info("Processing completed successfully for message on topic: {}", topic);
-        acknowledgment.acknowledge();
     }
 
-    private Mono<Void> processEventChange(String payload) {
+    private Mono<Void> processEventChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
             log.debug("processEventChange - operation: {}", operation);
 
@@ -94,7 +144,7 @@ public class DebeziumEventConsumer {
                 log.info("Event delete detected for id: {}. Deleting projection.", eventId);
                 evictTrendingCache();
                 evictSessionCountCache();
-                return projectorService.deleteEvent(eventId)
+                return afterPendingProjections(eventId, null, () -> projectorService.deleteEvent(eventId))
                         .doOnSuccess(v -> log.debug("deleteEvent completed for id: {}", eventId))
                         .onErrorResume(this::handleProjectionError);
             }
@@ -106,22 +156,20 @@ public class DebeziumEventConsumer {
                 log.info("Projecting full event id={} status={}", eventChange.getId(), eventChange.getStatus());
                 evictTrendingCache();
                 evictSessionCountCache();
-                return projectorService.projectFullEvent(eventChange.getId())
-                        .doOnSuccess(v -> log.debug("projectFullEvent completed for id: {}", eventChange.getId()))
-                        .onErrorResume(this::handleProjectionError);
+                return coalesceFullEvent(eventChange.getId());
             } else if ("COMPLETED".equals(eventChange.getStatus())) {
                 log.info("Event completed id={}, updating projection and removing trending data", eventChange.getId());
                 evictTrendingCache();
                 evictSessionCountCache();
-                return projectorService.projectFullEvent(eventChange.getId())
-                        .then(projectorService.deleteTrendingData(eventChange.getId()))
+                return afterPendingProjections(eventChange.getId(), null, () -> projectorService.projectFullEvent(eventChange.getId())
+                                .then(projectorService.deleteTrendingData(eventChange.getId())))
                         .doOnSuccess(v -> log.debug("projectFullEvent completed and trending data removed for id: {}", eventChange.getId()))
                         .onErrorResume(this::handleProjectionError);
             } else {
                 log.info("Removing projection for event id={} due to status={}", eventChange.getId(), eventChange.getStatus());
                 evictTrendingCache();
                 evictSessionCountCache();
-                return projectorService.deleteEvent(eventChange.getId())
+                return afterPendingProjections(eventChange.getId(), null, () -> projectorService.deleteEvent(eventChange.getId()))
                         .doOnSuccess(v -> log.debug("deleteEvent completed for id: {}", eventChange.getId()))
                         .onErrorResume(this::handleProjectionError);
             }
@@ -130,9 +178,8 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processSessionChange(String payload) {
+    private Mono<Void> processSessionChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
             log.debug("processSessionChange - operation: {}", operation);
 
@@ -147,7 +194,8 @@ public class DebeziumEventConsumer {
                     .flatMap(exists -> {
                         if (exists) {
                             log.info("Deleting session for eventId={} sessionId={}", sessionChange.getEventId(), sessionChange.getId());
-                            return projectorService.deleteSession(sessionChange.getEventId(), sessionChange.getId())
+                            return afterPendingProjections(sessionChange.getEventId(), sessionChange.getId(),
+                                    () -> projectorService.deleteSession(sessionChange.getEventId(), sessionChange.getId()))
                                 .doOnSuccess(v -> log.debug("deleteSession completed for eventId={} sessionId={}",
                                         sessionChange.getEventId(), sessionChange.getId()))
                                 .onErrorResume(this::handleProjectionError);
@@ -168,16 +216,14 @@ public class DebeziumEventConsumer {
                         if (exists) {
                             if ("c".equals(operation)) {
                                 log.info("Creating new session for eventId={} sessionId={}", sessionChange.getEventId(), sessionChange.getId());
-                                return projectorService.createSession(sessionChange.getEventId(), sessionChange.getId())
+                                return afterPendingProjections(sessionChange.getEventId(), sessionChange.getId(),
+                                        () -> projectorService.createSession(sessionChange.getEventId(), sessionChange.getId()))
                                     .doOnSuccess(v -> log.debug("createSession completed for eventId={} sessionId={}",
                                             sessionChange.getEventId(), sessionChange.getId()))
                                     .onErrorResume(this::handleProjectionError);
                             } else {
                                 log.info("Updating existing session for eventId={} sessionId={}", sessionChange.getEventId(), sessionChange.getId());
-                                return projectorService.projectSessionUpdate(sessionChange.getEventId(), sessionChange.getId())
-                                    .doOnSuccess(v -> log.debug("projectSessionUpdate completed for eventId={} sessionId={}",
-                                            sessionChange.getEventId(), sessionChange.getId()))
-                                    .onErrorResume(this::handleProjectionError);
+                                return coalesceSessionUpdate(sessionChange.getEventId(), sessionChange.getId());
                             }
                         } else {
                             log.debug("Event not present in read model for eventId={}. Skipping session projection.", sessionChange.getEventId());
@@ -189,9 +235,8 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processSeatingMapChange(String payload) {
+    private Mono<Void> processSeatingMapChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
             log.debug("processSeatingMapChange - operation: {}", operation);
 
@@ -214,15 +259,14 @@ public class DebeziumEventConsumer {
 
                         if (SessionStatus.ON_SALE.equals(status)) {
                             log.info("Applying seating map patch for eventId={} sessionId={}", eventId, sessionIdStr);
-                            return projectorService.projectSeatingMapPatch(
-                                    UUID.fromString(eventId),
-                                    sessionId,
-                                    mapChange.getLayoutData());
+                            return afterPendingProjections(UUID.fromString(eventId), sessionId,
+                                    () -> projectorService.projectSeatingMapPatch(
+                                            UUID.fromString(eventId),
+                                            sessionId,
+                                            mapChange.getLayoutData()));
                         } else if (SessionStatus.SCHEDULED.equals(status)) {
                             log.info("Session scheduled; projecting session update for eventId={} sessionId={}", eventId, sessionIdStr);
-                            return projectorService.projectSessionUpdate(
-                                    UUID.fromString(eventId),
-                                    sessionId);
+                            return coalesceSessionUpdate(UUID.fromString(eventId), sessionId);
                         } else {
                             log.debug("Session status '{}' not relevant for seating changes. Skipping.", status);
                             return Mono.empty();
@@ -235,9 +279,8 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processOrganizationChange(String payload) {
+    private Mono<Void> processOrganizationChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
             log.debug("processOrganizationChange - operation: {}", operation);
 
@@ -259,9 +302,8 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processCategoryChange(String payload) {
+    private Mono<Void> processCategoryChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
             log.debug("processCategoryChange - operation: {}", operation);
 
@@ -283,9 +325,8 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processCoverPhotoChange(String payload) {
+    private Mono<Void> processCoverPhotoChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
 
             if ("u".equals(operation)) {
@@ -305,10 +346,12 @@ public class DebeziumEventConsumer {
 
                         if ("c".equals(operation)) {
                             log.info("Projecting cover photo addition for event ID: {}", photoChange.getEventId());
-                            return projectorService.projectCoverPhotoAdded(photoChange.getEventId(), photoChange.getPhotoUrl());
+                            return afterPendingProjections(photoChange.getEventId(), null,
+                                    () -> projectorService.projectCoverPhotoAdded(photoChange.getEventId(), photoChange.getPhotoUrl()));
                         } else if ("d".equals(operation)) {
                             log.info("Projecting cover photo removal for event ID: {}", photoChange.getEventId());
-                            return projectorService.projectCoverPhotoRemoved(photoChange.getEventId(), photoChange.getPhotoUrl());
+                            return afterPendingProjections(photoChange.getEventId(), null,
+                                    () -> projectorService.projectCoverPhotoRemoved(photoChange.getEventId(), photoChange.getPhotoUrl()));
                         } else {
                             return Mono.empty();
                         }
@@ -319,14 +362,14 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processDiscountMetadataChange(String payload) {
+    private Mono<Void> processDiscountMetadataChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
 
             if ("d".equals(operation)) {
                 DiscountMetadataChangePayload discountChange = objectMapper.treeToValue(message.path("before"), DiscountMetadataChangePayload.class);
-                return projectorService.projectDiscountDeletion(discountChange.getEventId(), discountChange.getId())
+                return afterPendingProjections(discountChange.getEventId(), null,
+                        () -> projectorService.projectDiscountDeletion(discountChange.getEventId(), discountChange.getId()))
                         .onErrorResume(this::handleProjectionError);
             }
 
@@ -338,10 +381,12 @@ public class DebeziumEventConsumer {
 
                         if ("c".equals(operation)) {
                             log.info("Projecting full discount on create: {}", discountChange.getId());
-                            return projectorService.projectFullDiscount(discountChange.getEventId(), discountChange.getId());
+                            return afterPendingProjections(discountChange.getEventId(), null,
+                                    () -> projectorService.projectFullDiscount(discountChange.getEventId(), discountChange.getId()));
                         } else {
                             log.info("Patching discount on update: {}", discountChange.getId());
-                            return projectorService.patchDiscount(discountChange);
+                            return afterPendingProjections(discountChange.getEventId(), null,
+                                    () -> projectorService.patchDiscount(discountChange));
                         }
                     })
                     .onErrorResume(this::handleProjectionError);
@@ -350,9 +395,8 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processDiscountRelationshipChange(String payload) {
+    private Mono<Void> processDiscountRelationshipChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             JsonNode dataNode = message.path("op").asText().equals("d") ? message.path("before") : message.path("after");
             if (dataNode.isMissingNode()) {
                 return Mono.empty();
@@ -369,7 +413,8 @@ public class DebeziumEventConsumer {
                         }
 
                         log.info("Projecting full discount {} due to relationship change.", discountId);
-                        return projectorService.projectFullDiscount(UUID.fromString(eventDoc.getId()), discountId);
+                        UUID eventId = UUID.fromString(eventDoc.getId());
+                        return afterPendingProjections(eventId, null, () -> projectorService.projectFullDiscount(eventId, discountId));
                     })
                     .onErrorResume(this::handleProjectionError)
                     .then();
@@ -378,9 +423,8 @@ public class DebeziumEventConsumer {
         }
     }
 
-    private Mono<Void> processTierChange(String payload) {
+    private Mono<Void> processTierChange(JsonNode message) {
         try {
-            JsonNode message = objectMapper.readTree(payload).path("payload");
             String operation = message.path("op").asText();
             log.debug("processTierChange - operation: {}", operation);
 
@@ -396,9 +440,7 @@ public class DebeziumEventConsumer {
                     .flatMap(exists -> {
                         if (exists) {
                             log.info("Projecting full event for eventId={} due to tier change", tierChange.getEventId());
-                            return projectorService.projectFullEvent(tierChange.getEventId())
-                                    .doOnSuccess(v -> log.debug("projectFullEvent completed for eventId={} after tier change", tierChange.getEventId()))
-                                    .onErrorResume(this::handleProjectionError);
+                            return coalesceFullEvent(tierChange.getEventId());
                         } else {
                             log.debug("Event not present in read model for eventId={}. Skipping tier projection.", tierChange.getEventId());
                             return Mono.empty();
@@ -409,6 +451,48 @@ public class DebeziumEventConsumer {
         }
     }
 
+    /**
+     * Full re-projection of an event, collapsed with other signals for the same event inside the
+     * coalescing window (e.g. an organizer editing several tiers in a row).
+     */
+    private Mono<Void> coalesceFullEvent(UUID eventId) {
+        return projectionCoalescer.coalesce("event", eventKey(eventId), () ->
+                projectorService.projectFullEvent(eventId)
+                        .doOnSuccess(v -> log.debug("projectFullEvent completed for id: {}", eventId))
+                        .onErrorResume(this::handleProjectionError));
+    }
+
+    /**
+     * Session re-projection, collapsed with other signals for the same session inside the coalescing window.
+     */
+    private Mono<Void> coalesceSessionUpdate(UUID eventId, UUID sessionId) {
+        return projectionCoalescer.coalesce("session", sessionKey(sessionId), () ->
+                projectorService.projectSessionUpdate(eventId, sessionId)
+                        .doOnSuccess(v -> log.debug("projectSessionUpdate completed for eventId={} sessionId={}", eventId, sessionId))
+                        .onErrorResume(this::handleProjectionError));
+    }
+
+    /**
+     * Runs a write that is not coalesced once every pending re-projection of its event (and session) has
+     * finished, so a deferred re-projection of an earlier change can never land after it.
+     *
+     * @param sessionId The session the write touches, or null for event-level writes.
+     */
+    private Mono<Void> afterPendingProjections(UUID eventId, UUID sessionId, Supplier<Mono<Void>> write) {
+        Mono<Void> pending = sessionId == null
+                ? projectionCoalescer.awaitIdle(eventKey(eventId))
+                : Mono.when(projectionCoalescer.awaitIdle(eventKey(eventId)), projectionCoalescer.awaitIdle(sessionKey(sessionId)));
+        return pending.then(Mono.defer(write));
+    }
+
+    private static String eventKey(UUID eventId) {
+        return "event:" + eventId;
+    }
+
+    private static String sessionKey(UUID sessionId) {
+        return "session:" + sessionId;
+    }
+
     private Mono<Void> handleProjectionError(Throwable error) {
         if (error instanceof EventProjectionClient.ProjectionClientException pce &&
                 pce.getErrorType() == EventProjectionClient.ProjectionClientException.ErrorType.NOT_FOUND) {
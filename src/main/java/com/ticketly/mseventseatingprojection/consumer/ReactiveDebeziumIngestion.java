@@ -0,0 +1,157 @@
+package com.ticketly.mseventseatingprojection.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.service.EventProjectionClient;
+import com.ticketly.mseventseatingprojection.service.ProjectionCoalescer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.kafka.receiver.KafkaReceiver;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking ingestion of the CDC topics, used unless {@code projection.ingestion.mode} is {@code listener}
+ * (which runs the blocking {@link DebeziumEventConsumer} listener container instead).
+ * It is the default because only it lets {@link ProjectionCoalescer} defer and collapse re-projections.
+ * <p>
+ * Each record's envelope is parsed once, then the record is put on one of a fixed number of lanes by
+ * {@link DebeziumAggregateKeyResolver}, which keeps every change of an event on the event's lane. Each lane
+ * projects its records one at a time, so changes to the same aggregate stay in order, while different
+ * aggregates (even on the same partition) are projected concurrently. Offsets are acknowledged once a
+ * record is projected or dead-lettered; reactor-kafka only commits them once they are contiguous.
+ * <p>
+ * Re-projections that {@link ProjectionCoalescer} defers let the lane move on, but their records are only
+ * acknowledged once the deferred work has completed, and at most {@code projection.ingestion.max-pending}
+ * records wait for it before the receiver is back-pressured.
+ */
+@Component
+@ConditionalOnProperty(name = "projection.ingestion.mode", havingValue = "reactive", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDebeziumIngestion {
+
+    private final ReceiverOptions<String, String> debeziumReceiverOptions;
+    private final DebeziumEventConsumer debeziumEventConsumer;
+    private final DebeziumAggregateKeyResolver aggregateKeyResolver;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${projection.ingestion.lanes:16}")
+    private int lanes;
+
+    @Value("${projection.ingestion.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${projection.ingestion.max-pending:256}")
+    private int maxPending;
+
+    private Disposable subscription;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Same DLT naming as the listener mode's error handler: <topic>.DLT
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate);
+
+        log.info("Starting reactive Debezium ingestion with {} lanes", lanes);
+        subscription = Flux.defer(() -> ingest(KafkaReceiver.create(debeziumReceiverOptions).receive(), recoverer))
+                .doOnError(e -> log.error("Reactive Debezium ingestion failed, re-subscribing", e))
+                // Un-acknowledged records are redelivered to the new consumer.
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1)))
+                .subscribe();
+    }
+
+    /**
+     * Projects received records on their lanes and acknowledges each once it is done.
+     *
+     * @return Flux completing once every record has been projected or dead-lettered and acknowledged.
+     */
+    Flux<Void> ingest(Flux<ReceiverRecord<String, String>> records, DeadLetterPublishingRecoverer recoverer) {
+        return records
+                // Resolving a lane may look up a seating map's or discount row's event; the records stay in order
+                .flatMapSequential(record -> {
+                    DebeziumChange change = DebeziumChange.parse(record, objectMapper);
+                    return aggregateKeyResolver.resolveWithLookup(change)
+                            .map(key -> new Received(record, change, Math.floorMod(key.hashCode(), lanes)));
+                }, lanes)
+                .groupBy(Received::lane)
+                .flatMap(lane -> lane.concatMap(received -> project(received, recoverer)), lanes)
+                .flatMap(pending -> pending, maxPending);
+    }
+
+    /**
+     * Projects a record on its lane.
+     *
+     * @return Mono emitting, once the lane may move on, the completion after which the record is acknowledged.
+     */
+    private Mono<Mono<Void>> project(Received received, DeadLetterPublishingRecoverer recoverer) {
+        ReceiverRecord<String, String> record = received.record();
+        // Coalescable re-projections are deferred so the lane can move on; the offset is only
+        // acknowledged once they have completed as well.
+        ProjectionCoalescer.DeferredCompletions deferred = new ProjectionCoalescer.DeferredCompletions();
+        return withRetryAndDeadLetter(record, recoverer,
+                Mono.defer(() -> debeziumEventConsumer.process(received.change())).contextWrite(deferred::bind))
+                .then(Mono.fromSupplier(() -> deferred.await()
+                        .onErrorResume(error -> {
+                            log.warn("Deferred projection failed for message on topic: {} offset: {}. Re-processing directly.",
+                                    record.topic(), record.offset());
+                            return withRetryAndDeadLetter(record, recoverer,
+                                    Mono.defer(() -> debeziumEventConsumer.process(received.change())));
+                        })
+                        .doOnSuccess(v -> acknowledge(record))
+                        .onErrorResume(error -> {
+                            log.error("Could not project or dead-letter message on topic: {} offset: {}",
+                                    record.topic(), record.offset(), error);
+                            return Mono.empty();
+                        })));
+    }
+
+    private Mono<Void> withRetryAndDeadLetter(ReceiverRecord<String, String> record, DeadLetterPublishingRecoverer recoverer,
+                                              Mono<Void> processing) {
+        return processing
+                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(2))
+                        .maxBackoff(Duration.ofMinutes(1))
+                        .filter(EventProjectionClient.ProjectionClientException.class::isInstance))
+                .onErrorResume(error -> deadLetter(record, error, recoverer));
+    }
+
+    private void acknowledge(ReceiverRecord<String, String> record) {
+        log.debug("Processing completed for message on topic: {} offset: {}", record.topic(), record.offset());
+        record.receiverOffset().acknowledge();
+    }
+
+    private Mono<Void> deadLetter(ReceiverRecord<String, String> record, Throwable error,
+                                  DeadLetterPublishingRecoverer recoverer) {
+        Throwable cause = Exceptions.isRetryExhausted(error) ? error.getCause() : error;
+        log.error("Projection failed for message on topic: {} offset: {}. Sending to DLT.",
+                record.topic(), record.offset(), cause);
+        Exception exception = cause instanceof Exception e ? e : new RuntimeException(cause);
+        return Mono.<Void>fromRunnable(() -> recoverer.accept(record, exception))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private record Received(ReceiverRecord<String, String> record, DebeziumChange change, int lane) {
+    }
+}
@@ -7,13 +7,20 @@ import com.ticketly.mseventseatingprojection.service.SeatService;
 import com.ticketly.mseventseatingprojection.service.SseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -21,8 +28,11 @@ import java.util.UUID;
 @Slf4j
 public class SeatStatusConsumer {
 
+    private static final int BATCH_SESSION_CONCURRENCY = 16;
+
     private final SseService sseService;
     private final SeatService seatService;
+    private final DeadLetterPublishingRecoverer seatStatusDeadLetterRecoverer;
 
     /**
      * Handles Kafka events for seat status changes.
@@ -31,17 +41,15 @@ public class SeatStatusConsumer {
      * @param payload The seat status change event payload containing session_id, seat_ids and status.
      * @param acknowledgment Kafka acknowledgment.
      */
-    @KafkaListener(topics = "ticketly.seats.status")
+    @KafkaListener(topics = "ticketly.seats.status",
+            autoStartup = "#{'${projection.seat-status.mode:single}' != 'batch'}")
     public void onSeatStatusChange(@Payload SeatStatusChangeEventDto payload, Acknowledgment acknowledgment) {
         log.info("Received seat status change event to {} for session: {}", payload.status(), payload.session_id());
         try {
-            // Create update DTO for SSE
-            SeatStatusUpdateDto update = new SeatStatusUpdateDto(payload.seat_ids(), payload.status());
-
             switch (payload.status()) {
-                case LOCKED -> handleLocked(payload, update, acknowledgment);
-                case AVAILABLE -> handleAvailable(payload, update, acknowledgment);
-                case BOOKED -> handleBooked(payload, update, acknowledgment);
+                case LOCKED -> handleLocked(payload, acknowledgment);
+                case AVAILABLE -> handleAvailable(payload, acknowledgment);
+                case BOOKED -> handleBooked(payload, acknowledgment);
                 default -> {
                     log.warn("Unhandled seat status type: {}", payload.status());
                     acknowledgment.acknowledge();
@@ -54,63 +62,151 @@ public class SeatStatusConsumer {
     }
 
     /**
-     * Handles the LOCKED status - updates MongoDB and publishes SSE event if successful.
+     * Handles the LOCKED status - updates MongoDB and publishes SSE event for the seats that changed.
      */
-    private void handleLocked(SeatStatusChangeEventDto payload, SeatStatusUpdateDto update, Acknowledgment acknowledgment) {
+    private void handleLocked(SeatStatusChangeEventDto payload, Acknowledgment acknowledgment) {
         log.info("Processing LOCKED status for session: {}", payload.session_id());
-        updateStatusAndPublish(payload.session_id(), payload.seat_ids(), ReadModelSeatStatus.LOCKED, update, acknowledgment);
+        updateStatusAndPublish(payload.session_id(), payload.seat_ids(), ReadModelSeatStatus.LOCKED, acknowledgment);
     }
 
     /**
-     * Handles the AVAILABLE status - updates MongoDB and publishes SSE event if successful.
+     * Handles the AVAILABLE status - updates MongoDB and publishes SSE event for the seats that changed.
      */
-    private void handleAvailable(SeatStatusChangeEventDto payload, SeatStatusUpdateDto update, Acknowledgment acknowledgment) {
+    private void handleAvailable(SeatStatusChangeEventDto payload, Acknowledgment acknowledgment) {
         log.info("Processing AVAILABLE status for session: {}", payload.session_id());
-        updateStatusAndPublish(payload.session_id(), payload.seat_ids(), ReadModelSeatStatus.AVAILABLE, update, acknowledgment);
+        updateStatusAndPublish(payload.session_id(), payload.seat_ids(), ReadModelSeatStatus.AVAILABLE, acknowledgment);
     }
 
     /**
-     * Handles the BOOKED status - only publishes SSE event (no MongoDB update).
+     * Handles the BOOKED status - records the booking in the seat-state store ahead of the CQRS projection,
+     * so the published event gets a sequence and the seat status snapshot agrees with it.
      */
-    private void handleBooked(SeatStatusChangeEventDto payload, SeatStatusUpdateDto update, Acknowledgment acknowledgment) {
+    private void handleBooked(SeatStatusChangeEventDto payload, Acknowledgment acknowledgment) {
         log.info("Processing BOOKED status for session: {}", payload.session_id());
-        try {
-            // Only publish SSE event for booked seats, no MongoDB update as per requirement
-            // This will be handled by CQRS projection
-            sseService.publish(update, payload.session_id());
-            log.info("Published SSE event for BOOKED seats in session: {}", payload.session_id());
-            acknowledgment.acknowledge();
-        } catch (Exception e) {
-            log.error("Error processing BOOKED status for session {}: {}", payload.session_id(), e.getMessage());
-            // Do not acknowledge, let Kafka retry
-        }
+        updateStatusAndPublish(payload.session_id(), payload.seat_ids(), ReadModelSeatStatus.BOOKED, acknowledgment);
     }
 
     /**
-     * Common method to update MongoDB and conditionally publish SSE event.
+     * Common method to update MongoDB and publish an SSE event for the seats that actually changed.
+     * Seats rejected because they are already BOOKED are left out of the published delta.
      */
-    private void updateStatusAndPublish(UUID sessionId, List<UUID> seatIds, ReadModelSeatStatus status, SeatStatusUpdateDto update, Acknowledgment acknowledgment) {
-        seatService.updateSeatStatus(sessionId, seatIds, status)
-            .doOnSuccess(success -> {
-                if (success) {
+    private void updateStatusAndPublish(UUID sessionId, List<UUID> seatIds, ReadModelSeatStatus status, Acknowledgment acknowledgment) {
+        seatService.transitionSeatStatus(sessionId, seatIds, status)
+            .doOnNext(result -> {
+                if (result.getRejectedSeats().isEmpty()) {
                     log.info("Successfully updated seat status to {} in MongoDB", status);
                 } else {
-                    log.warn("Failed to update seat status to {} in MongoDB due to business rules", status);
+                    log.warn("{} of {} seats were not updated to {} due to business rules",
+                            result.getRejectedSeats().size(), seatIds.size(), status);
                 }
             })
             .doOnError(e -> log.error("Failed to update seat status in MongoDB: {}", e.getMessage()))
-            .onErrorReturn(false)
-            .flatMap(success -> {
-                if (success) {
-                    // Only publish SSE event if MongoDB update was successful
-                    sseService.publish(update, sessionId);
-                    log.info("Published SSE event for {} seats in session: {}", status, sessionId);
+            .doOnNext(result -> {
+                if (!result.getTransitionedSeats().isEmpty()) {
+                    List<UUID> transitioned = result.getTransitionedSeats().stream().map(UUID::fromString).toList();
+                    sseService.publish(new SeatStatusUpdateDto(transitioned, status, result.getVersion()), sessionId);
+                    log.info("Published SSE event for {} {} seats in session: {}", transitioned.size(), status, sessionId);
                 } else {
-                    log.warn("Skipping SSE event publication due to failed MongoDB update for session: {}", sessionId);
+                    log.warn("Skipping SSE event publication as no seats changed in session: {}", sessionId);
                 }
-                return Mono.just(success);
             })
+            .onErrorResume(e -> Mono.empty())
             .doFinally(signalType -> acknowledgment.acknowledge())
             .subscribe();
     }
-}
\ No newline at end of file
+
+    /**
+     * Batched alternative to {@link #onSeatStatusChange}, enabled with {@code projection.seat-status.mode=batch}.
+     * Events are merged per session (last writer wins per seat, in offset order, except that BOOKED is terminal
+     * and is never overwritten by a later change in the same batch), written with at most one
+     * conditional update per session and target status, and the batch is acknowledged only once every write
+     * has completed. A failed write rethrows so the error handler redelivers the whole batch.
+     * Events that cannot be deserialized, are incomplete or carry a status the projection does not apply
+     * (RESERVED) are sent to the dead-letter topic before the
+     * acknowledgement; a failed publication also leaves the batch to be redelivered.
+     *
+     * @param records The polled seat status change events, in offset order per partition.
+     * @param acknowledgment Kafka acknowledgment for the whole batch.
+     */
+    @KafkaListener(topics = "ticketly.seats.status",
+            containerFactory = "seatStatusBatchListenerContainerFactory",
+            autoStartup = "#{'${projection.seat-status.mode:single}' == 'batch'}")
+    public void onSeatStatusChangeBatch(List<ConsumerRecord<String, SeatStatusChangeEventDto>> records,
+                                        Acknowledgment acknowledgment) {
+        Map<UUID, Map<UUID, ReadModelSeatStatus>> latestBySession = new LinkedHashMap<>();
+        Map<ConsumerRecord<String, SeatStatusChangeEventDto>, String> invalid = new LinkedHashMap<>();
+        for (ConsumerRecord<String, SeatStatusChangeEventDto> record : records) {
+            String invalidReason = invalidReason(record.value());
+            if (invalidReason != null) {
+                invalid.put(record, invalidReason);
+                continue;
+            }
+            SeatStatusChangeEventDto payload = record.value();
+            Map<UUID, ReadModelSeatStatus> latest = latestBySession.computeIfAbsent(payload.session_id(), id -> new LinkedHashMap<>());
+            // A booking is final: a stale lock or release after it would be rejected in single mode too
+            payload.seat_ids().forEach(seatId -> latest.merge(seatId, payload.status(),
+                    (current, next) -> current == ReadModelSeatStatus.BOOKED ? current : next));
+        }
+
+        log.info("Applying {} seat status events across {} sessions", records.size(), latestBySession.size());
+
+        Flux.fromIterable(latestBySession.entrySet())
+                .flatMap(entry -> applySessionBatch(entry.getKey(), entry.getValue()), BATCH_SESSION_CONCURRENCY)
+                .then()
+                .block();
+
+        invalid.forEach(this::deadLetter);
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * @return Why the batch listener cannot apply the event, or null if it can.
+     */
+    private static String invalidReason(SeatStatusChangeEventDto payload) {
+        if (payload == null) {
+            return "Seat status event could not be deserialized";
+        }
+        if (payload.session_id() == null || payload.seat_ids() == null || payload.status() == null) {
+            return "Seat status event is missing session_id, seat_ids or status";
+        }
+        if (payload.status() == ReadModelSeatStatus.RESERVED) {
+            return "Seat status event has unhandled status RESERVED";
+        }
+        return null;
+    }
+
+    /**
+     * Publishes a seat status event that cannot be applied to the dead-letter topic, waiting for the send.
+     */
+    private void deadLetter(ConsumerRecord<String, SeatStatusChangeEventDto> record, String reason) {
+        log.warn("{}, dead-lettering {}-{}@{}", reason, record.topic(), record.partition(), record.offset());
+        seatStatusDeadLetterRecoverer.accept(record, new IllegalArgumentException(reason));
+    }
+
+    /**
+     * Writes the merged seat statuses of one session and publishes SSE events for the seats that changed.
+     */
+    private Mono<Void> applySessionBatch(UUID sessionId, Map<UUID, ReadModelSeatStatus> latest) {
+        Map<ReadModelSeatStatus, List<UUID>> byStatus = new EnumMap<>(ReadModelSeatStatus.class);
+        latest.forEach((seatId, status) -> byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(seatId));
+
+        return Flux.fromIterable(byStatus.entrySet())
+                .concatMap(entry -> {
+                    ReadModelSeatStatus status = entry.getKey();
+                    List<UUID> seatIds = entry.getValue();
+                    return seatService.transitionSeatStatus(sessionId, seatIds, status)
+                            .doOnNext(result -> {
+                                if (!result.getTransitionedSeats().isEmpty()) {
+                                    List<UUID> transitioned = result.getTransitionedSeats().stream().map(UUID::fromString).toList();
+                                    sseService.publish(new SeatStatusUpdateDto(transitioned, status, result.getVersion()), sessionId);
+                                }
+                                if (!result.getRejectedSeats().isEmpty()) {
+                                    log.warn("{} of {} seats were not updated to {} due to business rules in session {}",
+                                            result.getRejectedSeats().size(), seatIds.size(), status, sessionId);
+                                }
+                            })
+                            .then();
+                })
+                .then();
+    }
+}
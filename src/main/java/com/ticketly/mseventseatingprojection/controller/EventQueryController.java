@@ -3,9 +3,12 @@ package com.ticketly.mseventseatingprojection.controller;
 import com.ticketly.mseventseatingprojection.dto.ExtendedSessionInfoDTO;
 import com.ticketly.mseventseatingprojection.dto.SessionCountDTO;
 import com.ticketly.mseventseatingprojection.dto.SessionInfoDTO;
+import com.ticketly.mseventseatingprojection.dto.read.CursorPage;
 import com.ticketly.mseventseatingprojection.dto.read.DiscountDetailsDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventBasicInfoDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventThumbnailDTO;
+import com.ticketly.mseventseatingprojection.dto.read.SearchCountMode;
+import com.ticketly.mseventseatingprojection.dto.read.SearchSuggestionDTO;
 import com.ticketly.mseventseatingprojection.service.EventQueryService;
 import com.ticketly.mseventseatingprojection.service.EventTrendingService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -54,7 +57,11 @@ public class EventQueryController {
      * @param dateTo End date filter.
      * @param priceMin Minimum price filter.
      * @param priceMax Maximum price filter.
-     * @param pageable Pagination information.
+     * @param pageable Pagination information. Without a sort, results with a search term come best match first,
+     *                 and others by their earliest upcoming session.
+     * @param count How to work out the total: EXACT (default), ESTIMATED (capped and cached) or NONE.
+     *              The page's {@code totalCapped} tells when the total is only a lower bound.
+     * @param facets Whether to add category, price and date facet counts to the page (counted exactly).
      * @return Mono emitting ResponseEntity with a page of EventThumbnailDTO.
      */
     @GetMapping("/search")
@@ -68,14 +75,90 @@ public class EventQueryController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateTo,
             @RequestParam(required = false) BigDecimal priceMin,
             @RequestParam(required = false) BigDecimal priceMax,
-            @PageableDefault(sort = "sessions.startTime", direction = Sort.Direction.ASC) Pageable pageable
+            @PageableDefault Pageable pageable,
+            @RequestParam(defaultValue = "EXACT") SearchCountMode count,
+            @RequestParam(defaultValue = "false") boolean facets
     ) {
         return eventQueryService.searchEvents(
                 searchTerm, categoryId, longitude, latitude, radiusKm,
-                dateFrom, dateTo, priceMin, priceMax, pageable
+                dateFrom, dateTo, priceMin, priceMax, pageable, count, facets
         ).map(ResponseEntity::ok);
     }
 
+    /**
+     * Search for events with cursor pagination, for clients that page deep into results (infinite scroll).
+     * Selected by the {@code cursor} parameter: pass it empty for the first page, then the previous page's
+     * {@code nextCursor} until that is null. The page number is ignored, and only the first sort key is used.
+     *
+     * @param searchTerm Search keyword.
+     * @param categoryId Category ID filter.
+     * @param longitude Longitude for location filter.
+     * @param latitude Latitude for location filter.
+     * @param radiusKm Radius in kilometers for location filter.
+     * @param dateFrom Start date filter.
+     * @param dateTo End date filter.
+     * @param priceMin Minimum price filter.
+     * @param priceMax Maximum price filter.
+     * @param cursor The previous page's next cursor; empty for the first page.
+     * @param pageable Page size and sort.
+     * @param count How to work out the total: EXACT, ESTIMATED (capped) or NONE (default, total is null).
+     * @return Mono emitting ResponseEntity with a cursor page of EventThumbnailDTO.
+     */
+    @GetMapping(value = "/search", params = "cursor")
+    public Mono<ResponseEntity<CursorPage<EventThumbnailDTO>>> scrollEvents(
+            @RequestParam(required = false) String searchTerm,
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Integer radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dateTo,
+            @RequestParam(required = false) BigDecimal priceMin,
+            @RequestParam(required = false) BigDecimal priceMax,
+            @RequestParam(defaultValue = "") String cursor,
+            @PageableDefault(sort = "sessions.startTime", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestParam(defaultValue = "NONE") SearchCountMode count
+    ) {
+        return eventQueryService.scrollEvents(
+                searchTerm, categoryId, longitude, latitude, radiusKm,
+                dateFrom, dateTo, priceMin, priceMax, cursor, pageable.getPageSize(), pageable.getSort(), count
+        ).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Get events matching a search term as it is typed, for autocomplete.
+     *
+     * @param q The search term typed so far; the last word may be incomplete.
+     * @param limit The maximum number of events to return (at most 20).
+     * @return Flux emitting event thumbnails, best match first.
+     */
+    @GetMapping("/typeahead")
+    @Operation(summary = "Autocomplete events",
+            description = "Returns the events whose title or description best match a partly typed search term")
+    public Flux<EventThumbnailDTO> typeahead(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return eventQueryService.typeahead(q, limit);
+    }
+
+    /**
+     * Get suggestions completing a search as it is typed: event titles, categories, venues and cities.
+     *
+     * @param q The text typed so far.
+     * @param limit The maximum number of suggestions to return (at most 20).
+     * @return Flux emitting suggestions, most trending first.
+     */
+    @GetMapping("/suggestions")
+    @Operation(summary = "Suggest search completions",
+            description = "Returns event titles, categories, venues and cities starting with the typed text, ranked by trending score")
+    public Flux<SearchSuggestionDTO> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit
+    ) {
+        return eventQueryService.suggest(q, limit);
+    }
+
     /**
      * Get basic event info by event ID.
      *
@@ -0,0 +1,214 @@
+package com.ticketly.mseventseatingprojection.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.SeatStreamCommand;
+import com.ticketly.mseventseatingprojection.exception.SubscriberLimitExceededException;
+import com.ticketly.mseventseatingprojection.service.BinarySeatFrames;
+import com.ticketly.mseventseatingprojection.service.SseService;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Streams live seat status deltas of many sessions over one WebSocket, for kiosk and box-office clients
+ * that would otherwise hold an SSE connection per session.
+ * <p>
+ * Clients send {@link SeatStreamCommand} JSON text messages to subscribe to and unsubscribe from sessions,
+ * and to grant credit: the server sends at most as many binary {@link BinarySeatFrames} as the client has
+ * requested, across all its sessions. A session the client keeps without credit falls behind like a slow
+ * SSE client and is sent RESYNC, or is dropped once idle; either way it ends with an ENDED frame.
+ * Subscriptions that are refused (limits reached) are answered with ENDED straight away.
+ */
+@Component
+@Slf4j
+public class SeatStatusWebSocketHandler implements WebSocketHandler {
+
+    private final SseService sseService;
+    private final ObjectMapper objectMapper;
+    private final Duration pingInterval;
+    private final int maxSessionsPerConnection;
+
+    public SeatStatusWebSocketHandler(SseService sseService,
+                                      ObjectMapper objectMapper,
+                                      @Value("${projection.sse.heartbeat-interval:15s}") Duration pingInterval,
+                                      @Value("${projection.ws.max-sessions-per-connection:200}") int maxSessionsPerConnection) {
+        this.sseService = sseService;
+        this.objectMapper = objectMapper;
+        this.pingInterval = pingInterval;
+        this.maxSessionsPerConnection = maxSessionsPerConnection;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        Connection connection = new Connection(session.getId());
+
+        Mono<Void> input = session.receive()
+                .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                .doOnNext(message -> connection.onCommand(message.getPayloadAsText()))
+                .then();
+        Flux<WebSocketMessage> frames = connection.frames()
+                .map(bytes -> session.binaryMessage(factory -> factory.wrap(bytes)));
+        // Keeps proxies from closing connections whose sessions are quiet
+        Flux<WebSocketMessage> pings = Flux.interval(pingInterval)
+                .map(tick -> session.pingMessage(factory -> factory.wrap(new byte[0])));
+
+        return Mono.zip(input, session.send(Flux.merge(frames, pings)))
+                .then()
+                .doFinally(signal -> connection.close());
+    }
+
+    /**
+     * The session subscriptions of one WebSocket, merged into a single credit-gated frame stream.
+     */
+    private final class Connection {
+        private final String id;
+        private final Map<UUID, Sinks.One<Boolean>> subscriptions = new ConcurrentHashMap<>();
+        private final Sinks.Many<Flux<byte[]>> streams = Sinks.many().unicast().onBackpressureBuffer();
+        private final CreditSubscriber credits = new CreditSubscriber();
+
+        Connection(String id) {
+            this.id = id;
+            // Prefetching a single frame per session leaves the rest in the session's subscriber buffer,
+            // where a session the client keeps without credit falls behind and is sent RESYNC
+            streams.asFlux()
+                    .flatMap(Function.identity(), Integer.MAX_VALUE, 1)
+                    .subscribe(credits);
+        }
+
+        Flux<byte[]> frames() {
+            return Flux.create(credits::attach);
+        }
+
+        void onCommand(String text) {
+            SeatStreamCommand command;
+            try {
+                command = objectMapper.readValue(text, SeatStreamCommand.class);
+            } catch (JsonProcessingException e) {
+                log.debug("Ignoring malformed command on WebSocket {}: {}", id, e.getOriginalMessage());
+                return;
+            }
+            if (SeatStreamCommand.SUBSCRIBE.equals(command.type()) && command.sessionId() != null) {
+                subscribe(command.sessionId(), command.lastEventId());
+            } else if (SeatStreamCommand.UNSUBSCRIBE.equals(command.type()) && command.sessionId() != null) {
+                Sinks.One<Boolean> cancel = subscriptions.get(command.sessionId());
+                if (cancel != null) {
+                    cancel.tryEmitValue(true);
+                }
+            } else if (SeatStreamCommand.REQUEST.equals(command.type()) && command.n() != null && command.n() > 0) {
+                credits.grant(command.n());
+            } else {
+                log.debug("Ignoring unknown command on WebSocket {}: {}", id, command);
+            }
+        }
+
+        private void subscribe(UUID sessionId, Long lastEventId) {
+            if (subscriptions.containsKey(sessionId)) {
+                return;
+            }
+            if (subscriptions.size() >= maxSessionsPerConnection) {
+                log.info("WebSocket {} already follows {} sessions, refusing session {}", id, subscriptions.size(), sessionId);
+                streams.tryEmitNext(Flux.just(BinarySeatFrames.ended(sessionId)));
+                return;
+            }
+
+            Flux<byte[]> deltas;
+            try {
+                deltas = sseService.registerBinary(sessionId, lastEventId);
+            } catch (SubscriberLimitExceededException e) {
+                log.info("Refusing session {} on WebSocket {}: {}", sessionId, id, e.getMessage());
+                streams.tryEmitNext(Flux.just(BinarySeatFrames.ended(sessionId)));
+                return;
+            }
+
+            Sinks.One<Boolean> cancel = Sinks.one();
+            subscriptions.put(sessionId, cancel);
+            streams.tryEmitNext(deltas
+                    .takeUntilOther(cancel.asMono())
+                    .concatWith(Mono.fromSupplier(() -> BinarySeatFrames.ended(sessionId)))
+                    .doFinally(signal -> subscriptions.remove(sessionId, cancel)));
+        }
+
+        void close() {
+            credits.dispose();
+            streams.tryEmitComplete();
+            credits.complete();
+            log.debug("WebSocket {} closed", id);
+        }
+
+        /**
+         * Requests frames from the merged session streams only as far as both the client has granted credit
+         * and the socket has asked for frames, so no frame is ever queued between the two.
+         */
+        private final class CreditSubscriber extends BaseSubscriber<byte[]> {
+            private long clientCredit; // guarded by this
+            private long socketDemand; // guarded by this
+            private volatile FluxSink<byte[]> outbound;
+
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // No frames until the client's first request
+            }
+
+            @Override
+            protected void hookOnNext(byte[] frame) {
+                // Only requested once the socket has asked for frames, so the sink is attached
+                outbound.next(frame);
+            }
+
+            void attach(FluxSink<byte[]> sink) {
+                outbound = sink;
+                sink.onRequest(this::demand);
+            }
+
+            void grant(long n) {
+                synchronized (this) {
+                    clientCredit = Operators.addCap(clientCredit, n);
+                }
+                requestCredited();
+            }
+
+            void complete() {
+                FluxSink<byte[]> sink = outbound;
+                if (sink != null) {
+                    sink.complete();
+                }
+            }
+
+            private void demand(long n) {
+                synchronized (this) {
+                    socketDemand = Operators.addCap(socketDemand, n);
+                }
+                requestCredited();
+            }
+
+            private void requestCredited() {
+                long n;
+                synchronized (this) {
+                    n = Math.min(clientCredit, socketDemand);
+                    clientCredit -= n;
+                    socketDemand -= n;
+                }
+                if (n > 0) {
+                    request(n);
+                }
+            }
+        }
+    }
+}
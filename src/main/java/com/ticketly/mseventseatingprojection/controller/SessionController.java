@@ -1,12 +1,20 @@
 package com.ticketly.mseventseatingprojection.controller;
 
 import com.ticketly.mseventseatingprojection.dto.SessionInfoDTO;
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusSnapshotDto;
 import com.ticketly.mseventseatingprojection.model.EventDocument.SessionSeatingMapInfo;
 import com.ticketly.mseventseatingprojection.service.EventQueryService;
+import com.ticketly.mseventseatingprojection.service.SeatStatusSnapshotService;
+import com.ticketly.mseventseatingprojection.service.SeatingMapLayoutCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
@@ -17,6 +25,8 @@ import reactor.core.publisher.Mono;
 public class SessionController {
 
     private final EventQueryService eventQueryService;
+    private final SeatingMapLayoutCache seatingMapLayoutCache;
+    private final SeatStatusSnapshotService seatStatusSnapshotService;
 
     /**
      * Retrieves the seating map for a specific session by its ID.
@@ -31,6 +41,62 @@ public class SessionController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves the static seating layout of a session, without seat statuses, as pre-encoded JSON.
+     * Responses carry a content-hash ETag, so browsers and CDNs can revalidate with If-None-Match
+     * and get a 304 while the layout is unchanged. Live seat statuses are delivered separately.
+     *
+     * @param sessionId      The ID of the session
+     * @param ifNoneMatch    ETag(s) the client already holds
+     * @param acceptEncoding Encodings the client accepts; gzip is served when listed
+     * @return A Mono emitting the layout bytes, a 304 Not Modified, or a not found response
+     */
+    @GetMapping("/{sessionId}/seating-map/layout")
+    public Mono<ResponseEntity<byte[]>> getSessionSeatingLayout(
+            @PathVariable String sessionId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return seatingMapLayoutCache.get(sessionId)
+                .map(layout -> {
+                    CacheControl cacheControl = CacheControl.maxAge(seatingMapLayoutCache.getClientMaxAge()).cachePublic();
+                    if (layout.matches(ifNoneMatch)) {
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                .eTag(layout.etag())
+                                .cacheControl(cacheControl)
+                                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                                .<byte[]>build();
+                    }
+                    boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .eTag(layout.etag())
+                            .cacheControl(cacheControl)
+                            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                            .contentType(MediaType.APPLICATION_JSON);
+                    if (gzip) {
+                        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(layout.gzip());
+                    }
+                    return response.body(layout.json());
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves the current status of every seat in a session as a compact, two-bit packed snapshot,
+     * meant to be combined with the static layout. The snapshot's sequence is where the seat status
+     * SSE stream continues from.
+     *
+     * @param sessionId The ID of the session
+     * @return A Mono emitting the snapshot or a not found response
+     */
+    @GetMapping("/{sessionId}/seat-status")
+    public Mono<ResponseEntity<SeatStatusSnapshotDto>> getSeatStatusSnapshot(@PathVariable String sessionId) {
+        return seatStatusSnapshotService.getSnapshot(sessionId)
+                .map(snapshot -> ResponseEntity.ok()
+                        .cacheControl(CacheControl.noStore())
+                        .body(snapshot))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
     /**
      * Retrieves session information by session ID.
      * This endpoint returns only the session metadata without the seating map layout data.
@@ -1,16 +1,19 @@
 package com.ticketly.mseventseatingprojection.controller;
 
-import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
 import com.ticketly.mseventseatingprojection.service.SseService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBufferFactory;
 import org.springframework.http.MediaType;
-import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -22,12 +25,38 @@ public class SseController {
 
     /**
      * Streams seat status updates for a session using Server-Sent Events (SSE).
+     * Each event's id is the session's seat status sequence. Browsers send it back as {@code Last-Event-ID}
+     * when they reconnect; clients starting from a snapshot pass its sequence as {@code lastEventId} instead,
+     * since EventSource cannot set headers on the first request.
+     * <p>
+     * Events arrive already encoded and are written as-is, wrapping the shared bytes without copying,
+     * so a session's audience does not multiply serialization work.
+     * <p>
+     * Clients showing part of a large venue pass the blocks in view (and optionally individual seats) to
+     * receive only the changes of those seats; without either, every seat of the session is streamed.
      *
      * @param sessionId The UUID of the session.
-     * @return Flux of ServerSentEvent containing SeatStatusUpdateDto.
+     * @param lastEventIdHeader The sequence of the last applied update, sent on reconnect.
+     * @param lastEventIdParam The sequence of the snapshot the client starts from.
+     * @param blockIds Optional block IDs to follow, as comma-separated or repeated {@code blocks} parameters.
+     * @param seatIds Optional seat IDs to follow, as comma-separated or repeated {@code seats} parameters.
+     * @param response The response the event stream is written to.
+     * @return Mono completing when the stream ends.
      */
     @GetMapping(path = "/sessions/{sessionId}/seat-status", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<ServerSentEvent<SeatStatusUpdateDto>> streamSeatStatus(@PathVariable UUID sessionId) {
-        return sseService.register(sessionId);
+    public Mono<Void> streamSeatStatus(
+            @PathVariable UUID sessionId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam,
+            @RequestParam(value = "blocks", required = false) Set<String> blockIds,
+            @RequestParam(value = "seats", required = false) Set<UUID> seatIds,
+            ServerHttpResponse response) {
+        SseService.SeatFilter filter = new SseService.SeatFilter(blockIds, seatIds);
+        var frames = sseService.register(sessionId, lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam,
+                filter.isEmpty() ? null : filter);
+
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        DataBufferFactory bufferFactory = response.bufferFactory();
+        return response.writeAndFlushWith(frames.map(frame -> Mono.just(bufferFactory.wrap(frame.bytes()))));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.ticketly.mseventseatingprojection.dto;
+
+import java.util.UUID;
+
+/**
+ * A control message sent by clients of the binary seat status WebSocket, as JSON text.
+ *
+ * @param type        {@code subscribe}, {@code unsubscribe} or {@code request}.
+ * @param sessionId   The session to (un)subscribe.
+ * @param lastEventId For {@code subscribe}: the sequence the client already holds, to resume after it.
+ * @param n           For {@code request}: how many more frames the client is ready to receive.
+ */
+public record SeatStreamCommand(
+        String type,
+        UUID sessionId,
+        Long lastEventId,
+        Long n
+) {
+    public static final String SUBSCRIBE = "subscribe";
+    public static final String UNSUBSCRIBE = "unsubscribe";
+    public static final String REQUEST = "request";
+}
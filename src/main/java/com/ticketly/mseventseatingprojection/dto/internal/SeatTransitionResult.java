@@ -0,0 +1,31 @@
+package com.ticketly.mseventseatingprojection.dto.internal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a conditional seat-status transition.
+ * Seats that were BOOKED (or unknown to the session) are rejected; all others took the new status.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatTransitionResult {
+    private List<String> transitionedSeats;
+    private List<String> rejectedSeats;
+    private long version; // Seat-state version after the write, 0 when nothing was written
+    private boolean seatStateMissing; // The session has no seat state yet, so every seat was rejected
+
+    public static SeatTransitionResult rejected(List<String> seatIds) {
+        return new SeatTransitionResult(List.of(), List.copyOf(seatIds), 0, false);
+    }
+
+    public static SeatTransitionResult missingSeatState(List<String> seatIds) {
+        return new SeatTransitionResult(List.of(), List.copyOf(seatIds), 0, true);
+    }
+}
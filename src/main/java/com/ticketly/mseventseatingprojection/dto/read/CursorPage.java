@@ -0,0 +1,27 @@
+package com.ticketly.mseventseatingprojection.dto.read;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a cursor-paginated listing.
+ *
+ * @param content       The results of this page.
+ * @param nextCursor    Opaque token to pass as {@code cursor} for the next page; null on the last page.
+ * @param totalElements Total number of results, or null when counting was skipped.
+ * @param totalCapped   Whether only part of the matches were counted, so the total is a lower bound.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor,
+        Long totalElements,
+        boolean totalCapped
+) {
+    public CursorPage(List<T> content, String nextCursor, Long totalElements) {
+        this(content, nextCursor, totalElements, false);
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+        return new CursorPage<>(content.stream().<R>map(converter).toList(), nextCursor, totalElements, totalCapped);
+    }
+}
@@ -0,0 +1,42 @@
+package com.ticketly.mseventseatingprojection.dto.read;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of search results that also carries the search's facet counts, when they were asked for.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+
+    private final SearchFacetsDTO facets;
+    private final boolean totalCapped;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, SearchFacetsDTO facets) {
+        this(content, pageable, total, facets, false);
+    }
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, SearchFacetsDTO facets, boolean totalCapped) {
+        super(content, pageable, total);
+        this.facets = facets;
+        this.totalCapped = totalCapped;
+    }
+
+    public SearchFacetsDTO getFacets() {
+        return facets;
+    }
+
+    /**
+     * @return true if only part of the matches were counted, so the total (and facets) are a lower bound.
+     */
+    public boolean isTotalCapped() {
+        return totalCapped;
+    }
+
+    @Override
+    public <U> FacetedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new FacetedPage<>(getConvertedContent(converter), getPageable(), getTotalElements(), facets, totalCapped);
+    }
+}
@@ -0,0 +1,19 @@
+package com.ticketly.mseventseatingprojection.dto.read;
+
+/**
+ * How an event search works out its total number of results.
+ */
+public enum SearchCountMode {
+    /**
+     * Counts every match, which repeats the whole search.
+     */
+    EXACT,
+    /**
+     * Counts matches up to {@code projection.search.count-limit}; beyond it the total is a lower bound.
+     */
+    ESTIMATED,
+    /**
+     * Skips counting; the total only tells whether another page follows.
+     */
+    NONE
+}
@@ -0,0 +1,31 @@
+package com.ticketly.mseventseatingprojection.dto.read;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Counts of the events matching a search, broken down by category, starting price and start date.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchFacetsDTO {
+    private List<FacetCount> categories; // Most common first
+    private List<FacetCount> prices; // Starting price ranges, cheapest first
+    private List<FacetCount> dates; // Earliest upcoming session: next 24 hours, 7 days, 30 days, later
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String key; // Category ID, or the range's label
+        private String label;
+        private long count;
+    }
+}
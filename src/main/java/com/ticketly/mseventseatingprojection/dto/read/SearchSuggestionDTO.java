@@ -0,0 +1,23 @@
+package com.ticketly.mseventseatingprojection.dto.read;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A completion of a partly typed search: an event title, a category, a venue or a city.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchSuggestionDTO {
+    private Type type;
+    private String text;
+    private String id; // Event or category ID; null for venues and cities
+
+    public enum Type {
+        EVENT, CATEGORY, VENUE, CITY
+    }
+}
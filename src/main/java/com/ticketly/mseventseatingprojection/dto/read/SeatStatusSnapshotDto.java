@@ -0,0 +1,22 @@
+package com.ticketly.mseventseatingprojection.dto.read;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Compact snapshot of every seat's status in a session.
+ * {@code statuses} is base64 of two bits per seat (four seats per byte, first seat in the lowest bits),
+ * in layout order: each block's seats, then its rows' seats. Each code indexes {@code statusCodes}.
+ */
+@Data
+@Builder
+public class SeatStatusSnapshotDto {
+    private String sessionId;
+    private long sequence;       // Seat-state version; the SSE stream continues after it
+    private String layoutEtag;   // ETag of the layout whose seat order the snapshot follows
+    private int seatCount;
+    private List<String> statusCodes;
+    private String statuses;
+}
@@ -1,12 +1,36 @@
 package com.ticketly.mseventseatingprojection.dto.read;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
 
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * A seat status delta pushed to seat-picker clients.
+ *
+ * @param sequence The session's seat-state version produced by this change. It increases monotonically per
+ *                 session, matches the {@code sequence} of the seat status snapshot, and is sent as the SSE
+ *                 event id so clients can resume with {@code Last-Event-ID}.
+ */
 public record SeatStatusUpdateDto(
         List<UUID> seatIds,
-        ReadModelSeatStatus status
+        ReadModelSeatStatus status,
+        long sequence
 ) {
-}
\ No newline at end of file
+
+    /**
+     * A marker telling clients to reload the seat status snapshot, for changes that rewrote the session's
+     * seats as a whole (a re-projection) rather than moving individual seats.
+     *
+     * @param sequence The seat-state version the rewrite produced.
+     */
+    public static SeatStatusUpdateDto resync(long sequence) {
+        return new SeatStatusUpdateDto(List.of(), null, sequence);
+    }
+
+    @JsonIgnore
+    public boolean isResync() {
+        return status == null;
+    }
+}
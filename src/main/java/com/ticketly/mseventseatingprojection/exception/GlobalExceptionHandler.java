@@ -6,6 +6,7 @@ import org.springframework.boot.autoconfigure.web.reactive.error.AbstractErrorWe
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.ServerCodecConfigurer;
@@ -58,6 +59,12 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
                 log.warn("Unauthorized access attempt: {}", error.getMessage()); // <-- CHANGED
                 return buildErrorResponse(HttpStatus.FORBIDDEN, error.getMessage(), path, null);
             }
+            case SubscriberLimitExceededException ex -> {
+                log.warn("Rejected streaming client: {}", error.getMessage());
+                HttpHeaders headers = new HttpHeaders();
+                headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()));
+                return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, error.getMessage(), path, null, headers);
+            }
             case WebExchangeBindException ex -> {
                 Map<String, String> validationErrors = new HashMap<>();
                 ex.getBindingResult().getAllErrors().forEach(err -> {
@@ -98,6 +105,15 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
             String message,
             String path,
             Map<String, String> validationErrors) {
+        return buildErrorResponse(status, message, path, validationErrors, HttpHeaders.EMPTY);
+    }
+
+    private Mono<ServerResponse> buildErrorResponse(
+            HttpStatus status,
+            String message,
+            String path,
+            Map<String, String> validationErrors,
+            HttpHeaders headers) {
 
         ErrorResponse response = ErrorResponse.builder()
                 .status(status.value())
@@ -110,6 +126,7 @@ public class GlobalExceptionHandler extends AbstractErrorWebExceptionHandler {
 
         return ServerResponse
                 .status(status)
+                .headers(h -> h.addAll(headers))
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(response));
     }
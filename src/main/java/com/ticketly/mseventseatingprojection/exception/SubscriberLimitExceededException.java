@@ -0,0 +1,19 @@
+package com.ticketly.mseventseatingprojection.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a streaming client cannot be accepted because a subscriber limit is reached.
+ * Rendered as 503 Service Unavailable with a Retry-After header.
+ */
+@Getter
+public class SubscriberLimitExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public SubscriberLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
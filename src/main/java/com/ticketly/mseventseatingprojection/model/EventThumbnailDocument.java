@@ -0,0 +1,115 @@
+package com.ticketly.mseventseatingprojection.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Search result card of an approved event, derived by the projector from the events document so
+ * listing endpoints read one small, indexed document per result. Fields that depend on the clock
+ * (earliest upcoming session, valid discounts) are recomputed at {@code refreshAt}.
+ */
+@Data
+@Builder
+@Document(collection = "event_thumbnails")
+@CompoundIndexes({
+        // Sort keys of search, with the ID that breaks ties between pages of a cursor
+        @CompoundIndex(name = "earliest_upcoming_start_id", def = "{'earliestUpcomingStart': 1, '_id': 1}"),
+        @CompoundIndex(name = "min_price_id", def = "{'minPrice': 1, '_id': 1}"),
+        // Nearby searches in a date range: a session's venue cell, then its start
+        @CompoundIndex(name = "session_cells_cell_start", def = "{'sessionCells.cell': 1, 'sessionCells.startTime': 1}")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventThumbnailDocument {
+
+    @Id
+    private String id; // The event ID
+
+    private String title;
+
+    private String description; // Searched through EventTextIndex, never shown on the card
+
+    private String coverPhotoUrl;
+    private String organizationId;
+    private String organizationName;
+    private String categoryId;
+    private String categoryName;
+
+    /**
+     * The event's category followed by its ancestors, so a category filter matches its whole subtree.
+     */
+    @Indexed
+    private List<String> categoryAncestry;
+
+    private BigDecimal minPrice;
+    private List<BigDecimal> prices;
+
+    /**
+     * Start of the earliest session that has not started yet; null once every session has.
+     */
+    private Instant earliestUpcomingStart;
+    private List<Instant> sessionStarts;
+    private EarliestSession earliestSession;
+    private List<Venue> venues; // Distinct venues of the sessions, for search suggestions
+
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private List<GeoJsonPoint> locations;
+
+    /**
+     * Venue cell and start of each session with a venue, so a nearby search matches a session that is both
+     * close and in the date range.
+     */
+    private List<SessionCell> sessionCells;
+
+    private List<EventDocument.DiscountInfo> discounts; // Public discounts valid at refreshedAt
+
+    private Instant refreshedAt;
+
+    /**
+     * When the next session starts or discount window opens or closes, after which this must be recomputed.
+     */
+    @Indexed
+    private Instant refreshAt;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class EarliestSession {
+        private Instant startTime;
+        private String venueName;
+        private String city;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Venue {
+        private String name;
+        private String city;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class SessionCell {
+        private String cell; // Geohash of the venue, see GeoCells
+        private Instant startTime;
+    }
+}
@@ -23,6 +23,7 @@ public class EventTrendingDocument {
     @Indexed
     private String eventId;
     
+    @Indexed
     private double trendingScore;
     
     private int viewCount;
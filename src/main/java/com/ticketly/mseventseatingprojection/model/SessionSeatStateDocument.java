@@ -0,0 +1,57 @@
+package com.ticketly.mseventseatingprojection.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * Live seat state of a single session, kept apart from the (static) layout geometry in the
+ * events document so lock/unlock traffic only touches this small per-session document.
+ */
+@Data
+@Builder
+@Document(collection = "session_seat_states")
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionSeatStateDocument {
+
+    @Id
+    private String id; // The session ID
+
+    @Indexed
+    private String eventId;
+
+    /**
+     * Incremented on every write to the document, so readers can order snapshots and deltas.
+     */
+    private long version;
+
+    private List<SeatState> seats;
+
+    // Small lookup tables so analytics never need to open the events document.
+    private List<EventDocument.TierInfo> tiers;
+    private List<BlockSummary> blocks;
+
+    @Data
+    @Builder
+    public static class SeatState {
+        private String id;
+        private ReadModelSeatStatus status;
+        private String tierId;
+        private String blockId;
+    }
+
+    @Data
+    @Builder
+    public static class BlockSummary {
+        private String id;
+        private String name;
+        private String type;
+    }
+}
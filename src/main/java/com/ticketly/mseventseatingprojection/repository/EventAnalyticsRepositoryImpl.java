@@ -29,48 +29,22 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
 
     private final ReactiveMongoTemplate reactiveMongoTemplate;
 
-    // private final AggregationOperation UNIFY_SEATS_OPERATION = context ->
-    // Document.parse("""
-    // {
-    // "$project": {
-    // "allSeats": {
-    // "$concatArrays": [
-    // { "$ifNull": ["$sessions.layoutData.layout.blocks.seats", []] },
-    // { "$ifNull": [
-    // { "$reduce": {
-    // "input": "$sessions.layoutData.layout.blocks.rows.seats",
-    // "initialValue": [],
-    // "in": { "$concatArrays": ["$$value", "$$this"] }
-    // }},
-    // []
-    // ]}
-    // ]
-    // }
-    // }
-    // }
-    // """);
-    private final AggregationOperation UNIFY_SEATS_OPERATION = context -> Document.parse("""
+    private static final String SEAT_STATES_COLLECTION = "session_seat_states";
+
+    // Live seat statuses live in session_seat_states. After unwinding "seats", this promotes each
+    // seat to the root and resolves its tier from the session's tier table, so later stages can
+    // keep using "status" and "tier.price" exactly as they did on the embedded layout seats.
+    private final AggregationOperation SEAT_WITH_TIER_OPERATION = context -> Document.parse("""
             {
-                "$project": {
-                    "allSeats": {
-                        "$reduce": {
-                            "input": "$sessions.layoutData.layout.blocks",
-                            "initialValue": [],
-                            "in": {
-                                "$concatArrays": [
-                                    "$$value",
-                                    { "$ifNull": ["$$this.seats", []] },
-                                    { "$ifNull": [
-                                        { "$reduce": {
-                                            "input": "$$this.rows.seats",
-                                            "initialValue": [],
-                                            "in": { "$concatArrays": ["$$value", "$$this"] }
-                                        }},
-                                        []
-                                    ]}
-                                ]
-                            }
-                        }
+                "$replaceRoot": {
+                    "newRoot": {
+                        "$mergeObjects": [
+                            "$seats",
+                            { "tier": { "$arrayElemAt": [
+                                { "$filter": { "input": { "$ifNull": ["$tiers", []] }, "as": "t", "cond": { "$eq": ["$$t._id", "$seats.tierId"] } } },
+                                0
+                            ]}}
+                        ]
                     }
                 }
             }
@@ -142,18 +116,14 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
                 """);
 
         Aggregation aggregation = newAggregation(
-                match(Criteria.where("_id").is(eventId)),
-                unwind("sessions"),
-//                unwind("sessions.layoutData.layout.blocks"),
-                // ++ USE THE NATIVE OPERATION HERE ++
-                UNIFY_SEATS_OPERATION,
-                unwind("allSeats"),
-                replaceRoot("allSeats"),
+                match(Criteria.where("eventId").is(eventId)),
+                unwind("seats"),
+                SEAT_WITH_TIER_OPERATION,
                 calculateStatsOperation,
                 calculateDerivedMetrics
         );
 
-        return reactiveMongoTemplate.aggregate(aggregation, "events", EventOverallStatsDTO.class)
+        return reactiveMongoTemplate.aggregate(aggregation, SEAT_STATES_COLLECTION, EventOverallStatsDTO.class)
                 .next()
                 .defaultIfEmpty(new EventOverallStatsDTO());
     }
@@ -202,133 +172,52 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
 
     @Override
     public Flux<TierSalesDTO> getTierAnalytics(String eventId) {
-        Aggregation aggregation = newAggregation(
-                match(Criteria.where("_id").is(eventId)),
-                unwind("sessions"),
-                // unwind("sessions.layoutData.layout.blocks"),
-                UNIFY_SEATS_OPERATION,
-                unwind("allSeats"),
-                replaceRoot("allSeats"),
-                match(Criteria.where("tier._id").ne(null)),
-                group("tier._id")
-                        .first("tier").as("tierData")
-                        .count().as("tierCapacity")
-                        .sum(
-                                ConditionalOperators.when(Criteria.where("status").is("BOOKED")).then(1).otherwise(0))
-                        .as("ticketsSold")
-                        .sum(
-                                ConditionalOperators.when(Criteria.where("status").is("BOOKED"))
-                                        .then(ConvertOperators.Convert.convertValue("$tier.price").to("decimal"))
-                                        .otherwise(0))
-                        .as("totalRevenue"),
-                project()
-                        .and("tierData._id").as("tierId")
-                        .and("tierData.name").as("tierName")
-                        .and("tierData.color").as("tierColor")
-                        .and("tierCapacity").as("tierCapacity")
-                        .and("ticketsSold").as("ticketsSold")
-                        .and("totalRevenue").as("totalRevenue")
-                        .and(
-                                ConditionalOperators.when(Criteria.where("tierCapacity").gt(0))
-                                        .thenValueOf(
-                                                ArithmeticOperators.Multiply.valueOf(
-                                                        ArithmeticOperators.Divide.valueOf("ticketsSold")
-                                                                .divideBy("tierCapacity"))
-                                                        .multiplyBy(100))
-                                        .otherwise(0))
-                        .as("percentageOfTotalSales")
-                        .andExclude("_id"));
+        List<AggregationOperation> operations = new ArrayList<>();
+        operations.add(match(Criteria.where("eventId").is(eventId)));
+        operations.add(unwind("seats"));
+        operations.add(SEAT_WITH_TIER_OPERATION);
+        operations.add(match(Criteria.where("tier._id").ne(null)));
+        operations.addAll(createTierSalesPipeline());
 
-        return reactiveMongoTemplate.aggregate(aggregation, "events", TierSalesDTO.class);
+        return reactiveMongoTemplate.aggregate(newAggregation(operations), SEAT_STATES_COLLECTION, TierSalesDTO.class);
     }
 
     public Flux<TierSalesDTO> getTierAnalytics(String eventId, String sessionId) {
-        Aggregation aggregation = newAggregation(
-                // 1. Match the specific event containing the session
-                match(Criteria.where("_id").is(eventId).and("sessions._id").is(sessionId)),
-                // 2. Unwind sessions
-                unwind("sessions"),
-                // 3. Match ONLY the specific session document AFTER unwinding
-                match(Criteria.where("sessions._id").is(sessionId)),
-                // 4. Unify seats for this session (adds 'allSeats' field to the current doc)
-                UNIFY_SEATS_OPERATION,
-                // 5. Unwind the unified seats array
-                unwind("allSeats"),
-                // 6. Filter for seats with COMPLETE tier info
-                match(
-                        Criteria.where("allSeats.tier").exists(true)
-                                .and("allSeats.tier._id").ne(null)
-                                .and("allSeats.tier.name").ne(null) // Assuming name is reliable for grouping
-                                .and("allSeats.tier.price").ne(null)
-                ),
-                // 7. Group by tier ID (Data is now at 'allSeats.tier')
-                group("allSeats.tier._id")
-                        .first("allSeats.tier").as("tierData") // Grab tier info from the seat
-                        .count().as("tierCapacity")
-                        .sum(
-                                ConditionalOperators.when(Criteria.where("allSeats.status").is("BOOKED")).then(1).otherwise(0)
-                        ).as("ticketsSold")
-                        .sum(
-                                ConditionalOperators.when(Criteria.where("allSeats.status").is("BOOKED"))
-                                        .then(ConvertOperators.Convert.convertValue("$allSeats.tier.price").to("decimal"))
-                                        .otherwise(0)
-                        ).as("totalRevenue"),
-                project()
-                        .and("tierData._id").as("tierId")
-                        .and("tierData.name").as("tierName")
-                        .and("tierData.color").as("tierColor")
-                        .and("tierCapacity").as("tierCapacity")
-                        .and("ticketsSold").as("ticketsSold")
-                        .and("totalRevenue").as("totalRevenue")
-                        .and(
-                                ConditionalOperators.when(Criteria.where("tierCapacity").gt(0))
-                                        .thenValueOf(
-                                                ArithmeticOperators.Multiply.valueOf(
-                                                        ArithmeticOperators.Divide.valueOf("ticketsSold")
-                                                                .divideBy("tierCapacity"))
-                                                        .multiplyBy(100))
-                                        .otherwise(0))
-                        .as("percentageOfTotalSales")
-                        .andExclude("_id"));
-        return reactiveMongoTemplate.aggregate(aggregation, "events", TierSalesDTO.class);
+        List<AggregationOperation> operations = new ArrayList<>();
+        // 1. Match the seat state of the specific session
+        operations.add(match(Criteria.where("_id").is(sessionId).and("eventId").is(eventId)));
+        // 2. Promote each seat with its resolved tier
+        operations.add(unwind("seats"));
+        operations.add(SEAT_WITH_TIER_OPERATION);
+        // 3. Filter for seats with COMPLETE tier info
+        operations.add(match(
+                Criteria.where("tier._id").ne(null)
+                        .and("tier.name").ne(null) // Assuming name is reliable for grouping
+                        .and("tier.price").ne(null)
+        ));
+        operations.addAll(createTierSalesPipeline());
+
+        return reactiveMongoTemplate.aggregate(newAggregation(operations), SEAT_STATES_COLLECTION, TierSalesDTO.class);
     }
 
     @Override
     public Flux<SeatStatusCountDTO> getSessionStatusCounts(String eventId, String sessionId) {
         Aggregation aggregation = newAggregation(
-                match(Criteria.where("_id").is(eventId).and("sessions._id").is(sessionId)),
-                unwind("sessions"),
-                match(Criteria.where("sessions._id").is(sessionId)),
-                UNIFY_SEATS_OPERATION,
-                unwind("allSeats"),
-                replaceRoot("allSeats"),
-                group("status").count().as("count"),
+                match(Criteria.where("_id").is(sessionId).and("eventId").is(eventId)),
+                unwind("seats"),
+                group("seats.status").count().as("count"),
                 project("count").and("_id").as("status").andExclude("_id")
         );
-        return reactiveMongoTemplate.aggregate(aggregation, "events", SeatStatusCountDTO.class);
+        return reactiveMongoTemplate.aggregate(aggregation, SEAT_STATES_COLLECTION, SeatStatusCountDTO.class);
     }
 
     @Override
     public Flux<BlockOccupancyDTO> getBlockOccupancy(String eventId, String sessionId) {
-        AggregationOperation unifyBlockSeatsOperation = context -> Document.parse("""
+        AggregationOperation collectBlockSeatsOperation = context -> Document.parse("""
                 {
                     "$addFields": {
                         "allSeatsInBlock": {
-                            "$concatArrays": [
-                                {"$ifNull": ["$sessions.layoutData.layout.blocks.seats", []]},
-                                {
-                                    "$ifNull": [
-                                        {
-                                            "$reduce": {
-                                                "input": "$sessions.layoutData.layout.blocks.rows.seats",
-                                                "initialValue": [],
-                                                "in": {"$concatArrays": ["$$value", "$$this"]}
-                                            }
-                                        },
-                                        []
-                                    ]
-                                }
-                            ]
+                            "$filter": {"input": {"$ifNull": ["$seats", []]}, "as": "seat", "cond": {"$eq": ["$$seat.blockId", "$blocks._id"]}}
                         }
                     }
                 }
@@ -347,9 +236,9 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
                 {
                     "$project": {
                         "_id": 0,
-                        "blockId": "$sessions.layoutData.layout.blocks._id",
-                        "blockName": "$sessions.layoutData.layout.blocks.name",
-                        "blockType": "$sessions.layoutData.layout.blocks.type",
+                        "blockId": "$blocks._id",
+                        "blockName": "$blocks.name",
+                        "blockType": "$blocks.type",
                         "totalCapacity": "$blockCapacity",
                         "seatsSold": "$seatsSold",
                         "occupancyPercentage": {
@@ -364,16 +253,51 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
                 """);
 
         Aggregation aggregation = newAggregation(
-                match(Criteria.where("_id").is(eventId).and("sessions._id").is(sessionId)),
-                unwind("sessions"),
-                match(Criteria.where("sessions._id").is(sessionId)),
-                unwind("sessions.layoutData.layout.blocks"),
-                unifyBlockSeatsOperation,
+                match(Criteria.where("_id").is(sessionId).and("eventId").is(eventId)),
+                unwind("blocks"),
+                collectBlockSeatsOperation,
                 calculateBlockStatsOperation,
                 projectBlockOccupancyOperation
         );
 
-        return reactiveMongoTemplate.aggregate(aggregation, "events", BlockOccupancyDTO.class);
+        return reactiveMongoTemplate.aggregate(aggregation, SEAT_STATES_COLLECTION, BlockOccupancyDTO.class);
+    }
+
+    /**
+     * Groups seats (already promoted to the root with their tier resolved) into per-tier sales figures.
+     *
+     * @return Aggregation stages from the grouping to the final projection
+     */
+    private List<AggregationOperation> createTierSalesPipeline() {
+        return List.of(
+                group("tier._id")
+                        .first("tier").as("tierData")
+                        .count().as("tierCapacity")
+                        .sum(
+                                ConditionalOperators.when(Criteria.where("status").is("BOOKED")).then(1).otherwise(0))
+                        .as("ticketsSold")
+                        .sum(
+                                ConditionalOperators.when(Criteria.where("status").is("BOOKED"))
+                                        .then(ConvertOperators.Convert.convertValue("$tier.price").to("decimal"))
+                                        .otherwise(0))
+                        .as("totalRevenue"),
+                project()
+                        .and("tierData._id").as("tierId")
+                        .and("tierData.name").as("tierName")
+                        .and("tierData.color").as("tierColor")
+                        .and("tierCapacity").as("tierCapacity")
+                        .and("ticketsSold").as("ticketsSold")
+                        .and("totalRevenue").as("totalRevenue")
+                        .and(
+                                ConditionalOperators.when(Criteria.where("tierCapacity").gt(0))
+                                        .thenValueOf(
+                                                ArithmeticOperators.Multiply.valueOf(
+                                                        ArithmeticOperators.Divide.valueOf("ticketsSold")
+                                                                .divideBy("tierCapacity"))
+                                                        .multiplyBy(100))
+                                        .otherwise(0))
+                        .as("percentageOfTotalSales")
+                        .andExclude("_id"));
     }
 
     /**
@@ -383,16 +307,27 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
      */
     private List<AggregationOperation> createSessionAnalyticsPipeline() {
         // Define the complex stages using native JSON for clarity and correctness
+        AggregationOperation excludeLayoutOperation = context -> Document.parse("""
+                    { "$project": { "sessions.layoutData": 0 } }
+                """);
+
+        // Live seat statuses come from the session's seat-state document
+        AggregationOperation lookupSeatStateOperation = context -> Document.parse("""
+                    {
+                        "$lookup": {
+                            "from": "session_seat_states",
+                            "localField": "sessions._id",
+                            "foreignField": "_id",
+                            "as": "seatState"
+                        }
+                    }
+                """);
+
         AggregationOperation unifySeatsOperation = context -> Document.parse("""
                     {
                         "$addFields": {
-                            "unifiedSeats": {
-                                "$reduce": {
-                                    "input": "$sessions.layoutData.layout.blocks",
-                                    "initialValue": [],
-                                    "in": { "$concatArrays": [ "$$value", { "$ifNull": ["$$this.seats", []] }, { "$ifNull": [ { "$reduce": { "input": "$$this.rows.seats", "initialValue": [], "in": { "$concatArrays": ["$$value", "$$this"] }}}, [] ]} ] }
-                                }
-                            }
+                            "unifiedSeats": { "$ifNull": [{ "$arrayElemAt": ["$seatState.seats", 0] }, []] },
+                            "sessionTiers": { "$ifNull": [{ "$arrayElemAt": ["$seatState.tiers", 0] }, []] }
                         }
                     }
                 """);
@@ -412,7 +347,10 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
                     {
                         "$addFields": {
                             "ticketsSold": { "$size": "$bookedSeats" },
-                            "sessionRevenue": { "$sum": { "$map": { "input": "$bookedSeats", "as": "seat", "in": { "$toDecimal": "$$seat.tier.price" } } } }
+                            "sessionRevenue": { "$sum": { "$map": { "input": "$bookedSeats", "as": "seat", "in": { "$toDecimal": { "$arrayElemAt": [
+                                { "$map": { "input": { "$filter": { "input": "$sessionTiers", "as": "t", "cond": { "$eq": ["$$t._id", "$$seat.tierId"] } } }, "as": "t", "in": "$$t.price" } },
+                                0
+                            ]}}}}}
                         }
                     }
                 """);
@@ -452,6 +390,8 @@ public class EventAnalyticsRepositoryImpl implements EventAnalyticsRepository {
                 """);
 
         return List.of(
+                excludeLayoutOperation,
+                lookupSeatStateOperation,
                 unifySeatsOperation,
                 calculateStatsOperation,
                 calculateFinalMetricsOperation,
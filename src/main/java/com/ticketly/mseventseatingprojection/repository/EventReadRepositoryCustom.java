@@ -1,9 +1,13 @@
 package com.ticketly.mseventseatingprojection.repository;
 
+import com.ticketly.mseventseatingprojection.dto.read.CursorPage;
+import com.ticketly.mseventseatingprojection.dto.read.SearchCountMode;
 import com.ticketly.mseventseatingprojection.dto.read.SessionStatusInfo;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -28,9 +32,11 @@ public interface EventReadRepositoryCustom {
      * @param priceMin   Minimum price filter.
      * @param priceMax   Maximum price filter.
      * @param pageable   Pagination information.
-     * @return Mono emitting a page of EventDocument.
+     * @param countMode  How to work out the page's total number of results.
+     * @param includeFacets Whether to also count the matches per category, price range and date range.
+     * @return Mono emitting a {@code FacetedPage} of EventThumbnailDocument.
      */
-    Mono<Page<EventDocument>> searchEvents(
+    Mono<Page<EventThumbnailDocument>> searchEvents(
             String searchTerm,
             String categoryId,
             Double longitude,
@@ -40,11 +46,48 @@ public interface EventReadRepositoryCustom {
             Instant dateTo,
             BigDecimal priceMin,
             BigDecimal priceMax,
-            Pageable pageable
+            Pageable pageable,
+            SearchCountMode countMode,
+            boolean includeFacets
     );
 
     /**
-     * Builds a Criteria object for category filtering, including subcategories if present.
+     * Performs the same search as {@link #searchEvents}, paging with a cursor: each page starts after the
+     * sort key and ID of the previous page's last result, so deep pages cost the same as the first one.
+     *
+     * @param searchTerm Search keyword for event title or description.
+     * @param categoryId Category ID to filter events.
+     * @param longitude  Longitude for location-based search.
+     * @param latitude   Latitude for location-based search.
+     * @param radiusKm   Radius in kilometers for location-based search.
+     * @param dateFrom   Start date filter.
+     * @param dateTo     End date filter.
+     * @param priceMin   Minimum price filter.
+     * @param priceMax   Maximum price filter.
+     * @param cursor     The previous page's next cursor; null or blank for the first page.
+     * @param size       Page size.
+     * @param sort       Sort of the first page, on a single key; later pages keep the sort of their cursor.
+     * @param countMode  How to work out the total number of results.
+     * @return Mono emitting a page of EventThumbnailDocument with the cursor of the next page.
+     */
+    Mono<CursorPage<EventThumbnailDocument>> scrollEvents(
+            String searchTerm,
+            String categoryId,
+            Double longitude,
+            Double latitude,
+            Integer radiusKm,
+            Instant dateFrom,
+            Instant dateTo,
+            BigDecimal priceMin,
+            BigDecimal priceMax,
+            String cursor,
+            int size,
+            Sort sort,
+            SearchCountMode countMode
+    );
+
+    /**
+     * Builds a Criteria object for category filtering, matching the category's subcategories too.
      *
      * @param categoryId The category ID to filter by.
      * @return Mono emitting the Criteria for category filtering.
@@ -52,10 +95,12 @@ public interface EventReadRepositoryCustom {
     Mono<Criteria> getCategoryCriteria(String categoryId);
 
     /**
-     * Executes the aggregation pipeline for event search with all filters applied.
+     * Executes the aggregation pipeline for event search over the event thumbnails with all filters applied.
+     * Exact totals and facets come from a single {@code $facet} aggregation next to the page query; estimated
+     * totals are cached.
      *
      * @param searchTerm      Search keyword.
-     * @param categoryCriteria Criteria for category filtering.
+     * @param categoryId      Category ID to filter events.
      * @param longitude       Longitude for location-based search.
      * @param latitude        Latitude for location-based search.
      * @param radiusKm        Radius in kilometers for location-based search.
@@ -64,12 +109,15 @@ public interface EventReadRepositoryCustom {
      * @param priceMin        Minimum price filter.
      * @param priceMax        Maximum price filter.
      * @param pageable        Pagination information.
-     * @return Mono emitting a page of EventDocument.
+     * @param countMode       How to work out the page's total number of results.
+     * @param includeFacets   Whether to also count the matches per category, price range and date range.
+     * @return Mono emitting a {@code FacetedPage} of EventThumbnailDocument.
      */
-    Mono<Page<EventDocument>> executeAggregation(
-            String searchTerm, Criteria categoryCriteria, Double longitude, Double latitude,
+    Mono<Page<EventThumbnailDocument>> executeAggregation(
+            String searchTerm, String categoryId, Double longitude, Double latitude,
             Integer radiusKm, Instant dateFrom, Instant dateTo,
-            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable);
+            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable,
+            SearchCountMode countMode, boolean includeFacets);
 
     /**
      * Finds the event document containing a session by session ID, excluding layout data.
@@ -97,12 +145,43 @@ public interface EventReadRepositoryCustom {
     Mono<Page<EventDocument.SessionInfo>> findSessionsByEventId(String eventId, Pageable pageable);
 
     /**
-     * Finds the seating map for a specific session by its ID.
+     * Finds the static seating layout of a session, as projected, without the live seat statuses.
      *
      * @param sessionId The ID of the session
-     * @return A Mono emitting the SessionSeatingMapInfo for the given session or empty if not found
+     * @return A Mono emitting the session's layout or empty if not found
+     */
+    Mono<EventDocument.SessionSeatingMapInfo> findLayoutBySessionId(String sessionId);
+
+    /**
+     * Finds an event by ID, whatever its status, without its sessions' layout data.
+     *
+     * @param eventId The event ID.
+     * @return Mono emitting the EventDocument, or empty if not found.
+     */
+    Mono<EventDocument> findEventWithoutLayouts(String eventId);
+
+    /**
+     * Finds every approved event without its sessions' layout data.
+     *
+     * @return Flux emitting the approved events.
+     */
+    Flux<EventDocument> findApprovedEventsWithoutLayouts();
+
+    /**
+     * Finds sessions that have no document in the seat-state store yet.
+     *
+     * @return Flux emitting one EventDocument (id and the affected sessions only) per event with such sessions.
+     */
+    Flux<EventDocument> findSessionsWithoutSeatState();
+
+    /**
+     * Finds a session, with its layout, if it has no document in the seat-state store yet.
+     *
+     * @param sessionId The ID of the session.
+     * @return Mono emitting the EventDocument (id and that session only), or empty if the session is unknown
+     *         or already has a seat state.
      */
-    Mono<EventDocument.SessionSeatingMapInfo> findSeatingMapBySessionId(String sessionId);
+    Mono<EventDocument> findSessionWithoutSeatState(String sessionId);
 
     /**
      * Finds sessions for a given event within a date range.
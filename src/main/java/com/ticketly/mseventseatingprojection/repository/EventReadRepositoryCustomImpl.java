@@ -1,9 +1,18 @@
 package com.ticketly.mseventseatingprojection.repository;
 
+import com.ticketly.mseventseatingprojection.dto.read.CursorPage;
+import com.ticketly.mseventseatingprojection.dto.read.FacetedPage;
+import com.ticketly.mseventseatingprojection.dto.read.SearchCountMode;
+import com.ticketly.mseventseatingprojection.dto.read.SearchFacetsDTO;
 import com.ticketly.mseventseatingprojection.dto.read.SessionStatusInfo;
-import com.ticketly.mseventseatingprojection.model.CategoryDocument;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
-import lombok.RequiredArgsConstructor;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.service.EventTextIndex;
+import com.ticketly.mseventseatingprojection.service.GeoCells;
+import com.ticketly.mseventseatingprojection.service.SearchCountCache;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -16,124 +25,298 @@ import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.*;
 import org.springframework.data.mongodb.core.query.*;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Repository;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
 
 @Repository
-@RequiredArgsConstructor
 public class EventReadRepositoryCustomImpl implements EventReadRepositoryCustom {
 
+    // Search sort keys kept from when search read the events collection, mapped to their thumbnail fields
+    private static final Map<String, String> THUMBNAIL_SORT_FIELDS = Map.of(
+            "sessions.startTime", "earliestUpcomingStart",
+            "tiers.price", "minPrice");
+
+    // Facet of the earliest upcoming session: starting within a day, a week, a month, or later
+    private static final List<Duration> DATE_FACET_BOUNDARIES = List.of(Duration.ofDays(1), Duration.ofDays(7), Duration.ofDays(30));
+    private static final List<String> DATE_FACET_KEYS = List.of("next-24-hours", "next-7-days", "next-30-days", "later");
+    private static final int CATEGORY_FACET_LIMIT = 20;
+    // Without a sort, searches with a term rank by text relevance and the others by the earliest upcoming session
+    private static final String TEXT_RANK_FIELD = "textRank";
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.ASC, "earliestUpcomingStart");
+
     private final ReactiveMongoTemplate reactiveMongoTemplate;
-    private final CategoryReadRepository categoryReadRepository;
+    private final SearchCountCache searchCountCache;
+    private final EventTextIndex eventTextIndex;
+    private final int countLimit;
+    private final int textMaxHits;
+    private final List<BigDecimal> priceFacetBoundaries;
+
+    public EventReadRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate,
+                                         SearchCountCache searchCountCache,
+                                         EventTextIndex eventTextIndex,
+                                         @Value("${projection.search.count-limit:1000}") int countLimit,
+                                         @Value("${projection.search.text-max-hits:1000}") int textMaxHits,
+                                         @Value("${projection.search.facets.price-boundaries:0,25,50,100,250,500}") List<BigDecimal> priceFacetBoundaries) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+        this.searchCountCache = searchCountCache;
+        this.eventTextIndex = eventTextIndex;
+        this.countLimit = countLimit;
+        this.textMaxHits = textMaxHits;
+        this.priceFacetBoundaries = priceFacetBoundaries.stream().sorted().toList();
+    }
 
     @Override
-    public Mono<Page<EventDocument>> searchEvents(
+    public Mono<Page<EventThumbnailDocument>> searchEvents(
             String searchTerm, String categoryId, Double longitude, Double latitude,
             Integer radiusKm, Instant dateFrom, Instant dateTo,
-            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable
+            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable,
+            SearchCountMode countMode, boolean includeFacets
     ) {
         // Performs a complex search for events with multiple optional filters.
-        if (categoryId != null) {
-            return getCategoryCriteria(categoryId)
-                    .flatMap(categoryCriteria -> executeAggregation(searchTerm, categoryCriteria, longitude, latitude,
-                            radiusKm, dateFrom, dateTo, priceMin, priceMax, pageable));
-        }
-        return executeAggregation(searchTerm, null, longitude, latitude,
-                radiusKm, dateFrom, dateTo, priceMin, priceMax, pageable);
+        return executeAggregation(searchTerm, categoryId, longitude, latitude,
+                radiusKm, dateFrom, dateTo, priceMin, priceMax, pageable, countMode, includeFacets);
     }
 
     @Override
     public Mono<Criteria> getCategoryCriteria(String categoryId) {
-        // Builds a Criteria object for category filtering, including subcategories if present.
-        return categoryReadRepository.findByParentId(categoryId)
-                .collectList()
-                .map(subcategories -> {
-                    if (!subcategories.isEmpty()) {
-                        List<String> allCategoryIds = new ArrayList<>();
-                        allCategoryIds.add(categoryId);
-                        allCategoryIds.addAll(subcategories.stream().map(CategoryDocument::getId).toList());
-                        return Criteria.where("category.id").in(allCategoryIds);
-                    } else {
-                        return Criteria.where("category.id").is(categoryId);
-                    }
-                });
+        return Mono.just(categoryCriteria(categoryId));
     }
 
     @Override
-    public Mono<Page<EventDocument>> executeAggregation(
-            String searchTerm, Criteria categoryCriteria, Double longitude, Double latitude,
+    public Mono<Page<EventThumbnailDocument>> executeAggregation(
+            String searchTerm, String categoryId, Double longitude, Double latitude,
             Integer radiusKm, Instant dateFrom, Instant dateTo,
-            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable) {
+            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable,
+            SearchCountMode countMode, boolean includeFacets) {
         // Executes the aggregation pipeline for event search with all filters applied.
+        boolean narrowed = hasOtherFilters(categoryId, longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax);
+        return textMatches(searchTerm, narrowed).flatMap(textMatches -> {
+            List<String> matches = textMatches.orElse(null);
+            List<AggregationOperation> filterStages = searchFilterStages(matches, categoryId,
+                    longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax);
+            Sort sort = toThumbnailSort(pageable.getSort());
+            // The text index only hands out its best matches; past them, totals undercount
+            boolean textCapped = !narrowed && matches != null && matches.size() >= textMaxHits;
+
+            if (countMode == SearchCountMode.EXACT || includeFacets) {
+                // Fresh counts: total and facets from a single pass over the matches. The page runs on its own,
+                // as sort, skip and limit inside $facet cannot use an index.
+                List<Date> dateBoundaries = dateFacetBoundaries(Instant.now());
+                List<AggregationOperation> countPipeline = new ArrayList<>(filterStages);
+                countPipeline.add(facetStage(includeFacets, dateBoundaries));
+                Mono<Document> counts = reactiveMongoTemplate.aggregate(newAggregation(EventThumbnailDocument.class, countPipeline)
+                                .withOptions(AggregationOptions.builder().allowDiskUse(true).build()), "event_thumbnails", Document.class)
+                        .singleOrEmpty()
+                        .defaultIfEmpty(new Document());
+
+                return aggregateThumbnails(pageStages(filterStages, sort, matches, pageable.getOffset(), pageable.getPageSize()))
+                        .collectList()
+                        .zipWith(counts)
+                        .map(tuple -> toFacetedPage(tuple.getT1(), tuple.getT2(), pageable, includeFacets, dateBoundaries, textCapped));
+            }
+
+            SearchCountCache.Key countKey = SearchCountCache.Key.of(searchTerm, categoryId, longitude, latitude,
+                    radiusKm, dateFrom, dateTo, priceMin, priceMax);
+            Mono<Optional<Long>> countMono = countMatches(filterStages, countMode, countKey);
+
+            // Without an exact count, one extra result tells whether another page follows
+            return aggregateThumbnails(pageStages(filterStages, sort, matches, pageable.getOffset(), pageable.getPageSize() + 1L))
+                    .collectList()
+                    .zipWith(countMono)
+                    .map(tuple -> {
+                        List<EventThumbnailDocument> results = tuple.getT1();
+                        boolean hasMore = results.size() > pageable.getPageSize();
+                        List<EventThumbnailDocument> content = hasMore ? results.subList(0, pageable.getPageSize()) : results;
+                        long seen = pageable.getOffset() + content.size() + (hasMore ? 1 : 0);
+                        boolean countCapped = countMode == SearchCountMode.ESTIMATED && tuple.getT2().orElse(0L) >= countLimit;
+                        return new FacetedPage<>(content, pageable, tuple.getT2().map(count -> Math.max(count, seen)).orElse(seen), null,
+                                textCapped || countCapped);
+                    });
+        });
+    }
+
+    @Override
+    public Mono<CursorPage<EventThumbnailDocument>> scrollEvents(
+            String searchTerm, String categoryId, Double longitude, Double latitude,
+            Integer radiusKm, Instant dateFrom, Instant dateTo,
+            BigDecimal priceMin, BigDecimal priceMax,
+            String cursor, int size, Sort sort, SearchCountMode countMode) {
+        // Performs the same search as searchEvents, paging by the position of the previous page's last result.
+        Mono<Optional<EventSearchCursor>> decoded = Mono.fromCallable(() -> Optional.ofNullable(EventSearchCursor.decode(cursor)));
+        boolean narrowed = hasOtherFilters(categoryId, longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax);
+        return decoded.zipWith(textMatches(searchTerm, narrowed)).flatMap(args -> {
+            Optional<EventSearchCursor> after = args.getT1();
+            // A cursor keeps the order of the search it came from
+            Sort.Order order = after.map(EventSearchCursor::order).orElseGet(() -> keysetOrder(sort));
+
+            List<String> matches = args.getT2().orElse(null);
+            List<AggregationOperation> filterStages = searchFilterStages(matches, categoryId,
+                    longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax);
+            Mono<Optional<Long>> countMono = countMatches(filterStages, countMode, SearchCountCache.Key.of(
+                    searchTerm, categoryId, longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax));
+
+            List<AggregationOperation> pipeline = new ArrayList<>(filterStages);
+            after.ifPresent(position -> pipeline.add(match(position.toCriteria())));
+            pipeline.add(Aggregation.sort(Sort.by(order, new Sort.Order(order.getDirection(), "_id"))));
+            pipeline.add(Aggregation.limit(size + 1L));
+
+            return aggregateThumbnails(pipeline)
+                    .collectList()
+                    .zipWith(countMono)
+                    .map(results -> {
+                        List<EventThumbnailDocument> page = results.getT1();
+                        boolean hasMore = page.size() > size;
+                        List<EventThumbnailDocument> content = hasMore ? page.subList(0, size) : page;
+                        String nextCursor = hasMore ? EventSearchCursor.after(content.getLast(), order).encode() : null;
+                        boolean totalCapped = !narrowed && matches != null && matches.size() >= textMaxHits
+                                || countMode == SearchCountMode.ESTIMATED && results.getT2().orElse(0L) >= countLimit;
+                        return new CursorPage<>(content, nextCursor, results.getT2().orElse(null), totalCapped);
+                    });
+        });
+    }
+
+    private static Criteria categoryCriteria(String categoryId) {
+        // Thumbnails list their category's ancestors, so this matches the category and all its subcategories.
+        return Criteria.where("categoryAncestry").is(categoryId);
+    }
+
+    /**
+     * Looks up the events whose title or description match a search term in the in-process text index.
+     *
+     * @param narrowed Whether other filters apply to the matches. The best matches may then all be filtered
+     *                 out, so the index hands out every match instead of only the first {@code textMaxHits}.
+     * @return Mono emitting the best matching event IDs, or an empty Optional if there is no search term.
+     */
+    private Mono<Optional<List<String>>> textMatches(String searchTerm, boolean narrowed) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return Mono.just(Optional.empty());
+        }
+        return eventTextIndex.search(searchTerm, narrowed ? Integer.MAX_VALUE : textMaxHits).map(Optional::of);
+    }
+
+    private static boolean hasOtherFilters(String categoryId, Double longitude, Double latitude, Integer radiusKm,
+                                           Instant dateFrom, Instant dateTo, BigDecimal priceMin, BigDecimal priceMax) {
+        return categoryId != null
+                || longitude != null && latitude != null && radiusKm != null
+                || dateFrom != null || dateTo != null
+                || priceMin != null || priceMax != null;
+    }
+
+    /**
+     * Matches thumbnails with a session whose venue lies in one of the cells and which starts in the date range.
+     */
+    private static Criteria sessionCellCriteria(List<String> cells, Instant dateFrom, Instant dateTo) {
+        Criteria session = Criteria.where("cell").in(cells.stream()
+                .map(cell -> Pattern.compile("^" + cell))
+                .toList());
+        if (dateFrom != null || dateTo != null) {
+            session = session.and("startTime");
+            if (dateFrom != null) session.gte(dateFrom);
+            if (dateTo != null) session.lte(dateTo);
+        }
+        return Criteria.where("sessionCells").elemMatch(session);
+    }
+
+    /**
+     * Builds the stages that select the events matching the search filters.
+     *
+     * @param textMatches The events matching the search term, or null if there is none.
+     */
+    private List<AggregationOperation> searchFilterStages(
+            List<String> textMatches, String categoryId, Double longitude, Double latitude,
+            Integer radiusKm, Instant dateFrom, Instant dateTo,
+            BigDecimal priceMin, BigDecimal priceMax) {
         List<AggregationOperation> pipeline = new ArrayList<>();
         List<Criteria> matchCriteriaList = new ArrayList<>();
 
-        // CRITICAL: $text search MUST be the first stage if used
-        boolean hasTextSearch = searchTerm != null && !searchTerm.isBlank();
+        boolean hasTextSearch = textMatches != null;
         boolean hasGeoSearch = longitude != null && latitude != null && radiusKm != null;
+        boolean hasDateFilter = dateFrom != null || dateTo != null;
+        List<String> cells = hasGeoSearch ? GeoCells.cover(longitude, latitude, radiusKm) : List.of();
 
-        if (hasTextSearch && hasGeoSearch) {
-            // OPTION 1: Use $text first, then filter by location in $match stage
-            pipeline.add(match(TextCriteria.forDefaultLanguage().matching(searchTerm)));
+        if (hasTextSearch) {
+            // Matched by ID, so Mongo can intersect the text matches with the other filters' indexes
+            matchCriteriaList.add(Criteria.where("_id").in(textMatches));
+        }
 
-            // Use $geoWithin $centerSphere instead of $nearSphere in aggregation
+        if (hasGeoSearch && !hasTextSearch && !hasDateFilter) {
+            // Only geo search - can use $geoNear for distance calculation, as the first stage
             Point userLocation = new Point(longitude, latitude);
             Distance radius = new Distance(radiusKm, Metrics.KILOMETERS);
-            Circle circle = new Circle(userLocation, radius);
-
-            matchCriteriaList.add(Criteria.where("sessions.venueDetails.location")
-                    .withinSphere(circle));
-
-        } else if (hasTextSearch) {
-            // Only text search - must be first stage
-            pipeline.add(match(TextCriteria.forDefaultLanguage().matching(searchTerm)));
+            NearQuery nearQuery = NearQuery.near(userLocation).spherical(true).maxDistance(radius);
+            pipeline.add(Aggregation.geoNear(nearQuery, "distance"));
         } else if (hasGeoSearch) {
-            // Only geo search - can use $geoNear for distance calculation
+            if (!cells.isEmpty()) {
+                // A session in the cells around the location and in the date range, from the session cell index
+                matchCriteriaList.add(sessionCellCriteria(cells, dateFrom, dateTo));
+            }
+            // Cells over-cover the circle, so the distance is still checked with $geoWithin $centerSphere
             Point userLocation = new Point(longitude, latitude);
             Distance radius = new Distance(radiusKm, Metrics.KILOMETERS);
-            NearQuery nearQuery = NearQuery.near(userLocation).spherical(true).maxDistance(radius);
-            pipeline.add(Aggregation.geoNear(nearQuery, "distance"));
+            Circle circle = new Circle(userLocation, radius);
+
+            matchCriteriaList.add(Criteria.where("locations")
+                    .withinSphere(circle));
         }
 
         // Add other match criteria
-        if (categoryCriteria != null) {
-            matchCriteriaList.add(categoryCriteria);
+        if (categoryId != null) {
+            matchCriteriaList.add(categoryCriteria(categoryId));
         }
 
-        if (dateFrom != null || dateTo != null) {
-            Criteria dateCriteria = Criteria.where("sessions.startTime");
+        if (hasDateFilter && cells.isEmpty()) {
+            Criteria dateCriteria = Criteria.where("sessionStarts");
             if (dateFrom != null) dateCriteria.gte(dateFrom);
             if (dateTo != null) dateCriteria.lte(dateTo);
             matchCriteriaList.add(dateCriteria);
         }
 
         if (priceMin != null || priceMax != null) {
-            Criteria priceCriteria = Criteria.where("tiers.price");
+            Criteria priceCriteria = Criteria.where("prices");
             if (priceMin != null) priceCriteria.gte(priceMin);
             if (priceMax != null) priceCriteria.lte(priceMax);
             matchCriteriaList.add(priceCriteria);
         }
 
-        matchCriteriaList.add(Criteria.where("status").is("APPROVED"));
-
-        // Add remaining match criteria as a single $match stage
-        pipeline.add(match(new Criteria().andOperator(matchCriteriaList)));
-
+        // Only approved events have thumbnails, so there is no status to match on
+        if (!matchCriteriaList.isEmpty()) {
+            pipeline.add(match(new Criteria().andOperator(matchCriteriaList)));
+        }
+        return pipeline;
+    }
 
-        List<AggregationOperation> countPipelineOps = new ArrayList<>(pipeline);
+    /**
+     * Counts the events the filter stages select, as the count mode asks; empty when counting is skipped.
+     * Estimated counts are capped and shared through the {@link SearchCountCache}.
+     */
+    private Mono<Optional<Long>> countMatches(List<AggregationOperation> filterStages, SearchCountMode countMode,
+                                              SearchCountCache.Key countKey) {
+        if (countMode == SearchCountMode.NONE) {
+            return Mono.just(Optional.empty());
+        }
+        List<AggregationOperation> countPipelineOps = new ArrayList<>(filterStages);
+        if (countMode == SearchCountMode.ESTIMATED) {
+            countPipelineOps.add(Aggregation.limit(countLimit));
+        }
         countPipelineOps.add(Aggregation.count().as("total"));
         TypedAggregation<Map> countAggregation = newAggregation(Map.class, countPipelineOps);
 
-        Mono<Long> countMono = reactiveMongoTemplate.aggregate(countAggregation, "events", Map.class)
+        Mono<Long> countMono = reactiveMongoTemplate.aggregate(countAggregation, "event_thumbnails", Map.class)
                 .singleOrEmpty()
                 .map(map -> {
                     @SuppressWarnings("unchecked")
@@ -141,19 +324,139 @@ public class EventReadRepositoryCustomImpl implements EventReadRepositoryCustom
                     return Long.parseLong(typedMap.getOrDefault("total", 0).toString());
                 })
                 .defaultIfEmpty(0L);
+        return (countMode == SearchCountMode.ESTIMATED ? searchCountCache.get(countKey, countMono) : countMono)
+                .map(Optional::of);
+    }
+
+    /**
+     * Sorts the matches and cuts out a page of them.
+     *
+     * @param textMatches The events matching the search term, best first, or null if there is none.
+     */
+    private static List<AggregationOperation> pageStages(List<AggregationOperation> filterStages, Sort sort,
+                                                         List<String> textMatches, long offset, long limit) {
+        List<AggregationOperation> pipeline = new ArrayList<>(filterStages);
+        if (sort.isSorted()) {
+            pipeline.add(Aggregation.sort(sort));
+        } else if (textMatches != null) {
+            // The text index's ranking: an event's position in its matches
+            pipeline.add(context -> new Document("$addFields", new Document(TEXT_RANK_FIELD,
+                    new Document("$indexOfArray", List.of(textMatches, "$_id")))));
+            pipeline.add(context -> new Document("$sort", new Document(TEXT_RANK_FIELD, 1)));
+        } else {
+            pipeline.add(Aggregation.sort(DEFAULT_SORT));
+        }
+        pipeline.add(Aggregation.skip(offset));
+        pipeline.add(Aggregation.limit(limit));
+        return pipeline;
+    }
+
+    /**
+     * Counts the matches and, if asked for, their facets, all in one pass instead of a pipeline each.
+     */
+    private AggregationOperation facetStage(boolean includeFacets, List<Date> dateBoundaries) {
+        return context -> {
+            Document facets = new Document("total", List.of(new Document("$count", "total")));
+            if (includeFacets) {
+                facets.append("categories", List.of(
+                                new Document("$group", new Document("_id", "$categoryId")
+                                        .append("label", new Document("$first", "$categoryName"))
+                                        .append("count", new Document("$sum", 1))),
+                                new Document("$sort", new Document("count", -1).append("_id", 1)),
+                                new Document("$limit", CATEGORY_FACET_LIMIT)))
+                        // Prices may be stored as strings, so they are compared as decimals
+                        .append("prices", List.of(new Document("$bucket", new Document("groupBy", new Document("$toDecimal", "$minPrice"))
+                                .append("boundaries", priceFacetBoundaries.stream().map(Decimal128::new).toList())
+                                .append("default", "above")
+                                .append("output", new Document("count", new Document("$sum", 1))))))
+                        .append("dates", List.of(
+                                new Document("$match", new Document("earliestUpcomingStart", new Document("$ne", null))),
+                                new Document("$bucket", new Document("groupBy", "$earliestUpcomingStart")
+                                        .append("boundaries", dateBoundaries)
+                                        .append("default", "later")
+                                        .append("output", new Document("count", new Document("$sum", 1))))));
+            }
+            return new Document("$facet", facets);
+        };
+    }
 
-        if (pageable.getSort() != Sort.unsorted()) {
-            pipeline.add(Aggregation.sort(pageable.getSort()));
+    private FacetedPage<EventThumbnailDocument> toFacetedPage(List<EventThumbnailDocument> content, Document result,
+                                                              Pageable pageable, boolean includeFacets,
+                                                              List<Date> dateBoundaries, boolean totalCapped) {
+        long total = result.getList("total", Document.class, List.of()).stream()
+                .findFirst()
+                .map(document -> ((Number) document.get("total")).longValue())
+                .orElse(0L);
+        SearchFacetsDTO facets = includeFacets ? SearchFacetsDTO.builder()
+                .categories(result.getList("categories", Document.class, List.of()).stream()
+                        .map(bucket -> facetCount(String.valueOf(bucket.get("_id")), bucket.getString("label"), bucket))
+                        .toList())
+                .prices(result.getList("prices", Document.class, List.of()).stream()
+                        .map(this::priceFacetCount)
+                        .toList())
+                .dates(result.getList("dates", Document.class, List.of()).stream()
+                        .map(bucket -> {
+                            // Buckets are identified by their lower boundary; the default one by its name
+                            int index = bucket.get("_id") instanceof Date lower ? dateBoundaries.indexOf(lower) : -1;
+                            return facetCount(DATE_FACET_KEYS.get(index >= 0 ? index : DATE_FACET_KEYS.size() - 1), null, bucket);
+                        })
+                        .toList())
+                .build() : null;
+        return new FacetedPage<>(content, pageable, total, facets, totalCapped);
+    }
+
+    private SearchFacetsDTO.FacetCount priceFacetCount(Document bucket) {
+        if (!(bucket.get("_id") instanceof Decimal128 lower)) {
+            return facetCount("above", priceFacetBoundaries.getLast().toPlainString() + "+", bucket);
         }
-        pipeline.add(Aggregation.skip(pageable.getOffset()));
-        pipeline.add(Aggregation.limit(pageable.getPageSize()));
+        BigDecimal from = lower.bigDecimalValue();
+        String label = priceFacetBoundaries.stream()
+                .filter(boundary -> boundary.compareTo(from) > 0)
+                .findFirst()
+                .map(to -> from.toPlainString() + "-" + to.toPlainString())
+                .orElse(from.toPlainString() + "+");
+        return facetCount(from.toPlainString(), label, bucket);
+    }
 
-        TypedAggregation<EventDocument> finalAggregation = newAggregation(EventDocument.class, pipeline);
+    private static SearchFacetsDTO.FacetCount facetCount(String key, String label, Document bucket) {
+        return SearchFacetsDTO.FacetCount.builder()
+                .key(key)
+                .label(label != null ? label : key)
+                .count(((Number) bucket.get("count")).longValue())
+                .build();
+    }
 
-        return reactiveMongoTemplate.aggregate(finalAggregation, "events", EventDocument.class)
-                .collectList()
-                .zipWith(countMono)
-                .map(tuple -> new PageImpl<>(tuple.getT1(), pageable, tuple.getT2()));
+    private static List<Date> dateFacetBoundaries(Instant now) {
+        // The first bucket also takes thumbnails whose earliest session started since their last refresh
+        List<Date> boundaries = new ArrayList<>();
+        boundaries.add(Date.from(Instant.EPOCH));
+        DATE_FACET_BOUNDARIES.forEach(boundary -> boundaries.add(Date.from(now.plus(boundary))));
+        return boundaries;
+    }
+
+    private Flux<EventThumbnailDocument> aggregateThumbnails(List<AggregationOperation> pipeline) {
+        TypedAggregation<EventThumbnailDocument> aggregation = newAggregation(EventThumbnailDocument.class, pipeline);
+        return reactiveMongoTemplate.aggregate(aggregation, "event_thumbnails", EventThumbnailDocument.class);
+    }
+
+    private static Sort toThumbnailSort(Sort sort) {
+        return Sort.by(sort.stream()
+                .map(order -> order.withProperty(THUMBNAIL_SORT_FIELDS.getOrDefault(order.getProperty(), order.getProperty())))
+                .toList());
+    }
+
+    /**
+     * @return The single order cursor pagination sorts by, defaulting to the earliest upcoming session.
+     */
+    private static Sort.Order keysetOrder(Sort sort) {
+        Sort.Order order = toThumbnailSort(sort).stream()
+                .findFirst()
+                .orElse(Sort.Order.asc(EventSearchCursor.START_TIME));
+        if (!EventSearchCursor.supports(order.getProperty())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor pagination cannot sort by " + order.getProperty());
+        }
+        return order;
     }
 
     // findEventBySessionId remains unchanged.
@@ -223,19 +526,70 @@ public class EventReadRepositoryCustomImpl implements EventReadRepositoryCustom
     }
 
     @Override
-    public Mono<EventDocument.SessionSeatingMapInfo> findSeatingMapBySessionId(String sessionId) {
-        // Finds the seating map for a specific session by its ID.
-        return reactiveMongoTemplate.findOne(
-                        new Query(Criteria.where("sessions.id").is(sessionId)),
-                        EventDocument.class
-                )
-                .flatMap(eventDocument -> {
-                    // Find the specific session within the event document
-                    return Mono.justOrEmpty(eventDocument.getSessions().stream()
-                            .filter(s -> s.getId().equals(sessionId))
-                            .findFirst()
-                            .map(EventDocument.SessionInfo::getLayoutData));
-                });
+    public Mono<EventDocument.SessionSeatingMapInfo> findLayoutBySessionId(String sessionId) {
+        // Picks the session's layout server-side, so only that one map leaves Mongo
+        // instead of the whole event with every session's layout.
+        AggregationOperation selectLayout = context -> new Document("$project", new Document("_id", 0)
+                .append("layoutData", new Document("$arrayElemAt", List.of(
+                        new Document("$map", new Document("input", new Document("$filter", new Document("input", "$sessions")
+                                .append("as", "session")
+                                .append("cond", new Document("$eq", List.of("$$session._id", sessionId)))))
+                                .append("as", "session")
+                                .append("in", "$$session.layoutData")),
+                        0))));
+
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("sessions._id").is(sessionId)),
+                limit(1),
+                selectLayout,
+                match(Criteria.where("layoutData").ne(null)),
+                replaceRoot("layoutData")
+        );
+
+        return reactiveMongoTemplate.aggregate(aggregation, "events", EventDocument.SessionSeatingMapInfo.class)
+                .next();
+    }
+
+    @Override
+    public Mono<EventDocument> findEventWithoutLayouts(String eventId) {
+        Query query = new Query(Criteria.where("id").is(eventId));
+        query.fields().exclude("sessions.layoutData");
+        return reactiveMongoTemplate.findOne(query, EventDocument.class);
+    }
+
+    @Override
+    public Flux<EventDocument> findApprovedEventsWithoutLayouts() {
+        Query query = new Query(Criteria.where("status").is("APPROVED"));
+        query.fields().exclude("sessions.layoutData");
+        return reactiveMongoTemplate.find(query, EventDocument.class);
+    }
+
+    @Override
+    public Flux<EventDocument> findSessionsWithoutSeatState() {
+        Aggregation aggregation = newAggregation(
+                project("sessions"),
+                unwind("sessions"),
+                lookup("session_seat_states", "sessions._id", "_id", "seatState"),
+                match(Criteria.where("seatState").size(0)),
+                group("_id").push("sessions").as("sessions")
+        );
+
+        return reactiveMongoTemplate.aggregate(aggregation, "events", EventDocument.class);
+    }
+
+    @Override
+    public Mono<EventDocument> findSessionWithoutSeatState(String sessionId) {
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("sessions._id").is(sessionId)),
+                project("sessions"),
+                unwind("sessions"),
+                match(Criteria.where("sessions._id").is(sessionId)),
+                lookup("session_seat_states", "sessions._id", "_id", "seatState"),
+                match(Criteria.where("seatState").size(0)),
+                group("_id").push("sessions").as("sessions")
+        );
+
+        return reactiveMongoTemplate.aggregate(aggregation, "events", EventDocument.class).next();
     }
 
     @Override
@@ -0,0 +1,115 @@
+package com.ticketly.mseventseatingprojection.repository;
+
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position of the last result of a search page: its sort key and ID. Results sort by the key and then by
+ * ID, so the next page is everything after this pair and can be found through the index instead of
+ * skipping all earlier pages. Travels to clients as an opaque URL-safe token.
+ *
+ * @param sortField The thumbnail field results are sorted by.
+ * @param direction The sort direction.
+ * @param id        The ID of the last result.
+ * @param value     The sort key of the last result, as a string; null if the result has none.
+ */
+record EventSearchCursor(String sortField, Sort.Direction direction, String id, String value) {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+
+    static final String START_TIME = "earliestUpcomingStart";
+    static final String PRICE = "minPrice";
+    static final String TITLE = "title";
+
+    static boolean supports(String sortField) {
+        return START_TIME.equals(sortField) || PRICE.equals(sortField) || TITLE.equals(sortField);
+    }
+
+    static EventSearchCursor after(EventThumbnailDocument last, Sort.Order order) {
+        Object value = switch (order.getProperty()) {
+            case START_TIME -> last.getEarliestUpcomingStart();
+            case PRICE -> last.getMinPrice();
+            case TITLE -> last.getTitle();
+            default -> throw new IllegalArgumentException("Unsupported cursor sort field: " + order.getProperty());
+        };
+        return new EventSearchCursor(order.getProperty(), order.getDirection(), last.getId(),
+                value != null ? value.toString() : null);
+    }
+
+    /**
+     * @return The cursor of a previous page, or null for a blank token (the first page).
+     * @throws ResponseStatusException (400) if the token was not issued by {@link #encode()}.
+     */
+    static EventSearchCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last so it may itself contain the separator
+            String[] parts = raw.split("\\" + SEPARATOR, 5);
+            if (parts.length < 4 || !VERSION.equals(parts[0]) || !supports(parts[1])) {
+                throw new IllegalArgumentException("Unrecognised cursor");
+            }
+            EventSearchCursor cursor = new EventSearchCursor(parts[1], Sort.Direction.valueOf(parts[2]), parts[3],
+                    parts.length == 5 ? parts[4] : null);
+            cursor.sortValue(); // Rejects a value of the wrong type now rather than in the query
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid search cursor");
+        }
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sortField, direction.name(), id)
+                + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    Sort.Order order() {
+        return new Sort.Order(direction, sortField);
+    }
+
+    /**
+     * Matches the results that sort after this position. Mongo sorts a missing key before every value, so
+     * results without one come first ascending and last descending.
+     */
+    Criteria toCriteria() {
+        Object sortValue = sortValue();
+        boolean ascending = direction.isAscending();
+        Criteria sameKeyLaterId = ascending
+                ? Criteria.where(sortField).is(sortValue).and("_id").gt(id)
+                : Criteria.where(sortField).is(sortValue).and("_id").lt(id);
+        if (sortValue == null) {
+            return ascending
+                    ? new Criteria().orOperator(sameKeyLaterId, Criteria.where(sortField).ne(null))
+                    : sameKeyLaterId;
+        }
+        Criteria laterKey = ascending
+                ? Criteria.where(sortField).gt(sortValue)
+                : Criteria.where(sortField).lt(sortValue);
+        return ascending
+                ? new Criteria().orOperator(laterKey, sameKeyLaterId)
+                : new Criteria().orOperator(laterKey, sameKeyLaterId, Criteria.where(sortField).is(null));
+    }
+
+    private Object sortValue() {
+        if (value == null) {
+            return null;
+        }
+        return switch (sortField) {
+            case START_TIME -> Instant.parse(value);
+            case PRICE -> new BigDecimal(value);
+            default -> value;
+        };
+    }
+}
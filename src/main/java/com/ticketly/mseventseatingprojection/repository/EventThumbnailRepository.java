@@ -0,0 +1,47 @@
+package com.ticketly.mseventseatingprojection.repository;
+
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+@Repository
+public interface EventThumbnailRepository extends ReactiveMongoRepository<EventThumbnailDocument, String> {
+
+    /**
+     * Finds thumbnails whose session starts or discount windows have passed since they were computed.
+     *
+     * @param now The current time.
+     * @return A Flux of the thumbnails due for a refresh.
+     */
+    Flux<EventThumbnailDocument> findByRefreshAtLessThanEqual(Instant now);
+
+    Flux<EventThumbnailDocument> findByOrganizationId(String organizationId);
+
+    /**
+     * Finds thumbnails of events in a category or any of its subcategories.
+     *
+     * @param categoryId The category ID.
+     * @return A Flux of the matching thumbnails.
+     */
+    Flux<EventThumbnailDocument> findByCategoryAncestry(String categoryId);
+
+    /**
+     * Finds every thumbnail with only the fields the in-process text index is built from.
+     *
+     * @return A Flux of thumbnails holding their ID, title and description.
+     */
+    @Query(value = "{}", fields = "{ 'title': 1, 'description': 1 }")
+    Flux<EventThumbnailDocument> findAllTextFields();
+
+    /**
+     * Finds every thumbnail with only the fields search suggestions are built from.
+     *
+     * @return A Flux of thumbnails holding their ID, title, category ancestry and venues.
+     */
+    @Query(value = "{}", fields = "{ 'title': 1, 'categoryAncestry': 1, 'venues': 1 }")
+    Flux<EventThumbnailDocument> findAllSuggestionFields();
+}
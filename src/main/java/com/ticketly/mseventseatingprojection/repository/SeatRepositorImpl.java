@@ -2,11 +2,14 @@ package com.ticketly.mseventseatingprojection.repository;
 
 
 import com.mongodb.client.result.UpdateResult;
+import com.ticketly.mseventseatingprojection.dto.internal.SeatTransitionResult;
 import com.ticketly.mseventseatingprojection.dto.internal.SeatValidationResponse;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
 import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.*;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -16,13 +19,19 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
 
 @Repository
 @RequiredArgsConstructor
 public class SeatRepositorImpl implements SeatRepository {
+    private static final String SEAT_STATES_COLLECTION = "session_seat_states";
+
     private final ReactiveMongoTemplate reactiveMongoTemplate;
 
     private final AggregationOperation UNIFY_SEATS_OPERATION = context -> Document.parse("""
@@ -70,19 +79,16 @@ public class SeatRepositorImpl implements SeatRepository {
     public Mono<SeatValidationResponse> validateSeatsAvailability(String eventId, String sessionId, List<String> seatIds) {
         // This query finds which of the requested seats are NOT available.
         Aggregation aggregation = newAggregation(
-                match(Criteria.where("_id").is(eventId)),
-                unwind("sessions"),
-                match(Criteria.where("sessions._id").is(sessionId)),
-                UNIFY_SEATS_OPERATION, // Re-use the unification logic
-                unwind("allSeats"),
+                match(Criteria.where("_id").is(sessionId).and("eventId").is(eventId)),
+                unwind("seats"),
                 match(
-                        Criteria.where("allSeats._id").in(seatIds)
-                                .and("allSeats.status").ne("AVAILABLE")
+                        Criteria.where("seats._id").in(seatIds)
+                                .and("seats.status").ne("AVAILABLE")
                 ),
-                project().and("allSeats._id").as("unavailableSeatId")
+                project().and("seats._id").as("unavailableSeatId")
         );
 
-        return reactiveMongoTemplate.aggregate(aggregation, "events", UnavailableSeat.class)
+        return reactiveMongoTemplate.aggregate(aggregation, SEAT_STATES_COLLECTION, UnavailableSeat.class)
                 .map(result -> result.unavailableSeatId)
                 .collectList()
                 .map(unavailableList -> SeatValidationResponse.builder()
@@ -101,7 +107,7 @@ public class SeatRepositorImpl implements SeatRepository {
      */
     @Override
     public Flux<EventDocument.SeatInfo> findSeatDetails(String eventId, String sessionId, List<String> seatIds) {
-        // This query finds and returns the full documents for the requested seats.
+        // Labels and tiers come from the static layout in the events document.
         Aggregation aggregation = newAggregation(
                 match(Criteria.where("_id").is(eventId)),
                 unwind("sessions"),
@@ -112,49 +118,172 @@ public class SeatRepositorImpl implements SeatRepository {
                 replaceRoot("allSeats")
         );
 
-        return reactiveMongoTemplate.aggregate(aggregation, "events", EventDocument.SeatInfo.class);
+        // The live status comes from the seat state; fall back to the layout's status for sessions without one.
+        return findSeatStates(sessionId, seatIds)
+                .collectMap(SessionSeatStateDocument.SeatState::getId, SessionSeatStateDocument.SeatState::getStatus)
+                .flatMapMany(statuses -> reactiveMongoTemplate.aggregate(aggregation, "events", EventDocument.SeatInfo.class)
+                        .doOnNext(seat -> seat.setStatus(statuses.getOrDefault(seat.getId(), seat.getStatus()))));
     }
 
     @Override
     public Mono<Boolean> areAnySeatsBooked(String sessionId, List<String> seatIds) {
-        Aggregation aggregation = newAggregation(
-                // 1. Find the event and the specific session
-                match(Criteria.where("sessions._id").is(sessionId)),
-                unwind("sessions"),
-                match(Criteria.where("sessions._id").is(sessionId)),
+        Query query = Query.query(Criteria.where("_id").is(sessionId)
+                .and("seats").elemMatch(Criteria.where("_id").in(seatIds)
+                        .and("status").is(ReadModelSeatStatus.BOOKED.toString())));
 
-                // 2. Use our robust seat unification logic
-                UNIFY_SEATS_OPERATION,
-                unwind("allSeats"),
-                replaceRoot("allSeats"),
+        return reactiveMongoTemplate.exists(query, SessionSeatStateDocument.class);
+    }
 
-                // 3. Find if any seat in the list is already BOOKED
-                match(
-                        Criteria.where("_id").in(seatIds)
-                                .and("status").is(ReadModelSeatStatus.BOOKED.toString())
-                ),
+    @Override
+    public Mono<Long> updateSeatStatuses(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus) {
+        // Only the small per-session seat-state document is rewritten, never the event document.
+        Query query = Query.query(Criteria.where("_id").is(sessionId));
+
+        Update update = new Update()
+                .set("seats.$[seat].status", newStatus.toString())
+                .inc("version", 1)
+                .filterArray(Criteria.where("seat._id").in(seatIds));
+
+        return reactiveMongoTemplate.updateFirst(query, update, SessionSeatStateDocument.class)
+                .map(UpdateResult::getModifiedCount);
+    }
+
+    @Override
+    public Mono<SeatTransitionResult> transitionSeatStatuses(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus) {
+        // BOOKED is terminal: other statuses may not overwrite it, but re-booking a BOOKED seat is a no-op
+        // write that still yields a version for the published delta.
+        boolean guardBooked = newStatus != ReadModelSeatStatus.BOOKED;
+        String booked = ReadModelSeatStatus.BOOKED.toString();
+
+        // Only match the document if at least one requested seat can move, so a fully rejected
+        // request neither writes nor bumps the version.
+        Criteria movable = Criteria.where("_id").in(seatIds);
+        Criteria movableElement = Criteria.where("seat._id").in(seatIds);
+        if (guardBooked) {
+            movable = movable.and("status").ne(booked);
+            movableElement = movableElement.and("seat.status").ne(booked);
+        }
+        Query query = Query.query(Criteria.where("_id").is(sessionId).and("seats").elemMatch(movable));
+
+        // Return the pre-image of just the requested seats; it tells us which ones were BOOKED.
+        AggregationExpression requestedSeats = context -> new Document("$filter", new Document("input", "$seats")
+                .append("as", "seat")
+                .append("cond", new Document("$in", List.of("$$seat._id", seatIds))));
+        query.fields().include("version").project(requestedSeats).as("seats");
+
+        Update update = new Update()
+                .set("seats.$[seat].status", newStatus.toString())
+                .inc("version", 1)
+                .filterArray(movableElement);
+
+        return reactiveMongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(false),
+                        SessionSeatStateDocument.class)
+                .map(before -> toTransitionResult(before, seatIds, guardBooked))
+                // Nothing matched: either no seat could move, or the session has no seat state at all
+                .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate
+                        .exists(Query.query(Criteria.where("_id").is(sessionId)), SessionSeatStateDocument.class)
+                        .map(exists -> exists
+                                ? SeatTransitionResult.rejected(seatIds)
+                                : SeatTransitionResult.missingSeatState(seatIds))));
+    }
 
-                // 4. If we find even one, we can stop
-                limit(1)
+    private SeatTransitionResult toTransitionResult(SessionSeatStateDocument before, List<String> seatIds, boolean guardBooked) {
+        Map<String, ReadModelSeatStatus> previous = new HashMap<>();
+        if (before.getSeats() != null) {
+            before.getSeats().forEach(seat -> previous.put(seat.getId(), seat.getStatus()));
+        }
+
+        List<String> transitioned = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+        for (String seatId : seatIds) {
+            if (!previous.containsKey(seatId) || (guardBooked && previous.get(seatId) == ReadModelSeatStatus.BOOKED)) {
+                rejected.add(seatId);
+            } else {
+                transitioned.add(seatId);
+            }
+        }
+
+        return SeatTransitionResult.builder()
+                .transitionedSeats(transitioned)
+                .rejectedSeats(rejected)
+                .version(before.getVersion() + 1)
+                .build();
+    }
+
+    @Override
+    public Flux<SessionSeatStateDocument.SeatState> findSeatStates(String sessionId, List<String> seatIds) {
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("_id").is(sessionId)),
+                unwind("seats"),
+                match(Criteria.where("seats._id").in(seatIds)),
+                replaceRoot("seats")
         );
 
-        // .exists() will check if the aggregation pipeline returns at least one document
-        return reactiveMongoTemplate.aggregate(aggregation, "events", Document.class)
-                .hasElements();
+        return reactiveMongoTemplate.aggregate(aggregation, SEAT_STATES_COLLECTION, SessionSeatStateDocument.SeatState.class);
     }
 
     @Override
-    public Mono<Long> updateSeatStatuses(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus) {
-        // The initial query can still use 'sessions.id' as Spring handles this top-level mapping well.
-        Query query = Query.query(Criteria.where("sessions.id").is(sessionId));
+    public Mono<SessionSeatStateDocument> findSeatState(String sessionId) {
+        return reactiveMongoTemplate.findById(sessionId, SessionSeatStateDocument.class);
+    }
+
+    @Override
+    public Mono<Long> findSeatStateVersion(String sessionId) {
+        Query query = Query.query(Criteria.where("_id").is(sessionId));
+        query.fields().include("version");
+
+        return reactiveMongoTemplate.findOne(query, SessionSeatStateDocument.class)
+                .map(SessionSeatStateDocument::getVersion);
+    }
+
+    @Override
+    public Mono<Long> replaceSeatState(SessionSeatStateDocument seatState) {
+        Query query = Query.query(Criteria.where("_id").is(seatState.getId()));
+        query.fields().include("version");
 
+        // Upsert rather than save so the version keeps increasing across re-projections.
         Update update = new Update()
-                .set("sessions.$[sess].layoutData.layout.blocks.$[].rows.$[].seats.$[seat].status", newStatus.toString())
-                .set("sessions.$[sess].layoutData.layout.blocks.$[].seats.$[seat].status", newStatus.toString())
-                .filterArray("sess._id", sessionId)
-                .filterArray(Criteria.where("seat._id").in(seatIds));
+                .set("eventId", seatState.getEventId())
+                .set("seats", seatState.getSeats())
+                .set("tiers", seatState.getTiers())
+                .set("blocks", seatState.getBlocks())
+                .inc("version", 1);
 
-        return reactiveMongoTemplate.updateMulti(query, update, EventDocument.class)
-                .map(UpdateResult::getModifiedCount);
+        return reactiveMongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true).returnNew(true),
+                        SessionSeatStateDocument.class)
+                .map(SessionSeatStateDocument::getVersion);
+    }
+
+    @Override
+    public Mono<Boolean> insertSeatStateIfMissing(SessionSeatStateDocument seatState) {
+        Query query = Query.query(Criteria.where("_id").is(seatState.getId()));
+
+        Update update = new Update()
+                .setOnInsert("eventId", seatState.getEventId())
+                .setOnInsert("seats", seatState.getSeats())
+                .setOnInsert("tiers", seatState.getTiers())
+                .setOnInsert("blocks", seatState.getBlocks())
+                .setOnInsert("version", 1L);
+
+        return reactiveMongoTemplate.upsert(query, update, SessionSeatStateDocument.class)
+                .map(result -> result.getUpsertedId() != null);
+    }
+
+    @Override
+    public Mono<Void> deleteSeatState(String sessionId) {
+        return reactiveMongoTemplate.remove(Query.query(Criteria.where("_id").is(sessionId)), SessionSeatStateDocument.class)
+                .then();
+    }
+
+    @Override
+    public Flux<String> deleteSeatStatesForEvent(String eventId, Collection<String> keepSessionIds) {
+        Criteria criteria = Criteria.where("eventId").is(eventId);
+        if (!keepSessionIds.isEmpty()) {
+            criteria = criteria.and("_id").nin(keepSessionIds);
+        }
+        Query query = Query.query(criteria);
+        query.fields().include("_id");
+        return reactiveMongoTemplate.findAllAndRemove(query, SessionSeatStateDocument.class)
+                .map(SessionSeatStateDocument::getId);
     }
 }
@@ -1,13 +1,20 @@
 package com.ticketly.mseventseatingprojection.repository;
 
+import com.ticketly.mseventseatingprojection.dto.internal.SeatTransitionResult;
 import com.ticketly.mseventseatingprojection.dto.internal.SeatValidationResponse;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
 import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Access to live seat state. Statuses are read from and written to the per-session
+ * {@code session_seat_states} collection; the events document only holds the layout geometry.
+ */
 public interface SeatRepository {
     /**
      * Validates the availability of the specified seats for a given event and session.
@@ -21,6 +28,7 @@ public interface SeatRepository {
 
     /**
      * Finds and returns detailed information for the specified seats in a session.
+     * Labels and tiers come from the layout, statuses from the seat state.
      *
      * @param eventId   The ID of the event.
      * @param sessionId The ID of the session.
@@ -38,7 +46,7 @@ public interface SeatRepository {
 
     /**
      * Atomically updates the status of multiple seats within a specific session
-     * using arrayFilters for efficient nested updates.
+     * using arrayFilters on the session's seat-state document.
      *
      * @param sessionId The ID of the session containing the seats.
      * @param seatIds   The list of seat IDs to update.
@@ -46,4 +54,78 @@ public interface SeatRepository {
      * @return A Mono that completes when the update is finished, emitting the count of modified documents.
      */
     Mono<Long> updateSeatStatuses(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus);
+
+    /**
+     * Atomically moves the specified seats to a new status, skipping seats that are already BOOKED
+     * (unless the new status is BOOKED itself). The check and the write happen in a single round trip,
+     * so no booking can slip in between. Every successful write bumps the session's seat-state version,
+     * which doubles as the sequence number of the published seat status delta.
+     *
+     * @param sessionId The ID of the session containing the seats.
+     * @param seatIds   The list of seat IDs to transition.
+     * @param newStatus The new status to set for the seats.
+     * @return A Mono emitting which seats transitioned and which were rejected; flagged
+     *         {@link SeatTransitionResult#isSeatStateMissing()} if the session has no seat state yet.
+     */
+    Mono<SeatTransitionResult> transitionSeatStatuses(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus);
+
+    /**
+     * Finds the live state of the specified seats in a session.
+     *
+     * @param sessionId The ID of the session.
+     * @param seatIds   The seat IDs to look up.
+     * @return A Flux emitting the state of every requested seat that exists.
+     */
+    Flux<SessionSeatStateDocument.SeatState> findSeatStates(String sessionId, List<String> seatIds);
+
+    /**
+     * Finds the full seat-state document of a session.
+     *
+     * @param sessionId The ID of the session.
+     * @return A Mono emitting the seat state, or empty if the session has none.
+     */
+    Mono<SessionSeatStateDocument> findSeatState(String sessionId);
+
+    /**
+     * Reads only the version of a session's seat state, to cheaply check whether a cached copy is current.
+     *
+     * @param sessionId The ID of the session.
+     * @return A Mono emitting the version, or empty if the session has no seat state.
+     */
+    Mono<Long> findSeatStateVersion(String sessionId);
+
+    /**
+     * Replaces the seats of a session with those derived from a freshly projected layout,
+     * creating the document if needed and bumping its version.
+     *
+     * @param seatState The seat state derived from the layout.
+     * @return A Mono emitting the version the replacement produced.
+     */
+    Mono<Long> replaceSeatState(SessionSeatStateDocument seatState);
+
+    /**
+     * Creates the seat state of a session that has none, leaving an existing one untouched, so seeding
+     * a session can never overwrite statuses written since.
+     *
+     * @param seatState The seat state derived from the layout.
+     * @return A Mono emitting true if the document was created.
+     */
+    Mono<Boolean> insertSeatStateIfMissing(SessionSeatStateDocument seatState);
+
+    /**
+     * Removes the seat state of a session.
+     *
+     * @param sessionId The ID of the session.
+     * @return A Mono signaling completion.
+     */
+    Mono<Void> deleteSeatState(String sessionId);
+
+    /**
+     * Removes the seat states of an event's sessions, except the ones listed.
+     *
+     * @param eventId          The ID of the event.
+     * @param keepSessionIds   Session IDs whose seat state must be kept (may be empty).
+     * @return A Flux of the IDs of the sessions whose seat state was removed.
+     */
+    Flux<String> deleteSeatStatesForEvent(String eventId, Collection<String> keepSessionIds);
 }
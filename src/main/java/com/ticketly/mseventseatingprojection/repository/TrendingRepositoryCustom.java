@@ -1,15 +1,15 @@
 package com.ticketly.mseventseatingprojection.repository;
 
-import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
 import reactor.core.publisher.Flux;
 
 public interface TrendingRepositoryCustom {
     /**
-     * Finds the top trending events with all event details except the layout data
-     * which is excluded for efficiency
+     * Finds the thumbnails of the top trending events, highest trending score first.
+     * Events without a thumbnail (no longer approved) are skipped.
      * 
      * @param limit Maximum number of events to return
-     * @return Flux of EventDocument objects without layout data
+     * @return Flux of EventThumbnailDocument objects
      */
-    Flux<EventDocument> findTopTrendingEvents(int limit);
-}
\ No newline at end of file
+    Flux<EventThumbnailDocument> findTopTrendingEvents(int limit);
+}
@@ -1,13 +1,12 @@
 package com.ticketly.mseventseatingprojection.repository;
 
-import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
 import org.springframework.data.mongodb.core.aggregation.LookupOperation;
-import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
@@ -24,42 +23,31 @@ public class TrendingRepositoryCustomImpl implements TrendingRepositoryCustom {
     private final ReactiveMongoTemplate reactiveMongoTemplate;
 
     @Override
-    public Flux<EventDocument> findTopTrendingEvents(int limit) {
+    public Flux<EventThumbnailDocument> findTopTrendingEvents(int limit) {
         List<AggregationOperation> pipeline = new ArrayList<>();
 
-        // Stage 1: Lookup trending scores
-        log.info("Setting up lookup from events(id) to event_trending_scores(eventId)");
-        LookupOperation lookupTrending = lookup("event_trending_scores", "_id", "eventId", "trendingInfo");
-        pipeline.add(lookupTrending);
+        // Stage 1: Sort the trending scores (descending), so only the top ones are joined
+        pipeline.add(sort(Sort.Direction.DESC, "trendingScore"));
 
-        // Stage 2: Unwind and Filter (THE FIX)
-        // By *NOT* passing 'true', this stage now correctly deconstructs the array
-        // AND automatically filters out any events that had no match 
-        // (i.e., 'trendingInfo' was []). This removes "Neon Music".
-        pipeline.add(unwind("trendingInfo"));
+        // Stage 2: Lookup the thumbnail of each scored event
+        log.info("Setting up lookup from event_trending_scores(eventId) to event_thumbnails(id)");
+        LookupOperation lookupThumbnail = lookup("event_thumbnails", "eventId", "_id", "thumbnail");
+        pipeline.add(lookupThumbnail);
 
-        // Stage 3: Sort by trending score (descending)
-        // This will now work correctly as all remaining documents 
-        // have a 'trendingInfo.trendingScore' field.
-        pipeline.add(sort(Sort.Direction.DESC, "trendingInfo.trendingScore"));
+        // Stage 3: Unwind, which also drops scores of events that have no thumbnail (not approved)
+        pipeline.add(unwind("thumbnail"));
 
         // Stage 4: Limit results
         pipeline.add(limit(limit));
 
-        // Stage 5: Project to the final shape (This was your correct Stage 6)
-        // The redundant Stage 7 is removed.
-        pipeline.add(project()
-                .andInclude("id", "title", "description", "overview", "coverPhotos", "organization", "category", "tiers")
-                .and("sessions").as("sessions")
-                .and("discounts").as("discounts")
-                .and("trendingInfo.trendingScore").as("trendingScore")
-                .and("trendingInfo.viewCount").as("viewCount"));
+        // Stage 5: Promote the thumbnail to the root level
+        pipeline.add(replaceRoot("thumbnail"));
 
-        log.info("Executing corrected trending events aggregation with limit={}", limit);
+        log.info("Executing trending events aggregation with limit={}", limit);
         return reactiveMongoTemplate.aggregate(
                         Aggregation.newAggregation(pipeline),
-                        "events",
-                        EventDocument.class // Assumes EventDocument has fields for trendingScore/viewCount
+                        "event_trending_scores",
+                        EventThumbnailDocument.class
                 )
                 .doOnNext(event -> log.info("Found trending event: id={}, title={}",
                         event.getId(),
@@ -67,4 +55,4 @@ public class TrendingRepositoryCustomImpl implements TrendingRepositoryCustom {
                 .doOnComplete(() -> log.info("Trending events aggregation completed"))
                 .doOnError(e -> log.error("Error in trending events aggregation: {}", e.getMessage()));
     }
-}
\ No newline at end of file
+}
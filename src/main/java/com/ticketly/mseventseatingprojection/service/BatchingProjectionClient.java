@@ -0,0 +1,161 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import dto.projection.CategoryProjectionDTO;
+import dto.projection.DiscountProjectionDTO;
+import dto.projection.EventProjectionDTO;
+import dto.projection.SessionProjectionDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Front for {@link EventProjectionClient} that collects single-id lookups made within a short window
+ * and resolves them with one multi-id request to the command service.
+ * <p>
+ * Every caller still gets its own Mono; results are demultiplexed by id, and ids missing from the
+ * batch response fail with a NOT_FOUND {@link EventProjectionClient.ProjectionClientException} exactly
+ * like the single-id endpoints. With {@code projection.batching.enabled=false} every call goes straight
+ * to the single-id endpoint.
+ * <p>
+ * Batching needs the reactive ingestion mode: the blocking listener projects one record at a time, so a
+ * window would never hold more than one id and would only delay every lookup. Enabling it together with
+ * {@code projection.ingestion.mode=listener} fails at startup.
+ */
+@Service
+@Slf4j
+public class BatchingProjectionClient {
+
+    private final EventProjectionClient eventProjectionClient;
+    private final boolean enabled;
+    private final Batcher<EventProjectionDTO> eventBatcher;
+    private final Batcher<SessionProjectionDTO> sessionBatcher;
+    private final Batcher<DiscountProjectionDTO> discountBatcher;
+    private final Batcher<CategoryProjectionDTO> categoryBatcher;
+
+    public BatchingProjectionClient(EventProjectionClient eventProjectionClient,
+                                    @Value("${projection.batching.enabled:false}") boolean enabled,
+                                    @Value("${projection.batching.window:20ms}") Duration window,
+                                    @Value("${projection.batching.max-batch-size:50}") int maxBatchSize,
+                                    @Value("${projection.ingestion.mode:reactive}") String ingestionMode) {
+        if (enabled && "listener".equals(ingestionMode)) {
+            throw new IllegalStateException(
+                    "projection.batching.enabled requires projection.ingestion.mode=reactive; the listener mode projects one record at a time");
+        }
+        this.eventProjectionClient = eventProjectionClient;
+        this.enabled = enabled;
+        this.eventBatcher = new Batcher<>("event", eventProjectionClient::getEventProjectionDataBatch,
+                EventProjectionDTO::getId, window, maxBatchSize);
+        this.sessionBatcher = new Batcher<>("session", eventProjectionClient::getSessionProjectionDataBatch,
+                SessionProjectionDTO::getId, window, maxBatchSize);
+        this.discountBatcher = new Batcher<>("discount", eventProjectionClient::getDiscountProjectionDataBatch,
+                DiscountProjectionDTO::getId, window, maxBatchSize);
+        this.categoryBatcher = new Batcher<>("category", eventProjectionClient::getCategoryProjectionDataBatch,
+                CategoryProjectionDTO::getId, window, maxBatchSize);
+    }
+
+    public Mono<EventProjectionDTO> getEventProjectionData(UUID eventId) {
+        return enabled ? eventBatcher.get(eventId) : eventProjectionClient.getEventProjectionData(eventId);
+    }
+
+    public Mono<SessionProjectionDTO> getSessionProjectionData(UUID sessionId) {
+        return enabled ? sessionBatcher.get(sessionId) : eventProjectionClient.getSessionProjectionData(sessionId);
+    }
+
+    public Mono<DiscountProjectionDTO> getDiscountProjectionData(UUID discountId) {
+        return enabled ? discountBatcher.get(discountId) : eventProjectionClient.getDiscountProjectionData(discountId);
+    }
+
+    public Mono<CategoryProjectionDTO> getCategoryProjectionData(UUID categoryId) {
+        return enabled ? categoryBatcher.get(categoryId) : eventProjectionClient.getCategoryProjectionData(categoryId);
+    }
+
+    /**
+     * Accumulates ids until the window elapses or the batch is full, then dispatches one request.
+     */
+    static final class Batcher<T> {
+
+        private final String name;
+        private final Function<Collection<UUID>, Flux<T>> fetch;
+        private final Function<T, UUID> idOf;
+        private final Duration window;
+        private final int maxBatchSize;
+        private Map<UUID, Sinks.One<T>> pending = new LinkedHashMap<>(); // guarded by this
+
+        Batcher(String name, Function<Collection<UUID>, Flux<T>> fetch, Function<T, UUID> idOf,
+                Duration window, int maxBatchSize) {
+            this.name = name;
+            this.fetch = fetch;
+            this.idOf = idOf;
+            this.window = window;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        Mono<T> get(UUID id) {
+            return Mono.defer(() -> {
+                Sinks.One<T> sink;
+                Map<UUID, Sinks.One<T>> full = null;
+                boolean opensWindow = false;
+                synchronized (this) {
+                    sink = pending.get(id);
+                    if (sink == null) {
+                        opensWindow = pending.isEmpty();
+                        sink = Sinks.one();
+                        pending.put(id, sink);
+                    }
+                    if (pending.size() >= maxBatchSize) {
+                        full = drain();
+                    }
+                }
+                if (full != null) {
+                    dispatch(full);
+                } else if (opensWindow) {
+                    // A stale timer from an earlier window only causes an early, smaller flush.
+                    Mono.delay(window).subscribe(tick -> flush());
+                }
+                return sink.asMono();
+            });
+        }
+
+        private void flush() {
+            Map<UUID, Sinks.One<T>> batch;
+            synchronized (this) {
+                batch = drain();
+            }
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+            }
+        }
+
+        private Map<UUID, Sinks.One<T>> drain() {
+            Map<UUID, Sinks.One<T>> batch = pending;
+            pending = new LinkedHashMap<>();
+            return batch;
+        }
+
+        private void dispatch(Map<UUID, Sinks.One<T>> batch) {
+            log.debug("Dispatching {} projection batch with {} IDs", name, batch.size());
+            fetch.apply(batch.keySet())
+                    .collectMap(idOf)
+                    .subscribe(results -> batch.forEach((id, sink) -> {
+                        T result = results.get(id);
+                        if (result != null) {
+                            sink.tryEmitValue(result);
+                        } else {
+                            sink.tryEmitError(new EventProjectionClient.ProjectionClientException(
+                                    "Resource not found in " + name + " batch: " + id, null,
+                                    EventProjectionClient.ProjectionClientException.ErrorType.NOT_FOUND));
+                        }
+                    }), error -> batch.values().forEach(sink -> sink.tryEmitError(error)));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Binary frames of the multi-session seat status stream. All numbers are big-endian and every frame
+ * starts with its type and the session it belongs to:
+ * <pre>
+ * DELTA  (1): type u8 | session 16 bytes | sequence i64 | status u8 | count u32 | count x seat index u32
+ * RESYNC (2): type u8 | session 16 bytes
+ * ENDED  (3): type u8 | session 16 bytes
+ * </pre>
+ * A seat index is the seat's position in the session's seat status snapshot and a status is a
+ * {@link ReadModelSeatStatus} ordinal, the same codes the snapshot uses. RESYNC means the client must
+ * reload the session's snapshot; ENDED means the server stopped streaming the session and the client
+ * may subscribe again.
+ */
+public final class BinarySeatFrames {
+
+    public static final byte DELTA = 1;
+    public static final byte RESYNC = 2;
+    public static final byte ENDED = 3;
+
+    private static final int HEADER_SIZE = 1 + 16;
+
+    private BinarySeatFrames() {
+    }
+
+    public static byte[] delta(UUID sessionId, long sequence, ReadModelSeatStatus status, int[] seatIndexes) {
+        ByteBuffer frame = header(DELTA, sessionId, 8 + 1 + 4 + 4 * seatIndexes.length);
+        frame.putLong(sequence);
+        frame.put((byte) status.ordinal());
+        frame.putInt(seatIndexes.length);
+        for (int seatIndex : seatIndexes) {
+            frame.putInt(seatIndex);
+        }
+        return frame.array();
+    }
+
+    public static byte[] resync(UUID sessionId) {
+        return header(RESYNC, sessionId, 0).array();
+    }
+
+    public static byte[] ended(UUID sessionId) {
+        return header(ENDED, sessionId, 0).array();
+    }
+
+    private static ByteBuffer header(byte type, UUID sessionId, int bodySize) {
+        return ByteBuffer.allocate(HEADER_SIZE + bodySize)
+                .put(type)
+                .putLong(sessionId.getMostSignificantBits())
+                .putLong(sessionId.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,151 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.CategoryDocument;
+import com.ticketly.mseventseatingprojection.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory copy of the category hierarchy with every category's ancestors precomputed, so event
+ * thumbnails get their category ancestry (which search filters on) without a Mongo lookup per level.
+ * <p>
+ * Loaded on startup and kept current by the projector as categories change or are deleted. Only the
+ * instance that consumed a change applies it, so the tree is also reloaded every
+ * {@code projection.category-tree.refresh-interval}, and an ancestry reaching a category this instance has
+ * not seen yet is completed from the read model before it is returned.
+ */
+@Component
+@Slf4j
+public class CategoryTree {
+
+    // Guards against a parent cycle in category data
+    private static final int MAX_DEPTH = 16;
+
+    private final CategoryRepository categoryRepository;
+    private final ReloadableState<Snapshot> snapshot;
+
+    public CategoryTree(CategoryRepository categoryRepository) {
+        this.categoryRepository = categoryRepository;
+        this.snapshot = new ReloadableState<>(Snapshot.of(Map.of()), this::load);
+    }
+
+    /**
+     * @param categoryId The category ID.
+     * @return Mono emitting the category's ID followed by its ancestors' IDs, nearest first.
+     */
+    public Mono<List<String>> ancestry(String categoryId) {
+        return snapshot.loaded()
+                .then(Mono.defer(() -> {
+                    String unknown = snapshot.get().unknownAncestor(categoryId);
+                    return unknown == null ? Mono.<Void>empty() : resolve(unknown);
+                }))
+                .then(Mono.fromSupplier(() -> snapshot.get().ancestry(categoryId)));
+    }
+
+    /**
+     * Adds or moves a category after it was saved to the read model.
+     */
+    public void put(CategoryDocument category) {
+        snapshot.apply(current -> {
+            Map<String, String> parentIds = new HashMap<>(current.parentIds());
+            parentIds.put(category.getId(), category.getParentId());
+            return Snapshot.of(parentIds);
+        });
+    }
+
+    public void remove(String categoryId) {
+        snapshot.apply(current -> {
+            Map<String, String> parentIds = new HashMap<>(current.parentIds());
+            parentIds.remove(categoryId);
+            return Snapshot.of(parentIds);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        snapshot.loaded().subscribe(null, error -> log.error("Failed to load the category tree", error));
+    }
+
+    @Scheduled(fixedDelayString = "${projection.category-tree.refresh-interval:PT5M}")
+    public void refresh() {
+        if (snapshot.isLoaded()) {
+            snapshot.reload().subscribe(null, error -> log.error("Failed to reload the category tree", error));
+        }
+    }
+
+    /**
+     * Reads a category another instance projected, and its parents up to one this instance knows, from the
+     * read model and adds them to the tree. A category missing there as well still ends the chain; its own
+     * projection later refreshes the thumbnails whose ancestry names it.
+     */
+    private Mono<Void> resolve(String categoryId) {
+        return categoryRepository.findById(categoryId)
+                .expand(category -> category.getParentId() == null
+                        || snapshot.get().parentIds().containsKey(category.getParentId())
+                        ? Mono.empty()
+                        : categoryRepository.findById(category.getParentId()))
+                .take(MAX_DEPTH)
+                .doOnNext(category -> {
+                    log.debug("Resolved category {} unknown to this instance's tree", category.getId());
+                    put(category);
+                })
+                .then();
+    }
+
+    private Mono<Snapshot> load() {
+        return categoryRepository.findAll()
+                .collectList()
+                .map(categories -> {
+                    Map<String, String> parentIds = new HashMap<>();
+                    categories.forEach(category -> parentIds.put(category.getId(), category.getParentId()));
+                    log.debug("Loaded category tree of {} categories", parentIds.size());
+                    return Snapshot.of(parentIds);
+                });
+    }
+
+    private record Snapshot(Map<String, String> parentIds, Map<String, List<String>> ancestries) {
+
+        static Snapshot of(Map<String, String> parentIds) {
+            Map<String, List<String>> ancestries = new HashMap<>();
+            parentIds.keySet().forEach(id -> ancestries.put(id, walkUp(id, parentIds)));
+            return new Snapshot(Collections.unmodifiableMap(parentIds), ancestries);
+        }
+
+        List<String> ancestry(String categoryId) {
+            // A category this instance has not seen yet is its own whole ancestry
+            return ancestries.getOrDefault(categoryId, List.of(categoryId));
+        }
+
+        /**
+         * @return The category ending the ancestry that this snapshot has no entry for, or null if the
+         *         ancestry ends at a root (or a parent cycle).
+         */
+        String unknownAncestor(String categoryId) {
+            List<String> ancestry = ancestry(categoryId);
+            String top = ancestry.get(ancestry.size() - 1);
+            return parentIds.containsKey(top) ? null : top;
+        }
+
+        private static List<String> walkUp(String categoryId, Map<String, String> parentIds) {
+            List<String> ancestry = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            // An unknown parent ends the chain, but still belongs to it
+            for (String id = categoryId; id != null && ancestry.size() < MAX_DEPTH && seen.add(id); id = parentIds.get(id)) {
+                ancestry.add(id);
+            }
+            return List.copyOf(ancestry);
+        }
+    }
+}
@@ -15,11 +15,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.PrematureCloseException;
 
 import java.net.ConnectException;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -97,6 +100,73 @@ public class EventProjectionClient {
                 .onErrorMap(this::wrapError);
     }
 
+    /**
+     * Get projection data for several events in a single request.
+     * Ids unknown to the command service are simply absent from the result.
+     *
+     * @param eventIds The UUIDs of the events.
+     * @return Flux emitting the EventProjectionDTOs that were found.
+     */
+    public Flux<EventProjectionDTO> getEventProjectionDataBatch(Collection<UUID> eventIds) {
+        return fetchBatch("events", eventIds, EventProjectionDTO.class);
+    }
+
+    /**
+     * Get projection data for several sessions in a single request.
+     *
+     * @param sessionIds The UUIDs of the sessions.
+     * @return Flux emitting the SessionProjectionDTOs that were found.
+     */
+    public Flux<SessionProjectionDTO> getSessionProjectionDataBatch(Collection<UUID> sessionIds) {
+        return fetchBatch("sessions", sessionIds, SessionProjectionDTO.class);
+    }
+
+    /**
+     * Get projection data for several discounts in a single request.
+     *
+     * @param discountIds The UUIDs of the discounts.
+     * @return Flux emitting the DiscountProjectionDTOs that were found.
+     */
+    public Flux<DiscountProjectionDTO> getDiscountProjectionDataBatch(Collection<UUID> discountIds) {
+        return fetchBatch("discounts", discountIds, DiscountProjectionDTO.class);
+    }
+
+    /**
+     * Get projection data for several categories in a single request.
+     *
+     * @param categoryIds The UUIDs of the categories.
+     * @return Flux emitting the CategoryProjectionDTOs that were found.
+     */
+    public Flux<CategoryProjectionDTO> getCategoryProjectionDataBatch(Collection<UUID> categoryIds) {
+        return fetchBatch("categories", categoryIds, CategoryProjectionDTO.class);
+    }
+
+    private <T> Flux<T> fetchBatch(String resource, Collection<UUID> ids, Class<T> type) {
+        String url = String.format("%s/internal/v1/%s/projection-data/batch", eventServiceBaseUrl, resource);
+        return internalApiWebClient.post()
+                .uri(url)
+                .bodyValue(Map.of("ids", ids))
+                .retrieve()
+                .bodyToFlux(type)
+                .doOnComplete(() -> log.info("Retrieved batch {} projection data for {} IDs", resource, ids.size()))
+                .timeout(Duration.ofSeconds(10))
+                .onErrorMap(error -> wrapBatchError(resource, error));
+    }
+
+    /**
+     * As {@link #wrapError}, except that a 404 is not NOT_FOUND: the batch endpoint leaves unknown ids out of
+     * its response, so a 404 means the command service lacks the route, and must not be swallowed as a
+     * missing resource for every id of the batch.
+     */
+    private ProjectionClientException wrapBatchError(String resource, Throwable error) {
+        ProjectionClientException wrapped = wrapError(error);
+        if (wrapped.getErrorType() != ProjectionClientException.ErrorType.NOT_FOUND) {
+            return wrapped;
+        }
+        return new ProjectionClientException("Batch projection endpoint for " + resource + " not found with status 404",
+                error, ProjectionClientException.ErrorType.CLIENT_ERROR);
+    }
+
     /**
      * Wraps all client errors in a ProjectionClientException to make error handling consistent
      */
@@ -7,17 +7,23 @@ import com.ticketly.mseventseatingprojection.dto.VenueDetailsDTO;
 import com.ticketly.mseventseatingprojection.dto.internal.EventAndSessionStatus;
 import com.ticketly.mseventseatingprojection.dto.internal.PreOrderValidationResponse;
 import com.ticketly.mseventseatingprojection.dto.internal.SeatDetailsResponse;
+import com.ticketly.mseventseatingprojection.dto.read.CursorPage;
 import com.ticketly.mseventseatingprojection.dto.read.DiscountDetailsDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventBasicInfoDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventThumbnailDTO;
+import com.ticketly.mseventseatingprojection.dto.read.SearchCountMode;
+import com.ticketly.mseventseatingprojection.dto.read.SearchSuggestionDTO;
 import com.ticketly.mseventseatingprojection.exception.ResourceNotFoundException;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
 import com.ticketly.mseventseatingprojection.model.EventDocument.SessionSeatingMapInfo;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
 import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
 import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustomImpl;
 import com.ticketly.mseventseatingprojection.repository.EventRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
 import com.ticketly.mseventseatingprojection.repository.SeatRepository;
 import com.ticketly.mseventseatingprojection.service.mapper.EventQueryMapper;
+import com.ticketly.mseventseatingprojection.service.mapper.SeatStateMapper;
 import dto.CreateOrderRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +32,7 @@ import model.SessionStatus;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -35,6 +42,7 @@ import reactor.core.publisher.Mono;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -43,10 +51,17 @@ import java.util.UUID;
 @Slf4j
 public class EventQueryService {
 
+    private static final int MAX_TYPEAHEAD_RESULTS = 20;
+
     private final EventReadRepositoryCustomImpl eventReadRepository;
     private final EventRepositoryCustom eventRepositoryCustom;
     private final EventQueryMapper eventMapper;
     private final SeatRepository seatRepository;
+    private final SeatStateMapper seatStateMapper;
+    private final SeatStatusIndex seatStatusIndex;
+    private final EventTextIndex eventTextIndex;
+    private final EventThumbnailRepository eventThumbnailRepository;
+    private final SearchSuggestionIndex searchSuggestionIndex;
 
     /**
      * Searches for events based on various filters and returns a paginated list of
@@ -62,25 +77,97 @@ public class EventQueryService {
      * @param priceMin   Minimum price filter.
      * @param priceMax   Maximum price filter.
      * @param pageable   Pagination information.
+     * @param countMode  How to work out the page's total number of results.
+     * @param facets     Whether to also return the matches' category, price and date facet counts.
      * @return Mono emitting a page of EventThumbnailDTO.
      */
     public Mono<Page<EventThumbnailDTO>> searchEvents(
             String searchTerm, String categoryId, Double longitude, Double latitude,
             Integer radiusKm, Instant dateFrom, Instant dateTo,
-            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable) {
+            BigDecimal priceMin, BigDecimal priceMax, Pageable pageable,
+            SearchCountMode countMode, boolean facets) {
         log.debug(
-                "searchEvents called with term={}, categoryId={}, location=({},{}), radius={}, dateFrom={}, dateTo={}, priceMin={}, priceMax={}, pageable={}",
-                searchTerm, categoryId, longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax, pageable);
+                "searchEvents called with term={}, categoryId={}, location=({},{}), radius={}, dateFrom={}, dateTo={}, priceMin={}, priceMax={}, pageable={}, countMode={}, facets={}",
+                searchTerm, categoryId, longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax, pageable, countMode, facets);
 
         return eventReadRepository.searchEvents(
                 searchTerm, categoryId, longitude, latitude, radiusKm,
-                dateFrom, dateTo, priceMin, priceMax, pageable)
+                dateFrom, dateTo, priceMin, priceMax, pageable, countMode, facets)
                 // ✅ Delegate mapping to the mapper component
                 .map(eventPage -> eventPage.map(eventMapper::mapToThumbnailDTO))
                 .doOnNext(page -> log.info("searchEvents result: totalElements={}, pageSize={}, pageNumber={}",
                         page.getTotalElements(), page.getSize(), page.getNumber()));
     }
 
+    /**
+     * Searches for events like {@link #searchEvents}, paging with an opaque cursor instead of a page number.
+     *
+     * @param searchTerm Search keyword for event title or description.
+     * @param categoryId Category ID to filter events.
+     * @param longitude  Longitude for location-based search.
+     * @param latitude   Latitude for location-based search.
+     * @param radiusKm   Radius in kilometers for location-based search.
+     * @param dateFrom   Start date filter.
+     * @param dateTo     End date filter.
+     * @param priceMin   Minimum price filter.
+     * @param priceMax   Maximum price filter.
+     * @param cursor     The previous page's next cursor; blank for the first page.
+     * @param size       Page size.
+     * @param sort       Sort of the first page.
+     * @param countMode  How to work out the total number of results.
+     * @return Mono emitting a page of EventThumbnailDTO with the cursor of the next page.
+     */
+    public Mono<CursorPage<EventThumbnailDTO>> scrollEvents(
+            String searchTerm, String categoryId, Double longitude, Double latitude,
+            Integer radiusKm, Instant dateFrom, Instant dateTo,
+            BigDecimal priceMin, BigDecimal priceMax,
+            String cursor, int size, Sort sort, SearchCountMode countMode) {
+        log.debug(
+                "scrollEvents called with term={}, categoryId={}, location=({},{}), radius={}, dateFrom={}, dateTo={}, priceMin={}, priceMax={}, cursor={}, size={}, sort={}, countMode={}",
+                searchTerm, categoryId, longitude, latitude, radiusKm, dateFrom, dateTo, priceMin, priceMax, cursor, size, sort, countMode);
+
+        return eventReadRepository.scrollEvents(
+                searchTerm, categoryId, longitude, latitude, radiusKm,
+                dateFrom, dateTo, priceMin, priceMax, cursor, size, sort, countMode)
+                .map(eventPage -> eventPage.map(eventMapper::mapToThumbnailDTO))
+                .doOnNext(page -> log.info("scrollEvents result: pageSize={}, hasNext={}",
+                        page.content().size(), page.nextCursor() != null));
+    }
+
+    /**
+     * Finds the events best matching a partly typed search term, from the in-process text index.
+     *
+     * @param query The search term typed so far.
+     * @param limit The maximum number of events to return (at most 20).
+     * @return Flux emitting event thumbnails, best match first.
+     */
+    public Flux<EventThumbnailDTO> typeahead(String query, int limit) {
+        log.debug("typeahead called with query={}, limit={}", query, limit);
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_TYPEAHEAD_RESULTS));
+        return eventTextIndex.search(query, boundedLimit)
+                .flatMapMany(eventIds -> eventThumbnailRepository.findAllById(eventIds)
+                        .collectMap(EventThumbnailDocument::getId)
+                        // Keep the index's ranking; a thumbnail removed since it was indexed is skipped
+                        .flatMapIterable(thumbnails -> eventIds.stream()
+                                .map(thumbnails::get)
+                                .filter(Objects::nonNull)
+                                .toList()))
+                .map(eventMapper::mapToThumbnailDTO);
+    }
+
+    /**
+     * Suggests event titles, categories, venues and cities completing a partly typed search, most trending first.
+     *
+     * @param query The text typed so far.
+     * @param limit The maximum number of suggestions to return (at most 20).
+     * @return Flux emitting the suggestions, best first.
+     */
+    public Flux<SearchSuggestionDTO> suggest(String query, int limit) {
+        log.debug("suggest called with query={}, limit={}", query, limit);
+        return searchSuggestionIndex.suggest(query, Math.max(1, Math.min(limit, MAX_TYPEAHEAD_RESULTS)))
+                .flatMapIterable(suggestions -> suggestions);
+    }
+
     /**
      * Fetches basic event info by event ID (excluding tiers and sessions).
      *
@@ -128,7 +215,12 @@ public class EventQueryService {
      */
     public Mono<SessionSeatingMapInfo> getSessionSeatingMap(String sessionId) {
         log.debug("getSessionSeatingMap called for sessionId={}", sessionId);
-        return eventReadRepository.findSeatingMapBySessionId(sessionId)
+        // The layout is static; overlay the live seat statuses from the seat state.
+        return eventReadRepository.findLayoutBySessionId(sessionId)
+                .zipWith(seatRepository.findSeatState(sessionId)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty()))
+                .map(tuple -> seatStateMapper.applyStatuses(tuple.getT1(), tuple.getT2().orElse(null)))
                 .doOnSuccess(map -> {
                     if (map != null) {
                         log.info("getSessionSeatingMap outcome for sessionId={}: seatingMapFound=true", sessionId);
@@ -272,8 +364,16 @@ public class EventQueryService {
         List<String> seatIds = request.getSeat_ids().stream().map(UUID::toString).toList();
 
         Mono<EventAndSessionStatus> statusMono = eventRepositoryCustom.findEventAndSessionStatus(eventId, sessionId, organizationId);
-        Mono<List<EventDocument.SeatInfo>> seatsMono = seatRepository.findSeatDetails(eventId, sessionId, seatIds)
-                .collectList();
+        // Seat labels, tiers and statuses come from the in-memory index; Mongo is the cold fallback.
+        Mono<List<EventDocument.SeatInfo>> seatsMono = seatStatusIndex.get(sessionId)
+                .filter(seats -> eventId.equals(seats.getEventId()))
+                .map(seats -> seatIds.stream()
+                        .distinct()
+                        .map(seats::seatInfo)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .switchIfEmpty(Mono.defer(() -> seatRepository.findSeatDetails(eventId, sessionId, seatIds)
+                        .collectList()));
 
         // ✅ FIX 1: Wrap the potentially empty discount Mono in an Optional
         Mono<Optional<EventDocument.DiscountInfo>> optionalDiscountMono = Mono.justOrEmpty(request.getDiscount_id())
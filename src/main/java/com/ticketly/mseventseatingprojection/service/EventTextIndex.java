@@ -0,0 +1,253 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-process inverted index of approved events' titles and descriptions, which search and typeahead
+ * query for ranked event IDs before reading the matching thumbnails.
+ * <p>
+ * Every query word must match an indexed word exactly, by prefix if it is the last word (the one
+ * being typed), or within one typo if it is long. Title words rank above description words.
+ * <p>
+ * Loaded from {@code event_thumbnails} on startup and kept current as thumbnails are saved and removed.
+ * Only the instance that consumed a change applies it, so the index is also reloaded every
+ * {@code projection.text-index.refresh-interval}.
+ */
+@Component
+@Slf4j
+public class EventTextIndex {
+
+    // Title words weigh five times description words, as they did in the Mongo text index
+    private static final float TITLE_WEIGHT = 5f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.8f;
+    private static final float TYPO_FACTOR = 0.6f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_TYPO_LENGTH = 5;
+    // Bounds the work of a short prefix such as "co"
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "at", "by", "for", "from", "in", "of", "on", "or", "the", "to", "with");
+
+    private final EventThumbnailRepository eventThumbnailRepository;
+    private final ReloadableState<Index> index;
+
+    public EventTextIndex(EventThumbnailRepository eventThumbnailRepository) {
+        this.eventThumbnailRepository = eventThumbnailRepository;
+        this.index = new ReloadableState<>(new Index(), this::load);
+    }
+
+    /**
+     * @param query The search words, the last possibly incomplete.
+     * @param limit The most event IDs to return.
+     * @return Mono emitting the IDs of the matching events, best match first.
+     */
+    public Mono<List<String>> search(String query, int limit) {
+        return index.loaded().then(Mono.fromSupplier(() -> index.get().search(query, limit)));
+    }
+
+    /**
+     * Indexes or re-indexes an event after its thumbnail was saved.
+     */
+    public void put(EventThumbnailDocument thumbnail) {
+        index.apply(current -> {
+            current.put(thumbnail);
+            return current;
+        });
+    }
+
+    public void remove(String eventId) {
+        index.apply(current -> {
+            current.remove(eventId);
+            return current;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        index.loaded().subscribe(null, error -> log.error("Failed to load the event text index", error));
+    }
+
+    @Scheduled(fixedDelayString = "${projection.text-index.refresh-interval:PT5M}")
+    public void refresh() {
+        if (index.isLoaded()) {
+            index.reload().subscribe(null, error -> log.error("Failed to reload the event text index", error));
+        }
+    }
+
+    private Mono<Index> load() {
+        return eventThumbnailRepository.findAllTextFields()
+                .collectList()
+                .map(thumbnails -> {
+                    Index rebuilt = new Index();
+                    thumbnails.forEach(rebuilt::put);
+                    log.debug("Loaded event text index of {} events", thumbnails.size());
+                    return rebuilt;
+                });
+    }
+
+    /**
+     * Splits text into lower-case words without accents.
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(WORD_SEPARATOR.split(folded.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Whether two words differ by at most one inserted, removed or replaced character.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        String shorter = a.length() <= b.length() ? a : b;
+        String longer = shorter == a ? b : a;
+        int i = 0, j = 0, edits = 0;
+        while (i < shorter.length() && j < longer.length()) {
+            if (shorter.charAt(i) == longer.charAt(j)) {
+                i++;
+                j++;
+                continue;
+            }
+            if (++edits > 1) {
+                return false;
+            }
+            if (shorter.length() == longer.length()) {
+                i++;
+            }
+            j++;
+        }
+        return edits + (longer.length() - j) <= 1;
+    }
+
+    /**
+     * Posting lists are written under the {@link ReloadableState}'s lock and read without it.
+     */
+    private static final class Index {
+        // Word -> event ID -> weight of the word in that event
+        private final ConcurrentSkipListMap<String, Map<String, Float>> postings = new ConcurrentSkipListMap<>();
+        private final Map<String, Set<String>> eventWords = new ConcurrentHashMap<>();
+
+        void put(EventThumbnailDocument thumbnail) {
+            remove(thumbnail.getId());
+            // A word weighs as much as the fields it appears in, however often it repeats
+            Map<String, Float> weights = new HashMap<>();
+            indexedWords(thumbnail.getTitle()).forEach(word -> weights.put(word, TITLE_WEIGHT));
+            indexedWords(thumbnail.getDescription()).forEach(word -> weights.merge(word, DESCRIPTION_WEIGHT, Float::sum));
+            weights.forEach((word, weight) -> postings
+                    .computeIfAbsent(word, w -> new ConcurrentHashMap<>())
+                    .put(thumbnail.getId(), weight));
+            eventWords.put(thumbnail.getId(), Set.copyOf(weights.keySet()));
+        }
+
+        void remove(String eventId) {
+            Set<String> words = eventWords.remove(eventId);
+            if (words == null) {
+                return;
+            }
+            words.forEach(word -> postings.computeIfPresent(word, (w, events) -> {
+                events.remove(eventId);
+                return events.isEmpty() ? null : events;
+            }));
+        }
+
+        List<String> search(String query, int limit) {
+            List<String> words = new ArrayList<>(new LinkedHashSet<>(words(query)));
+            Map<String, Float> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                String word = words.get(i);
+                Map<String, Float> wordScores = score(word, i == words.size() - 1);
+                if (STOP_WORDS.contains(word) && (wordScores.isEmpty() || scores != null && !intersects(scores, wordScores))) {
+                    // A stop word only narrows the search if it is the start of a word that matches
+                    continue;
+                }
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((eventId, score) -> score + wordScores.get(eventId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            if (scores == null) {
+                return List.of();
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+
+        /**
+         * Scores the events matching one query word, by their best matching indexed word.
+         */
+        private Map<String, Float> score(String word, boolean last) {
+            Map<String, Float> scores = new HashMap<>();
+            Map<String, Float> exact = postings.get(word);
+            if (exact != null) {
+                addScores(scores, exact, 1f);
+            }
+            if (last && word.length() >= MIN_PREFIX_LENGTH) {
+                postings.tailMap(word, false).entrySet().stream()
+                        .takeWhile(entry -> entry.getKey().startsWith(word))
+                        .limit(MAX_PREFIX_EXPANSIONS)
+                        .forEach(entry -> addScores(scores, entry.getValue(), PREFIX_FACTOR));
+            }
+            if (exact == null && word.length() >= MIN_TYPO_LENGTH) {
+                // A typo is rarely in the first letter, which keeps the candidates few
+                String first = word.substring(0, 1);
+                postings.subMap(first, first + Character.MAX_VALUE).entrySet().stream()
+                        .filter(entry -> withinOneEdit(word, entry.getKey()))
+                        .forEach(entry -> addScores(scores, entry.getValue(), TYPO_FACTOR));
+            }
+            return scores;
+        }
+
+        private void addScores(Map<String, Float> scores, Map<String, Float> events, float factor) {
+            // Rarer words count for more
+            float idf = (float) Math.log(1 + (double) eventWords.size() / events.size());
+            events.forEach((eventId, weight) -> scores.merge(eventId, weight * factor * idf, Math::max));
+        }
+
+        private static boolean intersects(Map<String, Float> scores, Map<String, Float> wordScores) {
+            return scores.keySet().stream().anyMatch(wordScores::containsKey);
+        }
+
+        private static Set<String> indexedWords(String text) {
+            return words(text).stream().filter(word -> !STOP_WORDS.contains(word)).collect(Collectors.toSet());
+        }
+    }
+}
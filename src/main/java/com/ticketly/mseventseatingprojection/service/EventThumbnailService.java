@@ -0,0 +1,152 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
+import com.ticketly.mseventseatingprojection.service.mapper.EventQueryMapper;
+import lombok.extern.slf4j.Slf4j;
+import model.EventStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Maintains the {@code event_thumbnails} read model: one precomputed search result card per approved event.
+ * <p>
+ * The projector refreshes an event's thumbnail after every change it applies to the event (and the
+ * thumbnails of every event of a changed organization or category). Cards also depend on the clock, so
+ * thumbnails whose {@code refreshAt} has passed are recomputed every {@code projection.thumbnails.refresh-interval}.
+ * Thumbnails are rebuilt for all approved events on startup, which also seeds the collection.
+ */
+@Service
+@Slf4j
+public class EventThumbnailService {
+
+    private final EventReadRepositoryCustom eventReadRepository;
+    private final EventThumbnailRepository eventThumbnailRepository;
+    private final CategoryTree categoryTree;
+    private final EventQueryMapper eventQueryMapper;
+    private final SearchCountCache searchCountCache;
+    private final EventTextIndex eventTextIndex;
+    private final SearchSuggestionIndex searchSuggestionIndex;
+    private final boolean rebuildOnStartup;
+
+    public EventThumbnailService(EventReadRepositoryCustom eventReadRepository,
+                                 EventThumbnailRepository eventThumbnailRepository,
+                                 CategoryTree categoryTree,
+                                 EventQueryMapper eventQueryMapper,
+                                 SearchCountCache searchCountCache,
+                                 EventTextIndex eventTextIndex,
+                                 SearchSuggestionIndex searchSuggestionIndex,
+                                 @Value("${projection.thumbnails.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.eventReadRepository = eventReadRepository;
+        this.eventThumbnailRepository = eventThumbnailRepository;
+        this.categoryTree = categoryTree;
+        this.eventQueryMapper = eventQueryMapper;
+        this.searchCountCache = searchCountCache;
+        this.eventTextIndex = eventTextIndex;
+        this.searchSuggestionIndex = searchSuggestionIndex;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    /**
+     * Recomputes the thumbnail of an event from its current events document, or removes it if the event
+     * no longer exists or is not approved.
+     *
+     * @param eventId The event ID.
+     * @return Mono signaling completion.
+     */
+    public Mono<Void> refresh(String eventId) {
+        return eventReadRepository.findEventWithoutLayouts(eventId)
+                .filter(event -> event.getStatus() == EventStatus.APPROVED)
+                .flatMap(this::save)
+                .switchIfEmpty(Mono.defer(() -> delete(eventId)
+                        .then(Mono.<EventThumbnailDocument>empty())))
+                .then();
+    }
+
+    public Mono<Void> refreshOrganization(String organizationId) {
+        return refreshAll(eventThumbnailRepository.findByOrganizationId(organizationId));
+    }
+
+    /**
+     * Refreshes the thumbnails of every event in a category or its subcategories, whose names or
+     * ancestry may have changed.
+     */
+    public Mono<Void> refreshCategory(String categoryId) {
+        return refreshAll(eventThumbnailRepository.findByCategoryAncestry(categoryId));
+    }
+
+    public Mono<Void> delete(String eventId) {
+        return eventThumbnailRepository.findById(eventId)
+                .flatMap(thumbnail -> eventThumbnailRepository.delete(thumbnail)
+                        .doOnSuccess(v -> {
+                            eventTextIndex.remove(eventId);
+                            searchSuggestionIndex.remove(eventId);
+                            searchCountCache.invalidate(thumbnail.getCategoryAncestry());
+                            log.debug("Removed thumbnail of event {}", eventId);
+                        }));
+    }
+
+    @Scheduled(fixedDelayString = "${projection.thumbnails.refresh-interval:PT1M}")
+    public void refreshDue() {
+        refreshAll(eventThumbnailRepository.findByRefreshAtLessThanEqual(Instant.now()))
+                .subscribe(null, error -> log.error("Failed to refresh due event thumbnails", error));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        eventReadRepository.findApprovedEventsWithoutLayouts()
+                .concatMap(this::save)
+                .count()
+                .subscribe(
+                        count -> log.info("Rebuilt {} event thumbnails", count),
+                        error -> log.error("Event thumbnail rebuild failed", error));
+    }
+
+    private Mono<Void> refreshAll(Flux<EventThumbnailDocument> thumbnails) {
+        return thumbnails
+                .concatMap(thumbnail -> refresh(thumbnail.getId())
+                        .onErrorResume(e -> {
+                            log.warn("Failed to refresh thumbnail of event {}: {}", thumbnail.getId(), e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Mono<EventThumbnailDocument> save(EventDocument event) {
+        // Counts of the categories an event moves out of include it as well, so read them before they are overwritten
+        Mono<List<String>> previousAncestry = eventThumbnailRepository.findById(event.getId())
+                .<List<String>>mapNotNull(EventThumbnailDocument::getCategoryAncestry)
+                .defaultIfEmpty(List.of());
+        return categoryAncestry(event).zipWith(previousAncestry)
+                .flatMap(ancestries -> eventThumbnailRepository.save(
+                                eventQueryMapper.toThumbnailDocument(event, ancestries.getT1(), Instant.now()))
+                        .doOnNext(thumbnail -> searchCountCache.invalidate(
+                                Stream.concat(ancestries.getT1().stream(), ancestries.getT2().stream()).distinct().toList())))
+                .doOnNext(eventTextIndex::put)
+                .doOnNext(searchSuggestionIndex::put)
+                .doOnNext(thumbnail -> log.debug("Refreshed thumbnail of event {} (refresh at {})",
+                        thumbnail.getId(), thumbnail.getRefreshAt()));
+    }
+
+    /**
+     * @return The event's category ID followed by its ancestors' IDs, nearest first.
+     */
+    private Mono<List<String>> categoryAncestry(EventDocument event) {
+        String categoryId = event.getCategory() != null ? event.getCategory().getId() : null;
+        return categoryId != null ? categoryTree.ancestry(categoryId) : Mono.just(List.of());
+    }
+}
@@ -0,0 +1,99 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash cells of venue locations. Thumbnails store the cell of each session's venue at
+ * {@link #PRECISION} characters; a nearby search matches the cells covering its circle by prefix,
+ * so it can be served from an ordinary compound index together with the session start times.
+ */
+public final class GeoCells {
+
+    /**
+     * Characters of the stored cells, about 150m x 150m.
+     */
+    public static final int PRECISION = 7;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double KM_PER_DEGREE_LAT = 110.574;
+    private static final double KM_PER_DEGREE_LON = 111.320;
+    // Beyond this, cells get too narrow to cover a circle with their neighbours
+    private static final double MAX_COVERED_LATITUDE = 80;
+
+    private GeoCells() {
+    }
+
+    /**
+     * @return The geohash of a location with the given number of characters.
+     */
+    public static String encode(double longitude, double latitude, int precision) {
+        double minLon = -180, maxLon = 180, minLat = -90, maxLat = 90;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0, value = 0;
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                value = value << 1 | (longitude >= mid ? 1 : 0);
+                if (longitude >= mid) minLon = mid; else maxLon = mid;
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                value = value << 1 | (latitude >= mid ? 1 : 0);
+                if (latitude >= mid) minLat = mid; else maxLat = mid;
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Finds the cells that together contain every point within the radius: the cell of the centre and its
+     * eight neighbours, at the finest precision whose cells are at least as wide and tall as the radius.
+     *
+     * @return Cell prefixes of the stored cells, or an empty list if the circle is too large or too close to
+     * a pole to be covered this way.
+     */
+    public static List<String> cover(double longitude, double latitude, double radiusKm) {
+        if (Math.abs(latitude) > MAX_COVERED_LATITUDE) {
+            return List.of();
+        }
+        for (int precision = PRECISION; precision >= 1; precision--) {
+            double widthDeg = 360 / Math.pow(2, Math.ceil(precision * 5 / 2.0));
+            double heightDeg = 180 / Math.pow(2, Math.floor(precision * 5 / 2.0));
+            // Cells are narrowest on the edge of the circle nearest the pole
+            double edgeLatitude = Math.min(MAX_COVERED_LATITUDE, Math.abs(latitude) + radiusKm / KM_PER_DEGREE_LAT);
+            double widthKm = widthDeg * KM_PER_DEGREE_LON * Math.cos(Math.toRadians(edgeLatitude));
+            double heightKm = heightDeg * KM_PER_DEGREE_LAT;
+            if (widthKm >= radiusKm && heightKm >= radiusKm) {
+                return neighbourhood(longitude, latitude, precision, widthDeg, heightDeg);
+            }
+        }
+        return List.of();
+    }
+
+    private static List<String> neighbourhood(double longitude, double latitude, int precision,
+                                              double widthDeg, double heightDeg) {
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dLat = -1; dLat <= 1; dLat++) {
+            double lat = latitude + dLat * heightDeg;
+            if (lat < -90 || lat > 90) {
+                continue;
+            }
+            for (int dLon = -1; dLon <= 1; dLon++) {
+                double lon = longitude + dLon * widthDeg;
+                // Wrap around the antimeridian
+                lon = lon >= 180 ? lon - 360 : lon < -180 ? lon + 360 : lon;
+                cells.add(encode(lon, lat, precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+}
@@ -0,0 +1,165 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses bursts of CDC-triggered re-projections for the same aggregate into a single execution.
+ * <p>
+ * A signal opens a window of {@code projection.coalescing.window}; every further signal for the same key
+ * that arrives before the window closes joins the pending execution instead of scheduling its own. Executions
+ * for the same key never overlap: a window also stays open until the previous execution has finished.
+ * <p>
+ * Coalescing only happens when the caller provides a {@link DeferredCompletions} in the Reactor context
+ * (the reactive ingestion mode, the default, does). The blocking listener of the {@code listener} mode waits
+ * for every record anyway, so without a context the work simply runs inline.
+ */
+@Component
+@Slf4j
+public class ProjectionCoalescer {
+
+    private final Duration window;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Slot> slots = new HashMap<>(); // guarded by this
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ProjectionCoalescer(@Value("${projection.coalescing.window:500ms}") Duration window,
+                               MeterRegistry meterRegistry) {
+        this.window = window;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Schedules the given work for the key, or joins a pending execution for it.
+     *
+     * @param kind Metric tag describing the projection (e.g. "event", "session").
+     * @param key  The aggregate key the work re-projects.
+     * @param work Supplier of the idempotent re-projection. Only the latest supplier of a window is executed.
+     * @return Mono that completes immediately when the work was deferred, or once the work ran inline.
+     */
+    public Mono<Void> coalesce(String kind, String key, Supplier<Mono<Void>> work) {
+        return Mono.deferContextual(ctx -> {
+            DeferredCompletions deferred = ctx.getOrDefault(DeferredCompletions.class, null);
+            if (deferred == null || window.isZero()) {
+                return work.get();
+            }
+            counter("projection.coalescer.signals", kind).increment();
+            deferred.add(schedule(kind, key, work));
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Waits for any scheduled execution for the key to finish. Used in front of writes that must not be
+     * overtaken by a pending re-projection (e.g. deletes).
+     *
+     * @param key The aggregate key.
+     * @return Mono that completes once the key has no pending or running execution.
+     */
+    public Mono<Void> awaitIdle(String key) {
+        return Mono.defer(() -> {
+            Mono<Void> tail;
+            synchronized (this) {
+                Slot slot = slots.get(key);
+                tail = slot == null ? Mono.empty() : slot.tail;
+            }
+            return tail.onErrorResume(e -> Mono.empty());
+        });
+    }
+
+    private synchronized Mono<Void> schedule(String kind, String key, Supplier<Mono<Void>> work) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        if (slot.open != null) {
+            slot.open.work = work;
+            counter("projection.coalescer.coalesced", kind).increment();
+            log.debug("Coalesced {} projection signal for key={}", kind, key);
+            return slot.open.completion;
+        }
+
+        Window next = new Window(work);
+        Mono<Void> previous = slot.tail == null ? Mono.empty() : slot.tail.onErrorResume(e -> Mono.empty());
+        Mono<Void> execution = Mono.when(Mono.delay(window), previous)
+                .then(Mono.defer(() -> {
+                    close(key, next);
+                    counter("projection.coalescer.executions", kind).increment();
+                    log.debug("Executing coalesced {} projection for key={}", kind, key);
+                    return next.work.get();
+                }))
+                .doFinally(signal -> release(key, next))
+                .cache();
+
+        next.completion = execution;
+        slot.open = next;
+        slot.tail = execution;
+        // Start the timer now; callers observe the outcome through the cached completion.
+        execution.subscribe(null, e -> log.debug("Coalesced {} projection failed for key={}: {}", kind, key, e.getMessage()));
+        return execution;
+    }
+
+    private synchronized void close(String key, Window window) {
+        Slot slot = slots.get(key);
+        if (slot != null && slot.open == window) {
+            slot.open = null;
+        }
+    }
+
+    private synchronized void release(String key, Window window) {
+        Slot slot = slots.get(key);
+        if (slot != null && slot.open == null && slot.tail == window.completion) {
+            slots.remove(key);
+        }
+    }
+
+    private Counter counter(String name, String kind) {
+        return counters.computeIfAbsent(name + ":" + kind,
+                k -> Counter.builder(name).tag("kind", kind).register(meterRegistry));
+    }
+
+    private static final class Slot {
+        private Window open;
+        private Mono<Void> tail;
+    }
+
+    private static final class Window {
+        private volatile Supplier<Mono<Void>> work;
+        private Mono<Void> completion;
+
+        private Window(Supplier<Mono<Void>> work) {
+            this.work = work;
+        }
+    }
+
+    /**
+     * Collects the completions of work deferred while processing a single record, so the caller can
+     * acknowledge the record once everything it triggered has been projected.
+     */
+    public static final class DeferredCompletions {
+
+        private final List<Mono<Void>> completions = new ArrayList<>();
+
+        public Context bind(Context context) {
+            return context.put(DeferredCompletions.class, this);
+        }
+
+        private synchronized void add(Mono<Void> completion) {
+            completions.add(completion);
+        }
+
+        public synchronized Mono<Void> await() {
+            return Mono.when(List.copyOf(completions));
+        }
+    }
+}
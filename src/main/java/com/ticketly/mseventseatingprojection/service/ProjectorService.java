@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ticketly.mseventseatingprojection.dto.DiscountMetadataChangePayload;
 import com.ticketly.mseventseatingprojection.dto.OrganizationChangePayload;
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
 import com.ticketly.mseventseatingprojection.exception.NonRetryableProjectionException;
 import com.ticketly.mseventseatingprojection.model.CategoryDocument;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
@@ -11,14 +12,17 @@ import com.ticketly.mseventseatingprojection.model.EventTrendingDocument;
 import com.ticketly.mseventseatingprojection.model.OrganizationDocument;
 import com.ticketly.mseventseatingprojection.repository.*;
 import com.ticketly.mseventseatingprojection.service.mapper.EventProjectionMapper;
+import com.ticketly.mseventseatingprojection.service.mapper.SeatStateMapper;
 import com.ticketly.mseventseatingprojection.service.mapper.SeatingMapMapper;
 import dto.SessionSeatingMapDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
@@ -29,7 +33,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProjectorService {
 
-    private final EventProjectionClient eventProjectionClient;
+    private final BatchingProjectionClient batchingProjectionClient;
     private final EventRepository eventRepository;
     private final EventRepositoryCustom eventRepositoryCustom;
     private final OrganizationRepository organizationRepository;
@@ -39,6 +43,14 @@ public class ProjectorService {
     private final SeatingMapMapper seatingMapMapper;
     private final EventTrendingRepository eventTrendingRepository;
     private final S3UrlGenerator s3UrlGenerator;
+    private final SeatRepository seatRepository;
+    private final SeatStateMapper seatStateMapper;
+    private final SeatStatusIndex seatStatusIndex;
+    private final SeatingMapLayoutCache seatingMapLayoutCache;
+    private final SeatStatusFanOut seatStatusFanOut;
+    private final EventThumbnailService eventThumbnailService;
+    private final CategoryTree categoryTree;
+    private final SearchSuggestionIndex searchSuggestionIndex;
 
 
     /**
@@ -49,10 +61,48 @@ public class ProjectorService {
      */
     public Mono<Void> projectFullEvent(UUID eventId) {
         log.info("Projecting full event for ID: {}", eventId);
-        return eventProjectionClient.getEventProjectionData(eventId)
+        return batchingProjectionClient.getEventProjectionData(eventId)
                 .map(eventProjectionMapper::fromProjection) // clear intent: projection mapping
                 .flatMap(eventRepository::save)
-                .then();
+                .flatMap(this::replaceSeatStates)
+                .then(eventThumbnailService.refresh(eventId.toString()));
+    }
+
+    /**
+     * Re-derives the seat state of every session of a freshly projected event and drops
+     * seat states and cached layouts of sessions the event no longer has.
+     */
+    private Mono<Void> replaceSeatStates(EventDocument eventDocument) {
+        List<EventDocument.SessionInfo> sessions = eventDocument.getSessions() != null
+                ? eventDocument.getSessions()
+                : List.of();
+        List<String> sessionIds = sessions.stream().map(EventDocument.SessionInfo::getId).toList();
+
+        return Flux.fromIterable(sessions)
+                .concatMap(session -> replaceSeatState(eventDocument.getId(), session.getId(), session.getLayoutData()))
+                .thenMany(seatRepository.deleteSeatStatesForEvent(eventDocument.getId(), sessionIds))
+                .doOnNext(seatingMapLayoutCache::evict)
+                .then()
+                .doOnSuccess(v -> seatStatusIndex.evictEvent(eventDocument.getId()));
+    }
+
+    /**
+     * Re-derives the seat state of one session from its layout and drops the session from the in-memory
+     * seat index and layout cache. Every seat's status may have been reset without a delta, so the
+     * session's live clients are told to reload the snapshot.
+     */
+    private Mono<Void> replaceSeatState(String eventId, String sessionId, EventDocument.SessionSeatingMapInfo layoutData) {
+        return seatRepository.replaceSeatState(seatStateMapper.fromSeatingMap(eventId, sessionId, layoutData))
+                .doOnSuccess(version -> {
+                    seatStatusIndex.evict(sessionId);
+                    seatingMapLayoutCache.evict(sessionId);
+                })
+                .flatMap(version -> seatStatusFanOut.publish(SeatStatusUpdateDto.resync(version), UUID.fromString(sessionId))
+                        // The write is done; clients that miss the resync still detect the version gap
+                        .onErrorResume(e -> {
+                            log.warn("Failed to fan out resync #{} for session {}: {}", version, sessionId, e.getMessage());
+                            return Mono.empty();
+                        }));
     }
 
     /**
@@ -65,6 +115,11 @@ public class ProjectorService {
         log.info("Deleting event {} from read model.", eventId);
 
         return eventRepository.deleteById(eventId.toString())
+                .thenMany(seatRepository.deleteSeatStatesForEvent(eventId.toString(), List.of()))
+                .doOnNext(seatingMapLayoutCache::evict)
+                .then()
+                .doOnSuccess(v -> seatStatusIndex.evictEvent(eventId.toString()))
+                .then(eventThumbnailService.delete(eventId.toString()))
                 .then(deleteTrendingData(eventId));
     }
     
@@ -99,10 +154,11 @@ public class ProjectorService {
      */
     public Mono<Void> projectSessionUpdate(UUID eventId, UUID sessionId) {
         log.info("Projecting session update for event ID: {} and session ID: {}", eventId, sessionId);
-        return eventProjectionClient.getSessionProjectionData(sessionId)
+        return batchingProjectionClient.getSessionProjectionData(sessionId)
                 .map(eventProjectionMapper::fromSession) // clear intent: projection session mapping
-                .flatMap(sessionInfo -> eventRepository.updateSessionInEvent(eventId.toString(), sessionId.toString(), sessionInfo))
-                .then();
+                .flatMap(sessionInfo -> eventRepository.updateSessionInEvent(eventId.toString(), sessionId.toString(), sessionInfo)
+                        .then(replaceSeatState(eventId.toString(), sessionId.toString(), sessionInfo.getLayoutData())))
+                .then(eventThumbnailService.refresh(eventId.toString()));
     }
 
     /**
@@ -115,11 +171,12 @@ public class ProjectorService {
      */
     public Mono<Void> createSession(UUID eventId, UUID sessionId) {
         log.info("Creating session {} for event {}", sessionId, eventId);
-        return eventProjectionClient.getSessionProjectionData(sessionId)
+        return batchingProjectionClient.getSessionProjectionData(sessionId)
                 .map(eventProjectionMapper::fromSession)
                 // ++ The 'flatMap' now calls the new, atomic repository method ++
-                .flatMap(sessionInfo -> eventRepository.addSessionToEvent(eventId.toString(), sessionInfo))
-                .then();
+                .flatMap(sessionInfo -> eventRepository.addSessionToEvent(eventId.toString(), sessionInfo)
+                        .then(replaceSeatState(eventId.toString(), sessionId.toString(), sessionInfo.getLayoutData())))
+                .then(eventThumbnailService.refresh(eventId.toString()));
     }
 
 
@@ -133,7 +190,12 @@ public class ProjectorService {
     public Mono<Void> deleteSession(UUID eventId, UUID sessionId) {
         log.info("Deleting session {} from event {}", sessionId, eventId);
         return eventRepository.deleteSessionFromEvent(eventId.toString(), sessionId.toString())
-                .then();
+                .then(seatRepository.deleteSeatState(sessionId.toString()))
+                .doOnSuccess(v -> {
+                    seatStatusIndex.evict(sessionId.toString());
+                    seatingMapLayoutCache.evict(sessionId.toString());
+                })
+                .then(eventThumbnailService.refresh(eventId.toString()));
     }
 
     /**
@@ -161,7 +223,7 @@ public class ProjectorService {
 
                         return eventRepository.updateSeatingMapInSession(
                                 eventId.toString(), sessionId.toString(), seatingMapInfo
-                        );
+                        ).then(replaceSeatState(eventId.toString(), sessionId.toString(), seatingMapInfo));
                     } catch (Exception e) {
                         log.error("Failed to process seating map update for session {}", sessionId, e);
                         return Mono.empty();
@@ -194,8 +256,9 @@ public class ProjectorService {
         Mono<Long> updateEventsMono = eventRepository.updateOrganizationInfoInEvents(orgChange.getId().toString(), embeddedInfo)
                 .doOnSuccess(count -> log.info("Updated embedded organization info for {} events.", count));
 
-        // Combine both operations to run in parallel and complete when both are done
-        return Mono.zip(saveOrgMono, updateEventsMono).then();
+        // Combine both operations to run in parallel, then refresh the affected search thumbnails
+        return Mono.zip(saveOrgMono, updateEventsMono)
+                .then(eventThumbnailService.refreshOrganization(orgChange.getId().toString()));
     }
 
     /**
@@ -218,7 +281,7 @@ public class ProjectorService {
      */
     public Mono<Void> projectCategoryChange(UUID categoryId) {
         log.info("Projecting category change for ID: {}", categoryId);
-        return eventProjectionClient.getCategoryProjectionData(categoryId)
+        return batchingProjectionClient.getCategoryProjectionData(categoryId)
                 .flatMap(catDto -> {
                     CategoryDocument catDoc = CategoryDocument.builder()
                             .id(catDto.getId().toString())
@@ -228,7 +291,11 @@ public class ProjectorService {
                             .build();
 
                     Mono<CategoryDocument> saveCatMono = categoryRepository.save(catDoc)
-                            .doOnSuccess(savedDoc -> log.info("Upserted category document with ID: {}", savedDoc.getId()));
+                            .doOnSuccess(savedDoc -> {
+                                log.info("Upserted category document with ID: {}", savedDoc.getId());
+                                categoryTree.put(savedDoc);
+                                searchSuggestionIndex.putCategory(savedDoc);
+                            });
 
                     EventDocument.CategoryInfo embeddedInfo = EventDocument.CategoryInfo.builder()
                             .id(catDoc.getId())
@@ -239,7 +306,8 @@ public class ProjectorService {
                     Mono<Long> updateEventsMono = eventRepository.updateCategoryInfoInEvents(catDoc.getId(), embeddedInfo)
                             .doOnSuccess(count -> log.info("Updated embedded category info for {} events.", count));
 
-                    return Mono.zip(saveCatMono, updateEventsMono);
+                    return Mono.zip(saveCatMono, updateEventsMono)
+                            .then(eventThumbnailService.refreshCategory(catDoc.getId()));
                 })
                 .then();
     }
@@ -253,7 +321,12 @@ public class ProjectorService {
     public Mono<Void> deleteCategory(String catId) {
         log.info("Deleting category {} from read model.", catId);
         // In a real system, you might trigger a process to re-categorize events
-        return categoryRepository.deleteById(catId);
+        return categoryRepository.deleteById(catId)
+                .doOnSuccess(v -> {
+                    categoryTree.remove(catId);
+                    searchSuggestionIndex.removeCategory(catId);
+                })
+                .then(eventThumbnailService.refreshCategory(catId));
     }
 
 
@@ -268,7 +341,8 @@ public class ProjectorService {
         log.info("Projecting cover photo addition for event ID: {}", eventId);
         // Transform the S3 key into a full, public URL
         String publicUrl = s3UrlGenerator.generatePublicUrl(photoKey);
-        return eventRepository.addCoverPhotoToEvent(eventId.toString(), publicUrl).then();
+        return eventRepository.addCoverPhotoToEvent(eventId.toString(), publicUrl)
+                .then(eventThumbnailService.refresh(eventId.toString()));
     }
 
     /**
@@ -281,7 +355,8 @@ public class ProjectorService {
     public Mono<Void> projectCoverPhotoRemoved(UUID eventId, String photoKey) {
         log.info("Projecting cover photo removal for event ID: {}", eventId);
         String publicUrl = s3UrlGenerator.generatePublicUrl(photoKey);
-        return eventRepository.removeCoverPhotoFromEvent(eventId.toString(), publicUrl).then();
+        return eventRepository.removeCoverPhotoFromEvent(eventId.toString(), publicUrl)
+                .then(eventThumbnailService.refresh(eventId.toString()));
     }
 
     /**
@@ -295,12 +370,12 @@ public class ProjectorService {
     public Mono<Void> projectFullDiscount(UUID eventId, UUID discountId) {
         log.info("Projecting discount change for event ID: {} and discount ID: {}", eventId, discountId);
         // "Signal and Fetch" pattern: Debezium is the signal, this client call is the fetch.
-        return eventProjectionClient.getDiscountProjectionData(discountId)
+        return batchingProjectionClient.getDiscountProjectionData(discountId)
                 .map(eventProjectionMapper::fromDiscount) // Map the DTO to the embedded document
                 .flatMap(discountInfo ->
                         eventRepositoryCustom.upsertDiscountInEvent(eventId.toString(), discountInfo)
                 )
-                .then();
+                .then(eventThumbnailService.refresh(eventId.toString()));
     }
 
     /**
@@ -313,7 +388,8 @@ public class ProjectorService {
      */
     public Mono<Void> projectDiscountDeletion(UUID eventId, UUID discountId) {
         log.info("Projecting discount deletion for event ID: {} and discount ID: {}", eventId, discountId);
-        return eventRepository.removeDiscountFromEvent(eventId.toString(), discountId.toString()).then();
+        return eventRepository.removeDiscountFromEvent(eventId.toString(), discountId.toString())
+                .then(eventThumbnailService.refresh(eventId.toString()));
     }
 
     /**
@@ -349,7 +425,8 @@ public class ProjectorService {
                 fieldsToUpdate.put("expiresAt", payload.getExpiresAt().toInstant());
             }
 
-            return eventRepositoryCustom.patchDiscountInEvent(eventId, discountId, fieldsToUpdate).then();
+            return eventRepositoryCustom.patchDiscountInEvent(eventId, discountId, fieldsToUpdate)
+                    .then(eventThumbnailService.refresh(eventId));
 
         } catch (JsonProcessingException e) {
             throw new NonRetryableProjectionException("Failed to parse discount parameters JSON", e);
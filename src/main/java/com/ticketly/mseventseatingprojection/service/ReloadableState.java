@@ -0,0 +1,101 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory state that is loaded from Mongo, kept current by the projector's changes, and reloaded from
+ * time to time.
+ * <p>
+ * Only one load runs at a time: callers that find the state not yet loaded share the load in flight
+ * instead of each starting their own. Changes applied while a load reads its source may be missing from
+ * what it read, so they are recorded and replayed onto the loaded state before it replaces the current one.
+ *
+ * @param <S> The state; changes either update it in place or return a replacement.
+ */
+final class ReloadableState<S> {
+
+    private final Supplier<Mono<S>> loader;
+
+    private volatile S state;
+    private volatile boolean loaded;
+    private Reload<S> reloading; // guarded by this
+
+    /**
+     * @param initial The state served until the first load completes.
+     * @param loader  Supplier of a Mono building fresh state from the source.
+     */
+    ReloadableState(S initial, Supplier<Mono<S>> loader) {
+        this.state = initial;
+        this.loader = loader;
+    }
+
+    S get() {
+        return state;
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return Mono completing once the state has been loaded at least once.
+     */
+    Mono<Void> loaded() {
+        return loaded ? Mono.empty() : reload();
+    }
+
+    /**
+     * @return Mono completing once the load in flight, or a new one if there is none, has replaced the state.
+     */
+    synchronized Mono<Void> reload() {
+        if (reloading == null) {
+            Reload<S> reload = new Reload<>();
+            reload.completion = Mono.defer(loader)
+                    .doOnNext(fresh -> replace(fresh, reload))
+                    .then()
+                    .doFinally(signal -> finish(reload))
+                    .cache();
+            reloading = reload;
+        }
+        return reloading.completion;
+    }
+
+    /**
+     * Applies a change to the current state, and records it for the state being loaded, if any.
+     *
+     * @param change Updates the state in place and returns it, or returns its replacement.
+     */
+    synchronized void apply(UnaryOperator<S> change) {
+        state = change.apply(state);
+        if (reloading != null) {
+            reloading.changes.add(change);
+        }
+    }
+
+    private synchronized void replace(S fresh, Reload<S> reload) {
+        S replayed = fresh;
+        for (UnaryOperator<S> change : reload.changes) {
+            replayed = change.apply(replayed);
+        }
+        state = replayed;
+        loaded = true;
+        finish(reload);
+    }
+
+    private synchronized void finish(Reload<S> reload) {
+        // A failed load is forgotten, so the next caller starts another
+        if (reloading == reload) {
+            reloading = null;
+        }
+    }
+
+    private static final class Reload<S> {
+        private final List<UnaryOperator<S>> changes = new ArrayList<>();
+        private Mono<Void> completion;
+    }
+}
@@ -0,0 +1,86 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches approximate search totals per normalized filter combination, so searches that accept an
+ * estimated total do not run a count pipeline each time. Filters are coarsened before they form the key
+ * (dates to the hour, prices to whole units, locations to ~1 km cells), so nearby searches share a count.
+ * <p>
+ * Counts expire after {@code projection.search.count-cache.ttl}. When the projector changes an event's
+ * thumbnail, the counts that may include it (its category's and its ancestors', and those without a
+ * category filter) are dropped straight away on this instance; other instances rely on the TTL.
+ */
+@Component
+public class SearchCountCache {
+
+    private final Duration ttl;
+    private final int maxEntries;
+
+    private final Map<Key, Mono<Long>> counts = new ConcurrentHashMap<>();
+
+    public SearchCountCache(@Value("${projection.search.count-cache.ttl:30s}") Duration ttl,
+                            @Value("${projection.search.count-cache.max-entries:10000}") int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param key   The normalized filters of the search.
+     * @param count Counts the matches; only run when there is no fresh count for the key.
+     * @return Mono emitting the cached or newly counted total.
+     */
+    public Mono<Long> get(Key key, Mono<Long> count) {
+        Mono<Long> cached = counts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (counts.size() >= maxEntries) {
+            counts.keySet().stream().findAny().ifPresent(counts::remove);
+        }
+        return counts.computeIfAbsent(key, k -> count
+                // Only successful counts are kept; errors are retried on the next search
+                .cache(total -> ttl, error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    /**
+     * Drops the counts an event in one of these categories may be part of.
+     *
+     * @param categoryAncestry The event's category followed by its ancestors.
+     */
+    public void invalidate(Collection<String> categoryAncestry) {
+        Collection<String> categoryIds = categoryAncestry != null ? categoryAncestry : List.of();
+        counts.keySet().removeIf(key -> key.categoryId() == null || categoryIds.contains(key.categoryId()));
+    }
+
+    public record Key(String searchTerm, String categoryId, String geoCell,
+                      Instant dateFrom, Instant dateTo, BigDecimal priceMin, BigDecimal priceMax) {
+
+        public static Key of(String searchTerm, String categoryId, Double longitude, Double latitude,
+                             Integer radiusKm, Instant dateFrom, Instant dateTo,
+                             BigDecimal priceMin, BigDecimal priceMax) {
+            boolean hasGeoSearch = longitude != null && latitude != null && radiusKm != null;
+            return new Key(
+                    searchTerm != null && !searchTerm.isBlank() ? searchTerm.trim().toLowerCase(Locale.ROOT) : null,
+                    categoryId,
+                    hasGeoSearch ? String.format(Locale.ROOT, "%.2f,%.2f,%d", longitude, latitude, radiusKm) : null,
+                    dateFrom != null ? dateFrom.truncatedTo(ChronoUnit.HOURS) : null,
+                    dateTo != null ? dateTo.truncatedTo(ChronoUnit.HOURS) : null,
+                    priceMin != null ? priceMin.setScale(0, RoundingMode.FLOOR) : null,
+                    priceMax != null ? priceMax.setScale(0, RoundingMode.CEILING) : null);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.dto.read.SearchSuggestionDTO;
+import com.ticketly.mseventseatingprojection.model.CategoryDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.model.EventTrendingDocument;
+import com.ticketly.mseventseatingprojection.repository.CategoryRepository;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
+import com.ticketly.mseventseatingprojection.repository.EventTrendingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index of search suggestions: approved events' titles, category names, and the names
+ * and cities of the events' venues. Each suggestion can be completed from the start of any of its words,
+ * and ranks by the summed trending score of the events behind it, so autocomplete never reads Mongo.
+ * <p>
+ * Loaded on startup from {@code event_thumbnails}, {@code categories} and the trending scores, and kept
+ * current as the projector saves and removes thumbnails and categories. Only the instance that consumed a
+ * change applies it, so the index (and the trending scores, which are recalculated on their own schedule)
+ * is also reloaded every {@code projection.suggestions.refresh-interval}.
+ */
+@Component
+@Slf4j
+public class SearchSuggestionIndex {
+
+    // Bounds the work of a one-letter prefix
+    private static final int MAX_CANDIDATES = 2000;
+
+    private final EventThumbnailRepository eventThumbnailRepository;
+    private final CategoryRepository categoryRepository;
+    private final EventTrendingRepository eventTrendingRepository;
+    private final ReloadableState<Index> index;
+
+    public SearchSuggestionIndex(EventThumbnailRepository eventThumbnailRepository,
+                                 CategoryRepository categoryRepository,
+                                 EventTrendingRepository eventTrendingRepository) {
+        this.eventThumbnailRepository = eventThumbnailRepository;
+        this.categoryRepository = categoryRepository;
+        this.eventTrendingRepository = eventTrendingRepository;
+        this.index = new ReloadableState<>(new Index(Map.of()), this::load);
+    }
+
+    /**
+     * @param query The text typed so far.
+     * @param limit The most suggestions to return.
+     * @return Mono emitting the suggestions starting with the query at one of their words, best first.
+     */
+    public Mono<List<SearchSuggestionDTO>> suggest(String query, int limit) {
+        return index.loaded().then(Mono.fromSupplier(() -> index.get().suggest(query, limit)));
+    }
+
+    /**
+     * Adds or updates the suggestions of an event after its thumbnail was saved.
+     */
+    public void put(EventThumbnailDocument thumbnail) {
+        index.apply(current -> {
+            current.put(thumbnail);
+            return current;
+        });
+    }
+
+    public void remove(String eventId) {
+        index.apply(current -> {
+            current.remove(eventId);
+            return current;
+        });
+    }
+
+    /**
+     * Adds or renames a category after it was saved to the read model.
+     */
+    public void putCategory(CategoryDocument category) {
+        index.apply(current -> {
+            current.putCategory(category);
+            return current;
+        });
+    }
+
+    public void removeCategory(String categoryId) {
+        index.apply(current -> {
+            current.removeCategory(categoryId);
+            return current;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        index.loaded().subscribe(null, error -> log.error("Failed to load the search suggestion index", error));
+    }
+
+    @Scheduled(fixedDelayString = "${projection.suggestions.refresh-interval:PT5M}")
+    public void refresh() {
+        if (index.isLoaded()) {
+            index.reload().subscribe(null, error -> log.error("Failed to reload the search suggestion index", error));
+        }
+    }
+
+    private Mono<Index> load() {
+        return Mono.zip(
+                        eventThumbnailRepository.findAllSuggestionFields().collectList(),
+                        categoryRepository.findAll().collectList(),
+                        eventTrendingRepository.findAll().collectList())
+                .map(sources -> build(sources.getT1(), sources.getT2(), sources.getT3()));
+    }
+
+    private Index build(Collection<EventThumbnailDocument> thumbnails, Collection<CategoryDocument> categories,
+                        Collection<EventTrendingDocument> trending) {
+        Map<String, Double> trendingScores = new HashMap<>();
+        trending.forEach(score -> trendingScores.merge(score.getEventId(), score.getTrendingScore(), Math::max));
+        Index rebuilt = new Index(trendingScores);
+        categories.forEach(rebuilt::putCategory);
+        thumbnails.forEach(rebuilt::put);
+        log.debug("Loaded search suggestions of {} events and {} categories", thumbnails.size(), categories.size());
+        return rebuilt;
+    }
+
+    /**
+     * The text a suggestion is matched on: its words, lower case, without accents.
+     */
+    private static String normalize(String text) {
+        return String.join(" ", EventTextIndex.words(text));
+    }
+
+    private record Suggestion(String key, SearchSuggestionDTO.Type type, String text, String id) {
+
+        SearchSuggestionDTO toDTO() {
+            return SearchSuggestionDTO.builder().type(type).text(text).id(id).build();
+        }
+    }
+
+    /**
+     * Phrase lists are written under the {@link ReloadableState}'s lock and read without it.
+     */
+    private static final class Index {
+        // Every word-aligned suffix of a suggestion's text -> the suggestions with that suffix
+        private final ConcurrentSkipListMap<String, Set<Suggestion>> phrases = new ConcurrentSkipListMap<>();
+        private final Map<String, Suggestion> suggestions = new ConcurrentHashMap<>();
+        // Suggestion key -> IDs of the events behind it, whose trending scores rank it
+        private final Map<String, Set<String>> suggestionEvents = new ConcurrentHashMap<>();
+        private final Map<String, List<String>> eventSuggestionKeys = new ConcurrentHashMap<>();
+        private final Map<String, Double> trendingScores;
+
+        Index(Map<String, Double> trendingScores) {
+            this.trendingScores = trendingScores;
+        }
+
+        void put(EventThumbnailDocument thumbnail) {
+            remove(thumbnail.getId());
+            List<String> keys = new ArrayList<>();
+            if (thumbnail.getTitle() != null) {
+                keys.add(add(new Suggestion(eventKey(thumbnail.getId()), SearchSuggestionDTO.Type.EVENT,
+                        thumbnail.getTitle(), thumbnail.getId())));
+            }
+            if (thumbnail.getCategoryAncestry() != null) {
+                // Events in subcategories also rank their parent categories, which are added from the categories themselves
+                thumbnail.getCategoryAncestry().forEach(categoryId -> keys.add(categoryKey(categoryId)));
+            }
+            if (thumbnail.getVenues() != null) {
+                for (EventThumbnailDocument.Venue venue : thumbnail.getVenues()) {
+                    if (venue.getName() != null && !normalize(venue.getName()).isEmpty()) {
+                        keys.add(add(new Suggestion("VENUE:" + normalize(venue.getName()), SearchSuggestionDTO.Type.VENUE,
+                                venue.getName(), null)));
+                    }
+                    if (venue.getCity() != null && !normalize(venue.getCity()).isEmpty()) {
+                        keys.add(add(new Suggestion("CITY:" + normalize(venue.getCity()), SearchSuggestionDTO.Type.CITY,
+                                venue.getCity(), null)));
+                    }
+                }
+            }
+            List<String> distinctKeys = List.copyOf(new LinkedHashSet<>(keys));
+            distinctKeys.forEach(key -> suggestionEvents
+                    .computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+                    .add(thumbnail.getId()));
+            eventSuggestionKeys.put(thumbnail.getId(), distinctKeys);
+        }
+
+        void remove(String eventId) {
+            List<String> keys = eventSuggestionKeys.remove(eventId);
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                Set<String> events = suggestionEvents.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(eventId);
+                    return ids.isEmpty() ? null : ids;
+                });
+                Suggestion suggestion = suggestions.get(key);
+                // Categories stay suggested until they are deleted
+                if (events == null && suggestion != null && suggestion.type() != SearchSuggestionDTO.Type.CATEGORY) {
+                    unlink(suggestions.remove(key));
+                }
+            }
+        }
+
+        void putCategory(CategoryDocument category) {
+            if (category.getName() != null) {
+                add(new Suggestion(categoryKey(category.getId()), SearchSuggestionDTO.Type.CATEGORY,
+                        category.getName(), category.getId()));
+            }
+        }
+
+        void removeCategory(String categoryId) {
+            Suggestion removed = suggestions.remove(categoryKey(categoryId));
+            if (removed != null) {
+                unlink(removed);
+            }
+        }
+
+        List<SearchSuggestionDTO> suggest(String query, int limit) {
+            String prefix = normalize(query);
+            if (prefix.isEmpty()) {
+                return List.of();
+            }
+            Set<Suggestion> candidates = new LinkedHashSet<>();
+            for (Set<Suggestion> matches : phrases.subMap(prefix, prefix + Character.MAX_VALUE).values()) {
+                candidates.addAll(matches);
+                if (candidates.size() >= MAX_CANDIDATES) {
+                    break;
+                }
+            }
+            Map<Suggestion, Double> scores = new HashMap<>();
+            candidates.forEach(suggestion -> scores.put(suggestion, score(suggestion)));
+            return candidates.stream()
+                    .sorted(Comparator.<Suggestion>comparingDouble(scores::get).reversed()
+                            .thenComparingInt(suggestion -> -events(suggestion).size())
+                            .thenComparingInt(suggestion -> suggestion.text().length())
+                            .thenComparing(Suggestion::text))
+                    .limit(limit)
+                    .map(Suggestion::toDTO)
+                    .toList();
+        }
+
+        /**
+         * Adds a suggestion, or replaces one with the same key whose text has changed.
+         *
+         * @return The suggestion's key.
+         */
+        private String add(Suggestion suggestion) {
+            Suggestion previous = suggestions.put(suggestion.key(), suggestion);
+            if (suggestion.equals(previous)) {
+                return suggestion.key();
+            }
+            if (previous != null) {
+                unlink(previous);
+            }
+            List<String> words = EventTextIndex.words(suggestion.text());
+            for (int i = 0; i < words.size(); i++) {
+                phrases.computeIfAbsent(String.join(" ", words.subList(i, words.size())), p -> ConcurrentHashMap.newKeySet())
+                        .add(suggestion);
+            }
+            return suggestion.key();
+        }
+
+        private void unlink(Suggestion suggestion) {
+            List<String> words = EventTextIndex.words(suggestion.text());
+            for (int i = 0; i < words.size(); i++) {
+                phrases.computeIfPresent(String.join(" ", words.subList(i, words.size())), (p, matches) -> {
+                    matches.remove(suggestion);
+                    return matches.isEmpty() ? null : matches;
+                });
+            }
+        }
+
+        private double score(Suggestion suggestion) {
+            return events(suggestion).stream().mapToDouble(eventId -> trendingScores.getOrDefault(eventId, 0.0)).sum();
+        }
+
+        private Set<String> events(Suggestion suggestion) {
+            return suggestionEvents.getOrDefault(suggestion.key(), Set.of());
+        }
+
+        private static String eventKey(String eventId) {
+            return "EVENT:" + eventId;
+        }
+
+        private static String categoryKey(String categoryId) {
+            return "CATEGORY:" + categoryId;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.ticketly.mseventseatingprojection.service;
 
 import com.ticketly.mseventseatingprojection.dto.internal.SeatDetailsResponse;
 import com.ticketly.mseventseatingprojection.dto.internal.SeatInfoRequest;
+import com.ticketly.mseventseatingprojection.dto.internal.SeatTransitionResult;
 import com.ticketly.mseventseatingprojection.dto.internal.SeatValidationResponse;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
 import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
@@ -21,6 +22,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SeatService {
     private final SeatRepository seatRepository;
+    private final SeatStatusIndex seatStatusIndex;
+    private final SeatStateBackfillService seatStateBackfillService;
 
     /**
      * Validates the availability of the specified seats for a session.
@@ -31,7 +34,25 @@ public class SeatService {
      */
     public Mono<SeatValidationResponse> validateSeatsAvailability(String sessionId, SeatInfoRequest request) {
         log.debug("validateSeatsAvailability called for sessionId={}, seatIds={}", sessionId, request.getSeat_ids());
-        return seatRepository.validateSeatsAvailability(String.valueOf(request.getEvent_id()), sessionId, request.getSeat_ids());
+        String eventId = String.valueOf(request.getEvent_id());
+
+        // Served from the in-memory index; Mongo is only queried when the session cannot be indexed.
+        return seatStatusIndex.get(sessionId)
+                .filter(seats -> eventId.equals(seats.getEventId()))
+                .map(seats -> {
+                    List<String> unavailable = request.getSeat_ids().stream()
+                            .filter(seatId -> {
+                                ReadModelSeatStatus status = seats.statusOf(seatId);
+                                return status != null && status != ReadModelSeatStatus.AVAILABLE;
+                            })
+                            .toList();
+                    return SeatValidationResponse.builder()
+                            .allAvailable(unavailable.isEmpty())
+                            .unavailableSeats(unavailable)
+                            .build();
+                })
+                .switchIfEmpty(Mono.defer(() ->
+                        seatRepository.validateSeatsAvailability(eventId, sessionId, request.getSeat_ids())));
     }
 
     /**
@@ -61,50 +82,94 @@ public class SeatService {
     }
 
     /**
-     * Updates the status of the specified seats for a given session.
+     * Moves the specified seats to a new status, leaving already BOOKED seats untouched.
+     * A session without a seat state yet (not reached by the startup backfill) is seeded from its layout
+     * first, so the change is not lost.
      *
      * @param sessionId The ID of the session.
      * @param seatIds   The list of seat IDs to update.
      * @param newStatus The new status to set for the seats.
-     * @return Mono signaling completion.
+     * @return Mono emitting the seats that transitioned and the seats that were rejected.
      */
-    public Mono<Boolean> updateSeatStatus(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus) {
+    public Mono<SeatTransitionResult> transitionSeatStatus(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus) {
         if (seatIds == null || seatIds.isEmpty()) {
-            return Mono.just(false);
+            return Mono.just(SeatTransitionResult.rejected(List.of()));
         }
 
         log.info("Attempting to update {} seats to status {} in session {}", seatIds.size(), newStatus, sessionId);
 
-        // 1. Check if any of the seats are already BOOKED
-        return seatRepository.areAnySeatsBooked(sessionId, seatIds)
-                .flatMap(anyBooked -> {
-                    // 2. Enforce the business rule
-                    if (anyBooked) {
-                        log.warn("Update failed: Attempted to change the status of an already BOOKED seat in session {}", sessionId);
-                        // Return false indicating a business rule violation
-                        return Mono.just(false);
+        // The BOOKED check and the write are a single conditional update, so there is no check-then-act race.
+        return seatRepository.transitionSeatStatuses(sessionId, seatIds, newStatus)
+                .flatMap(result -> result.isSeatStateMissing()
+                        ? seedAndRetry(sessionId, seatIds, newStatus)
+                        : Mono.just(result))
+                .doOnNext(result -> {
+                    if (!result.getTransitionedSeats().isEmpty()) {
+                        seatStatusIndex.apply(sessionId, result.getTransitionedSeats(), newStatus, result.getVersion());
+                    }
+                })
+                .doOnNext(result -> {
+                    if (result.isSeatStateMissing()) {
+                        log.warn("Dropped status change to {} for {} seats: session {} has no seat state and no layout to seed it from",
+                                newStatus, result.getRejectedSeats().size(), sessionId);
+                    } else if (!result.getRejectedSeats().isEmpty()) {
+                        log.warn("Rejected status change to {} for {} already BOOKED or unknown seats in session {}",
+                                newStatus, result.getRejectedSeats().size(), sessionId);
                     }
-
-                    // 3. If the rule passes, proceed with the update
-                    log.info("Validation passed. Proceeding with update for {} seats in session {}", seatIds.size(), sessionId);
-                    return seatRepository.updateSeatStatuses(sessionId, seatIds, newStatus)
-                            .thenReturn(true)
-                            .onErrorReturn(false);
                 });
     }
 
+    private Mono<SeatTransitionResult> seedAndRetry(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus) {
+        log.warn("Session {} has no seat state yet, seeding it from its layout before moving seats to {}", sessionId, newStatus);
+        return seatStateBackfillService.backfillSession(sessionId)
+                .then(Mono.defer(() -> seatRepository.transitionSeatStatuses(sessionId, seatIds, newStatus)));
+    }
+
+    /**
+     * Moves the specified seats to a new status using UUIDs, leaving already BOOKED seats untouched.
+     *
+     * @param sessionId The UUID of the session.
+     * @param seatIds   The list of seat UUIDs to update.
+     * @param newStatus The new status to set for the seats.
+     * @return Mono emitting the seats that transitioned and the seats that were rejected.
+     */
+    public Mono<SeatTransitionResult> transitionSeatStatus(UUID sessionId, List<UUID> seatIds, ReadModelSeatStatus newStatus) {
+        return transitionSeatStatus(sessionId.toString(), toStrings(seatIds), newStatus);
+    }
+
+    /**
+     * Updates the status of the specified seats for a given session.
+     *
+     * @param sessionId The ID of the session.
+     * @param seatIds   The list of seat IDs to update.
+     * @param newStatus The new status to set for the seats.
+     * @return Mono emitting true only if every seat transitioned.
+     */
+    public Mono<Boolean> updateSeatStatus(String sessionId, List<String> seatIds, ReadModelSeatStatus newStatus) {
+        if (seatIds == null || seatIds.isEmpty()) {
+            return Mono.just(false);
+        }
+
+        return transitionSeatStatus(sessionId, seatIds, newStatus)
+                .map(result -> result.getRejectedSeats().isEmpty())
+                .onErrorReturn(false);
+    }
+
     /**
      * Updates the status of the specified seats for a given session using UUIDs.
      *
      * @param sessionId The UUID of the session.
      * @param seatIds   The list of seat UUIDs to update.
      * @param newStatus The new status to set for the seats.
-     * @return Mono signaling completion.
+     * @return Mono emitting true only if every seat transitioned.
      */
     public Mono<Boolean> updateSeatStatus(UUID sessionId, List<UUID> seatIds, ReadModelSeatStatus newStatus) {
-        List<String> seatIdStrings = seatIds.stream()
+        return updateSeatStatus(sessionId.toString(), toStrings(seatIds), newStatus);
+    }
+
+    private List<String> toStrings(List<UUID> ids) {
+        return ids.stream()
                 .map(UUID::toString)
                 .collect(Collectors.toList());
-        return updateSeatStatus(sessionId.toString(), seatIdStrings, newStatus);
     }
 }
@@ -0,0 +1,25 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Keeps the instance out of the readiness group until the startup seat-state backfill is over, so seat
+ * status snapshots are not served for sessions whose seat state is still being seeded.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatStateBackfillHealthIndicator implements ReactiveHealthIndicator {
+
+    private final SeatStateBackfillService seatStateBackfillService;
+
+    @Override
+    public Mono<Health> health() {
+        return Mono.fromSupplier(() -> seatStateBackfillService.isStartupBackfillDone()
+                ? Health.up().build()
+                : Health.outOfService().withDetail("reason", "Seat-state backfill in progress").build());
+    }
+}
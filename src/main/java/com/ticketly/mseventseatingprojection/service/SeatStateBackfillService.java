@@ -0,0 +1,84 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.SeatRepository;
+import com.ticketly.mseventseatingprojection.service.mapper.SeatStateMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Seeds the seat-state store for sessions projected before it existed, using the seat
+ * statuses still embedded in their layouts. Sessions that already have a seat state are never touched.
+ * <p>
+ * All such sessions are seeded on startup, and the instance reports itself not ready until that pass is
+ * over (see {@link SeatStateBackfillHealthIndicator}). A seat status change for a session the pass has not
+ * reached yet seeds that session on its own first, see {@link #backfillSession(String)}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStateBackfillService {
+
+    private final EventReadRepositoryCustom eventReadRepository;
+    private final SeatRepository seatRepository;
+    private final SeatStateMapper seatStateMapper;
+
+    @Value("${projection.seat-state.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    private volatile boolean startupBackfillDone;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!backfillOnStartup) {
+            startupBackfillDone = true;
+            return;
+        }
+        backfillMissingSeatStates()
+                // A failed pass still ends; sessions it missed are seeded on their first status change
+                .doFinally(signal -> startupBackfillDone = true)
+                .subscribe(
+                        count -> log.info("Seat-state backfill completed for {} sessions", count),
+                        error -> log.error("Seat-state backfill failed", error));
+    }
+
+    /**
+     * @return Whether the startup backfill has finished, or is disabled.
+     */
+    public boolean isStartupBackfillDone() {
+        return startupBackfillDone;
+    }
+
+    /**
+     * @return Mono emitting the number of sessions whose seat state was created.
+     */
+    public Mono<Long> backfillMissingSeatStates() {
+        return eventReadRepository.findSessionsWithoutSeatState()
+                .concatMap(event -> Flux.fromIterable(event.getSessions())
+                        .concatMap(session -> seatRepository.insertSeatStateIfMissing(
+                                seatStateMapper.fromSeatingMap(event.getId(), session.getId(), session.getLayoutData()))))
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    /**
+     * Seeds the seat state of one session if it has none.
+     *
+     * @param sessionId The ID of the session.
+     * @return Mono emitting true if the seat state was created, false if it already existed or the session is unknown.
+     */
+    public Mono<Boolean> backfillSession(String sessionId) {
+        return eventReadRepository.findSessionWithoutSeatState(sessionId)
+                .flatMap(event -> Flux.fromIterable(event.getSessions())
+                        .concatMap(session -> seatRepository.insertSeatStateIfMissing(
+                                seatStateMapper.fromSeatingMap(event.getId(), session.getId(), session.getLayoutData())))
+                        .reduce(false, Boolean::logicalOr))
+                .defaultIfEmpty(false);
+    }
+}
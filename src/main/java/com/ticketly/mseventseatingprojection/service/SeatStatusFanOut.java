@@ -0,0 +1,29 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Carries seat status deltas from the instance whose consumer wrote them to every instance with
+ * SSE clients for the session. Selected with {@code projection.sse.fan-out}.
+ */
+public interface SeatStatusFanOut {
+
+    /**
+     * Broadcast a delta to all subscribed instances, including this one
+     * @param update The seat status delta
+     * @param sessionId The session the delta belongs to
+     * @return Mono completing once the delta has been handed to the transport
+     */
+    Mono<Void> publish(SeatStatusUpdateDto update, UUID sessionId);
+
+    /**
+     * Receive the deltas of one session for as long as the returned Flux is subscribed
+     * @param sessionId The session to listen to
+     * @return Flux of deltas published by any instance
+     */
+    Flux<SeatStatusUpdateDto> subscribe(UUID sessionId);
+}
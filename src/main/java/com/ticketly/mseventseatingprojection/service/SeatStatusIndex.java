@@ -0,0 +1,241 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.SeatRepository;
+import com.ticketly.mseventseatingprojection.service.mapper.SeatStateMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * In-process seat status index for the sessions the Order service validates checkouts against.
+ * Each session is held as a seat ID to dense position map plus a primitive status array, so checking
+ * a handful of seats is a memory lookup instead of an aggregation over the whole session.
+ * <p>
+ * Mongo is only read on a cold load, and for a single-field version probe once an entry is older than
+ * {@code projection.seat-index.revalidate-after}; that probe picks up writes made by other instances.
+ * Local seat transitions are applied in place, and re-projections evict the session.
+ */
+@Component
+@Slf4j
+public class SeatStatusIndex {
+
+    private static final ReadModelSeatStatus[] STATUSES = ReadModelSeatStatus.values();
+
+    private final SeatRepository seatRepository;
+    private final EventReadRepositoryCustom eventReadRepository;
+    private final SeatStateMapper seatStateMapper;
+    private final int maxSessions;
+    private final long revalidateAfterNanos;
+
+    private final Map<String, SessionSeats> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Mono<SessionSeats>> loading = new ConcurrentHashMap<>();
+
+    public SeatStatusIndex(SeatRepository seatRepository,
+                           EventReadRepositoryCustom eventReadRepository,
+                           SeatStateMapper seatStateMapper,
+                           @Value("${projection.seat-index.max-sessions:1000}") int maxSessions,
+                           @Value("${projection.seat-index.revalidate-after:2s}") Duration revalidateAfter) {
+        this.seatRepository = seatRepository;
+        this.eventReadRepository = eventReadRepository;
+        this.seatStateMapper = seatStateMapper;
+        this.maxSessions = maxSessions;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+    }
+
+    /**
+     * Returns the indexed seats of a session, loading them on first use.
+     *
+     * @param sessionId The ID of the session.
+     * @return Mono emitting the session's seats, or empty if the session has no seat state yet.
+     */
+    public Mono<SessionSeats> get(String sessionId) {
+        SessionSeats cached = sessions.get(sessionId);
+        if (cached == null) {
+            return load(sessionId);
+        }
+        cached.lastAccess = System.nanoTime();
+        if (System.nanoTime() - cached.verifiedAt < revalidateAfterNanos) {
+            return Mono.just(cached);
+        }
+
+        return seatRepository.findSeatStateVersion(sessionId)
+                .flatMap(version -> {
+                    if (version == cached.version) {
+                        cached.verifiedAt = System.nanoTime();
+                        return Mono.just(cached);
+                    }
+                    log.debug("Seat index for session {} is stale (v{} < v{}), reloading", sessionId, cached.version, version);
+                    sessions.remove(sessionId, cached);
+                    return load(sessionId);
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    sessions.remove(sessionId, cached);
+                    return Mono.empty();
+                }));
+    }
+
+    /**
+     * Applies a seat transition that was just written to the seat-state store, if the session is loaded.
+     * If the write's version shows that another write was missed, the session is evicted instead.
+     *
+     * @param sessionId The ID of the session.
+     * @param seatIds   The seats that transitioned.
+     * @param status    Their new status.
+     * @param version   The seat-state version produced by the write.
+     */
+    public void apply(String sessionId, Collection<String> seatIds, ReadModelSeatStatus status, long version) {
+        SessionSeats seats = sessions.get(sessionId);
+        if (seats == null) {
+            return;
+        }
+        synchronized (seats) {
+            if (version != seats.version + 1) {
+                sessions.remove(sessionId, seats);
+                return;
+            }
+            seatIds.forEach(seatId -> seats.setStatus(seatId, status));
+            seats.version = version;
+        }
+    }
+
+    public void evict(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    public void evictEvent(String eventId) {
+        sessions.values().removeIf(seats -> eventId.equals(seats.eventId));
+    }
+
+    private Mono<SessionSeats> load(String sessionId) {
+        return loading.computeIfAbsent(sessionId, id -> Mono.zip(
+                                seatRepository.findSeatState(id),
+                                eventReadRepository.findLayoutBySessionId(id))
+                        .map(tuple -> SessionSeats.of(tuple.getT1(), seatStateMapper.indexSeats(tuple.getT2())))
+                        .doOnNext(seats -> put(id, seats))
+                        .doFinally(signal -> loading.remove(id))
+                        .cache());
+    }
+
+    private void put(String sessionId, SessionSeats seats) {
+        sessions.put(sessionId, seats);
+        if (sessions.size() > maxSessions) {
+            // Evict the least recently used session
+            sessions.entrySet().stream()
+                    .filter(entry -> !entry.getKey().equals(sessionId))
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .ifPresent(entry -> sessions.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Seats of one session: static label and tier per position, live status ordinals in a primitive array.
+     */
+    public static final class SessionSeats {
+        private final String eventId;
+        private final Map<String, Integer> positions;
+        private final String[] labels;
+        private final EventDocument.TierInfo[] tiers;
+        private final AtomicIntegerArray statuses;
+
+        private volatile long version;
+        private volatile long verifiedAt = System.nanoTime();
+        private volatile long lastAccess = System.nanoTime();
+
+        private SessionSeats(String eventId, int size, long version) {
+            this.eventId = eventId;
+            this.positions = new HashMap<>(size * 2);
+            this.labels = new String[size];
+            this.tiers = new EventDocument.TierInfo[size];
+            this.statuses = new AtomicIntegerArray(size);
+            this.version = version;
+        }
+
+        static SessionSeats of(SessionSeatStateDocument seatState, Map<String, EventDocument.SeatInfo> layoutSeats) {
+            List<SessionSeatStateDocument.SeatState> states = seatState.getSeats() != null ? seatState.getSeats() : List.of();
+            SessionSeats seats = new SessionSeats(seatState.getEventId(), states.size(), seatState.getVersion());
+            for (int i = 0; i < states.size(); i++) {
+                SessionSeatStateDocument.SeatState state = states.get(i);
+                EventDocument.SeatInfo layoutSeat = layoutSeats.get(state.getId());
+                seats.positions.put(state.getId(), i);
+                seats.labels[i] = layoutSeat != null ? layoutSeat.getLabel() : null;
+                seats.tiers[i] = layoutSeat != null ? layoutSeat.getTier() : null;
+                ReadModelSeatStatus status = state.getStatus() != null ? state.getStatus() : ReadModelSeatStatus.AVAILABLE;
+                seats.statuses.set(i, status.ordinal());
+            }
+            return seats;
+        }
+
+        public String getEventId() {
+            return eventId;
+        }
+
+        /**
+         * @return The live status of the seat, or null if the seat is not part of the session.
+         */
+        public ReadModelSeatStatus statusOf(String seatId) {
+            Integer position = positions.get(seatId);
+            return position != null ? STATUSES[statuses.get(position)] : null;
+        }
+
+        /**
+         * @return The seat with its label, tier and live status, or null if the seat is not part of the session.
+         */
+        public EventDocument.SeatInfo seatInfo(String seatId) {
+            Integer position = positions.get(seatId);
+            if (position == null) {
+                return null;
+            }
+            return EventDocument.SeatInfo.builder()
+                    .id(seatId)
+                    .label(labels[position])
+                    .tier(tiers[position])
+                    .status(STATUSES[statuses.get(position)])
+                    .build();
+        }
+
+        /**
+         * Packs the live statuses at two bits per seat, four seats per byte with the first seat in the
+         * lowest bits. Seats are in seat-state order, which is layout order (each block's seats, then
+         * its rows' seats); codes are {@link ReadModelSeatStatus} ordinals.
+         *
+         * @return The packed statuses together with the seat-state version they reflect.
+         */
+        public PackedStatuses packStatuses() {
+            synchronized (this) {
+                int seatCount = statuses.length();
+                byte[] packed = new byte[(seatCount + 3) / 4];
+                for (int i = 0; i < seatCount; i++) {
+                    packed[i >> 2] |= (byte) ((statuses.get(i) & 0b11) << ((i & 3) << 1));
+                }
+                return new PackedStatuses(version, seatCount, packed);
+            }
+        }
+
+        private void setStatus(String seatId, ReadModelSeatStatus status) {
+            Integer position = positions.get(seatId);
+            if (position != null) {
+                statuses.set(position, status.ordinal());
+            }
+        }
+    }
+
+    /**
+     * Two-bit packed seat statuses of a session at a given seat-state version.
+     */
+    public record PackedStatuses(long version, int seatCount, byte[] statuses) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusSnapshotDto;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SeatStatusSnapshotService {
+
+    private static final List<String> STATUS_CODES = Arrays.stream(ReadModelSeatStatus.values())
+            .map(Enum::name)
+            .toList();
+
+    private final SeatStatusIndex seatStatusIndex;
+    private final SeatingMapLayoutCache seatingMapLayoutCache;
+
+    /**
+     * Builds a compact snapshot of the live status of every seat in a session, for clients that
+     * already hold the static layout and only need statuses before following the SSE stream.
+     *
+     * @param sessionId The ID of the session.
+     * @return Mono emitting the snapshot, or empty if the session has no seat state.
+     */
+    public Mono<SeatStatusSnapshotDto> getSnapshot(String sessionId) {
+        return seatStatusIndex.get(sessionId)
+                .zipWith(seatingMapLayoutCache.get(sessionId))
+                .map(tuple -> {
+                    SeatStatusIndex.PackedStatuses packed = tuple.getT1().packStatuses();
+                    log.debug("Seat status snapshot for session {}: {} seats at sequence {}",
+                            sessionId, packed.seatCount(), packed.version());
+                    return SeatStatusSnapshotDto.builder()
+                            .sessionId(sessionId)
+                            .sequence(packed.version())
+                            .layoutEtag(tuple.getT2().etag())
+                            .seatCount(packed.seatCount())
+                            .statusCodes(STATUS_CODES)
+                            .statuses(Base64.getEncoder().encodeToString(packed.statuses()))
+                            .build();
+                });
+    }
+}
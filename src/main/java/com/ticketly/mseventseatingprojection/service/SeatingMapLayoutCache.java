@@ -0,0 +1,152 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.service.mapper.SeatStateMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds each session's static seating layout pre-encoded as JSON (plain and gzip), tagged with a
+ * content-hash ETag, so the seat picker's layout can be served and revalidated without touching Mongo
+ * or re-serializing. Seat statuses are stripped; they are live data and are delivered separately.
+ * <p>
+ * Entries are evicted when the session's layout is re-projected or removed, and expire after
+ * {@code projection.layout-cache.ttl} so instances that did not consume the change pick it up too.
+ * Beyond {@code projection.layout-cache.max-sessions}, the least recently read session is dropped.
+ */
+@Component
+@Slf4j
+public class SeatingMapLayoutCache {
+
+    private final EventReadRepositoryCustom eventReadRepository;
+    private final SeatStateMapper seatStateMapper;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration clientMaxAge;
+
+    // Access-ordered, so the least recently used session is dropped past max-sessions; guarded by itself
+    private final Map<String, Mono<EncodedLayout>> layouts;
+
+    public SeatingMapLayoutCache(EventReadRepositoryCustom eventReadRepository,
+                                 SeatStateMapper seatStateMapper,
+                                 ObjectMapper objectMapper,
+                                 @Value("${projection.layout-cache.ttl:30s}") Duration ttl,
+                                 @Value("${projection.layout-cache.client-max-age:10s}") Duration clientMaxAge,
+                                 @Value("${projection.layout-cache.max-sessions:500}") int maxSessions) {
+        this.eventReadRepository = eventReadRepository;
+        this.seatStateMapper = seatStateMapper;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clientMaxAge = clientMaxAge;
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Mono<EncodedLayout>> eldest) {
+                return size() > maxSessions;
+            }
+        };
+    }
+
+    /**
+     * @param sessionId The ID of the session.
+     * @return Mono emitting the encoded layout, or empty if the session has no seating map.
+     */
+    public Mono<EncodedLayout> get(String sessionId) {
+        synchronized (layouts) {
+            return layouts.computeIfAbsent(sessionId, this::load);
+        }
+    }
+
+    public void evict(String sessionId) {
+        synchronized (layouts) {
+            layouts.remove(sessionId);
+        }
+    }
+
+    /**
+     * @return How long browsers and CDNs may reuse a layout before revalidating it.
+     */
+    public Duration getClientMaxAge() {
+        return clientMaxAge;
+    }
+
+    private Mono<EncodedLayout> load(String sessionId) {
+        return eventReadRepository.findLayoutBySessionId(sessionId)
+                .map(layout -> encode(seatStateMapper.clearStatuses(layout)))
+                .doOnNext(encoded -> log.debug("Encoded seating layout for session {} ({} bytes, etag {})",
+                        sessionId, encoded.json().length, encoded.etag()))
+                // Only successful encodings are kept; misses and errors are retried on the next request
+                .cache(encoded -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private EncodedLayout encode(Object layout) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(layout);
+            return new EncodedLayout(etagOf(json), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode seating layout", e);
+        }
+    }
+
+    private static String etagOf(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * A session's static layout as ready-to-send JSON bytes, plain and gzip-compressed.
+     *
+     * @param etag Strong, quoted ETag derived from the JSON content.
+     */
+    public record EncodedLayout(String etag, byte[] json, byte[] gzip) {
+
+        /**
+         * @param ifNoneMatch The request's If-None-Match header, may be null.
+         * @return true if the client already holds this exact layout.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,93 +1,728 @@
 package com.ticketly.mseventseatingprojection.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
+import com.ticketly.mseventseatingprojection.exception.SubscriberLimitExceededException;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
+import com.ticketly.mseventseatingprojection.repository.SeatRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+/**
+ * Fans seat status deltas out to the SSE clients of each session.
+ * <p>
+ * Deltas travel through the {@link SeatStatusFanOut}, so a delta consumed on one replica reaches the
+ * clients of every replica. A session's channel listens to the fan-out while it exists.
+ * <p>
+ * Deltas arriving within {@code projection.sse.coalesce-window} are merged per session, keeping the latest
+ * status of each seat, and sent as at most one event per status. Each event's sequence is the highest one it
+ * merged. A subscriber that falls more than {@code projection.sse.subscriber-buffer} events behind is sent a
+ * {@value #RESYNC_EVENT} event and disconnected instead of being buffered for.
+ * <p>
+ * Every delta carries the seat-state version of its write as a per-session sequence and SSE event id.
+ * Each session keeps its last {@code projection.sse.replay-buffer-size} deltas, so a reconnecting client
+ * that sends {@code Last-Event-ID} gets exactly the deltas it missed before the live stream continues.
+ * When the gap is older than the buffer, the client is sent a {@value #RESYNC_EVENT} event and must
+ * reload the seat status snapshot, whose sequence tells it which of the following deltas to skip.
+ * Live clients are sent one too when the fan-out carries a resync (a re-projection rewrote the session's
+ * seats) or when a delta arrives that is not the one after the last received (deltas were lost).
+ * <p>
+ * Streams carry a comment heartbeat every {@code projection.sse.heartbeat-interval}. A client that has not
+ * taken an event for three intervals (a half-open connection behind a proxy) is dropped, and registrations
+ * beyond {@code projection.sse.max-subscribers-per-session} or {@code projection.sse.max-subscribers}
+ * are rejected with a {@link SubscriberLimitExceededException}.
+ * <p>
+ * Each event is encoded to its SSE wire format once, when it is emitted to the channel, and the same bytes
+ * are written to every subscriber; the per-subscriber cost does not include JSON serialization.
+ * <p>
+ * A subscriber may pass a {@link SeatFilter} to receive only the seats of the blocks it has in view (and any
+ * seats it names). Each channel keeps a seat to block index built from the session's seat state, refreshed
+ * after {@code projection.layout-cache.ttl}. Events are narrowed to the matching seats and skipped when
+ * none match; a narrowed copy for a set of blocks is encoded once per event and shared by every subscriber
+ * viewing the same blocks.
+ * <p>
+ * The same index maps seats to their snapshot positions for {@link #registerBinary binary subscribers},
+ * whose frames are likewise encoded once per event.
+ */
 @Service
 @Slf4j
 public class SseService {
 
-    // A thread-safe map to hold the sinks for each active session.
+    static final String RESYNC_EVENT = "RESYNC";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(10);
+
+    private final SeatRepository seatRepository;
+    private final SeatStatusFanOut seatStatusFanOut;
+    private final ObjectMapper objectMapper;
+    private final int replayBufferSize;
+    private final long retentionNanos;
+    private final Duration coalesceWindow;
+    private final int subscriberBufferSize;
+    private final Duration heartbeatInterval;
+    private final Duration idleTimeout;
+    private final int maxSubscribersPerSession;
+    private final int maxSubscribers;
+    private final Duration seatIndexTtl;
+    private final SseFrame heartbeat;
+    private final Counter rejectedByInstance;
+    private final Counter rejectedBySession;
+    private final Counter evictedOverflow;
+    private final Counter evictedIdle;
+
+    private final AtomicInteger totalSubscribers = new AtomicInteger();
+
     // Key: Session UUID as String
-    // Value: A sink that can broadcast events to all subscribers for that session.
-    private final Map<String, Sinks.Many<ServerSentEvent<SeatStatusUpdateDto>>> sinks = new ConcurrentHashMap<>();
+    // Value: The session's live sink and the sequences of the deltas it can still replay.
+    private final Map<String, SessionChannel> channels = new ConcurrentHashMap<>();
+
+    public SseService(SeatRepository seatRepository,
+                      SeatStatusFanOut seatStatusFanOut,
+                      ObjectMapper objectMapper,
+                      @Value("${projection.sse.replay-buffer-size:256}") int replayBufferSize,
+                      @Value("${projection.sse.retention:2m}") Duration retention,
+                      @Value("${projection.sse.coalesce-window:150ms}") Duration coalesceWindow,
+                      @Value("${projection.sse.subscriber-buffer:64}") int subscriberBufferSize,
+                      @Value("${projection.sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+                      @Value("${projection.sse.max-subscribers-per-session:5000}") int maxSubscribersPerSession,
+                      @Value("${projection.sse.max-subscribers:20000}") int maxSubscribers,
+                      @Value("${projection.layout-cache.ttl:30s}") Duration seatIndexTtl,
+                      MeterRegistry meterRegistry) {
+        this.seatRepository = seatRepository;
+        this.seatStatusFanOut = seatStatusFanOut;
+        this.objectMapper = objectMapper;
+        this.replayBufferSize = replayBufferSize;
+        this.retentionNanos = retention.toNanos();
+        this.coalesceWindow = coalesceWindow;
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.idleTimeout = heartbeatInterval.multipliedBy(3);
+        this.maxSubscribersPerSession = maxSubscribersPerSession;
+        this.maxSubscribers = maxSubscribers;
+        this.seatIndexTtl = seatIndexTtl;
+        this.heartbeat = encode(ServerSentEvent.<SeatStatusUpdateDto>builder().comment("heartbeat").build());
+
+        Gauge.builder("sse.sessions", channels, Map::size)
+                .description("Sessions with an SSE channel on this instance")
+                .register(meterRegistry);
+        Gauge.builder("sse.subscribers", totalSubscribers, AtomicInteger::get)
+                .description("Connected SSE clients on this instance")
+                .register(meterRegistry);
+        this.rejectedByInstance = Counter.builder("sse.subscribers.rejected").tag("scope", "instance").register(meterRegistry);
+        this.rejectedBySession = Counter.builder("sse.subscribers.rejected").tag("scope", "session").register(meterRegistry);
+        this.evictedOverflow = Counter.builder("sse.subscribers.evicted").tag("reason", "overflow").register(meterRegistry);
+        this.evictedIdle = Counter.builder("sse.subscribers.evicted").tag("reason", "idle").register(meterRegistry);
+    }
 
     /**
-     * Registers a new client to receive SSE updates for a specific session.
+     * Registers a new client to receive SSE updates for a specific session, starting with the next delta.
      *
      * @param sessionId The UUID of the session the client is subscribing to.
-     * @return A Flux of ServerSentEvent that the client will listen to.
+     * @return A Flux of encoded events that the client will listen to.
+     */
+    public Flux<SseFrame> register(UUID sessionId) {
+        return register(sessionId, null);
+    }
+
+    /**
+     * Registers a client that may be resuming an earlier stream.
+     *
+     * @param sessionId   The UUID of the session the client is subscribing to.
+     * @param lastEventId The sequence of the last delta the client applied, or null for a fresh subscription.
+     * @return A Flux replaying the deltas after {@code lastEventId}, or a {@value #RESYNC_EVENT} event when they
+     *         are no longer available, followed by live deltas.
+     * @throws SubscriberLimitExceededException if this instance or the session has no room for another client.
+     */
+    public Flux<SseFrame> register(UUID sessionId, Long lastEventId) {
+        return register(sessionId, lastEventId, null);
+    }
+
+    /**
+     * Registers a client that only follows part of the session, such as the blocks in its viewport.
+     *
+     * @param sessionId   The UUID of the session the client is subscribing to.
+     * @param lastEventId The sequence of the last delta the client applied, or null for a fresh subscription.
+     * @param filter      The seats the client follows, or null for every seat of the session.
+     * @return As {@link #register(UUID, Long)}, with deltas narrowed to the filtered seats.
+     * @throws SubscriberLimitExceededException if this instance or the session has no room for another client.
+     */
+    public Flux<SseFrame> register(UUID sessionId, Long lastEventId, SeatFilter filter) {
+        String sessionIdStr = sessionId.toString();
+        SessionChannel channel = reserve(sessionId);
+        return frames(sessionIdStr, channel, lastEventId, filter)
+                .doFinally(release(sessionIdStr, channel));
+    }
+
+    /**
+     * Registers a client of the binary stream, which receives the same deltas as {@link BinarySeatFrames}
+     * with seat indexes instead of seat IDs. Heartbeats are left to the transport.
+     *
+     * @param sessionId   The UUID of the session the client is subscribing to.
+     * @param lastEventId The sequence of the last delta the client applied, or null for a fresh subscription.
+     * @return A Flux of encoded binary frames, each shared by every binary subscriber of the session.
+     * @throws SubscriberLimitExceededException if this instance or the session has no room for another client.
+     */
+    public Flux<byte[]> registerBinary(UUID sessionId, Long lastEventId) {
+        String sessionIdStr = sessionId.toString();
+        SessionChannel channel = reserve(sessionId);
+        Flux<SseFrame> frames = frames(sessionIdStr, channel, lastEventId, null);
+        return seatIndex(sessionIdStr, channel)
+                .flatMapMany(index -> frames.mapNotNull(frame -> binary(frame, sessionId, index)))
+                .doFinally(release(sessionIdStr, channel));
+    }
+
+    /**
+     * Takes a subscriber slot on this instance and in the session's channel, which the stream gives back
+     * once it terminates or is cancelled. Each count is incremented first and rolled back if that went past
+     * its cap, so concurrent registrations can never overshoot it.
+     *
+     * @throws SubscriberLimitExceededException if this instance or the session has no room for another client.
      */
-    public Flux<ServerSentEvent<SeatStatusUpdateDto>> register(UUID sessionId) {
+    private SessionChannel reserve(UUID sessionId) {
         String sessionIdStr = sessionId.toString();
-        log.info("Registering new SSE client for session: {}", sessionIdStr);
+        if (totalSubscribers.incrementAndGet() > maxSubscribers) {
+            totalSubscribers.decrementAndGet();
+            rejectedByInstance.increment();
+            throw new SubscriberLimitExceededException("Too many seat status subscribers on this instance", RETRY_AFTER);
+        }
+        // The client holds its slot from here, possibly through a lookup before it subscribes; restarting the
+        // retention of an idle channel under the map's lock keeps the sweeper from removing it meanwhile.
+        SessionChannel channel = channels.compute(sessionIdStr, (id, existing) -> {
+            if (existing == null) {
+                return openChannel(sessionId);
+            }
+            if (existing.idleSince != 0) {
+                existing.idleSince = System.nanoTime();
+            }
+            return existing;
+        });
+        if (channel.subscribers.incrementAndGet() > maxSubscribersPerSession) {
+            channel.subscribers.decrementAndGet();
+            totalSubscribers.decrementAndGet();
+            rejectedBySession.increment();
+            throw new SubscriberLimitExceededException("Too many seat status subscribers for session " + sessionIdStr, RETRY_AFTER);
+        }
+        return channel;
+    }
+
+    /**
+     * @return Gives a slot taken by {@link #reserve} back, once however often the stream terminates.
+     */
+    private Consumer<SignalType> release(String sessionId, SessionChannel channel) {
+        AtomicBoolean released = new AtomicBoolean();
+        return signal -> {
+            if (released.compareAndSet(false, true)) {
+                handleDisconnect(sessionId, channel);
+            }
+        };
+    }
 
-        // Use replay().latest() instead of multicast().onBackpressureBuffer()
-        Sinks.Many<ServerSentEvent<SeatStatusUpdateDto>> sink = sinks.computeIfAbsent(
-                sessionIdStr,
-                id -> Sinks.many().replay().latest()
-        );
+    /**
+     * The frames a client that holds a slot in the channel receives, starting after {@code lastEventId}.
+     */
+    private Flux<SseFrame> frames(String sessionIdStr, SessionChannel channel, Long lastEventId, SeatFilter filter) {
+        log.info("Registering new SSE client for session: {} (Last-Event-ID: {})", sessionIdStr, lastEventId);
+        if (lastEventId == null) {
+            return stream(sessionIdStr, channel, channel.lastSequence(), filter);
+        }
+        if (channel.canReplayAfter(lastEventId)) {
+            return stream(sessionIdStr, channel, lastEventId, filter);
+        }
 
-        // Return the basic flux without additional heartbeats
-        return sink.asFlux()
-                .doOnCancel(() -> handleDisconnect(sessionIdStr));
+        // This instance does not hold the missed deltas; that only matters if the session changed since.
+        return seatRepository.findSeatStateVersion(sessionIdStr)
+                .defaultIfEmpty(0L)
+                .flatMapMany(version -> {
+                    Flux<SseFrame> live = stream(sessionIdStr, channel, lastEventId, filter);
+                    if (version <= lastEventId) {
+                        return live;
+                    }
+                    log.info("SSE client for session {} is behind the replay buffer (v{} < v{}), requesting resync",
+                            sessionIdStr, lastEventId, version);
+                    return Flux.concat(Mono.just(resyncEvent(version)), live);
+                });
     }
 
     /**
-     * Publishes a seat status update to all clients subscribed to a specific session.
+     * Publishes a seat status update to all clients subscribed to a specific session, on any instance.
      * This method is called by the Kafka consumer.
      *
-     * @param update The seat status update DTO.
+     * @param update The seat status update DTO, carrying its sequence.
      * @param sessionId The UUID of the session.
      */
     public void publish(SeatStatusUpdateDto update, UUID sessionId) {
-        String sessionIdStr = sessionId.toString();
-        Sinks.Many<ServerSentEvent<SeatStatusUpdateDto>> sink = sinks.get(sessionIdStr);
+        seatStatusFanOut.publish(update, sessionId)
+                .subscribe(null, e -> log.warn("Failed to fan out seat status update #{} for session {}: {}",
+                        update.sequence(), sessionId, e.getMessage()));
+    }
+
+    private SessionChannel openChannel(UUID sessionId) {
+        SessionChannel channel = new SessionChannel(replayBufferSize);
+        channel.fanOutSubscription = seatStatusFanOut.subscribe(sessionId)
+                .subscribe(update -> deliver(update, sessionId.toString(), channel),
+                        e -> log.error("Seat status fan-out for session {} failed: {}", sessionId, e.getMessage()));
+        return channel;
+    }
 
-        if (sink == null) {
-            log.debug("No active SSE clients for session {}. Ignoring event.", sessionIdStr);
+    /**
+     * Queues a delta received from the fan-out for the session's next frame, scheduling the flush if it is
+     * the first delta of the window. Without a window, the delta is emitted straight away.
+     */
+    private void deliver(SeatStatusUpdateDto update, String sessionId, SessionChannel channel) {
+        boolean gap = channel.receive(update.sequence()) && !update.isResync();
+        if (update.isResync() || gap) {
+            long sequence = update.isResync() ? update.sequence() : update.sequence() - 1;
+            log.info("Seat statuses of session {} {} at #{}, requesting resync", sessionId,
+                    update.isResync() ? "were rewritten" : "skipped deltas", sequence);
+            // Pending deltas go out first, so the resync follows everything it covers
+            flush(sessionId, channel);
+            Sinks.EmitResult result = channel.emit(resyncEvent(sequence));
+            if (result.isFailure()) {
+                log.warn("Failed to emit SSE resync for session {}. Reason: {}", sessionId, result);
+            }
+            if (update.isResync()) {
+                return;
+            }
+        }
+        if (coalesceWindow.isZero()) {
+            emit(update, sessionId, channel);
             return;
         }
+        if (channel.enqueue(update)) {
+            Schedulers.parallel().schedule(() -> flush(sessionId, channel),
+                    coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Emits the deltas merged during the window, one event per status, ordered by sequence.
+     */
+    private void flush(String sessionId, SessionChannel channel) {
+        Map<ReadModelSeatStatus, List<UUID>> seatsByStatus = new EnumMap<>(ReadModelSeatStatus.class);
+        Map<ReadModelSeatStatus, Long> sequenceByStatus = new EnumMap<>(ReadModelSeatStatus.class);
+        channel.drain().forEach((seatId, pending) -> {
+            seatsByStatus.computeIfAbsent(pending.status(), status -> new ArrayList<>()).add(seatId);
+            sequenceByStatus.merge(pending.status(), pending.sequence(), Math::max);
+        });
+
+        seatsByStatus.entrySet().stream()
+                .map(entry -> new SeatStatusUpdateDto(entry.getValue(), entry.getKey(), sequenceByStatus.get(entry.getKey())))
+                .sorted(Comparator.comparingLong(SeatStatusUpdateDto::sequence))
+                .forEach(frame -> emit(frame, sessionId, channel));
+    }
+
+    /**
+     * Emits a (possibly merged) delta to this instance's clients of the session and keeps it for replay.
+     */
+    private void emit(SeatStatusUpdateDto update, String sessionId, SessionChannel channel) {
+        log.info("Publishing {} event #{} for session {} to {} subscribers. Seats: {}",
+                update.status(), update.sequence(), sessionId, channel.subscribers.get(), update.seatIds());
+
+        Sinks.EmitResult result = channel.emit(encode(toEvent(update)));
 
-        log.info("Publishing {} event for session {} to {} subscribers. Seats: {}",
-                update.status(), sessionIdStr, sink.currentSubscriberCount(), update.seatIds());
+        if (result.isFailure()) {
+            log.warn("Failed to emit SSE event for session {}. Reason: {}", sessionId, result);
+        }
+    }
 
-        // Create the ServerSentEvent object
-        ServerSentEvent<SeatStatusUpdateDto> sseEvent = ServerSentEvent
+    private ServerSentEvent<SeatStatusUpdateDto> toEvent(SeatStatusUpdateDto update) {
+        return ServerSentEvent
                 .<SeatStatusUpdateDto>builder()
-                .event(update.status().name()) // Event name will be "LOCKED" or "AVAILABLE"
+                .id(Long.toString(update.sequence()))
+                .event(update.status().name()) // Event name will be "LOCKED", "AVAILABLE" or "BOOKED"
                 .data(update)
                 .build();
+    }
 
-        // Emit the event. tryEmitNext is non-blocking.
-        Sinks.EmitResult result = sink.tryEmitNext(sseEvent);
+    /**
+     * Streams the channel's buffered and live deltas with a sequence above {@code after}.
+     * The replay sink hands a new subscriber its buffer and then live events atomically, so nothing
+     * published while subscribing is lost. With a filter, the subscription starts once the seat to block
+     * index is loaded; deltas emitted meanwhile are still in the replay buffer.
+     */
+    private Flux<SseFrame> stream(String sessionId, SessionChannel channel, long after, SeatFilter filter) {
+        Flux<SseFrame> all = channel.sink.asFlux()
+                .filter(frame -> frame.event().data() == null || frame.event().data().sequence() > after);
+        Flux<SseFrame> deltas = filter == null || filter.isEmpty() ? all
+                : seatIndex(sessionId, channel)
+                .flatMapMany(seats -> all.mapNotNull(frame -> view(frame, filter, seats).orElse(null)));
+        Flux<SseFrame> heartbeats = Flux.interval(heartbeatInterval).map(tick -> heartbeat);
 
-        if (result.isFailure()) {
-            log.warn("Failed to emit SSE event for session {}. Reason: {}", sessionIdStr, result);
+        return Flux.merge(deltas, heartbeats)
+                // A slow client gets a bounded queue; past it, it reloads the snapshot rather than every frame
+                .onBackpressureBuffer(subscriberBufferSize)
+                .onErrorResume(Exceptions::isOverflow, e -> {
+                    log.info("SSE client for session {} fell {} events behind, requesting resync", sessionId, subscriberBufferSize);
+                    evictedOverflow.increment();
+                    return Mono.just(resyncEvent(channel.lastSequence()));
+                })
+                // Nothing taken for several heartbeats: the connection is dead even if the socket is still open
+                .timeout(idleTimeout)
+                .onErrorResume(TimeoutException.class, e -> {
+                    log.info("SSE client for session {} stopped reading for {}, dropping it", sessionId, idleTimeout);
+                    evictedIdle.increment();
+                    return Mono.empty();
+                })
+                .doOnSubscribe(subscription -> channel.idleSince = 0);
+    }
+
+    /**
+     * Narrows a frame to the seats the filter follows. Views for block filters are cached on the frame,
+     * as many subscribers look at the same blocks; seat filters are too specific to be worth keeping.
+     *
+     * @return The frame itself when every seat matches, a narrowed frame, or empty when no seat matches.
+     */
+    private Optional<SseFrame> view(SseFrame frame, SeatFilter filter, SeatIndex seats) {
+        if (frame.event().data() == null || frame.event().data().isResync()) {
+            return Optional.of(frame);
+        }
+        if (!filter.seatIds().isEmpty()) {
+            return narrow(frame, filter, seats);
         }
+        return frame.views.computeIfAbsent(filter, key -> narrow(frame, key, seats));
+    }
+
+    private Optional<SseFrame> narrow(SseFrame frame, SeatFilter filter, SeatIndex seats) {
+        SeatStatusUpdateDto update = frame.event().data();
+        List<UUID> matching = update.seatIds().stream()
+                .filter(seatId -> filter.matches(seatId, seats.blockOf(seatId)))
+                .toList();
+        if (matching.isEmpty()) {
+            return Optional.empty();
+        }
+        if (matching.size() == update.seatIds().size()) {
+            return Optional.of(frame);
+        }
+        return Optional.of(encode(toEvent(new SeatStatusUpdateDto(matching, update.status(), update.sequence()))));
+    }
+
+    private Mono<SeatIndex> seatIndex(String sessionId, SessionChannel channel) {
+        return channel.seats(() -> loadSeatIndex(sessionId));
     }
 
     /**
-     * Handles client disconnection and cleans up resources if no subscribers remain.
+     * Indexes the seats of a session from its seat state, in seat-state order; empty if it has none yet.
+     */
+    private Mono<SeatIndex> loadSeatIndex(String sessionId) {
+        return seatRepository.findSeatState(sessionId)
+                .map(seatState -> {
+                    List<SessionSeatStateDocument.SeatState> states = seatState.getSeats() != null ? seatState.getSeats() : List.of();
+                    Map<UUID, Integer> positions = new HashMap<>(states.size() * 2);
+                    String[] blockIds = new String[states.size()];
+                    for (int i = 0; i < states.size(); i++) {
+                        positions.put(UUID.fromString(states.get(i).getId()), i);
+                        blockIds[i] = states.get(i).getBlockId();
+                    }
+                    log.debug("Indexed {} seats of session {} for filtered and binary streams", positions.size(), sessionId);
+                    return new SeatIndex(positions, blockIds);
+                })
+                .defaultIfEmpty(SeatIndex.EMPTY)
+                // Only successful loads are kept; errors are retried by the next subscriber that needs the index
+                .cache(seats -> seatIndexTtl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * Encodes a frame for the binary stream once and keeps the bytes on the frame. A delta naming a seat
+     * the index does not know (the layout changed since it was built) becomes a resync.
+     *
+     * @return The binary frame, or null for heartbeats.
+     */
+    private byte[] binary(SseFrame frame, UUID sessionId, SeatIndex seats) {
+        byte[] encoded = frame.binary;
+        if (encoded != null) {
+            return encoded;
+        }
+        SeatStatusUpdateDto update = frame.event().data();
+        if (update == null) {
+            // Heartbeat
+            encoded = null;
+        } else if (update.isResync()) {
+            encoded = BinarySeatFrames.resync(sessionId);
+        } else {
+            int[] seatIndexes = new int[update.seatIds().size()];
+            for (int i = 0; i < seatIndexes.length && encoded == null; i++) {
+                Integer position = seats.positions().get(update.seatIds().get(i));
+                if (position == null) {
+                    encoded = BinarySeatFrames.resync(sessionId);
+                } else {
+                    seatIndexes[i] = position;
+                }
+            }
+            if (encoded == null) {
+                encoded = BinarySeatFrames.delta(sessionId, update.sequence(), update.status(), seatIndexes);
+            }
+        }
+        frame.binary = encoded;
+        return encoded;
+    }
+
+    /**
+     * EventSource only dispatches events that carry data, so the resync names the sequence in its payload
+     * rather than in a comment. The frame keeps a resync marker as its data, so a replayed resync is
+     * filtered by sequence like a delta.
+     */
+    private SseFrame resyncEvent(long version) {
+        return encode(ServerSentEvent.<SeatStatusUpdateDto>builder()
+                .event(RESYNC_EVENT)
+                .data(SeatStatusUpdateDto.resync(version))
+                .comment("Reload the seat status snapshot; skip deltas up to its sequence")
+                .build(), "{\"sequence\":" + version + "}");
+    }
+
+    /**
+     * Writes the event in the text/event-stream wire format, as the WebFlux SSE codec would.
+     */
+    private SseFrame encode(ServerSentEvent<SeatStatusUpdateDto> event) {
+        if (event.data() == null) {
+            return encode(event, null);
+        }
+        try {
+            // Jackson never emits raw line breaks, so the JSON fits on a single data line
+            return encode(event, objectMapper.writeValueAsString(event.data()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode seat status event", e);
+        }
+    }
+
+    private SseFrame encode(ServerSentEvent<SeatStatusUpdateDto> event, String data) {
+        StringBuilder frame = new StringBuilder(256);
+        if (event.id() != null) {
+            frame.append("id:").append(event.id()).append('\n');
+        }
+        if (event.event() != null) {
+            frame.append("event:").append(event.event()).append('\n');
+        }
+        if (event.comment() != null) {
+            frame.append(':').append(event.comment()).append('\n');
+        }
+        if (data != null) {
+            frame.append("data:").append(data).append('\n');
+        }
+        frame.append('\n');
+        return new SseFrame(event, frame.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Handles client disconnection. The channel and its replay buffer outlive the last subscriber for
+     * {@code projection.sse.retention}, so clients that reconnect shortly after can still resume.
      *
      * @param sessionId The session ID as a string.
+     * @param channel The session's channel.
+     */
+    private void handleDisconnect(String sessionId, SessionChannel channel) {
+        totalSubscribers.decrementAndGet();
+        int remaining = channel.subscribers.decrementAndGet();
+        if (remaining == 0) {
+            channel.idleSince = System.nanoTime();
+            log.info("Last client for session {} disconnected. Keeping replay buffer for reconnects.", sessionId);
+        } else {
+            log.debug("Client for session {} disconnected. {} subscribers remaining.", sessionId, remaining);
+        }
+    }
+
+    /**
+     * Drops session channels that have had no clients for longer than {@code projection.sse.retention},
+     * releasing their replay buffers and fan-out subscriptions.
+     */
+    @Scheduled(fixedDelayString = "${projection.sse.sweep-interval:PT30S}")
+    public void evictIdleChannels() {
+        long now = System.nanoTime();
+        // Decided under the map's lock, so a channel being registered for is never removed
+        channels.keySet().forEach(sessionId -> channels.computeIfPresent(sessionId, (id, channel) -> {
+            long idleSince = channel.idleSince;
+            boolean expired = idleSince != 0 && now - idleSince > retentionNanos && channel.subscribers.get() == 0;
+            if (!expired) {
+                return channel;
+            }
+            log.info("Removing idle SSE channel for session {}", id);
+            channel.fanOutSubscription.dispose();
+            return null;
+        }));
+    }
+
+    /**
+     * A session's sink, which replays its last N events to new subscribers, together with the
+     * sequences in that buffer so resume requests can be checked against it.
+     */
+    private static final class SessionChannel {
+        private final Sinks.Many<SseFrame> sink;
+        private final int capacity;
+        private final ArrayDeque<Long> buffered;
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private volatile Disposable fanOutSubscription;
+        private Mono<SeatIndex> seats;
+        // Latest pending status per seat for the next coalesced frame
+        private Map<UUID, PendingSeat> pending = new LinkedHashMap<>();
+
+        // Sequence of the newest delta dropped from the buffer; -1 until the first delta arrives
+        private long floor = -1;
+        private long lastSequence;
+        // Highest sequence received from the fan-out; -1 until the first delta arrives
+        private long lastReceived = -1;
+        // 0 while subscribed
+        private volatile long idleSince = System.nanoTime();
+
+        SessionChannel(int capacity) {
+            this.sink = Sinks.many().replay().limit(capacity);
+            this.capacity = capacity;
+            this.buffered = new ArrayDeque<>(capacity);
+        }
+
+        synchronized Sinks.EmitResult emit(SseFrame frame) {
+            long sequence = frame.event().data().sequence();
+            if (buffered.isEmpty() && floor < 0) {
+                // Deltas before the first one seen here are unknown to this instance
+                floor = sequence - 1;
+            }
+            if (buffered.size() == capacity) {
+                floor = buffered.removeFirst();
+            }
+            buffered.addLast(sequence);
+            lastSequence = Math.max(lastSequence, sequence);
+            if (frame.event().data().isResync()) {
+                // The seats may have changed with the layout
+                seats = null;
+            }
+            // Serialized by the monitor, as concurrent tryEmitNext calls would fail
+            return sink.tryEmitNext(frame);
+        }
+
+        /**
+         * Records the sequence of a delta received from the fan-out.
+         *
+         * @return true if deltas between the last one received and this one never arrived.
+         */
+        synchronized boolean receive(long sequence) {
+            boolean gap = lastReceived >= 0 && sequence > lastReceived + 1;
+            lastReceived = Math.max(lastReceived, sequence);
+            return gap;
+        }
+
+        /**
+         * @return true if this is the first delta since the last flush.
+         */
+        synchronized boolean enqueue(SeatStatusUpdateDto update) {
+            boolean first = pending.isEmpty();
+            update.seatIds().forEach(seatId -> pending.merge(seatId, new PendingSeat(update.status(), update.sequence()),
+                    (current, next) -> next.sequence() >= current.sequence() ? next : current));
+            return first;
+        }
+
+        synchronized Map<UUID, PendingSeat> drain() {
+            Map<UUID, PendingSeat> drained = pending;
+            pending = new LinkedHashMap<>();
+            return drained;
+        }
+
+        synchronized Mono<SeatIndex> seats(Supplier<Mono<SeatIndex>> loader) {
+            if (seats == null) {
+                seats = loader.get();
+            }
+            return seats;
+        }
+
+        synchronized long lastSequence() {
+            return lastSequence;
+        }
+
+        synchronized boolean canReplayAfter(long sequence) {
+            return floor >= 0 && sequence >= floor;
+        }
+    }
+
+    private record PendingSeat(ReadModelSeatStatus status, long sequence) {
+    }
+
+    /**
+     * Position of each seat in seat-state order, which is the order of the seat status snapshot,
+     * and the block each position belongs to.
      */
-    private void handleDisconnect(String sessionId) {
-        Sinks.Many<?> sink = sinks.get(sessionId);
-        if (sink != null && sink.currentSubscriberCount() == 0) {
-            // If this was the last subscriber, remove the sink to free up resources.
-            sinks.remove(sessionId);
-            log.info("Last client for session {} disconnected. Removing sink.", sessionId);
-        } else if (sink != null) {
-            log.debug("Client for session {} disconnected. {} subscribers remaining.", sessionId, sink.currentSubscriberCount());
+    private record SeatIndex(Map<UUID, Integer> positions, String[] blockIds) {
+
+        static final SeatIndex EMPTY = new SeatIndex(Map.of(), new String[0]);
+
+        String blockOf(UUID seatId) {
+            Integer position = positions.get(seatId);
+            return position != null ? blockIds[position] : null;
+        }
+    }
+
+    /**
+     * An SSE event together with its encoded wire bytes, shared by every subscriber it is written to.
+     */
+    public static final class SseFrame {
+        private final ServerSentEvent<SeatStatusUpdateDto> event;
+        private final byte[] bytes;
+        // Narrowed copies of this frame per block filter
+        private final Map<SeatFilter, Optional<SseFrame>> views = new ConcurrentHashMap<>();
+        // Binary stream encoding, set on first use; racing subscribers encode the same bytes
+        private volatile byte[] binary;
+
+        SseFrame(ServerSentEvent<SeatStatusUpdateDto> event, byte[] bytes) {
+            this.event = event;
+            this.bytes = bytes;
+        }
+
+        public ServerSentEvent<SeatStatusUpdateDto> event() {
+            return event;
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * The seats a subscriber follows: every seat of the given blocks plus the given seats.
+     */
+    public record SeatFilter(Set<String> blockIds, Set<UUID> seatIds) {
+
+        public SeatFilter {
+            blockIds = blockIds != null ? Set.copyOf(blockIds) : Set.of();
+            seatIds = seatIds != null ? Set.copyOf(seatIds) : Set.of();
+        }
+
+        public boolean isEmpty() {
+            return blockIds.isEmpty() && seatIds.isEmpty();
+        }
+
+        boolean matches(UUID seatId, String blockId) {
+            return seatIds.contains(seatId) || (blockId != null && blockIds.contains(blockId));
         }
     }
-}
\ No newline at end of file
+}
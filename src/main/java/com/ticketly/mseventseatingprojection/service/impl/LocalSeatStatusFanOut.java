@@ -0,0 +1,50 @@
+package com.ticketly.mseventseatingprojection.service.impl;
+
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
+import com.ticketly.mseventseatingprojection.service.SeatStatusFanOut;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process fan-out: deltas only reach clients connected to the instance that consumed them.
+ * Fine for a single replica and for tests; use the Redis fan-out when running several.
+ */
+@Service
+@ConditionalOnProperty(name = "projection.sse.fan-out", havingValue = "local", matchIfMissing = true)
+public class LocalSeatStatusFanOut implements SeatStatusFanOut {
+
+    private final Map<UUID, Sinks.Many<SeatStatusUpdateDto>> sinks = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> publish(SeatStatusUpdateDto update, UUID sessionId) {
+        Sinks.Many<SeatStatusUpdateDto> sink = sinks.get(sessionId);
+        if (sink != null) {
+            // Consumer threads publish concurrently; the sink requires serialized emission
+            synchronized (sink) {
+                sink.tryEmitNext(update);
+            }
+        }
+        return Mono.empty();
+    }
+
+    @Override
+    public Flux<SeatStatusUpdateDto> subscribe(UUID sessionId) {
+        return Flux.defer(() -> {
+            Sinks.Many<SeatStatusUpdateDto> sink = sinks.computeIfAbsent(sessionId,
+                    id -> Sinks.many().multicast().directBestEffort());
+            return sink.asFlux()
+                    .doFinally(signal -> {
+                        if (sink.currentSubscriberCount() == 0) {
+                            sinks.remove(sessionId, sink);
+                        }
+                    });
+        });
+    }
+}
@@ -0,0 +1,89 @@
+package com.ticketly.mseventseatingprojection.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
+import com.ticketly.mseventseatingprojection.service.SeatStatusFanOut;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Redis pub/sub fan-out, one channel per session. Each instance only subscribes to the channels of
+ * sessions it has SSE clients for, so any replica can serve any client without sticky routing.
+ * This runs alongside the durable seat status consumer group: the consumer still writes each change
+ * exactly once, and Redis only carries the resulting delta to the other replicas.
+ * <p>
+ * Pub/sub is fire-and-forget; a delta lost while an instance is disconnected from Redis shows up as a
+ * sequence gap, for which the session's channel sends its clients a resync to recover through the snapshot.
+ */
+@Service
+@ConditionalOnProperty(name = "projection.sse.fan-out", havingValue = "redis")
+@Slf4j
+public class RedisSeatStatusFanOut implements SeatStatusFanOut {
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final String channelPrefix;
+
+    @Autowired
+    public RedisSeatStatusFanOut(ReactiveStringRedisTemplate redisTemplate,
+                                 ReactiveRedisConnectionFactory connectionFactory,
+                                 ObjectMapper objectMapper,
+                                 @Value("${projection.sse.redis-channel-prefix:event-seating-projection-ms::seat-status::}") String channelPrefix) {
+        this(redisTemplate, new ReactiveRedisMessageListenerContainer(connectionFactory), objectMapper, channelPrefix);
+    }
+
+    RedisSeatStatusFanOut(ReactiveStringRedisTemplate redisTemplate,
+                          ReactiveRedisMessageListenerContainer listenerContainer,
+                          ObjectMapper objectMapper,
+                          String channelPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+        this.channelPrefix = channelPrefix;
+    }
+
+    @Override
+    public Mono<Void> publish(SeatStatusUpdateDto update, UUID sessionId) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(update))
+                .flatMap(json -> redisTemplate.convertAndSend(channel(sessionId), json))
+                .doOnNext(receivers -> log.debug("Published seat status delta #{} for session {} to {} instances",
+                        update.sequence(), sessionId, receivers))
+                .then();
+    }
+
+    @Override
+    public Flux<SeatStatusUpdateDto> subscribe(UUID sessionId) {
+        return listenerContainer.receive(ChannelTopic.of(channel(sessionId)))
+                .flatMap(message -> {
+                    try {
+                        return Mono.just(objectMapper.readValue(message.getMessage(), SeatStatusUpdateDto.class));
+                    } catch (JsonProcessingException e) {
+                        log.warn("Dropping unreadable seat status delta on {}: {}", message.getChannel(), e.getMessage());
+                        return Mono.empty();
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        listenerContainer.destroy();
+    }
+
+    private String channel(UUID sessionId) {
+        return channelPrefix + sessionId;
+    }
+}
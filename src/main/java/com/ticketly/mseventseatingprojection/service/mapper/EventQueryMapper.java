@@ -7,6 +7,8 @@ import com.ticketly.mseventseatingprojection.dto.read.DiscountThumbnailDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventBasicInfoDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventThumbnailDTO;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.service.GeoCells;
 import dto.projection.discount.BogoDiscountParamsDTO;
 import dto.projection.discount.DiscountParametersDTO;
 import dto.projection.discount.FlatOffDiscountParamsDTO;
@@ -18,53 +20,122 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class EventQueryMapper extends BaseMapper {
 
-    public EventThumbnailDTO mapToThumbnailDTO(EventDocument event) {
-        // Find the earliest upcoming session
-        EventDocument.SessionInfo earliestSession = event.getSessions().stream()
-                .filter(s -> s.getStartTime().isAfter(Instant.now()))
+    /**
+     * Derives the search result card of an event as of {@code now}: the earliest upcoming session,
+     * the starting price and the discounts currently valid are worked out here, on the write path.
+     *
+     * @param event            The event; sessions' layouts may be omitted.
+     * @param categoryAncestry The event's category followed by its ancestors.
+     * @param now              The time upcoming sessions and valid discounts are judged against.
+     * @return The thumbnail, with {@code refreshAt} set to when the next of those changes.
+     */
+    public EventThumbnailDocument toThumbnailDocument(EventDocument event, List<String> categoryAncestry, Instant now) {
+        List<EventDocument.SessionInfo> sessions = event.getSessions() != null ? event.getSessions() : List.of();
+
+        // Find the earliest upcoming session; once every session has started, the card shows the first one
+        EventDocument.SessionInfo earliestUpcoming = sessions.stream()
+                .filter(s -> s.getStartTime() != null && s.getStartTime().isAfter(now))
                 .min(Comparator.comparing(EventDocument.SessionInfo::getStartTime))
-                .orElse(event.getSessions().stream().findFirst().orElse(null));
+                .orElse(null);
+        EventDocument.SessionInfo shownSession = earliestUpcoming != null ? earliestUpcoming : sessions.stream().findFirst().orElse(null);
 
-        // ✅ CORRECTED LOGIC: Filter for public, active discounts that are applicable to the earliest session
-        List<DiscountThumbnailDTO> availableDiscounts = (event.getDiscounts() == null) ? Collections.emptyList()
+        List<EventDocument.DiscountInfo> publicDiscounts = event.getDiscounts() == null ? Collections.emptyList()
                 : event.getDiscounts().stream()
-                .filter(this::isDiscountCurrentlyValid)
-                .map(this::mapToDiscountThumbnailDTO)
-                .collect(Collectors.toList());
+                .filter(discount -> discount != null && discount.isPublic() && discount.isActive())
+                .toList();
 
-        // Find the lowest priced tier
-        BigDecimal startingPrice = (event.getTiers() == null) ? BigDecimal.ZERO
+        List<BigDecimal> prices = event.getTiers() == null ? Collections.emptyList()
                 : event.getTiers().stream()
                 .map(EventDocument.TierInfo::getPrice)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // The card changes when the earliest upcoming session starts or a public discount window opens or closes
+        Instant refreshAt = Stream.concat(
+                        Stream.ofNullable(earliestUpcoming).map(EventDocument.SessionInfo::getStartTime),
+                        publicDiscounts.stream().flatMap(discount -> Stream.of(discount.getActiveFrom(), discount.getExpiresAt())))
+                .filter(time -> time != null && time.isAfter(now))
                 .min(Comparator.naturalOrder())
-                .orElse(BigDecimal.ZERO);
-
-        EventThumbnailDTO.EarliestSessionInfo sessionInfo = null;
-        if (earliestSession != null) {
-            sessionInfo = EventThumbnailDTO.EarliestSessionInfo.builder()
-                    .startTime(earliestSession.getStartTime())
-                    .venueName(earliestSession.getVenueDetails() != null ? earliestSession.getVenueDetails().getName() : "Online")
-                    .city(extractCity(earliestSession.getVenueDetails()))
-                    .build();
-        }
+                .orElse(null);
 
-        return EventThumbnailDTO.builder()
+        return EventThumbnailDocument.builder()
                 .id(event.getId())
                 .title(event.getTitle())
+                .description(event.getDescription())
                 .coverPhotoUrl(event.getCoverPhotos() != null && !event.getCoverPhotos().isEmpty()
                         ? event.getCoverPhotos().getFirst()
                         : null)
-                .organizationName(event.getOrganization().getName())
-                .categoryName(event.getCategory().getName())
-                .discounts(availableDiscounts)
-                .earliestSession(sessionInfo)
-                .startingPrice(startingPrice)
+                .organizationId(event.getOrganization() != null ? event.getOrganization().getId() : null)
+                .organizationName(event.getOrganization() != null ? event.getOrganization().getName() : null)
+                .categoryId(event.getCategory() != null ? event.getCategory().getId() : null)
+                .categoryName(event.getCategory() != null ? event.getCategory().getName() : null)
+                .categoryAncestry(categoryAncestry)
+                .minPrice(prices.stream().min(Comparator.naturalOrder()).orElse(BigDecimal.ZERO))
+                .prices(prices)
+                .earliestUpcomingStart(earliestUpcoming != null ? earliestUpcoming.getStartTime() : null)
+                .sessionStarts(sessions.stream()
+                        .map(EventDocument.SessionInfo::getStartTime)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .earliestSession(shownSession != null ? EventThumbnailDocument.EarliestSession.builder()
+                        .startTime(shownSession.getStartTime())
+                        .venueName(shownSession.getVenueDetails() != null ? shownSession.getVenueDetails().getName() : "Online")
+                        .city(extractCity(shownSession.getVenueDetails()))
+                        .build() : null)
+                .venues(sessions.stream()
+                        .map(EventDocument.SessionInfo::getVenueDetails)
+                        .filter(venue -> venue != null && venue.getName() != null)
+                        .map(venue -> EventThumbnailDocument.Venue.builder()
+                                .name(venue.getName())
+                                .city(extractCity(venue))
+                                .build())
+                        .distinct()
+                        .toList())
+                .locations(sessions.stream()
+                        .map(EventDocument.SessionInfo::getVenueDetails)
+                        .filter(venue -> venue != null && venue.getLocation() != null)
+                        .map(EventDocument.VenueDetailsInfo::getLocation)
+                        .distinct()
+                        .toList())
+                .sessionCells(sessions.stream()
+                        .filter(session -> session.getVenueDetails() != null && session.getVenueDetails().getLocation() != null)
+                        .map(session -> EventThumbnailDocument.SessionCell.builder()
+                                .cell(GeoCells.encode(session.getVenueDetails().getLocation().getX(),
+                                        session.getVenueDetails().getLocation().getY(), GeoCells.PRECISION))
+                                .startTime(session.getStartTime())
+                                .build())
+                        .toList())
+                .discounts(publicDiscounts.stream()
+                        .filter(discount -> isDiscountValidAt(discount, now))
+                        .toList())
+                .refreshedAt(now)
+                .refreshAt(refreshAt)
+                .build();
+    }
+
+    public EventThumbnailDTO mapToThumbnailDTO(EventThumbnailDocument thumbnail) {
+        EventThumbnailDocument.EarliestSession session = thumbnail.getEarliestSession();
+        return EventThumbnailDTO.builder()
+                .id(thumbnail.getId())
+                .title(thumbnail.getTitle())
+                .coverPhotoUrl(thumbnail.getCoverPhotoUrl())
+                .organizationName(thumbnail.getOrganizationName())
+                .categoryName(thumbnail.getCategoryName())
+                .discounts(mapList(thumbnail.getDiscounts(), this::mapToDiscountThumbnailDTO))
+                .earliestSession(session != null ? EventThumbnailDTO.EarliestSessionInfo.builder()
+                        .startTime(session.getStartTime())
+                        .venueName(session.getVenueName())
+                        .city(session.getCity())
+                        .build() : null)
+                .startingPrice(thumbnail.getMinPrice() != null ? thumbnail.getMinPrice() : BigDecimal.ZERO)
                 .build();
     }
 
@@ -72,7 +143,10 @@ public class EventQueryMapper extends BaseMapper {
      * A helper method to determine if a discount is active, public, and valid for a specific session.
      */
     public boolean isDiscountCurrentlyValid(EventDocument.DiscountInfo discount) {
-        Instant now = Instant.now();
+        return isDiscountValidAt(discount, Instant.now());
+    }
+
+    private boolean isDiscountValidAt(EventDocument.DiscountInfo discount, Instant now) {
         return discount != null && discount.isPublic() && discount.isActive() &&
                 (discount.getActiveFrom() == null || !discount.getActiveFrom().isAfter(now)) &&
                 (discount.getExpiresAt() == null || !discount.getExpiresAt().isBefore(now));
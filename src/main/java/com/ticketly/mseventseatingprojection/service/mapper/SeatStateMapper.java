@@ -0,0 +1,135 @@
+package com.ticketly.mseventseatingprojection.service.mapper;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Derives the per-session seat-state document from a projected seating layout, and overlays
+ * live seat states back onto layouts read from the events document.
+ */
+@Component
+public class SeatStateMapper {
+
+    /**
+     * Builds the seat state of a session from its layout. Seats are listed in layout order
+     * (block seats, then row seats, block by block).
+     *
+     * @param eventId    The ID of the parent event.
+     * @param sessionId  The ID of the session.
+     * @param layoutData The projected seating map of the session, may be null.
+     * @return The seat-state document (version is managed by the repository).
+     */
+    public SessionSeatStateDocument fromSeatingMap(String eventId, String sessionId, EventDocument.SessionSeatingMapInfo layoutData) {
+        List<SessionSeatStateDocument.SeatState> seats = new ArrayList<>();
+        Map<String, EventDocument.TierInfo> tiers = new LinkedHashMap<>();
+        List<SessionSeatStateDocument.BlockSummary> blocks = new ArrayList<>();
+
+        forEachBlock(layoutData, block -> {
+            blocks.add(SessionSeatStateDocument.BlockSummary.builder()
+                    .id(block.getId())
+                    .name(block.getName())
+                    .type(block.getType())
+                    .build());
+            forEachSeat(block, seat -> {
+                String tierId = seat.getTier() != null ? seat.getTier().getId() : null;
+                if (tierId != null) {
+                    tiers.putIfAbsent(tierId, seat.getTier());
+                }
+                seats.add(SessionSeatStateDocument.SeatState.builder()
+                        .id(seat.getId())
+                        .status(seat.getStatus() != null ? seat.getStatus() : ReadModelSeatStatus.AVAILABLE)
+                        .tierId(tierId)
+                        .blockId(block.getId())
+                        .build());
+            });
+        });
+
+        return SessionSeatStateDocument.builder()
+                .id(sessionId)
+                .eventId(eventId)
+                .seats(seats)
+                .tiers(new ArrayList<>(tiers.values()))
+                .blocks(blocks)
+                .build();
+    }
+
+    /**
+     * Replaces the seat statuses of a layout in place with the live statuses of the seat-state document.
+     * Seats unknown to the seat state keep the status stored in the layout.
+     *
+     * @param layoutData The seating map read from the events document.
+     * @param seatState  The live seat state of the same session, may be null.
+     * @return The same layout instance, for chaining.
+     */
+    public EventDocument.SessionSeatingMapInfo applyStatuses(EventDocument.SessionSeatingMapInfo layoutData,
+                                                             SessionSeatStateDocument seatState) {
+        Map<String, ReadModelSeatStatus> statuses = toStatusMap(seatState);
+        if (!statuses.isEmpty()) {
+            forEachBlock(layoutData, block -> forEachSeat(block, seat ->
+                    seat.setStatus(statuses.getOrDefault(seat.getId(), seat.getStatus()))));
+        }
+        return layoutData;
+    }
+
+    /**
+     * Removes the seat statuses of a layout in place, leaving only its static geometry.
+     *
+     * @param layoutData The seating map of a session, may be null.
+     * @return The same layout instance, for chaining.
+     */
+    public EventDocument.SessionSeatingMapInfo clearStatuses(EventDocument.SessionSeatingMapInfo layoutData) {
+        forEachBlock(layoutData, block -> forEachSeat(block, seat -> seat.setStatus(null)));
+        return layoutData;
+    }
+
+    /**
+     * @param seatState The live seat state of a session, may be null.
+     * @return Seat ID to status lookup.
+     */
+    public Map<String, ReadModelSeatStatus> toStatusMap(SessionSeatStateDocument seatState) {
+        if (seatState == null || seatState.getSeats() == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, ReadModelSeatStatus> statuses = new HashMap<>(seatState.getSeats().size() * 2);
+        seatState.getSeats().forEach(seat -> statuses.put(seat.getId(), seat.getStatus()));
+        return statuses;
+    }
+
+    /**
+     * @param layoutData The projected seating map of a session, may be null.
+     * @return Seat ID to layout seat lookup, in layout order.
+     */
+    public Map<String, EventDocument.SeatInfo> indexSeats(EventDocument.SessionSeatingMapInfo layoutData) {
+        Map<String, EventDocument.SeatInfo> seats = new LinkedHashMap<>();
+        forEachBlock(layoutData, block -> forEachSeat(block, seat -> seats.put(seat.getId(), seat)));
+        return seats;
+    }
+
+    private void forEachBlock(EventDocument.SessionSeatingMapInfo layoutData, Consumer<EventDocument.BlockInfo> action) {
+        if (layoutData == null || layoutData.getLayout() == null || layoutData.getLayout().getBlocks() == null) {
+            return;
+        }
+        layoutData.getLayout().getBlocks().forEach(action);
+    }
+
+    private void forEachSeat(EventDocument.BlockInfo block, Consumer<EventDocument.SeatInfo> action) {
+        if (block.getSeats() != null) {
+            block.getSeats().forEach(action);
+        }
+        if (block.getRows() != null) {
+            block.getRows().stream()
+                    .filter(row -> row.getSeats() != null)
+                    .forEach(row -> row.getSeats().forEach(action));
+        }
+    }
+}
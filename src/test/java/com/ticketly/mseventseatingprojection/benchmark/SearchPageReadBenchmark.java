@@ -0,0 +1,165 @@
+package com.ticketly.mseventseatingprojection.benchmark;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.service.mapper.EventQueryMapper;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares what one page of {@code GET /v1/events/search} reads from Mongo when searching the events
+ * collection versus the {@code event_thumbnails} read model: whole event documents (every session's seating
+ * layout included) from which each card is derived at read time, versus precomputed thumbnail documents.
+ * Measures the BSON bytes per page and the decode + mapping time, and checks both produce the same cards.
+ * Run with {@code mvn test -Dbenchmarks=true -Dtest=SearchPageReadBenchmark}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SearchPageReadBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int SESSIONS = 6;
+    private static final int BLOCKS = 8;
+    private static final int ROWS_PER_BLOCK = 20;
+    private static final int SEATS_PER_ROW = 25;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    private final MappingMongoConverter converter = createConverter();
+    private final EventQueryMapper mapper = new EventQueryMapper();
+    private final Instant now = Instant.now();
+
+    @Test
+    void fullDocumentsVersusThumbnailDocuments() {
+        List<EventDocument> events = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            events.add(event(i));
+        }
+        List<RawBsonDocument> fullPage = events.stream().map(this::toBson).toList();
+        List<RawBsonDocument> thumbnailPage = events.stream().map(this::thumbnail).map(this::toBson).toList();
+
+        assertEquals(fullPage.stream().map(this::readEvent).map(this::thumbnail).map(mapper::mapToThumbnailDTO).toList(),
+                thumbnailPage.stream().map(this::readThumbnail).map(mapper::mapToThumbnailDTO).toList());
+
+        long fullNanos = time(() -> fullPage.stream().map(this::readEvent).map(this::thumbnail).map(mapper::mapToThumbnailDTO).toList());
+        long thumbnailNanos = time(() -> thumbnailPage.stream().map(this::readThumbnail).map(mapper::mapToThumbnailDTO).toList());
+        long fullBytes = fullPage.stream().mapToLong(bson -> bson.getByteBuffer().remaining()).sum();
+        long thumbnailBytes = thumbnailPage.stream().mapToLong(bson -> bson.getByteBuffer().remaining()).sum();
+
+        System.out.printf("search page of %d events, %d sessions x %d seats each%n",
+                PAGE_SIZE, SESSIONS, BLOCKS * ROWS_PER_BLOCK * SEATS_PER_ROW);
+        System.out.printf("  full documents : %,12d bytes/page  %8.3f ms/page%n", fullBytes, fullNanos / 1e6);
+        System.out.printf("  thumbnails     : %,12d bytes/page  %8.3f ms/page%n", thumbnailBytes, thumbnailNanos / 1e6);
+
+        assertTrue(thumbnailBytes * 100 < fullBytes);
+    }
+
+    private EventThumbnailDocument thumbnail(EventDocument event) {
+        return mapper.toThumbnailDocument(event, List.of(event.getCategory().getId()), now);
+    }
+
+    private EventDocument readEvent(RawBsonDocument bson) {
+        return converter.read(EventDocument.class, bson.decode(new DocumentCodec()));
+    }
+
+    private EventThumbnailDocument readThumbnail(RawBsonDocument bson) {
+        return converter.read(EventThumbnailDocument.class, bson.decode(new DocumentCodec()));
+    }
+
+    private long time(Supplier<?> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private RawBsonDocument toBson(Object source) {
+        Document document = new Document();
+        converter.write(source, document);
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+
+    private static MappingMongoConverter createConverter() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static EventDocument event(int n) {
+        List<EventDocument.TierInfo> tiers = List.of(
+                EventDocument.TierInfo.builder().id(UUID.randomUUID().toString()).name("VIP").price(new BigDecimal("120.00")).color("#FFAA00").build(),
+                EventDocument.TierInfo.builder().id(UUID.randomUUID().toString()).name("General").price(new BigDecimal("45.00")).color("#00AAFF").build());
+
+        List<EventDocument.SessionInfo> sessions = new ArrayList<>();
+        for (int s = 0; s < SESSIONS; s++) {
+            List<EventDocument.BlockInfo> blocks = new ArrayList<>();
+            for (int b = 0; b < BLOCKS; b++) {
+                List<EventDocument.RowInfo> rows = new ArrayList<>();
+                for (int r = 0; r < ROWS_PER_BLOCK; r++) {
+                    List<EventDocument.SeatInfo> seats = new ArrayList<>();
+                    for (int i = 0; i < SEATS_PER_ROW; i++) {
+                        seats.add(EventDocument.SeatInfo.builder()
+                                .id(UUID.randomUUID().toString())
+                                .label("R" + r + "-" + i)
+                                .status(ReadModelSeatStatus.AVAILABLE)
+                                .tier(tiers.get(r < 4 ? 0 : 1))
+                                .build());
+                    }
+                    rows.add(EventDocument.RowInfo.builder().id(UUID.randomUUID().toString()).label("R" + r).seats(seats).build());
+                }
+                blocks.add(EventDocument.BlockInfo.builder()
+                        .id(UUID.randomUUID().toString()).name("Block " + b).type("seated_grid").rows(rows).build());
+            }
+            sessions.add(EventDocument.SessionInfo.builder()
+                    .id(UUID.randomUUID().toString())
+                    .startTime(Instant.now().plus(s + 1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS))
+                    .endTime(Instant.now().plus(s + 1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS))
+                    .venueDetails(EventDocument.VenueDetailsInfo.builder()
+                            .name("Arena " + n).address("1 Main Street, Colombo").build())
+                    .layoutData(EventDocument.SessionSeatingMapInfo.builder()
+                            .name("Main hall")
+                            .layout(EventDocument.LayoutInfo.builder().blocks(blocks).build())
+                            .build())
+                    .build());
+        }
+
+        return EventDocument.builder()
+                .id(UUID.randomUUID().toString())
+                .title("Concert " + n)
+                .description("An evening of live music")
+                .overview("Doors open an hour before the show.")
+                .coverPhotos(List.of("events/" + n + "/cover-1.jpg", "events/" + n + "/cover-2.jpg"))
+                .organization(EventDocument.OrganizationInfo.builder()
+                        .id(UUID.randomUUID().toString()).name("Organizer " + n).userId(UUID.randomUUID().toString()).build())
+                .category(EventDocument.CategoryInfo.builder().id(UUID.randomUUID().toString()).name("Music").build())
+                .tiers(tiers)
+                .sessions(sessions)
+                .discounts(List.of())
+                .build();
+    }
+}
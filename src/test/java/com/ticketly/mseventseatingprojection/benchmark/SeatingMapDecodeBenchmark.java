@@ -0,0 +1,132 @@
+package com.ticketly.mseventseatingprojection.benchmark;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Converter microbenchmark for what {@code GET /v1/sessions/{sessionId}/seating-map} reads before and after
+ * the session's layout was selected server-side: the whole event document versus one layout.
+ * Documents are encoded in memory and decoded + mapped by {@link MappingMongoConverter}; no Mongo server is
+ * involved, so query execution and network time are not measured, only the BSON size and the per-read
+ * decode and mapping cost. Run with {@code mvn test -Dbenchmarks=true -Dtest=SeatingMapDecodeBenchmark}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SeatingMapDecodeBenchmark {
+
+    private static final int SESSIONS = 40;
+    private static final int BLOCKS = 12;
+    private static final int ROWS_PER_BLOCK = 20;
+    private static final int SEATS_PER_ROW = 30;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    private final MappingMongoConverter converter = createConverter();
+
+    @Test
+    void fullEventVersusSingleSessionLayout() {
+        EventDocument event = festivalEvent();
+        EventDocument.SessionSeatingMapInfo layout = event.getSessions().get(SESSIONS / 2).getLayoutData();
+
+        RawBsonDocument fullEventBson = toBson(event);
+        RawBsonDocument layoutBson = toBson(layout);
+
+        long fullEventNanos = time(() -> converter.read(EventDocument.class, fullEventBson.decode(new DocumentCodec())));
+        long layoutNanos = time(() -> converter.read(EventDocument.SessionSeatingMapInfo.class, layoutBson.decode(new DocumentCodec())));
+
+        int fullEventBytes = fullEventBson.getByteBuffer().remaining();
+        int layoutBytes = layoutBson.getByteBuffer().remaining();
+
+        System.out.printf("seating-map decode + mapping, %d sessions x %d seats%n", SESSIONS, BLOCKS * ROWS_PER_BLOCK * SEATS_PER_ROW);
+        System.out.printf("  whole event : %,10d bytes  %8.3f ms/decode%n", fullEventBytes, fullEventNanos / 1e6);
+        System.out.printf("  one layout  : %,10d bytes  %8.3f ms/decode%n", layoutBytes, layoutNanos / 1e6);
+
+        assertTrue(layoutBytes < fullEventBytes);
+    }
+
+    private long time(Supplier<?> read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        return (System.nanoTime() - start) / ITERATIONS;
+    }
+
+    private RawBsonDocument toBson(Object source) {
+        Document document = new Document();
+        converter.write(source, document);
+        return new RawBsonDocument(document, new DocumentCodec());
+    }
+
+    private static MappingMongoConverter createConverter() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static EventDocument festivalEvent() {
+        EventDocument.TierInfo tier = EventDocument.TierInfo.builder()
+                .id(UUID.randomUUID().toString()).name("General").price(new BigDecimal("50.00")).color("#00AAFF").build();
+
+        List<EventDocument.SessionInfo> sessions = new ArrayList<>();
+        for (int s = 0; s < SESSIONS; s++) {
+            List<EventDocument.BlockInfo> blocks = new ArrayList<>();
+            for (int b = 0; b < BLOCKS; b++) {
+                List<EventDocument.RowInfo> rows = new ArrayList<>();
+                for (int r = 0; r < ROWS_PER_BLOCK; r++) {
+                    List<EventDocument.SeatInfo> seats = new ArrayList<>();
+                    for (int n = 0; n < SEATS_PER_ROW; n++) {
+                        seats.add(EventDocument.SeatInfo.builder()
+                                .id(UUID.randomUUID().toString())
+                                .label("R" + r + "-" + n)
+                                .status(ReadModelSeatStatus.AVAILABLE)
+                                .tier(tier)
+                                .build());
+                    }
+                    rows.add(EventDocument.RowInfo.builder().id(UUID.randomUUID().toString()).label("R" + r).seats(seats).build());
+                }
+                blocks.add(EventDocument.BlockInfo.builder()
+                        .id(UUID.randomUUID().toString()).name("Block " + b).type("seated_grid").rows(rows).build());
+            }
+            sessions.add(EventDocument.SessionInfo.builder()
+                    .id(UUID.randomUUID().toString())
+                    .startTime(Instant.now())
+                    .endTime(Instant.now())
+                    .layoutData(EventDocument.SessionSeatingMapInfo.builder()
+                            .name("Main hall")
+                            .layout(EventDocument.LayoutInfo.builder().blocks(blocks).build())
+                            .build())
+                    .build());
+        }
+
+        return EventDocument.builder()
+                .id(UUID.randomUUID().toString())
+                .title("Festival")
+                .tiers(List.of(tier))
+                .sessions(sessions)
+                .build();
+    }
+}
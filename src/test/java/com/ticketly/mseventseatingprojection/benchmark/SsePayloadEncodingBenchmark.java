@@ -0,0 +1,111 @@
+package com.ticketly.mseventseatingprojection.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.service.SseService;
+import com.ticketly.mseventseatingprojection.service.impl.LocalSeatStatusFanOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.ServerSentEventHttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the per-subscriber cost of delivering one seat status event to a hot session: encoding it
+ * through the WebFlux SSE codec for every subscriber (the old path) versus writing the frame that
+ * {@link SseService} encoded once. Reports CPU time and heap allocation per subscriber for
+ * {@value #SUBSCRIBERS} subscribers. Run with
+ * {@code mvn test -Dbenchmarks=true -Dtest=SsePayloadEncodingBenchmark}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class SsePayloadEncodingBenchmark {
+
+    private static final int SUBSCRIBERS = 10_000;
+    private static final int SEATS_PER_EVENT = 40;
+    private static final int WARMUP = 3;
+    private static final int ROUNDS = 10;
+    private static final UUID SESSION_ID = UUID.randomUUID();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void perSubscriberCodecVersusSharedFrame() {
+        List<UUID> seatIds = new ArrayList<>();
+        for (int i = 0; i < SEATS_PER_EVENT; i++) {
+            seatIds.add(UUID.randomUUID());
+        }
+        SeatStatusUpdateDto update = new SeatStatusUpdateDto(seatIds, ReadModelSeatStatus.LOCKED, 42);
+        ServerSentEvent<SeatStatusUpdateDto> event = ServerSentEvent.<SeatStatusUpdateDto>builder()
+                .id("42").event("LOCKED").data(update).build();
+
+        ServerSentEventHttpMessageWriter codec = new ServerSentEventHttpMessageWriter(new Jackson2JsonEncoder(objectMapper));
+        ResolvableType eventType = ResolvableType.forClassWithGenerics(ServerSentEvent.class, SeatStatusUpdateDto.class);
+        SseService.SseFrame frame = sharedFrame(update);
+
+        Result perSubscriber = measure(() -> {
+            MockServerHttpResponse response = new MockServerHttpResponse();
+            codec.write(Mono.just(event), eventType, MediaType.TEXT_EVENT_STREAM, response, Map.of()).block();
+        });
+        Result shared = measure(() -> {
+            MockServerHttpResponse response = new MockServerHttpResponse();
+            response.writeWith(Mono.just(response.bufferFactory().wrap(frame.bytes()))).block();
+        });
+
+        System.out.printf("SSE delivery of one %d-seat event to %,d subscribers (%d bytes/frame)%n",
+                SEATS_PER_EVENT, SUBSCRIBERS, frame.bytes().length);
+        System.out.printf("  codec per subscriber : %8.2f us cpu  %,8d bytes allocated per subscriber%n",
+                perSubscriber.cpuNanos / 1e3, perSubscriber.allocatedBytes);
+        System.out.printf("  shared frame         : %8.2f us cpu  %,8d bytes allocated per subscriber%n",
+                shared.cpuNanos / 1e3, shared.allocatedBytes);
+
+        assertTrue(shared.allocatedBytes < perSubscriber.allocatedBytes);
+    }
+
+    /**
+     * Obtains the frame the way subscribers do: published once, then replayed from the session's buffer.
+     */
+    private SseService.SseFrame sharedFrame(SeatStatusUpdateDto update) {
+        SseService sseService = new SseService(null, new LocalSeatStatusFanOut(), objectMapper, 8, Duration.ofMinutes(1),
+                Duration.ZERO, 64, Duration.ofSeconds(15), SUBSCRIBERS, SUBSCRIBERS, Duration.ofSeconds(30), new SimpleMeterRegistry());
+        sseService.register(SESSION_ID);
+        sseService.publish(update, SESSION_ID);
+        return sseService.register(SESSION_ID, update.sequence() - 1).blockFirst();
+    }
+
+    private Result measure(Runnable deliverToOneSubscriber) {
+        for (int i = 0; i < WARMUP * SUBSCRIBERS; i++) {
+            deliverToOneSubscriber.run();
+        }
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ROUNDS * SUBSCRIBERS; i++) {
+            deliverToOneSubscriber.run();
+        }
+        long deliveries = (long) ROUNDS * SUBSCRIBERS;
+        return new Result(
+                (threads.getCurrentThreadCpuTime() - cpuStart) / deliveries,
+                (threads.getCurrentThreadAllocatedBytes() - allocatedStart) / deliveries);
+    }
+
+    private record Result(long cpuNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.ticketly.mseventseatingprojection.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.read.SessionStatusInfo;
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.EventRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DebeziumAggregateKeyResolverTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventReadRepositoryCustom eventReadRepositoryCustom;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DebeziumAggregateKeyResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new DebeziumAggregateKeyResolver(objectMapper, eventRepository, eventReadRepositoryCustom, 100);
+    }
+
+    private ConsumerRecord<String, String> record(String topic, String key, String payload) {
+        return new ConsumerRecord<>(topic, 3, 0L, key, payload);
+    }
+
+    private DebeziumChange change(String topic, String payload) {
+        return DebeziumChange.parse(record(topic, "k", payload), objectMapper);
+    }
+
+    @Test
+    void resolve_EventScopedTables_ShouldShareEventKey() {
+        String eventId = "8f5a3c1e-0000-0000-0000-000000000001";
+
+        String event = "{\"payload\":{\"op\":\"u\",\"after\":{\"id\":\"" + eventId + "\"}}}";
+        String tier = "{\"payload\":{\"op\":\"c\",\"after\":{\"id\":\"t1\",\"event_id\":\"" + eventId + "\"}}}";
+        String session = "{\"payload\":{\"op\":\"u\",\"after\":{\"id\":\"s1\",\"event_id\":\"" + eventId + "\"}}}";
+
+        assertEquals(eventId, resolver.resolve(record(DebeziumEventConsumer.EVENTS_TOPIC, "k", event)));
+        assertEquals(eventId, resolver.resolve(record(DebeziumEventConsumer.TIERS_TOPIC, "k", tier)));
+        assertEquals(eventId, resolver.resolve(record(DebeziumEventConsumer.SESSIONS_TOPIC, "k", session)));
+    }
+
+    @Test
+    void resolve_DeleteOperation_ShouldUseBeforeImage() {
+        String payload = "{\"payload\":{\"op\":\"d\",\"before\":{\"id\":\"s1\",\"event_id\":\"e1\"},\"after\":null}}";
+
+        assertEquals("e1", resolver.resolve(record(DebeziumEventConsumer.SESSIONS_TOPIC, "k", payload)));
+    }
+
+    @Test
+    void resolve_SeatingMapOfUnseenSession_ShouldUseSessionKey() {
+        String payload = "{\"payload\":{\"op\":\"u\",\"after\":{\"event_session_id\":\"s1\"}}}";
+
+        assertEquals("session:s1", resolver.resolve(record(DebeziumEventConsumer.SEATING_MAPS_TOPIC, "k", payload)));
+    }
+
+    @Test
+    void resolve_SeatingMapAndDiscountRows_ShouldShareTheEventKeyOnceTheirOwnerWasSeen() {
+        resolver.resolve(record(DebeziumEventConsumer.SESSIONS_TOPIC, "k",
+                "{\"payload\":{\"op\":\"u\",\"after\":{\"id\":\"s1\",\"event_id\":\"e1\"}}}"));
+        resolver.resolve(record(DebeziumEventConsumer.DISCOUNTS_TOPIC, "k",
+                "{\"payload\":{\"op\":\"c\",\"after\":{\"id\":\"d1\",\"event_id\":\"e1\"}}}"));
+
+        assertEquals("e1", resolver.resolve(record(DebeziumEventConsumer.SEATING_MAPS_TOPIC, "k",
+                "{\"payload\":{\"op\":\"u\",\"after\":{\"event_session_id\":\"s1\"}}}")));
+        assertEquals("e1", resolver.resolve(record(DebeziumEventConsumer.DISCOUNT_TIERS_TOPIC, "k",
+                "{\"payload\":{\"op\":\"c\",\"after\":{\"discount_id\":\"d1\",\"tier_id\":\"t1\"}}}")));
+        assertEquals("e1", resolver.resolve(record(DebeziumEventConsumer.DISCOUNT_SESSIONS_TOPIC, "k",
+                "{\"payload\":{\"op\":\"d\",\"before\":{\"discount_id\":\"d1\",\"session_id\":\"s1\"},\"after\":null}}")));
+    }
+
+    @Test
+    void resolveWithLookup_ShouldLookUpTheEventOfAnUnseenSessionOrDiscountOnce() {
+        when(eventReadRepositoryCustom.findSessionStatusById("s1"))
+                .thenReturn(Mono.just(SessionStatusInfo.builder().id("e1").build()));
+        when(eventRepository.findEventIdByDiscountId("d1")).thenReturn(Mono.just(EventDocument.builder().id("e2").build()));
+        DebeziumChange seatingMap = change(DebeziumEventConsumer.SEATING_MAPS_TOPIC,
+                "{\"payload\":{\"op\":\"u\",\"after\":{\"event_session_id\":\"s1\"}}}");
+        DebeziumChange discountTier = change(DebeziumEventConsumer.DISCOUNT_TIERS_TOPIC,
+                "{\"payload\":{\"op\":\"c\",\"after\":{\"discount_id\":\"d1\",\"tier_id\":\"t1\"}}}");
+
+        StepVerifier.create(resolver.resolveWithLookup(seatingMap)).expectNext("e1").verifyComplete();
+        StepVerifier.create(resolver.resolveWithLookup(seatingMap)).expectNext("e1").verifyComplete();
+        StepVerifier.create(resolver.resolveWithLookup(discountTier)).expectNext("e2").verifyComplete();
+
+        verify(eventReadRepositoryCustom, times(1)).findSessionStatusById("s1");
+    }
+
+    @Test
+    void resolveWithLookup_SessionMissingFromTheReadModel_ShouldKeepTheSessionKey() {
+        when(eventReadRepositoryCustom.findSessionStatusById("s1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(resolver.resolveWithLookup(change(DebeziumEventConsumer.SEATING_MAPS_TOPIC,
+                        "{\"payload\":{\"op\":\"u\",\"after\":{\"event_session_id\":\"s1\"}}}")))
+                .expectNext("session:s1")
+                .verifyComplete();
+    }
+
+    @Test
+    void resolveWithLookup_EventScopedRow_ShouldNotLookAnythingUp() {
+        StepVerifier.create(resolver.resolveWithLookup(change(DebeziumEventConsumer.TIERS_TOPIC,
+                        "{\"payload\":{\"op\":\"c\",\"after\":{\"id\":\"t1\",\"event_id\":\"e1\"}}}")))
+                .expectNext("e1")
+                .verifyComplete();
+
+        verify(eventReadRepositoryCustom, never()).findSessionStatusById(anyString());
+        verify(eventRepository, never()).findEventIdByDiscountId(anyString());
+    }
+
+    @Test
+    void resolve_TombstoneOrUnparseable_ShouldFallBackToRecordKey() {
+        assertEquals(DebeziumEventConsumer.EVENTS_TOPIC + ":k",
+                resolver.resolve(record(DebeziumEventConsumer.EVENTS_TOPIC, "k", null)));
+        assertEquals(DebeziumEventConsumer.EVENTS_TOPIC + "#3",
+                resolver.resolve(record(DebeziumEventConsumer.EVENTS_TOPIC, null, "not-json")));
+    }
+}
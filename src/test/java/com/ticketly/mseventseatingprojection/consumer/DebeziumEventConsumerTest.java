@@ -14,16 +14,21 @@ import com.ticketly.mseventseatingprojection.dto.read.SessionStatusInfo;
 import model.SessionStatus;
 import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
 import com.ticketly.mseventseatingprojection.repository.EventRepository;
+import com.ticketly.mseventseatingprojection.service.ProjectionCoalescer;
 import com.ticketly.mseventseatingprojection.service.ProjectorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.kafka.support.Acknowledgment;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -47,6 +52,9 @@ class DebeziumEventConsumerTest {
     @Mock
     private Acknowledgment acknowledgment;
 
+    @Spy
+    private ProjectionCoalescer projectionCoalescer = new ProjectionCoalescer(Duration.ofMillis(500), new SimpleMeterRegistry());
+
     @InjectMocks
     private DebeziumEventConsumer debeziumEventConsumer;
 
@@ -442,6 +450,43 @@ class DebeziumEventConsumerTest {
         );
         verify(acknowledgment).acknowledge();
     }
-    
 
-}
\ No newline at end of file
+    @Test
+    void process_withPatchAfterCoalescedCreate_shouldApplyPatchAfterDeferredProjection() throws JsonProcessingException {
+        // Arrange
+        UUID eventId = UUID.fromString("00000000-0000-0000-0000-000000000123");
+        ConsumerRecord<String, String> create = new ConsumerRecord<>(
+            "dbz.ticketly.public.events", 0, 0, "key", "{\"payload\":{\"op\":\"c\"}}");
+        ConsumerRecord<String, String> patch = new ConsumerRecord<>(
+            "dbz.ticketly.public.event_cover_photos", 0, 1, "key", "{\"payload\":{\"op\":\"c\",\"after\":{}}}");
+
+        ObjectMapper realObjectMapper = new ObjectMapper();
+        EventChangePayload eventChange = new EventChangePayload();
+        eventChange.setId(eventId);
+        eventChange.setStatus("APPROVED");
+        CoverPhotoChangePayload photoChange = new CoverPhotoChangePayload();
+        photoChange.setEventId(eventId);
+        photoChange.setPhotoUrl("cover.jpg");
+
+        when(objectMapper.readTree(anyString())).thenAnswer(invocation -> realObjectMapper.readTree((String) invocation.getArgument(0)));
+        when(objectMapper.treeToValue(any(JsonNode.class), eq(EventChangePayload.class))).thenReturn(eventChange);
+        when(objectMapper.treeToValue(any(JsonNode.class), eq(CoverPhotoChangePayload.class))).thenReturn(photoChange);
+        when(eventReadRepository.existsById(anyString())).thenReturn(Mono.just(true));
+        when(projectorService.projectFullEvent(eventId)).thenReturn(Mono.empty());
+        when(projectorService.projectCoverPhotoAdded(eventId, "cover.jpg")).thenReturn(Mono.empty());
+
+        ProjectionCoalescer.DeferredCompletions createCompletions = new ProjectionCoalescer.DeferredCompletions();
+        ProjectionCoalescer.DeferredCompletions patchCompletions = new ProjectionCoalescer.DeferredCompletions();
+
+        // Act
+        debeziumEventConsumer.process(create).contextWrite(createCompletions::bind).block();
+        verify(projectorService, never()).projectFullEvent(any(UUID.class));
+        debeziumEventConsumer.process(patch).contextWrite(patchCompletions::bind).block();
+        createCompletions.await().block();
+
+        // Assert
+        InOrder inOrder = inOrder(projectorService);
+        inOrder.verify(projectorService).projectFullEvent(eventId);
+        inOrder.verify(projectorService).projectCoverPhotoAdded(eventId, "cover.jpg");
+    }
+}
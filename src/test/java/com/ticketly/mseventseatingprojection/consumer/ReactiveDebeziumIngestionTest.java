@@ -0,0 +1,134 @@
+package com.ticketly.mseventseatingprojection.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.read.SessionStatusInfo;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.EventRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveDebeziumIngestionTest {
+
+    // Resolve to different lanes out of 16
+    private static final String EVENT_A = "8f5a3c1e-0000-0000-0000-000000000001";
+    private static final String EVENT_B = "8f5a3c1e-0000-0000-0000-000000000002";
+
+    @Mock
+    private DebeziumEventConsumer debeziumEventConsumer;
+
+    @Mock
+    private DeadLetterPublishingRecoverer recoverer;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private EventReadRepositoryCustom eventReadRepositoryCustom;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private ReactiveDebeziumIngestion ingestion;
+
+    @BeforeEach
+    void setUp() {
+        ingestion = new ReactiveDebeziumIngestion(null, debeziumEventConsumer,
+                new DebeziumAggregateKeyResolver(objectMapper, eventRepository, eventReadRepositoryCustom, 100), null, objectMapper);
+        ReflectionTestUtils.setField(ingestion, "lanes", 16);
+        ReflectionTestUtils.setField(ingestion, "maxRetries", 0);
+        ReflectionTestUtils.setField(ingestion, "maxPending", 256);
+    }
+
+    @Test
+    void ingest_shouldKeepTheSameAggregateInOrderAndProjectOthersConcurrently() throws Exception {
+        // All on the same partition
+        ReceiverRecord<String, String> firstOfA = eventRecord(0, EVENT_A);
+        ReceiverRecord<String, String> secondOfA = eventRecord(1, EVENT_A);
+        ReceiverRecord<String, String> onlyOfB = eventRecord(2, EVENT_B);
+
+        Sinks.Empty<Void> firstOfADone = Sinks.empty();
+        List<Long> started = new CopyOnWriteArrayList<>();
+        when(debeziumEventConsumer.process(any(DebeziumChange.class))).thenAnswer(invocation -> {
+            DebeziumChange change = invocation.getArgument(0);
+            assertNotNull(change.message());
+            started.add(change.record().offset());
+            return change.record().offset() == 0 ? firstOfADone.asMono() : Mono.empty();
+        });
+
+        StepVerifier.create(ingestion.ingest(Flux.just(firstOfA, secondOfA, onlyOfB), recoverer))
+                .then(() -> {
+                    // B overtook A's second record, which waits for A's first
+                    assertEquals(List.of(0L, 2L), started);
+                    verify(firstOfA.receiverOffset(), never()).acknowledge();
+                    verify(onlyOfB.receiverOffset()).acknowledge();
+                })
+                .then(firstOfADone::tryEmitEmpty)
+                .verifyComplete();
+
+        assertEquals(List.of(0L, 2L, 1L), started);
+        verify(firstOfA.receiverOffset()).acknowledge();
+        verify(secondOfA.receiverOffset()).acknowledge();
+        // Resolving the lane and projecting share one parse per record
+        verify(objectMapper, times(3)).readTree(anyString());
+    }
+
+    @Test
+    void ingest_seatingMapChange_shouldWaitForItsEventsEarlierChange() {
+        ReceiverRecord<String, String> eventChange = eventRecord(0, EVENT_A);
+        ReceiverRecord<String, String> seatingMapChange = record(DebeziumEventConsumer.SEATING_MAPS_TOPIC, 1,
+                "{\"payload\":{\"op\":\"u\",\"after\":{\"event_session_id\":\"s1\"}}}");
+        when(eventReadRepositoryCustom.findSessionStatusById("s1"))
+                .thenReturn(Mono.just(SessionStatusInfo.builder().id(EVENT_A).build()));
+
+        Sinks.Empty<Void> eventChangeDone = Sinks.empty();
+        List<Long> started = new CopyOnWriteArrayList<>();
+        when(debeziumEventConsumer.process(any(DebeziumChange.class))).thenAnswer(invocation -> {
+            DebeziumChange change = invocation.getArgument(0);
+            started.add(change.record().offset());
+            return change.record().offset() == 0 ? eventChangeDone.asMono() : Mono.empty();
+        });
+
+        StepVerifier.create(ingestion.ingest(Flux.just(eventChange, seatingMapChange), recoverer))
+                .then(() -> assertEquals(List.of(0L), started))
+                .then(eventChangeDone::tryEmitEmpty)
+                .verifyComplete();
+
+        assertEquals(List.of(0L, 1L), started);
+    }
+
+    private static ReceiverRecord<String, String> eventRecord(long offset, String eventId) {
+        String payload = "{\"payload\":{\"op\":\"u\",\"after\":{\"id\":\"" + eventId + "\"}}}";
+        return record(DebeziumEventConsumer.EVENTS_TOPIC, offset, payload);
+    }
+
+    private static ReceiverRecord<String, String> record(String topic, long offset, String payload) {
+        return new ReceiverRecord<>(new ConsumerRecord<>(topic, 0, offset, "k", payload), mock(ReceiverOffset.class));
+    }
+}
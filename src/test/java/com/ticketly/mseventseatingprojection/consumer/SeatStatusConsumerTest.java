@@ -1,10 +1,12 @@
 package com.ticketly.mseventseatingprojection.consumer;
 
 import com.ticketly.mseventseatingprojection.dto.SeatStatusChangeEventDto;
+import com.ticketly.mseventseatingprojection.dto.internal.SeatTransitionResult;
 import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
 import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
 import com.ticketly.mseventseatingprojection.service.SeatService;
 import com.ticketly.mseventseatingprojection.service.SseService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -12,6 +14,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
 import org.springframework.kafka.support.Acknowledgment;
 import reactor.core.publisher.Mono;
 
@@ -20,6 +23,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -34,6 +38,9 @@ class SeatStatusConsumerTest {
     @Mock
     private SeatService seatService;
 
+    @Mock
+    private DeadLetterPublishingRecoverer seatStatusDeadLetterRecoverer;
+
     @Mock
     private Acknowledgment acknowledgment;
 
@@ -46,6 +53,14 @@ class SeatStatusConsumerTest {
     @Captor
     private ArgumentCaptor<UUID> sessionIdCaptor;
 
+    private static SeatTransitionResult transitioned(List<UUID> transitioned, List<UUID> rejected) {
+        return SeatTransitionResult.builder()
+                .transitionedSeats(transitioned.stream().map(UUID::toString).toList())
+                .rejectedSeats(rejected.stream().map(UUID::toString).toList())
+                .version(1)
+                .build();
+    }
+
     @Test
     void onSeatStatusChange_withLockedStatus_shouldUpdateStatusAndPublishSse() {
         // Arrange
@@ -58,8 +73,8 @@ class SeatStatusConsumerTest {
                 ReadModelSeatStatus.LOCKED
         );
         
-        when(seatService.updateSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
-                .thenReturn(Mono.just(true));
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
+                .thenReturn(Mono.just(transitioned(seatIds, List.of())));
                 
         doNothing().when(sseService).publish(any(SeatStatusUpdateDto.class), eq(sessionId));
 
@@ -67,7 +82,7 @@ class SeatStatusConsumerTest {
         seatStatusConsumer.onSeatStatusChange(payload, acknowledgment);
 
         // Assert
-        verify(seatService).updateSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED));
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED));
         verify(sseService).publish(updateDtoCaptor.capture(), sessionIdCaptor.capture());
         verify(acknowledgment).acknowledge();
         
@@ -88,8 +103,8 @@ class SeatStatusConsumerTest {
                 ReadModelSeatStatus.AVAILABLE
         );
         
-        when(seatService.updateSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.AVAILABLE)))
-                .thenReturn(Mono.just(true));
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.AVAILABLE)))
+                .thenReturn(Mono.just(transitioned(seatIds, List.of())));
                 
         doNothing().when(sseService).publish(any(SeatStatusUpdateDto.class), eq(sessionId));
 
@@ -97,7 +112,7 @@ class SeatStatusConsumerTest {
         seatStatusConsumer.onSeatStatusChange(payload, acknowledgment);
 
         // Assert
-        verify(seatService).updateSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.AVAILABLE));
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.AVAILABLE));
         verify(sseService).publish(updateDtoCaptor.capture(), sessionIdCaptor.capture());
         verify(acknowledgment).acknowledge();
         
@@ -107,7 +122,7 @@ class SeatStatusConsumerTest {
     }
 
     @Test
-    void onSeatStatusChange_withBookedStatus_shouldOnlyPublishSse() {
+    void onSeatStatusChange_withBookedStatus_shouldRecordBookingAndPublishSequencedSse() {
         // Arrange
         UUID sessionId = UUID.randomUUID();
         List<UUID> seatIds = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
@@ -117,20 +132,21 @@ class SeatStatusConsumerTest {
                 seatIds,
                 ReadModelSeatStatus.BOOKED
         );
-        
-        doNothing().when(sseService).publish(any(SeatStatusUpdateDto.class), eq(sessionId));
+
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.BOOKED)))
+                .thenReturn(Mono.just(transitioned(seatIds, List.of())));
 
         // Act
         seatStatusConsumer.onSeatStatusChange(payload, acknowledgment);
 
-        // Assert
-        // Should not call updateSeatStatus for BOOKED status
-        verify(seatService, never()).updateSeatStatus(any(UUID.class), anyList(), any(ReadModelSeatStatus.class));
+        // Assert - the booking is written so the published event carries the seat-state version
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.BOOKED));
         verify(sseService).publish(updateDtoCaptor.capture(), sessionIdCaptor.capture());
         verify(acknowledgment).acknowledge();
         
         assertEquals(ReadModelSeatStatus.BOOKED, updateDtoCaptor.getValue().status());
         assertEquals(seatIds, updateDtoCaptor.getValue().seatIds());
+        assertEquals(1, updateDtoCaptor.getValue().sequence());
         assertEquals(sessionId, sessionIdCaptor.getValue());
     }
 
@@ -146,15 +162,162 @@ class SeatStatusConsumerTest {
                 ReadModelSeatStatus.LOCKED
         );
         
-        when(seatService.updateSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
-                .thenReturn(Mono.just(false));
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
+                .thenReturn(Mono.just(transitioned(List.of(), seatIds)));
 
         // Act
         seatStatusConsumer.onSeatStatusChange(payload, acknowledgment);
 
         // Assert
-        verify(seatService).updateSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED));
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED));
         verify(sseService, never()).publish(any(), any());
         verify(acknowledgment).acknowledge();
     }
-}
\ No newline at end of file
+
+    @Test
+    void onSeatStatusChange_withSomeSeatsBooked_shouldPublishOnlyTransitionedSeats() {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+        UUID freeSeat = UUID.randomUUID();
+        UUID bookedSeat = UUID.randomUUID();
+        List<UUID> seatIds = Arrays.asList(freeSeat, bookedSeat);
+
+        SeatStatusChangeEventDto payload = new SeatStatusChangeEventDto(
+                sessionId,
+                seatIds,
+                ReadModelSeatStatus.LOCKED
+        );
+
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
+                .thenReturn(Mono.just(transitioned(List.of(freeSeat), List.of(bookedSeat))));
+
+        // Act
+        seatStatusConsumer.onSeatStatusChange(payload, acknowledgment);
+
+        // Assert
+        verify(sseService).publish(updateDtoCaptor.capture(), eq(sessionId));
+        verify(acknowledgment).acknowledge();
+
+        assertEquals(List.of(freeSeat), updateDtoCaptor.getValue().seatIds());
+        assertEquals(ReadModelSeatStatus.LOCKED, updateDtoCaptor.getValue().status());
+    }
+
+    private static ConsumerRecord<String, SeatStatusChangeEventDto> record(long offset, SeatStatusChangeEventDto payload) {
+        return new ConsumerRecord<>("ticketly.seats.status", 0, offset, payload.session_id().toString(), payload);
+    }
+
+    @Test
+    void onSeatStatusChangeBatch_shouldMergeEventsPerSessionWithLastWriterWins() {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+        UUID seatA = UUID.randomUUID();
+        UUID seatB = UUID.randomUUID();
+
+        List<ConsumerRecord<String, SeatStatusChangeEventDto>> records = List.of(
+                record(0, new SeatStatusChangeEventDto(sessionId, List.of(seatA, seatB), ReadModelSeatStatus.LOCKED)),
+                record(1, new SeatStatusChangeEventDto(sessionId, List.of(seatA), ReadModelSeatStatus.AVAILABLE)),
+                record(2, new SeatStatusChangeEventDto(sessionId, List.of(seatB), ReadModelSeatStatus.LOCKED))
+        );
+
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(List.of(seatB)), eq(ReadModelSeatStatus.LOCKED)))
+                .thenReturn(Mono.just(transitioned(List.of(seatB), List.of())));
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(List.of(seatA)), eq(ReadModelSeatStatus.AVAILABLE)))
+                .thenReturn(Mono.just(transitioned(List.of(seatA), List.of())));
+
+        // Act
+        seatStatusConsumer.onSeatStatusChangeBatch(records, acknowledgment);
+
+        // Assert - one write per session and status, only the final state of each seat
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(List.of(seatB)), eq(ReadModelSeatStatus.LOCKED));
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(List.of(seatA)), eq(ReadModelSeatStatus.AVAILABLE));
+        verify(sseService, times(2)).publish(any(SeatStatusUpdateDto.class), eq(sessionId));
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void onSeatStatusChangeBatch_withBookedThenAvailable_shouldKeepTheBooking() {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+        UUID seat = UUID.randomUUID();
+
+        List<ConsumerRecord<String, SeatStatusChangeEventDto>> records = List.of(
+                record(0, new SeatStatusChangeEventDto(sessionId, List.of(seat), ReadModelSeatStatus.BOOKED)),
+                record(1, new SeatStatusChangeEventDto(sessionId, List.of(seat), ReadModelSeatStatus.AVAILABLE))
+        );
+
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(List.of(seat)), eq(ReadModelSeatStatus.BOOKED)))
+                .thenReturn(Mono.just(transitioned(List.of(seat), List.of())));
+
+        // Act
+        seatStatusConsumer.onSeatStatusChangeBatch(records, acknowledgment);
+
+        // Assert - the stale release after the booking is dropped, as single mode would reject it
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(List.of(seat)), eq(ReadModelSeatStatus.BOOKED));
+        verify(seatService, never()).transitionSeatStatus(any(), any(), eq(ReadModelSeatStatus.AVAILABLE));
+        verify(sseService).publish(updateDtoCaptor.capture(), eq(sessionId));
+        assertEquals(ReadModelSeatStatus.BOOKED, updateDtoCaptor.getValue().status());
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void onSeatStatusChangeBatch_withInvalidEvents_shouldDeadLetterThemAndApplyTheRest() {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+        List<UUID> seatIds = List.of(UUID.randomUUID());
+
+        // A null value is what the ErrorHandlingDeserializer delivers for a payload it could not read
+        ConsumerRecord<String, SeatStatusChangeEventDto> undeserializable =
+                new ConsumerRecord<>("ticketly.seats.status", 0, 0, "key", null);
+        ConsumerRecord<String, SeatStatusChangeEventDto> incomplete =
+                record(1, new SeatStatusChangeEventDto(sessionId, null, ReadModelSeatStatus.LOCKED));
+        ConsumerRecord<String, SeatStatusChangeEventDto> reserved =
+                record(2, new SeatStatusChangeEventDto(sessionId, List.of(UUID.randomUUID()), ReadModelSeatStatus.RESERVED));
+        ConsumerRecord<String, SeatStatusChangeEventDto> valid =
+                record(3, new SeatStatusChangeEventDto(sessionId, seatIds, ReadModelSeatStatus.LOCKED));
+
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
+                .thenReturn(Mono.just(transitioned(seatIds, List.of())));
+
+        // Act
+        seatStatusConsumer.onSeatStatusChangeBatch(List.of(undeserializable, incomplete, reserved, valid), acknowledgment);
+
+        // Assert
+        verify(seatStatusDeadLetterRecoverer).accept(eq(undeserializable), any(IllegalArgumentException.class));
+        verify(seatStatusDeadLetterRecoverer).accept(eq(incomplete), any(IllegalArgumentException.class));
+        verify(seatStatusDeadLetterRecoverer).accept(eq(reserved), any(IllegalArgumentException.class));
+        verify(seatService, never()).transitionSeatStatus(any(), any(), eq(ReadModelSeatStatus.RESERVED));
+        verify(seatService).transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED));
+        verify(acknowledgment).acknowledge();
+    }
+
+    @Test
+    void onSeatStatusChangeBatch_whenDeadLetteringFails_shouldNotAcknowledge() {
+        // Arrange
+        ConsumerRecord<String, SeatStatusChangeEventDto> undeserializable =
+                new ConsumerRecord<>("ticketly.seats.status", 0, 0, "key", null);
+        doThrow(new IllegalStateException("DLT unavailable"))
+                .when(seatStatusDeadLetterRecoverer).accept(eq(undeserializable), any(Exception.class));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> seatStatusConsumer.onSeatStatusChangeBatch(List.of(undeserializable), acknowledgment));
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void onSeatStatusChangeBatch_whenWriteFails_shouldNotAcknowledge() {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+        List<UUID> seatIds = List.of(UUID.randomUUID());
+
+        when(seatService.transitionSeatStatus(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
+                .thenReturn(Mono.error(new RuntimeException("Database error")));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> seatStatusConsumer.onSeatStatusChangeBatch(
+                List.of(record(0, new SeatStatusChangeEventDto(sessionId, seatIds, ReadModelSeatStatus.LOCKED))),
+                acknowledgment));
+        verify(acknowledgment, never()).acknowledge();
+        verify(sseService, never()).publish(any(), any());
+    }
+}
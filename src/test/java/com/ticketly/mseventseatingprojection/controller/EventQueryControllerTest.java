@@ -2,9 +2,12 @@ package com.ticketly.mseventseatingprojection.controller;
 
 import com.ticketly.mseventseatingprojection.dto.SessionCountDTO;
 import com.ticketly.mseventseatingprojection.dto.SessionInfoDTO;
+import com.ticketly.mseventseatingprojection.dto.read.CursorPage;
 import com.ticketly.mseventseatingprojection.dto.read.DiscountDetailsDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventBasicInfoDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventThumbnailDTO;
+import com.ticketly.mseventseatingprojection.dto.read.SearchCountMode;
+import com.ticketly.mseventseatingprojection.dto.read.SearchSuggestionDTO;
 import com.ticketly.mseventseatingprojection.service.EventQueryService;
 import com.ticketly.mseventseatingprojection.service.EventTrendingService;
 import org.junit.jupiter.api.Test;
@@ -16,6 +19,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -55,13 +59,13 @@ class EventQueryControllerTest {
         
         when(eventQueryService.searchEvents(
                 eq(searchTerm), any(), any(), any(), any(),
-                any(), any(), any(), any(), any()))
+                any(), any(), any(), any(), any(), eq(SearchCountMode.EXACT), eq(false)))
                 .thenReturn(Mono.just(expectedPage));
 
         // Act & Assert
         StepVerifier.create(eventQueryController.searchEvents(
                 searchTerm, null, null, null, null, 
-                null, null, null, null, null))
+                null, null, null, null, null, SearchCountMode.EXACT, false))
                 .assertNext(responseEntity -> {
                     assert responseEntity.getStatusCode() == HttpStatus.OK;
                     assert responseEntity.getBody() != null;
@@ -70,6 +74,34 @@ class EventQueryControllerTest {
                 .verifyComplete();
     }
 
+    @Test
+    void scrollEvents_shouldReturnCursorPageOfEvents() {
+        // Arrange
+        Pageable pageable = PageRequest.of(3, 2, Sort.by("tiers.price"));
+        CursorPage<EventThumbnailDTO> expectedPage = new CursorPage<>(
+                List.of(EventThumbnailDTO.builder().id("1").title("Event 1").build(),
+                        EventThumbnailDTO.builder().id("2").title("Event 2").build()),
+                "next-cursor",
+                null);
+
+        when(eventQueryService.scrollEvents(
+                eq("concert"), any(), any(), any(), any(), any(), any(), any(), any(),
+                eq("cursor"), eq(2), eq(Sort.by("tiers.price")), eq(SearchCountMode.NONE)))
+                .thenReturn(Mono.just(expectedPage));
+
+        // Act & Assert
+        StepVerifier.create(eventQueryController.scrollEvents(
+                "concert", null, null, null, null,
+                null, null, null, null, "cursor", pageable, SearchCountMode.NONE))
+                .assertNext(responseEntity -> {
+                    assert responseEntity.getStatusCode() == HttpStatus.OK;
+                    assert responseEntity.getBody() != null;
+                    assert responseEntity.getBody().content().size() == 2;
+                    assert "next-cursor".equals(responseEntity.getBody().nextCursor());
+                })
+                .verifyComplete();
+    }
+
     @Test
     void getBasicEventInfo_shouldReturnEventInfo() {
         // Arrange
@@ -155,6 +187,33 @@ class EventQueryControllerTest {
                 .verifyComplete();
     }
     
+    @Test
+    void typeahead_shouldReturnEvents() {
+        // Arrange
+        EventThumbnailDTO event = EventThumbnailDTO.builder().id("1").title("Jazz Night").build();
+
+        when(eventQueryService.typeahead("jaz", 8)).thenReturn(Flux.just(event));
+
+        // Act & Assert
+        StepVerifier.create(eventQueryController.typeahead("jaz", 8))
+                .expectNext(event)
+                .verifyComplete();
+    }
+
+    @Test
+    void suggest_shouldReturnSuggestions() {
+        // Arrange
+        SearchSuggestionDTO suggestion = SearchSuggestionDTO.builder()
+                .type(SearchSuggestionDTO.Type.CITY).text("Colombo").build();
+
+        when(eventQueryService.suggest("col", 8)).thenReturn(Flux.just(suggestion));
+
+        // Act & Assert
+        StepVerifier.create(eventQueryController.suggest("col", 8))
+                .expectNext(suggestion)
+                .verifyComplete();
+    }
+
     @Test
     void getTopTrendingEvents_shouldReturnEvents() {
         // Arrange
@@ -0,0 +1,157 @@
+package com.ticketly.mseventseatingprojection.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.exception.SubscriberLimitExceededException;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.service.BinarySeatFrames;
+import com.ticketly.mseventseatingprojection.service.SseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatStatusWebSocketHandlerTest {
+
+    private static final UUID SESSION_ID = UUID.fromString("7f0c8c4e-3b1a-4c55-9a57-5f5b3f0d2a11");
+    private static final UUID OTHER_SESSION_ID = UUID.fromString("0b6a2f5e-8c44-4f1e-b1de-2c9a7e6d4f30");
+    private static final byte[] FIRST = BinarySeatFrames.delta(SESSION_ID, 1, ReadModelSeatStatus.LOCKED, new int[]{3});
+    private static final byte[] SECOND = BinarySeatFrames.delta(SESSION_ID, 2, ReadModelSeatStatus.BOOKED, new int[]{3});
+
+    @Mock
+    private SseService sseService;
+
+    @Mock
+    private WebSocketSession session;
+
+    private final Sinks.Many<WebSocketMessage> inbound = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicReference<Flux<WebSocketMessage>> sent = new AtomicReference<>();
+    private Disposable handling;
+
+    @BeforeEach
+    void setUp() {
+        when(session.getId()).thenReturn("ws-1");
+        when(session.receive()).thenReturn(inbound.asFlux());
+        when(session.send(any())).thenAnswer(invocation -> {
+            Publisher<WebSocketMessage> messages = invocation.getArgument(0);
+            sent.set(Flux.from(messages));
+            return Mono.never();
+        });
+        when(session.binaryMessage(any())).thenAnswer(invocation -> {
+            Function<DataBufferFactory, DataBuffer> payload = invocation.getArgument(0);
+            return new WebSocketMessage(WebSocketMessage.Type.BINARY, payload.apply(DefaultDataBufferFactory.sharedInstance));
+        });
+    }
+
+    @Test
+    void handle_shouldSendNoFramesBeforeTheClientRequestsThem() {
+        Sinks.Many<byte[]> deltas = Sinks.many().multicast().onBackpressureBuffer();
+        when(sseService.registerBinary(SESSION_ID, null)).thenReturn(deltas.asFlux());
+        handle(200);
+
+        StepVerifier.create(sent.get().map(SeatStatusWebSocketHandlerTest::bytes))
+                .then(() -> {
+                    command("{\"type\":\"subscribe\",\"sessionId\":\"" + SESSION_ID + "\"}");
+                    deltas.tryEmitNext(FIRST);
+                    deltas.tryEmitNext(SECOND);
+                })
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(() -> command("{\"type\":\"request\",\"n\":1}"))
+                .assertNext(frame -> assertArrayEquals(FIRST, frame))
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(() -> command("{\"type\":\"request\",\"n\":1}"))
+                .assertNext(frame -> assertArrayEquals(SECOND, frame))
+                .thenCancel()
+                .verify();
+        handling.dispose();
+    }
+
+    @Test
+    void handle_withUnsubscribe_shouldEndTheSessionAndStopFollowingIt() {
+        Sinks.Many<byte[]> deltas = Sinks.many().multicast().onBackpressureBuffer();
+        when(sseService.registerBinary(SESSION_ID, null)).thenReturn(deltas.asFlux());
+        handle(200);
+
+        StepVerifier.create(sent.get().map(SeatStatusWebSocketHandlerTest::bytes))
+                .then(() -> {
+                    command("{\"type\":\"subscribe\",\"sessionId\":\"" + SESSION_ID + "\"}");
+                    command("{\"type\":\"request\",\"n\":10}");
+                    deltas.tryEmitNext(FIRST);
+                })
+                .assertNext(frame -> assertArrayEquals(FIRST, frame))
+                .then(() -> command("{\"type\":\"unsubscribe\",\"sessionId\":\"" + SESSION_ID + "\"}"))
+                .assertNext(frame -> assertArrayEquals(BinarySeatFrames.ended(SESSION_ID), frame))
+                .then(() -> assertEquals(0, deltas.currentSubscriberCount()))
+                .then(() -> deltas.tryEmitNext(SECOND))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+        handling.dispose();
+    }
+
+    @Test
+    void handle_withRefusedSubscriptions_shouldEndThemOnlyOnceCredited() {
+        when(sseService.registerBinary(SESSION_ID, null)).thenReturn(Flux.never());
+        when(sseService.registerBinary(OTHER_SESSION_ID, null))
+                .thenThrow(new SubscriberLimitExceededException("Too many subscribers", Duration.ofSeconds(10)));
+        handle(1);
+
+        StepVerifier.create(sent.get().map(SeatStatusWebSocketHandlerTest::bytes))
+                .then(() -> {
+                    // Refused by the service
+                    command("{\"type\":\"subscribe\",\"sessionId\":\"" + OTHER_SESSION_ID + "\"}");
+                    command("{\"type\":\"subscribe\",\"sessionId\":\"" + SESSION_ID + "\"}");
+                })
+                .expectNoEvent(Duration.ofMillis(100))
+                .then(() -> command("{\"type\":\"request\",\"n\":5}"))
+                .assertNext(frame -> assertArrayEquals(BinarySeatFrames.ended(OTHER_SESSION_ID), frame))
+                .then(() -> command("{\"type\":\"subscribe\",\"sessionId\":\"" + UUID.randomUUID() + "\"}"))
+                // Refused by the connection's session limit, without asking the service
+                .assertNext(frame -> assertEquals(BinarySeatFrames.ENDED, frame[0]))
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+        handling.dispose();
+    }
+
+    private void handle(int maxSessionsPerConnection) {
+        SeatStatusWebSocketHandler handler = new SeatStatusWebSocketHandler(
+                sseService, new ObjectMapper(), Duration.ofHours(1), maxSessionsPerConnection);
+        handling = handler.handle(session).subscribe();
+    }
+
+    private void command(String json) {
+        inbound.tryEmitNext(new WebSocketMessage(WebSocketMessage.Type.TEXT,
+                DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static byte[] bytes(WebSocketMessage message) {
+        DataBuffer payload = message.getPayload();
+        byte[] bytes = new byte[payload.readableByteCount()];
+        payload.read(bytes);
+        return bytes;
+    }
+}
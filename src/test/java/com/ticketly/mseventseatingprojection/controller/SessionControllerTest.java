@@ -0,0 +1,91 @@
+package com.ticketly.mseventseatingprojection.controller;
+
+import com.ticketly.mseventseatingprojection.service.EventQueryService;
+import com.ticketly.mseventseatingprojection.service.SeatStatusSnapshotService;
+import com.ticketly.mseventseatingprojection.service.SeatingMapLayoutCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SessionControllerTest {
+
+    private static final String SESSION_ID = "session-1";
+    private static final SeatingMapLayoutCache.EncodedLayout LAYOUT = new SeatingMapLayoutCache.EncodedLayout(
+            "\"abc\"", "{\"name\":\"Hall\"}".getBytes(StandardCharsets.UTF_8), new byte[]{31, -117});
+
+    @Mock
+    private EventQueryService eventQueryService;
+
+    @Mock
+    private SeatingMapLayoutCache seatingMapLayoutCache;
+
+    @Mock
+    private SeatStatusSnapshotService seatStatusSnapshotService;
+
+    @InjectMocks
+    private SessionController sessionController;
+
+    @Test
+    void getSessionSeatingLayout_shouldReturnJsonWithETag() {
+        when(seatingMapLayoutCache.get(SESSION_ID)).thenReturn(Mono.just(LAYOUT));
+        when(seatingMapLayoutCache.getClientMaxAge()).thenReturn(Duration.ofSeconds(10));
+
+        StepVerifier.create(sessionController.getSessionSeatingLayout(SESSION_ID, null, null))
+                .assertNext(response -> {
+                    assert response.getStatusCode() == HttpStatus.OK;
+                    assert "\"abc\"".equals(response.getHeaders().getETag());
+                    assert response.getBody() == LAYOUT.json();
+                    assert response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING) == null;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getSessionSeatingLayout_withGzipAccepted_shouldReturnCompressedBody() {
+        when(seatingMapLayoutCache.get(SESSION_ID)).thenReturn(Mono.just(LAYOUT));
+        when(seatingMapLayoutCache.getClientMaxAge()).thenReturn(Duration.ofSeconds(10));
+
+        StepVerifier.create(sessionController.getSessionSeatingLayout(SESSION_ID, null, "gzip, deflate, br"))
+                .assertNext(response -> {
+                    assert response.getBody() == LAYOUT.gzip();
+                    assert "gzip".equals(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getSessionSeatingLayout_withMatchingETag_shouldReturnNotModified() {
+        when(seatingMapLayoutCache.get(SESSION_ID)).thenReturn(Mono.just(LAYOUT));
+        when(seatingMapLayoutCache.getClientMaxAge()).thenReturn(Duration.ofSeconds(10));
+
+        StepVerifier.create(sessionController.getSessionSeatingLayout(SESSION_ID, "W/\"old\", \"abc\"", "gzip"))
+                .assertNext(response -> {
+                    assert response.getStatusCode() == HttpStatus.NOT_MODIFIED;
+                    assert response.getBody() == null;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getSessionSeatingLayout_whenSessionMissing_shouldReturnNotFound() {
+        when(seatingMapLayoutCache.get(SESSION_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(sessionController.getSessionSeatingLayout(SESSION_ID, null, null))
+                .assertNext(response -> {
+                    assert response.getStatusCode() == HttpStatus.NOT_FOUND;
+                })
+                .verifyComplete();
+    }
+}
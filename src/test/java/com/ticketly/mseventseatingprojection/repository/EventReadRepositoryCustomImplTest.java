@@ -0,0 +1,101 @@
+package com.ticketly.mseventseatingprojection.repository;
+
+import com.ticketly.mseventseatingprojection.dto.read.SearchCountMode;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.service.EventTextIndex;
+import com.ticketly.mseventseatingprojection.service.SearchCountCache;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventReadRepositoryCustomImplTest {
+
+    @Mock
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Mock
+    private SearchCountCache searchCountCache;
+
+    @Mock
+    private EventThumbnailRepository eventThumbnailRepository;
+
+    private EventReadRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        // Two title matches fill the cap; the description match ranks third
+        when(eventThumbnailRepository.findAllTextFields()).thenReturn(Flux.just(
+                thumbnail("jazz-night", "Jazz Night", "Live music by the lake"),
+                thumbnail("jazz-brunch", "Jazz Brunch", "Pancakes and a trio"),
+                thumbnail("blues-festival", "Blues Festival", "Blues with a jazz tent")));
+        repository = new EventReadRepositoryCustomImpl(reactiveMongoTemplate, searchCountCache,
+                new EventTextIndex(eventThumbnailRepository), 1000, 2, List.of(BigDecimal.ZERO));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollEvents_withCategory_shouldFindTheOnlyMatchBeyondTheTextCap() {
+        EventThumbnailDocument festival = thumbnail("blues-festival", "Blues Festival", "Blues with a jazz tent");
+        ArgumentCaptor<TypedAggregation<EventThumbnailDocument>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        when(reactiveMongoTemplate.aggregate(aggregation.capture(), eq("event_thumbnails"), eq(EventThumbnailDocument.class)))
+                .thenReturn(Flux.just(festival));
+
+        StepVerifier.create(repository.scrollEvents("jazz", "festivals", null, null, null, null, null,
+                        null, null, null, 20, Sort.unsorted(), SearchCountMode.NONE))
+                .assertNext(page -> {
+                    assertEquals(List.of(festival), page.content());
+                    assertFalse(page.totalCapped());
+                })
+                .verifyComplete();
+
+        String match = firstStage(aggregation.getValue());
+        assertTrue(match.contains("blues-festival"));
+        assertTrue(match.contains("festivals"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void scrollEvents_withOnlyASearchTerm_shouldKeepTheBestMatchesAndReportTheTotalAsCapped() {
+        ArgumentCaptor<TypedAggregation<EventThumbnailDocument>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        when(reactiveMongoTemplate.aggregate(aggregation.capture(), eq("event_thumbnails"), eq(EventThumbnailDocument.class)))
+                .thenReturn(Flux.empty());
+
+        StepVerifier.create(repository.scrollEvents("jazz", null, null, null, null, null, null,
+                        null, null, null, 20, Sort.unsorted(), SearchCountMode.NONE))
+                .assertNext(page -> assertTrue(page.totalCapped()))
+                .verifyComplete();
+
+        String match = firstStage(aggregation.getValue());
+        assertTrue(match.contains("jazz-night"));
+        assertFalse(match.contains("blues-festival"));
+    }
+
+    private static String firstStage(TypedAggregation<EventThumbnailDocument> aggregation) {
+        List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+        return pipeline.getFirst().toJson();
+    }
+
+    private static EventThumbnailDocument thumbnail(String id, String title, String description) {
+        return EventThumbnailDocument.builder().id(id).title(title).description(description).build();
+    }
+}
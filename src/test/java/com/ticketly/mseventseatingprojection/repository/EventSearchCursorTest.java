@@ -0,0 +1,71 @@
+package com.ticketly.mseventseatingprojection.repository;
+
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventSearchCursorTest {
+
+    @Test
+    void encodeAndDecode_shouldRoundTripTheLastResultsPosition() {
+        EventThumbnailDocument last = EventThumbnailDocument.builder()
+                .id("event-1")
+                .earliestUpcomingStart(Instant.parse("2026-05-01T18:30:00Z"))
+                .minPrice(new BigDecimal("45.00"))
+                .title("Jazz | Blues")
+                .build();
+
+        for (Sort.Order order : new Sort.Order[]{
+                Sort.Order.asc(EventSearchCursor.START_TIME),
+                Sort.Order.desc(EventSearchCursor.PRICE),
+                Sort.Order.asc(EventSearchCursor.TITLE)}) {
+            EventSearchCursor cursor = EventSearchCursor.after(last, order);
+
+            EventSearchCursor decoded = EventSearchCursor.decode(cursor.encode());
+
+            assertEquals(cursor, decoded);
+            assertEquals(order, decoded.order());
+        }
+    }
+
+    @Test
+    void encodeAndDecode_shouldKeepAMissingSortKey() {
+        EventThumbnailDocument last = EventThumbnailDocument.builder().id("event-1").build();
+
+        EventSearchCursor decoded = EventSearchCursor.decode(
+                EventSearchCursor.after(last, Sort.Order.asc(EventSearchCursor.START_TIME)).encode());
+
+        assertNull(decoded.value());
+        assertEquals("event-1", decoded.id());
+    }
+
+    @Test
+    void decode_shouldTreatABlankTokenAsTheFirstPage() {
+        assertNull(EventSearchCursor.decode(""));
+        assertNull(EventSearchCursor.decode(null));
+    }
+
+    @Test
+    void decode_shouldRejectTokensItDidNotIssue() {
+        String wrongType = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1|minPrice|ASC|event-1|cheap".getBytes(StandardCharsets.UTF_8));
+        String wrongField = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1|organizationName|ASC|event-1|x".getBytes(StandardCharsets.UTF_8));
+
+        for (String token : new String[]{"not a cursor", wrongType, wrongField}) {
+            ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> EventSearchCursor.decode(token));
+            assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+        }
+    }
+}
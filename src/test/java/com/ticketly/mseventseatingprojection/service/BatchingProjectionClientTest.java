@@ -0,0 +1,145 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the batching client against a local stub of the command service's multi-id endpoint.
+ */
+class BatchingProjectionClientTest {
+
+    private static final UUID MISSING_SESSION_ID = UUID.randomUUID();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger batchRequests = new AtomicInteger();
+
+    private DisposableServer commandServiceStub;
+    private BatchingProjectionClient batchingProjectionClient;
+
+    @BeforeEach
+    void setUp() {
+        commandServiceStub = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.post("/internal/v1/{resource}/projection-data/batch", (request, response) ->
+                        request.receive().aggregate().asString()
+                                .flatMap(body -> response
+                                        .header("Content-Type", "application/json")
+                                        .sendString(Mono.just(respond(body)))
+                                        .then())))
+                .bindNow();
+
+        EventProjectionClient eventProjectionClient = new EventProjectionClient(WebClient.create());
+        ReflectionTestUtils.setField(eventProjectionClient, "eventServiceBaseUrl", "http://localhost:" + commandServiceStub.port());
+        batchingProjectionClient = new BatchingProjectionClient(eventProjectionClient, true, Duration.ofMillis(50), 50, "reactive");
+    }
+
+    @AfterEach
+    void tearDown() {
+        commandServiceStub.disposeNow();
+    }
+
+    private String respond(String body) {
+        batchRequests.incrementAndGet();
+        try {
+            ArrayNode found = objectMapper.createArrayNode();
+            for (JsonNode id : objectMapper.readTree(body).path("ids")) {
+                if (!MISSING_SESSION_ID.toString().equals(id.asText())) {
+                    found.addObject().put("id", id.asText());
+                }
+            }
+            return objectMapper.writeValueAsString(found);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void getSessionProjectionData_ConcurrentCalls_ShouldShareOneRequest() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        StepVerifier.create(Mono.zip(
+                        batchingProjectionClient.getSessionProjectionData(first),
+                        batchingProjectionClient.getSessionProjectionData(second)))
+                .assertNext(results -> {
+                    assertEquals(first, results.getT1().getId());
+                    assertEquals(second, results.getT2().getId());
+                })
+                .verifyComplete();
+
+        assertEquals(1, batchRequests.get());
+    }
+
+    @Test
+    void getSessionProjectionData_IdMissingFromBatch_ShouldFailWithNotFound() {
+        UUID present = UUID.randomUUID();
+
+        StepVerifier.create(Mono.zipDelayError(
+                        batchingProjectionClient.getSessionProjectionData(present),
+                        batchingProjectionClient.getSessionProjectionData(MISSING_SESSION_ID)))
+                .expectErrorMatches(error -> error instanceof EventProjectionClient.ProjectionClientException pce
+                        && pce.getErrorType() == EventProjectionClient.ProjectionClientException.ErrorType.NOT_FOUND)
+                .verify();
+
+        assertEquals(1, batchRequests.get());
+    }
+
+    @Test
+    void getEventProjectionData_BatchRouteMissing_ShouldFailWithClientErrorNotNotFound() {
+        DisposableServer withoutBatchRoutes = HttpServer.create().port(0).route(routes -> { }).bindNow();
+        try {
+            EventProjectionClient eventProjectionClient = new EventProjectionClient(WebClient.create());
+            ReflectionTestUtils.setField(eventProjectionClient, "eventServiceBaseUrl", "http://localhost:" + withoutBatchRoutes.port());
+            BatchingProjectionClient client = new BatchingProjectionClient(eventProjectionClient, true, Duration.ofMillis(50), 50, "reactive");
+
+            StepVerifier.create(client.getEventProjectionData(UUID.randomUUID()))
+                    .expectErrorMatches(error -> error instanceof EventProjectionClient.ProjectionClientException pce
+                            && pce.getErrorType() == EventProjectionClient.ProjectionClientException.ErrorType.CLIENT_ERROR)
+                    .verify();
+        } finally {
+            withoutBatchRoutes.disposeNow();
+        }
+    }
+
+    @Test
+    void constructor_BatchingInListenerMode_ShouldFailAtStartup() {
+        EventProjectionClient eventProjectionClient = new EventProjectionClient(WebClient.create());
+
+        assertThrows(IllegalStateException.class,
+                () -> new BatchingProjectionClient(eventProjectionClient, true, Duration.ofMillis(50), 50, "listener"));
+    }
+
+    @Test
+    void getCategoryProjectionData_ConcurrentCalls_ShouldShareOneRequest() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        StepVerifier.create(Mono.zip(
+                        batchingProjectionClient.getCategoryProjectionData(first),
+                        batchingProjectionClient.getCategoryProjectionData(second)))
+                .assertNext(results -> {
+                    assertEquals(first, results.getT1().getId());
+                    assertEquals(second, results.getT2().getId());
+                })
+                .verifyComplete();
+
+        assertEquals(1, batchRequests.get());
+    }
+}
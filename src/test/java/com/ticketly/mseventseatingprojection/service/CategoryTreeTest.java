@@ -0,0 +1,132 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.CategoryDocument;
+import com.ticketly.mseventseatingprojection.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryTreeTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CategoryTree categoryTree;
+
+    @BeforeEach
+    void setUp() {
+        categoryTree = new CategoryTree(categoryRepository);
+        when(categoryRepository.findAll()).thenReturn(Flux.just(
+                category("music", null),
+                category("live", "music"),
+                category("jazz", "live"),
+                category("sports", null)));
+    }
+
+    @Test
+    void ancestry_shouldWalkUpEveryLevelFromOneLoad() {
+        StepVerifier.create(categoryTree.ancestry("jazz"))
+                .expectNext(List.of("jazz", "live", "music"))
+                .verifyComplete();
+        StepVerifier.create(categoryTree.ancestry("sports"))
+                .expectNext(List.of("sports"))
+                .verifyComplete();
+
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    @Test
+    void put_shouldMoveASubtreeUnderItsNewParent() {
+        StepVerifier.create(categoryTree.ancestry("jazz")).expectNextCount(1).verifyComplete();
+
+        categoryTree.put(category("live", "sports"));
+
+        StepVerifier.create(categoryTree.ancestry("jazz"))
+                .expectNext(List.of("jazz", "live", "sports"))
+                .verifyComplete();
+    }
+
+    @Test
+    void remove_shouldEndTheChainOfChildrenAtTheRemovedCategory() {
+        StepVerifier.create(categoryTree.ancestry("jazz")).expectNextCount(1).verifyComplete();
+
+        categoryTree.remove("live");
+        // Deleted from the read model as well
+        when(categoryRepository.findById("live")).thenReturn(Mono.empty());
+
+        StepVerifier.create(categoryTree.ancestry("jazz"))
+                .expectNext(List.of("jazz", "live"))
+                .verifyComplete();
+        StepVerifier.create(categoryTree.ancestry("live"))
+                .expectNext(List.of("live"))
+                .verifyComplete();
+    }
+
+    @Test
+    void ancestry_withCategoriesUnknownToThisInstance_shouldResolveThemFromTheRepositoryOnce() {
+        // Projected by another instance after this one loaded its tree
+        when(categoryRepository.findById("bebop")).thenReturn(Mono.just(category("bebop", "hardbop")));
+        when(categoryRepository.findById("hardbop")).thenReturn(Mono.just(category("hardbop", "jazz")));
+
+        StepVerifier.create(categoryTree.ancestry("bebop"))
+                .expectNext(List.of("bebop", "hardbop", "jazz", "live", "music"))
+                .verifyComplete();
+        StepVerifier.create(categoryTree.ancestry("hardbop"))
+                .expectNext(List.of("hardbop", "jazz", "live", "music"))
+                .verifyComplete();
+
+        verify(categoryRepository, times(1)).findById("bebop");
+        verify(categoryRepository, times(1)).findById("hardbop");
+    }
+
+    @Test
+    void ancestry_shouldStopAtAParentCycle() {
+        StepVerifier.create(categoryTree.ancestry("music")).expectNextCount(1).verifyComplete();
+
+        categoryTree.put(category("music", "jazz"));
+
+        StepVerifier.create(categoryTree.ancestry("jazz"))
+                .expectNext(List.of("jazz", "live", "music"))
+                .verifyComplete();
+    }
+
+    @Test
+    void ancestry_whileLoading_shouldShareTheLoadAndKeepChangesMadeMeanwhile() {
+        // A unicast source fails a second subscriber, so a second load would fail the lookups
+        Sinks.Many<CategoryDocument> categories = Sinks.many().unicast().onBackpressureBuffer();
+        when(categoryRepository.findAll()).thenReturn(categories.asFlux());
+
+        StepVerifier.create(Mono.zip(categoryTree.ancestry("jazz"), categoryTree.ancestry("rock")))
+                .then(() -> {
+                    categoryTree.put(category("rock", "music"));
+                    categories.tryEmitNext(category("music", null));
+                    categories.tryEmitNext(category("jazz", "music"));
+                    categories.tryEmitComplete();
+                })
+                .assertNext(ancestries -> {
+                    assertEquals(List.of("jazz", "music"), ancestries.getT1());
+                    assertEquals(List.of("rock", "music"), ancestries.getT2());
+                })
+                .verifyComplete();
+
+        verify(categoryRepository, times(1)).findAll();
+    }
+
+    private static CategoryDocument category(String id, String parentId) {
+        return CategoryDocument.builder().id(id).name(id).parentId(parentId).build();
+    }
+}
@@ -1,23 +1,33 @@
 package com.ticketly.mseventseatingprojection.service;
 
 import com.ticketly.mseventseatingprojection.dto.SessionInfoDTO;
+import com.ticketly.mseventseatingprojection.dto.read.CursorPage;
 import com.ticketly.mseventseatingprojection.dto.read.EventBasicInfoDTO;
 import com.ticketly.mseventseatingprojection.dto.read.EventThumbnailDTO;
+import com.ticketly.mseventseatingprojection.dto.read.FacetedPage;
+import com.ticketly.mseventseatingprojection.dto.read.SearchCountMode;
+import com.ticketly.mseventseatingprojection.dto.read.SearchFacetsDTO;
+import com.ticketly.mseventseatingprojection.dto.read.SearchSuggestionDTO;
 import com.ticketly.mseventseatingprojection.exception.ResourceNotFoundException;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
 import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustomImpl;
 import com.ticketly.mseventseatingprojection.repository.EventRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
 import com.ticketly.mseventseatingprojection.repository.SeatRepository;
 import com.ticketly.mseventseatingprojection.service.mapper.EventQueryMapper;
+import com.ticketly.mseventseatingprojection.service.mapper.SeatStateMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -49,6 +59,21 @@ class EventQueryServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
+    @Spy
+    private SeatStateMapper seatStateMapper = new SeatStateMapper();
+
+    @Mock
+    private SeatStatusIndex seatStatusIndex;
+
+    @Mock
+    private EventTextIndex eventTextIndex;
+
+    @Mock
+    private EventThumbnailRepository eventThumbnailRepository;
+
+    @Mock
+    private SearchSuggestionIndex searchSuggestionIndex;
+
     @InjectMocks
     private EventQueryService eventQueryService;
 
@@ -66,11 +91,11 @@ class EventQueryServiceTest {
         BigDecimal priceMax = new BigDecimal("100.00");
         Pageable pageable = PageRequest.of(0, 10);
         
-        // Mock event documents
-        EventDocument event1 = new EventDocument();
-        EventDocument event2 = new EventDocument();
-        List<EventDocument> events = Arrays.asList(event1, event2);
-        Page<EventDocument> eventPage = new PageImpl<>(events);
+        // Mock event thumbnails
+        EventThumbnailDocument event1 = EventThumbnailDocument.builder().id("1").title("Event 1").build();
+        EventThumbnailDocument event2 = EventThumbnailDocument.builder().id("2").title("Event 2").build();
+        List<EventThumbnailDocument> events = Arrays.asList(event1, event2);
+        Page<EventThumbnailDocument> eventPage = new PageImpl<>(events);
         
         // Mock DTOs
         EventThumbnailDTO dto1 = EventThumbnailDTO.builder().id("1").title("Event 1").build();
@@ -80,7 +105,7 @@ class EventQueryServiceTest {
         when(eventReadRepository.searchEvents(
                 eq(searchTerm), eq(categoryId), eq(longitude), eq(latitude), 
                 eq(radiusKm), eq(dateFrom), eq(dateTo), eq(priceMin), 
-                eq(priceMax), eq(pageable)))
+                eq(priceMax), eq(pageable), eq(SearchCountMode.EXACT), eq(false)))
                 .thenReturn(Mono.just(eventPage));
         
         when(eventMapper.mapToThumbnailDTO(event1)).thenReturn(dto1);
@@ -89,7 +114,7 @@ class EventQueryServiceTest {
         // Act & Assert
         StepVerifier.create(eventQueryService.searchEvents(
                     searchTerm, categoryId, longitude, latitude, radiusKm,
-                    dateFrom, dateTo, priceMin, priceMax, pageable))
+                    dateFrom, dateTo, priceMin, priceMax, pageable, SearchCountMode.EXACT, false))
                 .assertNext(page -> {
                     assert page.getTotalElements() == 2;
                     assert page.getContent().size() == 2;
@@ -97,6 +122,97 @@ class EventQueryServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void searchEvents_shouldKeepFacetCountsWhenMappingThumbnails() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10);
+        EventThumbnailDocument event = EventThumbnailDocument.builder().id("1").title("Event 1").build();
+        EventThumbnailDTO dto = EventThumbnailDTO.builder().id("1").title("Event 1").build();
+        SearchFacetsDTO facets = SearchFacetsDTO.builder()
+                .categories(List.of(SearchFacetsDTO.FacetCount.builder().key("music").label("Music").count(1).build()))
+                .prices(List.of())
+                .dates(List.of())
+                .build();
+
+        when(eventReadRepository.searchEvents(
+                eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+                eq(pageable), eq(SearchCountMode.EXACT), eq(true)))
+                .thenReturn(Mono.just(new FacetedPage<>(List.of(event), pageable, 1, facets)));
+        when(eventMapper.mapToThumbnailDTO(event)).thenReturn(dto);
+
+        // Act & Assert
+        StepVerifier.create(eventQueryService.searchEvents(
+                    null, null, null, null, null, null, null, null, null, pageable, SearchCountMode.EXACT, true))
+                .assertNext(page -> {
+                    assert page.getContent().equals(List.of(dto));
+                    assert page instanceof FacetedPage<EventThumbnailDTO> faceted && faceted.getFacets() == facets;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void scrollEvents_shouldMapThumbnailsAndKeepNextCursor() {
+        // Arrange
+        EventThumbnailDocument event1 = EventThumbnailDocument.builder().id("1").title("Event 1").build();
+        EventThumbnailDocument event2 = EventThumbnailDocument.builder().id("2").title("Event 2").build();
+        EventThumbnailDTO dto1 = EventThumbnailDTO.builder().id("1").title("Event 1").build();
+        EventThumbnailDTO dto2 = EventThumbnailDTO.builder().id("2").title("Event 2").build();
+        Sort sort = Sort.by("sessions.startTime");
+
+        when(eventReadRepository.scrollEvents(
+                eq("concert"), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null), eq(null),
+                eq(""), eq(2), eq(sort), eq(SearchCountMode.NONE)))
+                .thenReturn(Mono.just(new CursorPage<>(List.of(event1, event2), "next-cursor", null)));
+        when(eventMapper.mapToThumbnailDTO(event1)).thenReturn(dto1);
+        when(eventMapper.mapToThumbnailDTO(event2)).thenReturn(dto2);
+
+        // Act & Assert
+        StepVerifier.create(eventQueryService.scrollEvents(
+                    "concert", null, null, null, null, null, null, null, null,
+                    "", 2, sort, SearchCountMode.NONE))
+                .assertNext(page -> {
+                    assert page.content().equals(List.of(dto1, dto2));
+                    assert "next-cursor".equals(page.nextCursor());
+                    assert page.totalElements() == null;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void typeahead_shouldKeepTheIndexRankingAndSkipRemovedEvents() {
+        // Arrange
+        EventThumbnailDocument event1 = EventThumbnailDocument.builder().id("1").title("Jazz Night").build();
+        EventThumbnailDocument event2 = EventThumbnailDocument.builder().id("2").title("Jazz Brunch").build();
+        EventThumbnailDTO dto1 = EventThumbnailDTO.builder().id("1").title("Jazz Night").build();
+        EventThumbnailDTO dto2 = EventThumbnailDTO.builder().id("2").title("Jazz Brunch").build();
+
+        when(eventTextIndex.search("jaz", 20)).thenReturn(Mono.just(List.of("2", "gone", "1")));
+        when(eventThumbnailRepository.findAllById(List.of("2", "gone", "1"))).thenReturn(Flux.just(event1, event2));
+        when(eventMapper.mapToThumbnailDTO(event1)).thenReturn(dto1);
+        when(eventMapper.mapToThumbnailDTO(event2)).thenReturn(dto2);
+
+        // Act & Assert
+        StepVerifier.create(eventQueryService.typeahead("jaz", 50))
+                .expectNext(dto2, dto1)
+                .verifyComplete();
+    }
+
+    @Test
+    void suggest_shouldBoundTheLimitAndEmitSuggestionsInOrder() {
+        // Arrange
+        SearchSuggestionDTO category = SearchSuggestionDTO.builder()
+                .type(SearchSuggestionDTO.Type.CATEGORY).text("Jazz").id("jazz-music").build();
+        SearchSuggestionDTO event = SearchSuggestionDTO.builder()
+                .type(SearchSuggestionDTO.Type.EVENT).text("Jazz Night").id("1").build();
+
+        when(searchSuggestionIndex.suggest("jaz", 1)).thenReturn(Mono.just(List.of(category, event)));
+
+        // Act & Assert
+        StepVerifier.create(eventQueryService.suggest("jaz", 0))
+                .expectNext(category, event)
+                .verifyComplete();
+    }
+
     @Test
     void getBasicEventInfo_shouldReturnEventInfo() {
         // Arrange
@@ -129,7 +245,11 @@ class EventQueryServiceTest {
                 eventReadRepository, 
                 eventRepositoryCustom,
                 eventMapper,
-                seatRepository);
+                seatRepository,
+                seatStatusIndex,
+                eventTextIndex,
+                eventThumbnailRepository,
+                searchSuggestionIndex);
                 
         // Just verify that our test setup doesn't throw exceptions
         assertNotNull(realService);
@@ -188,8 +308,10 @@ class EventQueryServiceTest {
             .name("Test Venue")
             .build();
             
-        when(eventReadRepository.findSeatingMapBySessionId(sessionId))
+        when(eventReadRepository.findLayoutBySessionId(sessionId))
             .thenReturn(Mono.just(seatingMap));
+        when(seatRepository.findSeatState(sessionId))
+            .thenReturn(Mono.empty());
             
         // Act & Assert
         StepVerifier.create(eventQueryService.getSessionSeatingMap(sessionId))
@@ -204,7 +326,9 @@ class EventQueryServiceTest {
         // Arrange
         String sessionId = "non-existent-session";
         
-        when(eventReadRepository.findSeatingMapBySessionId(sessionId))
+        when(eventReadRepository.findLayoutBySessionId(sessionId))
+            .thenReturn(Mono.empty());
+        when(seatRepository.findSeatState(sessionId))
             .thenReturn(Mono.empty());
             
         // Act & Assert
@@ -0,0 +1,131 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventTextIndexTest {
+
+    @Mock
+    private EventThumbnailRepository eventThumbnailRepository;
+
+    private EventTextIndex eventTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        eventTextIndex = new EventTextIndex(eventThumbnailRepository);
+        when(eventThumbnailRepository.findAllTextFields()).thenReturn(Flux.just(
+                thumbnail("jazz", "Jazz Night at the Lotus Tower", "Live jazz with a view of Colombo"),
+                thumbnail("rock", "Rock Festival", "Three stages of rock and a jazz tent"),
+                thumbnail("theatre", "Theatre Under the Stars", "An open-air performance"),
+                thumbnail("cafe", "Café Concerts", "Acoustic sets every Friday")));
+    }
+
+    @Test
+    void search_shouldRankTitleMatchesAboveDescriptionMatches() {
+        StepVerifier.create(eventTextIndex.search("jazz", 10))
+                .expectNext(List.of("jazz", "rock"))
+                .verifyComplete();
+
+        verify(eventThumbnailRepository, times(1)).findAllTextFields();
+    }
+
+    @Test
+    void search_shouldMatchTheLastWordByPrefixAndTheOthersWhole() {
+        StepVerifier.create(eventTextIndex.search("jazz ni", 10))
+                .expectNext(List.of("jazz"))
+                .verifyComplete();
+        StepVerifier.create(eventTextIndex.search("ni jazz", 10))
+                .expectNext(List.of())
+                .verifyComplete();
+    }
+
+    @Test
+    void search_shouldTolerateATypoAndIgnoreAccentsAndCase() {
+        StepVerifier.create(eventTextIndex.search("FESTIVL", 10))
+                .expectNext(List.of("rock"))
+                .verifyComplete();
+        StepVerifier.create(eventTextIndex.search("cafe", 10))
+                .expectNext(List.of("cafe"))
+                .verifyComplete();
+    }
+
+    @Test
+    void search_shouldOnlyNarrowByAStopWordThatStartsAMatchingWord() {
+        StepVerifier.create(eventTextIndex.search("night at the", 10))
+                .expectNext(List.of("jazz"))
+                .verifyComplete();
+        StepVerifier.create(eventTextIndex.search("the", 10))
+                .expectNext(List.of("theatre"))
+                .verifyComplete();
+    }
+
+    @Test
+    void putAndRemove_shouldUpdateTheIndexInPlace() {
+        StepVerifier.create(eventTextIndex.search("rock", 10)).expectNext(List.of("rock")).verifyComplete();
+
+        eventTextIndex.put(thumbnail("rock", "Metal Festival", "Three stages"));
+        eventTextIndex.remove("jazz");
+
+        StepVerifier.create(eventTextIndex.search("rock", 10)).expectNext(List.of()).verifyComplete();
+        StepVerifier.create(eventTextIndex.search("metal", 10)).expectNext(List.of("rock")).verifyComplete();
+        StepVerifier.create(eventTextIndex.search("lotus", 10)).expectNext(List.of()).verifyComplete();
+    }
+
+    @Test
+    void search_whileLoading_shouldShareTheLoadAndKeepChangesMadeMeanwhile() {
+        // A unicast source fails a second subscriber, so a second load would fail the searches
+        Sinks.Many<EventThumbnailDocument> thumbnails = Sinks.many().unicast().onBackpressureBuffer();
+        when(eventThumbnailRepository.findAllTextFields()).thenReturn(thumbnails.asFlux());
+
+        StepVerifier.create(Mono.zip(eventTextIndex.search("jazz", 10), eventTextIndex.search("metal", 10)))
+                .then(() -> {
+                    eventTextIndex.put(thumbnail("metal", "Metal Festival", "Three stages"));
+                    thumbnails.tryEmitNext(thumbnail("jazz", "Jazz Night", "Live jazz"));
+                    thumbnails.tryEmitComplete();
+                })
+                .assertNext(results -> {
+                    assertEquals(List.of("jazz"), results.getT1());
+                    assertEquals(List.of("metal"), results.getT2());
+                })
+                .verifyComplete();
+
+        verify(eventThumbnailRepository, times(1)).findAllTextFields();
+    }
+
+    @Test
+    void withinOneEdit_shouldAllowOneInsertionRemovalOrReplacement() {
+        assertTrue(EventTextIndex.withinOneEdit("festival", "festivl"));
+        assertTrue(EventTextIndex.withinOneEdit("festival", "festivals"));
+        assertTrue(EventTextIndex.withinOneEdit("festival", "festibal"));
+        assertFalse(EventTextIndex.withinOneEdit("festival", "fastibal"));
+        assertFalse(EventTextIndex.withinOneEdit("festival", "festiv"));
+    }
+
+    @Test
+    void words_shouldSplitOnPunctuationAndFoldAccents() {
+        assertEquals(List.of("cafe", "concerts", "2025"), EventTextIndex.words("Café-Concerts, 2025!"));
+    }
+
+    private static EventThumbnailDocument thumbnail(String id, String title, String description) {
+        return EventThumbnailDocument.builder().id(id).title(title).description(description).build();
+    }
+}
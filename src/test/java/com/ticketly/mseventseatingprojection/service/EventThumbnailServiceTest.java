@@ -0,0 +1,82 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
+import com.ticketly.mseventseatingprojection.service.mapper.EventQueryMapper;
+import model.EventStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventThumbnailServiceTest {
+
+    @Mock
+    private EventReadRepositoryCustom eventReadRepository;
+
+    @Mock
+    private EventThumbnailRepository eventThumbnailRepository;
+
+    @Mock
+    private CategoryTree categoryTree;
+
+    @Mock
+    private EventQueryMapper eventQueryMapper;
+
+    @Mock
+    private SearchCountCache searchCountCache;
+
+    @Mock
+    private EventTextIndex eventTextIndex;
+
+    @Mock
+    private SearchSuggestionIndex searchSuggestionIndex;
+
+    private EventThumbnailService eventThumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        eventThumbnailService = new EventThumbnailService(eventReadRepository, eventThumbnailRepository, categoryTree,
+                eventQueryMapper, searchCountCache, eventTextIndex, searchSuggestionIndex, false);
+    }
+
+    @Test
+    void refresh_eventMovedToAnotherCategory_shouldInvalidateTheCountsOfBothAncestries() {
+        EventDocument event = EventDocument.builder()
+                .id("event-1")
+                .status(EventStatus.APPROVED)
+                .category(EventDocument.CategoryInfo.builder().id("theatre").build())
+                .build();
+        EventThumbnailDocument previous = EventThumbnailDocument.builder()
+                .id("event-1")
+                .categoryAncestry(List.of("jazz", "music"))
+                .build();
+        EventThumbnailDocument refreshed = EventThumbnailDocument.builder()
+                .id("event-1")
+                .categoryAncestry(List.of("theatre", "arts"))
+                .build();
+        when(eventReadRepository.findEventWithoutLayouts("event-1")).thenReturn(Mono.just(event));
+        when(categoryTree.ancestry("theatre")).thenReturn(Mono.just(List.of("theatre", "arts")));
+        when(eventThumbnailRepository.findById("event-1")).thenReturn(Mono.just(previous));
+        when(eventQueryMapper.toThumbnailDocument(eq(event), eq(List.of("theatre", "arts")), any())).thenReturn(refreshed);
+        when(eventThumbnailRepository.save(refreshed)).thenReturn(Mono.just(refreshed));
+
+        StepVerifier.create(eventThumbnailService.refresh("event-1"))
+                .verifyComplete();
+
+        verify(searchCountCache).invalidate(List.of("theatre", "arts", "jazz", "music"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoCellsTest {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    @Test
+    void encode_shouldProduceStandardGeohash() {
+        assertEquals("ezs42", GeoCells.encode(-5.6, 42.6, 5));
+        assertEquals("u4pruydqqvj", GeoCells.encode(10.40744, 57.64911, 11));
+    }
+
+    @Test
+    void cover_shouldContainEveryPointWithinTheRadius() {
+        Random random = new Random(42);
+        double[][] centres = {{79.8612, 6.9271}, {-0.1276, 51.5072}, {179.95, -16.5}, {-179.99, 64.1}, {0.0, 0.0}};
+        int[] radii = {1, 5, 25, 100, 600};
+
+        for (double[] centre : centres) {
+            for (int radiusKm : radii) {
+                List<String> cells = GeoCells.cover(centre[0], centre[1], radiusKm);
+                assertTrue(!cells.isEmpty() && cells.size() <= 9);
+
+                for (int i = 0; i < 500; i++) {
+                    double[] point = destination(centre[0], centre[1], random.nextDouble() * 360,
+                            radiusKm * Math.sqrt(random.nextDouble()));
+                    String cell = GeoCells.encode(point[0], point[1], GeoCells.PRECISION);
+                    assertTrue(cells.stream().anyMatch(cell::startsWith),
+                            () -> cell + " near " + centre[0] + "," + centre[1] + " not in " + cells);
+                }
+            }
+        }
+    }
+
+    @Test
+    void cover_shouldBeEmptyWhenCellsCannotCoverTheCircle() {
+        assertTrue(GeoCells.cover(15.0, 85.0, 10).isEmpty());
+        assertTrue(GeoCells.cover(79.8612, 6.9271, 10_000).isEmpty());
+    }
+
+    private static double[] destination(double longitude, double latitude, double bearingDeg, double distanceKm) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double bearing = Math.toRadians(bearingDeg);
+        double angular = distanceKm / EARTH_RADIUS_KM;
+        double lat2 = Math.asin(Math.sin(lat) * Math.cos(angular) + Math.cos(lat) * Math.sin(angular) * Math.cos(bearing));
+        double lon2 = lon + Math.atan2(Math.sin(bearing) * Math.sin(angular) * Math.cos(lat),
+                Math.cos(angular) - Math.sin(lat) * Math.sin(lat2));
+        double lonDeg = Math.toDegrees(lon2);
+        lonDeg = lonDeg >= 180 ? lonDeg - 360 : lonDeg < -180 ? lonDeg + 360 : lonDeg;
+        return new double[]{lonDeg, Math.toDegrees(lat2)};
+    }
+}
@@ -0,0 +1,64 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProjectionCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProjectionCoalescer coalescer = new ProjectionCoalescer(Duration.ofMillis(50), meterRegistry);
+
+    @Test
+    void coalesce_WithoutDeferredContext_ShouldRunInline() {
+        AtomicInteger executions = new AtomicInteger();
+
+        StepVerifier.create(coalescer.coalesce("event", "event:1", () -> Mono.fromRunnable(executions::incrementAndGet)))
+                .verifyComplete();
+        StepVerifier.create(coalescer.coalesce("event", "event:1", () -> Mono.fromRunnable(executions::incrementAndGet)))
+                .verifyComplete();
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void coalesce_BurstWithinWindow_ShouldExecuteOnce() {
+        AtomicInteger executions = new AtomicInteger();
+        ProjectionCoalescer.DeferredCompletions first = new ProjectionCoalescer.DeferredCompletions();
+        ProjectionCoalescer.DeferredCompletions second = new ProjectionCoalescer.DeferredCompletions();
+
+        StepVerifier.create(coalescer.coalesce("event", "event:1", () -> Mono.fromRunnable(executions::incrementAndGet))
+                        .contextWrite(first::bind))
+                .verifyComplete();
+        StepVerifier.create(coalescer.coalesce("event", "event:1", () -> Mono.fromRunnable(executions::incrementAndGet))
+                        .contextWrite(second::bind))
+                .verifyComplete();
+
+        StepVerifier.create(Mono.when(first.await(), second.await()))
+                .verifyComplete();
+
+        assertEquals(1, executions.get());
+        assertEquals(2.0, meterRegistry.counter("projection.coalescer.signals", "kind", "event").count());
+        assertEquals(1.0, meterRegistry.counter("projection.coalescer.coalesced", "kind", "event").count());
+    }
+
+    @Test
+    void awaitIdle_ShouldWaitForPendingExecution() {
+        AtomicInteger executions = new AtomicInteger();
+        ProjectionCoalescer.DeferredCompletions deferred = new ProjectionCoalescer.DeferredCompletions();
+
+        coalescer.coalesce("session", "session:1", () -> Mono.fromRunnable(executions::incrementAndGet))
+                .contextWrite(deferred::bind)
+                .block();
+
+        StepVerifier.create(coalescer.awaitIdle("session:1").then(Mono.fromCallable(executions::get)))
+                .expectNext(1)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,87 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class SearchCountCacheTest {
+
+    private final SearchCountCache searchCountCache = new SearchCountCache(Duration.ofMinutes(1), 100);
+    private final AtomicInteger counts = new AtomicInteger();
+
+    @Test
+    void get_shouldShareOneCountBetweenSearchesWithTheSameNormalizedFilters() {
+        SearchCountCache.Key key = key("music", "Jazz ", Instant.parse("2026-05-01T18:05:00Z"), new BigDecimal("24.50"));
+        SearchCountCache.Key similar = key("music", "jazz", Instant.parse("2026-05-01T18:55:00Z"), new BigDecimal("24.99"));
+
+        assertEquals(key, similar);
+        StepVerifier.create(searchCountCache.get(key, count(42))).expectNext(42L).verifyComplete();
+        StepVerifier.create(searchCountCache.get(similar, count(7))).expectNext(42L).verifyComplete();
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void get_shouldCountAgainWhenFiltersDiffer() {
+        SearchCountCache.Key key = key("music", null, null, null);
+        SearchCountCache.Key otherCategory = key("sports", null, null, null);
+
+        assertNotEquals(key, otherCategory);
+        StepVerifier.create(searchCountCache.get(key, count(42))).expectNext(42L).verifyComplete();
+        StepVerifier.create(searchCountCache.get(otherCategory, count(7))).expectNext(7L).verifyComplete();
+        assertEquals(2, counts.get());
+    }
+
+    @Test
+    void invalidate_shouldDropCountsOfTheEventsCategoriesAndUnfilteredSearches() {
+        SearchCountCache.Key jazz = key("jazz", null, null, null);
+        SearchCountCache.Key music = key("music", null, null, null);
+        SearchCountCache.Key sports = key("sports", null, null, null);
+        SearchCountCache.Key anyCategory = key(null, null, null, null);
+        for (SearchCountCache.Key key : List.of(jazz, music, sports, anyCategory)) {
+            searchCountCache.get(key, count(1)).block();
+        }
+
+        searchCountCache.invalidate(List.of("jazz", "music"));
+
+        StepVerifier.create(searchCountCache.get(jazz, count(2))).expectNext(2L).verifyComplete();
+        StepVerifier.create(searchCountCache.get(music, count(2))).expectNext(2L).verifyComplete();
+        StepVerifier.create(searchCountCache.get(anyCategory, count(2))).expectNext(2L).verifyComplete();
+        StepVerifier.create(searchCountCache.get(sports, count(2))).expectNext(1L).verifyComplete();
+    }
+
+    @Test
+    void get_shouldNotKeepFailedCounts() {
+        SearchCountCache.Key key = key("music", null, null, null);
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<Long> flakyCount = Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new IllegalStateException("down"))
+                : Mono.just(3L));
+
+        StepVerifier.create(searchCountCache.get(key, flakyCount))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(searchCountCache.get(key, flakyCount)).expectNext(3L).verifyComplete();
+        StepVerifier.create(searchCountCache.get(key, flakyCount)).expectNext(3L).verifyComplete();
+        assertEquals(2, attempts.get());
+    }
+
+    private Mono<Long> count(long total) {
+        return Mono.fromSupplier(() -> {
+            counts.incrementAndGet();
+            return total;
+        });
+    }
+
+    private static SearchCountCache.Key key(String categoryId, String searchTerm, Instant dateFrom, BigDecimal priceMin) {
+        return SearchCountCache.Key.of(searchTerm, categoryId, null, null, null, dateFrom, null, priceMin, null);
+    }
+}
@@ -0,0 +1,149 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.dto.read.SearchSuggestionDTO;
+import com.ticketly.mseventseatingprojection.model.CategoryDocument;
+import com.ticketly.mseventseatingprojection.model.EventThumbnailDocument;
+import com.ticketly.mseventseatingprojection.model.EventTrendingDocument;
+import com.ticketly.mseventseatingprojection.repository.CategoryRepository;
+import com.ticketly.mseventseatingprojection.repository.EventThumbnailRepository;
+import com.ticketly.mseventseatingprojection.repository.EventTrendingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchSuggestionIndexTest {
+
+    @Mock
+    private EventThumbnailRepository eventThumbnailRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private EventTrendingRepository eventTrendingRepository;
+
+    private SearchSuggestionIndex searchSuggestionIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchSuggestionIndex = new SearchSuggestionIndex(eventThumbnailRepository, categoryRepository, eventTrendingRepository);
+        when(eventThumbnailRepository.findAllSuggestionFields()).thenReturn(Flux.just(
+                thumbnail("jazz", "Jazz Night", List.of("jazz-music", "music"), "Lotus Tower", "Colombo"),
+                thumbnail("brunch", "Jazz Brunch", List.of("jazz-music", "music"), "Galle Face Hotel", "Colombo"),
+                thumbnail("cup", "Colombo Cup Final", List.of("sports"), "Sugathadasa Stadium", "Colombo")));
+        when(categoryRepository.findAll()).thenReturn(Flux.just(
+                category("music", "Music"),
+                category("jazz-music", "Jazz"),
+                category("sports", "Sports")));
+        when(eventTrendingRepository.findAll()).thenReturn(Flux.just(
+                trending("jazz", 10), trending("brunch", 40), trending("cup", 30)));
+    }
+
+    @Test
+    void suggest_shouldRankByTheTrendingScoreOfTheEventsBehindEachSuggestion() {
+        StepVerifier.create(searchSuggestionIndex.suggest("jaz", 10))
+                .expectNext(List.of(
+                        suggestion(SearchSuggestionDTO.Type.CATEGORY, "Jazz", "jazz-music"),
+                        suggestion(SearchSuggestionDTO.Type.EVENT, "Jazz Brunch", "brunch"),
+                        suggestion(SearchSuggestionDTO.Type.EVENT, "Jazz Night", "jazz")))
+                .verifyComplete();
+
+        verify(eventThumbnailRepository, times(1)).findAllSuggestionFields();
+    }
+
+    @Test
+    void suggest_shouldCompleteFromTheStartOfAnyWord() {
+        StepVerifier.create(searchSuggestionIndex.suggest("COLOMBO", 10))
+                .expectNext(List.of(
+                        suggestion(SearchSuggestionDTO.Type.CITY, "Colombo", null),
+                        suggestion(SearchSuggestionDTO.Type.EVENT, "Colombo Cup Final", "cup")))
+                .verifyComplete();
+        StepVerifier.create(searchSuggestionIndex.suggest("tow", 10))
+                .expectNext(List.of(suggestion(SearchSuggestionDTO.Type.VENUE, "Lotus Tower", null)))
+                .verifyComplete();
+        StepVerifier.create(searchSuggestionIndex.suggest("cup fi", 10))
+                .expectNext(List.of(suggestion(SearchSuggestionDTO.Type.EVENT, "Colombo Cup Final", "cup")))
+                .verifyComplete();
+    }
+
+    @Test
+    void putAndRemove_shouldUpdateSuggestionsInPlace() {
+        StepVerifier.create(searchSuggestionIndex.suggest("lotus", 10)).expectNextCount(1).verifyComplete();
+
+        searchSuggestionIndex.put(thumbnail("jazz", "Jazz Evening", List.of("jazz-music", "music"), "Nelum Pokuna", "Colombo"));
+        searchSuggestionIndex.remove("cup");
+        searchSuggestionIndex.putCategory(category("sports", "Sport"));
+
+        StepVerifier.create(searchSuggestionIndex.suggest("lotus", 10)).expectNext(List.of()).verifyComplete();
+        StepVerifier.create(searchSuggestionIndex.suggest("jazz n", 10)).expectNext(List.of()).verifyComplete();
+        StepVerifier.create(searchSuggestionIndex.suggest("jazz e", 10))
+                .expectNext(List.of(suggestion(SearchSuggestionDTO.Type.EVENT, "Jazz Evening", "jazz")))
+                .verifyComplete();
+        StepVerifier.create(searchSuggestionIndex.suggest("stadium", 10)).expectNext(List.of()).verifyComplete();
+        // A category without events is still suggested
+        StepVerifier.create(searchSuggestionIndex.suggest("sport", 10))
+                .expectNext(List.of(suggestion(SearchSuggestionDTO.Type.CATEGORY, "Sport", "sports")))
+                .verifyComplete();
+
+        searchSuggestionIndex.removeCategory("sports");
+
+        StepVerifier.create(searchSuggestionIndex.suggest("sport", 10)).expectNext(List.of()).verifyComplete();
+    }
+
+    @Test
+    void suggest_whileLoading_shouldShareTheLoadAndKeepChangesMadeMeanwhile() {
+        // A unicast source fails a second subscriber, so a second load would fail the suggestions
+        Sinks.Many<EventThumbnailDocument> thumbnails = Sinks.many().unicast().onBackpressureBuffer();
+        when(eventThumbnailRepository.findAllSuggestionFields()).thenReturn(thumbnails.asFlux());
+
+        StepVerifier.create(Mono.zip(searchSuggestionIndex.suggest("lotus", 10), searchSuggestionIndex.suggest("metal", 10)))
+                .then(() -> {
+                    searchSuggestionIndex.put(thumbnail("metal", "Metal Festival", List.of("music"), "Viharamahadevi Park", "Colombo"));
+                    thumbnails.tryEmitNext(thumbnail("jazz", "Jazz Night", List.of("jazz-music", "music"), "Lotus Tower", "Colombo"));
+                    thumbnails.tryEmitComplete();
+                })
+                .assertNext(suggestions -> {
+                    assertEquals(List.of(suggestion(SearchSuggestionDTO.Type.VENUE, "Lotus Tower", null)), suggestions.getT1());
+                    assertEquals(List.of(suggestion(SearchSuggestionDTO.Type.EVENT, "Metal Festival", "metal")), suggestions.getT2());
+                })
+                .verifyComplete();
+
+        verify(eventThumbnailRepository, times(1)).findAllSuggestionFields();
+    }
+
+    private static SearchSuggestionDTO suggestion(SearchSuggestionDTO.Type type, String text, String id) {
+        return SearchSuggestionDTO.builder().type(type).text(text).id(id).build();
+    }
+
+    private static EventThumbnailDocument thumbnail(String id, String title, List<String> categoryAncestry,
+                                                    String venueName, String city) {
+        return EventThumbnailDocument.builder()
+                .id(id)
+                .title(title)
+                .categoryAncestry(categoryAncestry)
+                .venues(List.of(EventThumbnailDocument.Venue.builder().name(venueName).city(city).build()))
+                .build();
+    }
+
+    private static CategoryDocument category(String id, String name) {
+        return CategoryDocument.builder().id(id).name(name).build();
+    }
+
+    private static EventTrendingDocument trending(String eventId, double score) {
+        return EventTrendingDocument.builder().id("trending-" + eventId).eventId(eventId).trendingScore(score).build();
+    }
+}
@@ -2,6 +2,7 @@ package com.ticketly.mseventseatingprojection.service;
 
 import com.ticketly.mseventseatingprojection.dto.internal.SeatDetailsResponse;
 import com.ticketly.mseventseatingprojection.dto.internal.SeatInfoRequest;
+import com.ticketly.mseventseatingprojection.dto.internal.SeatTransitionResult;
 import com.ticketly.mseventseatingprojection.dto.internal.SeatValidationResponse;
 import com.ticketly.mseventseatingprojection.model.EventDocument;
 import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
@@ -23,6 +24,7 @@ import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +33,12 @@ class SeatServiceTest {
     @Mock
     private SeatRepository seatRepository;
 
+    @Mock
+    private SeatStatusIndex seatStatusIndex;
+
+    @Mock
+    private SeatStateBackfillService seatStateBackfillService;
+
     @InjectMocks
     private SeatService seatService;
 
@@ -47,6 +55,8 @@ class SeatServiceTest {
         
         SeatValidationResponse expectedResponse = new SeatValidationResponse(true, null);
         
+        // Session not indexed, falls back to Mongo
+        when(seatStatusIndex.get(sessionId)).thenReturn(Mono.empty());
         when(seatRepository.validateSeatsAvailability(
                 eq(eventId.toString()), 
                 eq(sessionId), 
@@ -119,11 +129,12 @@ class SeatServiceTest {
                 .map(UUID::toString)
                 .collect(Collectors.toList());
         
-        when(seatRepository.areAnySeatsBooked(eq(sessionId.toString()), eq(seatIdStrings)))
-                .thenReturn(Mono.just(false));
-        
-        when(seatRepository.updateSeatStatuses(eq(sessionId.toString()), eq(seatIdStrings), eq(newStatus)))
-                .thenReturn(Mono.empty());
+        when(seatRepository.transitionSeatStatuses(eq(sessionId.toString()), eq(seatIdStrings), eq(newStatus)))
+                .thenReturn(Mono.just(SeatTransitionResult.builder()
+                        .transitionedSeats(seatIdStrings)
+                        .rejectedSeats(List.of())
+                        .version(2)
+                        .build()));
                 
         // Act & Assert
         StepVerifier.create(seatService.updateSeatStatus(sessionId, seatIds, newStatus))
@@ -142,8 +153,8 @@ class SeatServiceTest {
                 .map(UUID::toString)
                 .collect(Collectors.toList());
         
-        when(seatRepository.areAnySeatsBooked(eq(sessionId.toString()), eq(seatIdStrings)))
-                .thenReturn(Mono.just(true)); // Seats are already booked
+        when(seatRepository.transitionSeatStatuses(eq(sessionId.toString()), eq(seatIdStrings), eq(newStatus)))
+                .thenReturn(Mono.just(SeatTransitionResult.rejected(seatIdStrings))); // Seats are already booked
                 
         // Act & Assert
         StepVerifier.create(seatService.updateSeatStatus(sessionId, seatIds, newStatus))
@@ -175,10 +186,7 @@ class SeatServiceTest {
                 .map(UUID::toString)
                 .collect(Collectors.toList());
         
-        when(seatRepository.areAnySeatsBooked(eq(sessionId.toString()), eq(seatIdStrings)))
-                .thenReturn(Mono.just(false));
-        
-        when(seatRepository.updateSeatStatuses(eq(sessionId.toString()), eq(seatIdStrings), eq(newStatus)))
+        when(seatRepository.transitionSeatStatuses(eq(sessionId.toString()), eq(seatIdStrings), eq(newStatus)))
                 .thenReturn(Mono.error(new RuntimeException("Database error")));
                 
         // Act & Assert
@@ -186,4 +194,51 @@ class SeatServiceTest {
                 .expectNext(false)
                 .verifyComplete();
     }
-}
\ No newline at end of file
+
+    @Test
+    void transitionSeatStatus_withPartiallyBookedSeats_shouldReportTransitionedAndRejected() {
+        // Arrange
+        UUID sessionId = UUID.randomUUID();
+        String freeSeat = UUID.randomUUID().toString();
+        String bookedSeat = UUID.randomUUID().toString();
+        List<String> seatIds = List.of(freeSeat, bookedSeat);
+
+        SeatTransitionResult result = SeatTransitionResult.builder()
+                .transitionedSeats(List.of(freeSeat))
+                .rejectedSeats(List.of(bookedSeat))
+                .version(5)
+                .build();
+        when(seatRepository.transitionSeatStatuses(eq(sessionId.toString()), eq(seatIds), eq(ReadModelSeatStatus.LOCKED)))
+                .thenReturn(Mono.just(result));
+
+        // Act & Assert
+        StepVerifier.create(seatService.transitionSeatStatus(sessionId.toString(), seatIds, ReadModelSeatStatus.LOCKED))
+                .expectNext(result)
+                .verifyComplete();
+        StepVerifier.create(seatService.updateSeatStatus(sessionId.toString(), seatIds, ReadModelSeatStatus.LOCKED))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    void transitionSeatStatus_withoutSeatState_shouldSeedTheSessionAndRetry() {
+        // Arrange
+        String sessionId = UUID.randomUUID().toString();
+        List<String> seatIds = List.of(UUID.randomUUID().toString());
+
+        SeatTransitionResult booked = SeatTransitionResult.builder()
+                .transitionedSeats(seatIds)
+                .rejectedSeats(List.of())
+                .version(2)
+                .build();
+        when(seatRepository.transitionSeatStatuses(eq(sessionId), eq(seatIds), eq(ReadModelSeatStatus.BOOKED)))
+                .thenReturn(Mono.just(SeatTransitionResult.missingSeatState(seatIds)), Mono.just(booked));
+        when(seatStateBackfillService.backfillSession(sessionId)).thenReturn(Mono.just(true));
+
+        // Act & Assert
+        StepVerifier.create(seatService.transitionSeatStatus(sessionId, seatIds, ReadModelSeatStatus.BOOKED))
+                .expectNext(booked)
+                .verifyComplete();
+        verify(seatStatusIndex).apply(sessionId, seatIds, ReadModelSeatStatus.BOOKED, 2);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
+import com.ticketly.mseventseatingprojection.repository.EventReadRepositoryCustom;
+import com.ticketly.mseventseatingprojection.repository.SeatRepository;
+import com.ticketly.mseventseatingprojection.service.mapper.SeatStateMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatStatusIndexTest {
+
+    private static final String EVENT_ID = "event-1";
+    private static final String SESSION_ID = "session-1";
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    @Mock
+    private EventReadRepositoryCustom eventReadRepository;
+
+    private SeatStatusIndex seatStatusIndex;
+
+    @BeforeEach
+    void setUp() {
+        seatStatusIndex = new SeatStatusIndex(seatRepository, eventReadRepository, new SeatStateMapper(),
+                100, Duration.ofMinutes(1));
+    }
+
+    private void stubSession(long version, ReadModelSeatStatus seat2Status) {
+        EventDocument.TierInfo tier = EventDocument.TierInfo.builder().id("tier-1").name("VIP").build();
+        EventDocument.SessionSeatingMapInfo layout = EventDocument.SessionSeatingMapInfo.builder()
+                .layout(EventDocument.LayoutInfo.builder().blocks(List.of(EventDocument.BlockInfo.builder()
+                        .id("block-1")
+                        .seats(List.of(
+                                EventDocument.SeatInfo.builder().id("seat-1").label("A1").tier(tier).build(),
+                                EventDocument.SeatInfo.builder().id("seat-2").label("A2").tier(tier).build()))
+                        .build())).build())
+                .build();
+        SessionSeatStateDocument state = SessionSeatStateDocument.builder()
+                .id(SESSION_ID)
+                .eventId(EVENT_ID)
+                .version(version)
+                .seats(List.of(
+                        SessionSeatStateDocument.SeatState.builder().id("seat-1").status(ReadModelSeatStatus.AVAILABLE).build(),
+                        SessionSeatStateDocument.SeatState.builder().id("seat-2").status(seat2Status).build()))
+                .build();
+
+        when(seatRepository.findSeatState(SESSION_ID)).thenReturn(Mono.just(state));
+        when(eventReadRepository.findLayoutBySessionId(SESSION_ID)).thenReturn(Mono.just(layout));
+    }
+
+    @Test
+    void get_shouldColdLoadOnceAndServeFromMemory() {
+        stubSession(3, ReadModelSeatStatus.LOCKED);
+
+        StepVerifier.create(seatStatusIndex.get(SESSION_ID))
+                .assertNext(seats -> {
+                    assertEquals(EVENT_ID, seats.getEventId());
+                    assertEquals(ReadModelSeatStatus.AVAILABLE, seats.statusOf("seat-1"));
+                    assertEquals(ReadModelSeatStatus.LOCKED, seats.statusOf("seat-2"));
+                    assertEquals("A2", seats.seatInfo("seat-2").getLabel());
+                    assertEquals("tier-1", seats.seatInfo("seat-2").getTier().getId());
+                    assertNull(seats.statusOf("unknown"));
+                })
+                .verifyComplete();
+
+        StepVerifier.create(seatStatusIndex.get(SESSION_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(seatRepository, times(1)).findSeatState(SESSION_ID);
+    }
+
+    @Test
+    void apply_withNextVersion_shouldUpdateInPlace() {
+        stubSession(3, ReadModelSeatStatus.AVAILABLE);
+        seatStatusIndex.get(SESSION_ID).block();
+
+        seatStatusIndex.apply(SESSION_ID, List.of("seat-1"), ReadModelSeatStatus.LOCKED, 4);
+
+        StepVerifier.create(seatStatusIndex.get(SESSION_ID))
+                .assertNext(seats -> assertEquals(ReadModelSeatStatus.LOCKED, seats.statusOf("seat-1")))
+                .verifyComplete();
+        verify(seatRepository, times(1)).findSeatState(SESSION_ID);
+    }
+
+    @Test
+    void apply_withVersionGap_shouldEvictAndReload() {
+        stubSession(3, ReadModelSeatStatus.AVAILABLE);
+        seatStatusIndex.get(SESSION_ID).block();
+
+        // Version 5 means another instance wrote version 4 that this index never saw
+        seatStatusIndex.apply(SESSION_ID, List.of("seat-1"), ReadModelSeatStatus.LOCKED, 5);
+        seatStatusIndex.get(SESSION_ID).block();
+
+        verify(seatRepository, times(2)).findSeatState(SESSION_ID);
+    }
+
+    @Test
+    void get_whenStale_shouldProbeVersionBeforeServing() {
+        seatStatusIndex = new SeatStatusIndex(seatRepository, eventReadRepository, new SeatStateMapper(),
+                100, Duration.ZERO);
+        stubSession(3, ReadModelSeatStatus.AVAILABLE);
+        seatStatusIndex.get(SESSION_ID).block();
+
+        when(seatRepository.findSeatStateVersion(SESSION_ID)).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(seatStatusIndex.get(SESSION_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(seatRepository).findSeatStateVersion(SESSION_ID);
+        verify(seatRepository, times(1)).findSeatState(SESSION_ID);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SeatStatusSnapshotServiceTest {
+
+    @Mock
+    private SeatStatusIndex seatStatusIndex;
+
+    @Mock
+    private SeatingMapLayoutCache seatingMapLayoutCache;
+
+    @InjectMocks
+    private SeatStatusSnapshotService seatStatusSnapshotService;
+
+    private static SessionSeatStateDocument.SeatState seat(String id, ReadModelSeatStatus status) {
+        return SessionSeatStateDocument.SeatState.builder().id(id).status(status).build();
+    }
+
+    @Test
+    void getSnapshot_shouldPackStatusesAtTwoBitsPerSeat() {
+        // Arrange - five seats so the second byte is partially filled
+        SessionSeatStateDocument state = SessionSeatStateDocument.builder()
+                .id("session-1")
+                .eventId("event-1")
+                .version(42)
+                .seats(List.of(
+                        seat("s1", ReadModelSeatStatus.AVAILABLE),
+                        seat("s2", ReadModelSeatStatus.RESERVED),
+                        seat("s3", ReadModelSeatStatus.BOOKED),
+                        seat("s4", ReadModelSeatStatus.LOCKED),
+                        seat("s5", ReadModelSeatStatus.BOOKED)))
+                .build();
+        SeatStatusIndex.SessionSeats seats = SeatStatusIndex.SessionSeats.of(state, Map.of());
+
+        when(seatStatusIndex.get("session-1")).thenReturn(Mono.just(seats));
+        when(seatingMapLayoutCache.get("session-1")).thenReturn(Mono.just(
+                new SeatingMapLayoutCache.EncodedLayout("\"layout-v1\"", new byte[0], new byte[0])));
+
+        // Act & Assert
+        StepVerifier.create(seatStatusSnapshotService.getSnapshot("session-1"))
+                .assertNext(snapshot -> {
+                    assertEquals(42, snapshot.getSequence());
+                    assertEquals(5, snapshot.getSeatCount());
+                    assertEquals("\"layout-v1\"", snapshot.getLayoutEtag());
+                    assertEquals(List.of("AVAILABLE", "RESERVED", "BOOKED", "LOCKED"), snapshot.getStatusCodes());
+                    // 0b11_10_01_00 = seats 1-4, then 0b10 = seat 5
+                    assertArrayEquals(new byte[]{(byte) 0b11100100, 0b10}, Base64.getDecoder().decode(snapshot.getStatuses()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getSnapshot_whenSessionHasNoSeatState_shouldBeEmpty() {
+        when(seatStatusIndex.get("session-1")).thenReturn(Mono.empty());
+        when(seatingMapLayoutCache.get("session-1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(seatStatusSnapshotService.getSnapshot("session-1"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,368 @@
+package com.ticketly.mseventseatingprojection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
+import com.ticketly.mseventseatingprojection.exception.SubscriberLimitExceededException;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
+import com.ticketly.mseventseatingprojection.repository.SeatRepository;
+import com.ticketly.mseventseatingprojection.service.impl.LocalSeatStatusFanOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SseServiceTest {
+
+    private static final UUID SESSION_ID = UUID.randomUUID();
+
+    @Mock
+    private SeatRepository seatRepository;
+
+    private SseService newService(int replayBufferSize) {
+        return newService(replayBufferSize, Duration.ZERO, 64);
+    }
+
+    private SseService newService(int replayBufferSize, Duration coalesceWindow, int subscriberBufferSize) {
+        return newService(replayBufferSize, coalesceWindow, subscriberBufferSize, 100);
+    }
+
+    private SseService newService(int replayBufferSize, Duration coalesceWindow, int subscriberBufferSize,
+                                  int maxSubscribersPerSession) {
+        return new SseService(seatRepository, new LocalSeatStatusFanOut(), new ObjectMapper(),
+                replayBufferSize, Duration.ofMinutes(1), coalesceWindow, subscriberBufferSize,
+                Duration.ofSeconds(15), maxSubscribersPerSession, 1000, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+
+    private static Flux<ServerSentEvent<SeatStatusUpdateDto>> events(Flux<SseService.SseFrame> frames) {
+        return frames.map(SseService.SseFrame::event);
+    }
+
+    private static SeatStatusUpdateDto update(long sequence) {
+        return new SeatStatusUpdateDto(List.of(UUID.randomUUID()), ReadModelSeatStatus.LOCKED, sequence);
+    }
+
+    @Test
+    void register_withLastEventIdInBuffer_shouldReplayOnlyMissedEvents() {
+        SseService sseService = newService(8);
+        sseService.register(SESSION_ID);
+        sseService.publish(update(1), SESSION_ID);
+        sseService.publish(update(2), SESSION_ID);
+        sseService.publish(update(3), SESSION_ID);
+
+        StepVerifier.create(events(sseService.register(SESSION_ID, 1L)))
+                .assertNext(event -> assertEquals("2", event.id()))
+                .assertNext(event -> assertEquals("3", event.id()))
+                .then(() -> sseService.publish(update(4), SESSION_ID))
+                .assertNext(event -> assertEquals("4", event.id()))
+                .thenCancel()
+                .verify();
+        verifyNoInteractions(seatRepository);
+    }
+
+    @Test
+    void register_withLastEventIdOlderThanBuffer_shouldRequestResync() {
+        SseService sseService = newService(2);
+        sseService.register(SESSION_ID);
+        sseService.publish(update(1), SESSION_ID);
+        sseService.publish(update(2), SESSION_ID);
+        sseService.publish(update(3), SESSION_ID);
+        when(seatRepository.findSeatStateVersion(SESSION_ID.toString())).thenReturn(Mono.just(3L));
+
+        StepVerifier.create(events(sseService.register(SESSION_ID, 0L)))
+                .assertNext(event -> assertEquals(SseService.RESYNC_EVENT, event.event()))
+                .assertNext(event -> assertEquals("2", event.id()))
+                .assertNext(event -> assertEquals("3", event.id()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void register_withLastEventIdOlderThanBuffer_shouldSendResyncWithDataLine() {
+        SseService sseService = newService(8);
+        when(seatRepository.findSeatStateVersion(SESSION_ID.toString())).thenReturn(Mono.just(9L));
+
+        List<SseService.SseFrame> frames = sseService.register(SESSION_ID, 3L).take(1).collectList().block();
+
+        String encoded = new String(frames.get(0).bytes(), StandardCharsets.UTF_8);
+        assertTrue(encoded.startsWith("event:RESYNC\n"));
+        // EventSource ignores events without data
+        assertTrue(encoded.contains("\ndata:{\"sequence\":9}\n"));
+        assertTrue(encoded.endsWith("\n\n"));
+    }
+
+    @Test
+    void register_withUnknownLastEventIdButNoNewerWrites_shouldResumeLive() {
+        SseService sseService = newService(8);
+        when(seatRepository.findSeatStateVersion(SESSION_ID.toString())).thenReturn(Mono.just(7L));
+
+        StepVerifier.create(events(sseService.register(SESSION_ID, 7L)))
+                .then(() -> sseService.publish(update(8), SESSION_ID))
+                .assertNext(event -> assertEquals("8", event.id()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void register_withoutLastEventId_shouldOnlyStreamNewEvents() {
+        SseService sseService = newService(8);
+        sseService.register(SESSION_ID);
+        sseService.publish(update(1), SESSION_ID);
+
+        StepVerifier.create(events(sseService.register(SESSION_ID)))
+                .then(() -> sseService.publish(update(2), SESSION_ID))
+                .assertNext(event -> {
+                    assertEquals("2", event.id());
+                    assertEquals("LOCKED", event.event());
+                    assertEquals(2, event.data().sequence());
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void publish_withCoalesceWindow_shouldMergeDeltasIntoOneEventPerStatus() {
+        SseService sseService = newService(8, Duration.ofMillis(50), 64);
+        UUID seatA = UUID.randomUUID();
+        UUID seatB = UUID.randomUUID();
+
+        StepVerifier.create(events(sseService.register(SESSION_ID)))
+                .then(() -> {
+                    sseService.publish(new SeatStatusUpdateDto(List.of(seatA, seatB), ReadModelSeatStatus.LOCKED, 1), SESSION_ID);
+                    sseService.publish(new SeatStatusUpdateDto(List.of(seatA), ReadModelSeatStatus.AVAILABLE, 2), SESSION_ID);
+                    sseService.publish(new SeatStatusUpdateDto(List.of(seatB), ReadModelSeatStatus.LOCKED, 3), SESSION_ID);
+                })
+                // seat A's latest status is AVAILABLE (2), seat B's is LOCKED (3)
+                .assertNext(event -> {
+                    assertEquals("AVAILABLE", event.event());
+                    assertEquals(List.of(seatA), event.data().seatIds());
+                    assertEquals("2", event.id());
+                })
+                .assertNext(event -> {
+                    assertEquals("LOCKED", event.event());
+                    assertEquals(List.of(seatB), event.data().seatIds());
+                    assertEquals("3", event.id());
+                })
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void register_whenSubscriberFallsBehind_shouldRequestResyncInsteadOfBuffering() {
+        SseService sseService = newService(8, Duration.ZERO, 2);
+
+        StepVerifier.create(events(sseService.register(SESSION_ID)), 0)
+                .then(() -> {
+                    sseService.publish(update(1), SESSION_ID);
+                    sseService.publish(update(2), SESSION_ID);
+                    sseService.publish(update(3), SESSION_ID);
+                })
+                .thenRequest(10)
+                .assertNext(event -> assertEquals("1", event.id()))
+                .assertNext(event -> assertEquals("2", event.id()))
+                .assertNext(event -> assertEquals(SseService.RESYNC_EVENT, event.event()))
+                .verifyComplete();
+    }
+
+    @Test
+    void publish_withResync_shouldTellLiveClientsToReloadTheSnapshot() {
+        SseService sseService = newService(8);
+
+        StepVerifier.create(events(sseService.register(SESSION_ID)))
+                .then(() -> {
+                    sseService.publish(update(1), SESSION_ID);
+                    // A re-projection rewrote the session's seats
+                    sseService.publish(SeatStatusUpdateDto.resync(2), SESSION_ID);
+                    sseService.publish(update(3), SESSION_ID);
+                })
+                .assertNext(event -> assertEquals("1", event.id()))
+                .assertNext(event -> {
+                    assertEquals(SseService.RESYNC_EVENT, event.event());
+                    assertEquals(2, event.data().sequence());
+                })
+                .assertNext(event -> assertEquals("3", event.id()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void publish_withSequenceGap_shouldRequestResyncBeforeTheNextDelta() {
+        SseService sseService = newService(8);
+
+        StepVerifier.create(events(sseService.register(SESSION_ID)))
+                .then(() -> {
+                    sseService.publish(update(1), SESSION_ID);
+                    // #2 was lost on the way
+                    sseService.publish(update(3), SESSION_ID);
+                })
+                .assertNext(event -> assertEquals("1", event.id()))
+                .assertNext(event -> {
+                    assertEquals(SseService.RESYNC_EVENT, event.event());
+                    assertEquals(2, event.data().sequence());
+                })
+                .assertNext(event -> assertEquals("3", event.id()))
+                .thenCancel()
+                .verify();
+
+        // A client resuming after the gap is not replayed the resync it already covers
+        StepVerifier.create(events(sseService.register(SESSION_ID, 2L)))
+                .assertNext(event -> assertEquals("3", event.id()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void register_shouldSendHeartbeatsAndDropClientsThatStopReading() {
+        SseService sseService = newService(8);
+
+        StepVerifier.withVirtualTime(() -> events(sseService.register(SESSION_ID)), 1)
+                .thenAwait(Duration.ofSeconds(15))
+                .assertNext(event -> {
+                    assertEquals("heartbeat", event.comment());
+                    assertNull(event.data());
+                })
+                // No further demand for three heartbeat intervals: the connection is treated as dead
+                .thenAwait(Duration.ofSeconds(46))
+                .verifyComplete();
+    }
+
+    @Test
+    void register_whenSessionIsFull_shouldRejectWithRetryAfter() {
+        SseService sseService = newService(8, Duration.ZERO, 64, 1);
+        Disposable first = sseService.register(SESSION_ID).subscribe();
+
+        SubscriberLimitExceededException e = assertThrows(SubscriberLimitExceededException.class,
+                () -> sseService.register(SESSION_ID));
+        assertTrue(e.getRetryAfter().toSeconds() > 0);
+
+        first.dispose();
+        sseService.register(SESSION_ID);
+    }
+
+    @Test
+    void register_concurrently_shouldNotOvershootTheSessionCap() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SseService sseService = new SseService(seatRepository, new LocalSeatStatusFanOut(), new ObjectMapper(),
+                8, Duration.ofMinutes(1), Duration.ZERO, 64, Duration.ofSeconds(15), 100, 1000,
+                Duration.ofSeconds(30), meterRegistry);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger registered = new AtomicInteger();
+
+        List<Future<?>> registrations = IntStream.range(0, 400)
+                .<Future<?>>mapToObj(i -> executor.submit(() -> {
+                    start.await();
+                    try {
+                        // A registration holds its slot before its stream is subscribed
+                        sseService.register(SESSION_ID);
+                        registered.incrementAndGet();
+                    } catch (SubscriberLimitExceededException e) {
+                        // Expected past the cap
+                    }
+                    return null;
+                }))
+                .toList();
+        start.countDown();
+        for (Future<?> registration : registrations) {
+            registration.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100, registered.get());
+        assertEquals(100, meterRegistry.get("sse.subscribers").gauge().value());
+        assertEquals(300, meterRegistry.get("sse.subscribers.rejected").tag("scope", "session").counter().count());
+    }
+
+    @Test
+    void publish_shouldEncodeEachEventOnceInSseWireFormat() {
+        SseService sseService = newService(8);
+        UUID seat = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        sseService.register(SESSION_ID);
+        sseService.publish(new SeatStatusUpdateDto(List.of(seat), ReadModelSeatStatus.BOOKED, 5), SESSION_ID);
+
+        List<SseService.SseFrame> first = sseService.register(SESSION_ID, 4L).take(1).collectList().block();
+        List<SseService.SseFrame> second = sseService.register(SESSION_ID, 4L).take(1).collectList().block();
+
+        assertEquals("id:5\nevent:BOOKED\ndata:{\"seatIds\":[\"" + seat + "\"],\"status\":\"BOOKED\",\"sequence\":5}\n\n",
+                new String(first.get(0).bytes(), StandardCharsets.UTF_8));
+        // Every subscriber is handed the same encoded bytes
+        assertSame(first.get(0).bytes(), second.get(0).bytes());
+    }
+
+    @Test
+    void register_withBlockFilter_shouldOnlyStreamSeatsOfThoseBlocks() {
+        SseService sseService = newService(8);
+        UUID seatInA = UUID.randomUUID();
+        UUID seatInB = UUID.randomUUID();
+        when(seatRepository.findSeatState(SESSION_ID.toString())).thenReturn(Mono.just(SessionSeatStateDocument.builder()
+                .id(SESSION_ID.toString())
+                .seats(List.of(
+                        SessionSeatStateDocument.SeatState.builder().id(seatInA.toString()).blockId("A").build(),
+                        SessionSeatStateDocument.SeatState.builder().id(seatInB.toString()).blockId("B").build()))
+                .build()));
+        sseService.register(SESSION_ID);
+        sseService.publish(new SeatStatusUpdateDto(List.of(seatInA, seatInB), ReadModelSeatStatus.LOCKED, 1), SESSION_ID);
+        sseService.publish(new SeatStatusUpdateDto(List.of(seatInB), ReadModelSeatStatus.LOCKED, 2), SESSION_ID);
+        sseService.publish(new SeatStatusUpdateDto(List.of(seatInA), ReadModelSeatStatus.AVAILABLE, 3), SESSION_ID);
+        SseService.SeatFilter blockA = new SseService.SeatFilter(Set.of("A"), null);
+
+        List<SseService.SseFrame> first = sseService.register(SESSION_ID, 0L, blockA).take(2).collectList().block();
+        List<SseService.SseFrame> second = sseService.register(SESSION_ID, 0L, blockA).take(1).collectList().block();
+
+        assertEquals(List.of(seatInA), first.get(0).event().data().seatIds());
+        assertEquals(1, first.get(0).event().data().sequence());
+        // The block B only delta (#2) is skipped
+        assertEquals("3", first.get(1).event().id());
+        // Subscribers viewing the same blocks share the narrowed frame
+        assertSame(first.get(0).bytes(), second.get(0).bytes());
+    }
+
+    @Test
+    void registerBinary_shouldSendSeatIndexesAndResyncForUnknownSeats() {
+        SseService sseService = newService(8);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(seatRepository.findSeatState(SESSION_ID.toString())).thenReturn(Mono.just(SessionSeatStateDocument.builder()
+                .id(SESSION_ID.toString())
+                .seats(List.of(
+                        SessionSeatStateDocument.SeatState.builder().id(first.toString()).blockId("A").build(),
+                        SessionSeatStateDocument.SeatState.builder().id(second.toString()).blockId("A").build()))
+                .build()));
+        sseService.register(SESSION_ID);
+        sseService.publish(new SeatStatusUpdateDto(List.of(second, first), ReadModelSeatStatus.LOCKED, 1), SESSION_ID);
+        sseService.publish(new SeatStatusUpdateDto(List.of(UUID.randomUUID()), ReadModelSeatStatus.LOCKED, 2), SESSION_ID);
+
+        List<byte[]> frames = sseService.registerBinary(SESSION_ID, 0L).take(2).collectList().block();
+
+        assertArrayEquals(BinarySeatFrames.delta(SESSION_ID, 1, ReadModelSeatStatus.LOCKED, new int[]{1, 0}), frames.get(0));
+        assertArrayEquals(BinarySeatFrames.resync(SESSION_ID), frames.get(1));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ticketly.mseventseatingprojection.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ticketly.mseventseatingprojection.dto.read.SeatStatusUpdateDto;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RedisSeatStatusFanOutTest {
+
+    private static final UUID SESSION_ID = UUID.fromString("7d4c1f9e-0000-4000-8000-000000000001");
+    private static final String CHANNEL = "seat-status::" + SESSION_ID;
+
+    @Mock
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Mock
+    private ReactiveRedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RedisSeatStatusFanOut fanOut;
+
+    @BeforeEach
+    void setUp() {
+        fanOut = new RedisSeatStatusFanOut(redisTemplate, listenerContainer, objectMapper, "seat-status::");
+    }
+
+    @Test
+    void publish_shouldSendJsonToSessionChannel() throws Exception {
+        SeatStatusUpdateDto update = new SeatStatusUpdateDto(List.of(UUID.randomUUID()), ReadModelSeatStatus.LOCKED, 9);
+        when(redisTemplate.convertAndSend(eq(CHANNEL), any(String.class))).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(fanOut.publish(update, SESSION_ID))
+                .verifyComplete();
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), json.capture());
+        assertEquals(update, objectMapper.readValue(json.getValue(), SeatStatusUpdateDto.class));
+    }
+
+    @Test
+    void subscribe_shouldDecodeMessagesAndSkipUnreadableOnes() throws Exception {
+        SeatStatusUpdateDto update = new SeatStatusUpdateDto(List.of(UUID.randomUUID()), ReadModelSeatStatus.AVAILABLE, 10);
+        Flux<ReactiveSubscription.Message<String, String>> messages = Flux.just(
+                new ReactiveSubscription.ChannelMessage<>(CHANNEL, "not json"),
+                new ReactiveSubscription.ChannelMessage<>(CHANNEL, objectMapper.writeValueAsString(update)));
+        when(listenerContainer.receive(ChannelTopic.of(CHANNEL))).thenReturn(messages);
+
+        StepVerifier.create(fanOut.subscribe(SESSION_ID))
+                .expectNext(update)
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,87 @@
+package com.ticketly.mseventseatingprojection.service.mapper;
+
+import com.ticketly.mseventseatingprojection.model.EventDocument;
+import com.ticketly.mseventseatingprojection.model.ReadModelSeatStatus;
+import com.ticketly.mseventseatingprojection.model.SessionSeatStateDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatStateMapperTest {
+
+    private SeatStateMapper seatStateMapper;
+    private EventDocument.TierInfo tier;
+
+    @BeforeEach
+    void setUp() {
+        seatStateMapper = new SeatStateMapper();
+        tier = EventDocument.TierInfo.builder().id("tier-1").name("VIP").price(BigDecimal.TEN).build();
+    }
+
+    private EventDocument.SessionSeatingMapInfo layout(ReadModelSeatStatus firstSeatStatus) {
+        EventDocument.SeatInfo rowSeat = EventDocument.SeatInfo.builder()
+                .id("seat-1").label("A1").status(firstSeatStatus).tier(tier).build();
+        EventDocument.SeatInfo standingSlot = EventDocument.SeatInfo.builder()
+                .id("seat-2").label("S1").tier(tier).build();
+
+        EventDocument.BlockInfo seatedBlock = EventDocument.BlockInfo.builder()
+                .id("block-1").name("Stalls").type("seated_grid")
+                .rows(List.of(EventDocument.RowInfo.builder().id("row-1").label("A").seats(List.of(rowSeat)).build()))
+                .build();
+        EventDocument.BlockInfo standingBlock = EventDocument.BlockInfo.builder()
+                .id("block-2").name("Pit").type("standing_capacity")
+                .seats(List.of(standingSlot))
+                .build();
+
+        return EventDocument.SessionSeatingMapInfo.builder()
+                .layout(EventDocument.LayoutInfo.builder().blocks(List.of(seatedBlock, standingBlock)).build())
+                .build();
+    }
+
+    @Test
+    void fromSeatingMap_shouldFlattenSeatsTiersAndBlocks() {
+        SessionSeatStateDocument state = seatStateMapper.fromSeatingMap("event-1", "session-1",
+                layout(ReadModelSeatStatus.BOOKED));
+
+        assertEquals("session-1", state.getId());
+        assertEquals("event-1", state.getEventId());
+        assertEquals(2, state.getSeats().size());
+        assertEquals(ReadModelSeatStatus.BOOKED, state.getSeats().get(0).getStatus());
+        assertEquals("block-1", state.getSeats().get(0).getBlockId());
+        // Seats without a status in the layout default to AVAILABLE
+        assertEquals(ReadModelSeatStatus.AVAILABLE, state.getSeats().get(1).getStatus());
+        assertEquals("tier-1", state.getSeats().get(1).getTierId());
+        assertEquals(1, state.getTiers().size());
+        assertEquals(List.of("block-1", "block-2"),
+                state.getBlocks().stream().map(SessionSeatStateDocument.BlockSummary::getId).toList());
+    }
+
+    @Test
+    void fromSeatingMap_shouldHandleMissingLayout() {
+        SessionSeatStateDocument state = seatStateMapper.fromSeatingMap("event-1", "session-1", null);
+
+        assertTrue(state.getSeats().isEmpty());
+        assertTrue(state.getBlocks().isEmpty());
+    }
+
+    @Test
+    void applyStatuses_shouldOverlayLiveStatusesOntoLayout() {
+        EventDocument.SessionSeatingMapInfo layout = layout(ReadModelSeatStatus.AVAILABLE);
+        SessionSeatStateDocument state = SessionSeatStateDocument.builder()
+                .id("session-1")
+                .seats(List.of(SessionSeatStateDocument.SeatState.builder()
+                        .id("seat-1").status(ReadModelSeatStatus.LOCKED).build()))
+                .build();
+
+        seatStateMapper.applyStatuses(layout, state);
+
+        EventDocument.BlockInfo seatedBlock = layout.getLayout().getBlocks().get(0);
+        assertEquals(ReadModelSeatStatus.LOCKED, seatedBlock.getRows().get(0).getSeats().get(0).getStatus());
+        // Seats unknown to the seat state keep their layout status
+        assertNull(layout.getLayout().getBlocks().get(1).getSeats().get(0).getStatus());
+    }
+}